@@ -32,6 +32,10 @@ import java.util.Optional;
 /**
  * The provider of the {@link ConverterLike} should watch and recreate or modify itself when the {@link EnvironmentContext}
  * changes as necessary.
+ * <br>
+ * A {@link StorageEnvironmentContexts#basic(EnvironmentContext)} is replaced by a {@link StorageEnvironmentContexts#copyOnWrite(EnvironmentContext)},
+ * so {@link #cloneEnvironment()} shares the {@link EnvironmentContext} rather than copying all its values. The given
+ * {@link EnvironmentContext} should then only be modified using this context.
  */
 final class BasicStorageContext implements StorageContext,
     ConverterLikeDelegator,
@@ -45,10 +49,18 @@ final class BasicStorageContext implements StorageContext,
             Objects.requireNonNull(converterLike, "converterLike"),
             Objects.requireNonNull(mediaTypeDetector, "mediaTypeDetector"),
             Objects.requireNonNull(storage, "storage"),
-            Objects.requireNonNull(storageEnvironmentContext, "storageEnvironmentContext")
+            copyOnWrite(
+                Objects.requireNonNull(storageEnvironmentContext, "storageEnvironmentContext")
+            )
         );
     }
 
+    private static StorageEnvironmentContext copyOnWrite(final StorageEnvironmentContext storageEnvironmentContext) {
+        return storageEnvironmentContext instanceof StorageEnvironmentContextBasic ?
+            StorageEnvironmentContexts.copyOnWrite(storageEnvironmentContext) :
+            storageEnvironmentContext;
+    }
+
     private BasicStorageContext(final ConverterLike converterLike,
                                 final MediaTypeDetector mediaTypeDetector,
                                 final Storage<StorageContext> storage,
@@ -96,6 +108,14 @@ final class BasicStorageContext implements StorageContext,
         );
     }
 
+    @Override
+    public Optional<StorageValueStat> statStorage(final StoragePath path) {
+        return this.storage.stat(
+            path,
+            this
+        );
+    }
+
     @Override
     public StorageValue saveStorage(final StorageValue value) {
         return this.storage.save(
@@ -56,6 +56,12 @@ public class FakeStorage<C extends StorageContext> implements Storage<C> {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Optional<StorageValueStat> stat(final StoragePath path,
+                                           final C context) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public List<StorageValueInfo> list(final StoragePath parent,
                                        final int offset,
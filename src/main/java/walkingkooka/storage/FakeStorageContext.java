@@ -51,6 +51,11 @@ public class FakeStorageContext extends FakeEnvironmentContext implements Storag
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Optional<StorageValueStat> statStorage(final StoragePath path) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public StorageValue saveStorage(final StorageValue value) {
         throw new UnsupportedOperationException();
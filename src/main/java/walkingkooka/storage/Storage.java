@@ -18,9 +18,11 @@
 package walkingkooka.storage;
 
 import walkingkooka.Stoppable;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.environment.AuditInfo;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -33,6 +35,8 @@ public interface Storage<C extends StorageContext> extends Stoppable {
 
     Optional<StorageValue> NO_STORAGE_VALUE = Optional.empty();
 
+    Optional<StorageValueStat> NO_STORAGE_VALUE_STAT = Optional.empty();
+
     boolean canRead(final StoragePath path,
                     final C context);
 
@@ -42,6 +46,34 @@ public interface Storage<C extends StorageContext> extends Stoppable {
     Optional<StorageValue> load(final StoragePath path,
                                 final C context);
 
+    /**
+     * Returns the {@link StorageValueStat} for a value or directory, using file attributes or stored metadata rather
+     * than loading and converting the value. An empty result means the path does not exist.
+     * <br>
+     * The default lists and loads a value, and counts the children of a directory, {@link Storage storages} that hold
+     * metadata should answer without loading.
+     */
+    default Optional<StorageValueStat> stat(final StoragePath path,
+                                            final C context) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(context, "context");
+
+        return StorageValueStat.loadOrList(
+            path,
+            (final StoragePath p) -> this.load(
+                p,
+                context
+            ),
+            (final StoragePath parent, final Integer offset) -> this.list(
+                parent,
+                offset,
+                StoragePathPatternFinder.PAGE_SIZE,
+                context
+            ),
+            context::createdAuditInfo
+        );
+    }
+
     StorageValue save(final StorageValue value,
                       final C context);
 
@@ -57,6 +89,54 @@ public interface Storage<C extends StorageContext> extends Stoppable {
                                 final int count,
                                 final C context);
 
+    /**
+     * Walks the directories below the leading names of the pattern without wildcards, returning the
+     * {@link StorageValueInfo} for the given range of matching {@link StoragePath}. Directories below which nothing can
+     * match are skipped, including any mounts.
+     */
+    default List<StorageValueInfo> listMatching(final StoragePathPattern pattern,
+                                                final int offset,
+                                                final int count,
+                                                final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return StoragePathPatternFinder.find(
+            pattern,
+            offset,
+            count,
+            (final StoragePath parent, final Integer pageOffset) -> this.list(
+                parent,
+                pageOffset,
+                StoragePathPatternFinder.PAGE_SIZE,
+                context
+            )
+        );
+    }
+
+    /**
+     * Returns up to count {@link StorageChange} with a sequence greater than the given, oldest first, allowing a consumer
+     * to catch up without a rescan. {@link Storage storages} that do not keep a {@link StorageChangeLog} return an empty
+     * list, and {@link #isChangesSinceAvailable(long, StorageContext)} returns false so the consumer knows to rescan.
+     */
+    default List<StorageChange> changesSince(final long sequence,
+                                             final int count,
+                                             final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return Lists.empty();
+    }
+
+    /**
+     * Returns true if all changes after the given sequence are available from
+     * {@link #changesSince(long, int, StorageContext)}, false if some were dropped or no {@link StorageChangeLog} is kept.
+     */
+    default boolean isChangesSinceAvailable(final long sequence,
+                                            final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return false;
+    }
+
     /**
      * Supports replacing the {@link AuditInfo} for the given {@link StoragePath}, throwing an exception for
      * an unknown path.
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A {@link StorageWatcher} that receives many changes in a single call, such as all the changes from a single poll of
+ * a native file system, so any work may be done once per batch rather than once per {@link StoragePath}.
+ * {@link Storage storages} that do not batch deliver each change as a batch of one.
+ */
+public interface StorageBatchWatcher extends StorageWatcher {
+
+    /**
+     * Receives one or more changes, in the order they happened.
+     */
+    void onValueChanges(final List<StorageValueChange> changes);
+
+    /**
+     * Delivers the single change as a batch, unless the old and new values are equal.
+     */
+    @Override
+    default void onValueChange(final Optional<StorageValue> oldValue,
+                               final Optional<StorageValue> newValue) {
+        if (false == oldValue.equals(newValue)) {
+            this.onValueChanges(
+                Lists.of(
+                    StorageValueChange.with(
+                        oldValue,
+                        newValue
+                    )
+                )
+            );
+        }
+    }
+
+    /**
+     * Returns a {@link StorageBatchWatcher} with the given prefix {@link StoragePath}, that continues to receive batches.
+     */
+    @Override
+    default StorageBatchWatcher setPathPrefix(final StoragePath path) {
+        Objects.requireNonNull(path, "path");
+
+        return path.isRoot() ?
+            this :
+            StorageWatcherPathPrefix.with(
+                path,
+                this
+            );
+    }
+
+    /**
+     * Wraps this {@link StorageBatchWatcher} with a {@link Predicate} removing changes that are not matched, batches
+     * left empty are not delivered.
+     */
+    @Override
+    default StorageBatchWatcher setFilter(final Predicate<StoragePath> filter) {
+        return StorageWatcherFilter.with(
+            filter,
+            this
+        );
+    }
+}
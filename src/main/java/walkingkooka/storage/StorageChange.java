@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.Objects;
+
+/**
+ * A single record in a {@link StorageChangeLog}, holding only the {@link StoragePath} and {@link StorageChangeType},
+ * consumers load the value if they need it.
+ */
+public final class StorageChange {
+
+    public static StorageChange with(final long sequence,
+                                     final StoragePath path,
+                                     final StorageChangeType type) {
+        if (sequence < 1) {
+            throw new IllegalArgumentException("Invalid sequence " + sequence + " < 1");
+        }
+
+        return new StorageChange(
+            sequence,
+            Objects.requireNonNull(path, "path"),
+            Objects.requireNonNull(type, "type")
+        );
+    }
+
+    private StorageChange(final long sequence,
+                          final StoragePath path,
+                          final StorageChangeType type) {
+        this.sequence = sequence;
+        this.path = path;
+        this.type = type;
+    }
+
+    /**
+     * The sequence number, which increases by one for each change recorded by the same {@link StorageChangeLog}.
+     */
+    public long sequence() {
+        return this.sequence;
+    }
+
+    private final long sequence;
+
+    public StoragePath path() {
+        return this.path;
+    }
+
+    private final StoragePath path;
+
+    public StorageChangeType type() {
+        return this.type;
+    }
+
+    private final StorageChangeType type;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.sequence,
+            this.path,
+            this.type
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof StorageChange && this.equals0((StorageChange) other);
+    }
+
+    private boolean equals0(final StorageChange other) {
+        return this.sequence == other.sequence &&
+            this.path.equals(other.path) &&
+            this.type == other.type;
+    }
+
+    @Override
+    public String toString() {
+        return this.sequence + " " + this.type + " " + this.path;
+    }
+}
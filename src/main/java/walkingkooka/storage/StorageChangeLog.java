@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An in order log of {@link StorageChange}, each with a sequence number one greater than the previous. A consumer
+ * remembers the last sequence it saw and calls {@link #changesSince(long, int)} to catch up, rather than scanning the
+ * entire {@link Storage} again.
+ * <br>
+ * At most the retention count of changes are kept. When full, older changes to a path that has since changed again
+ * are compacted away if enough can be reclaimed, otherwise the oldest changes are dropped. A compacted change never
+ * prevents a consumer from catching up because a later change to the same path remains. Dropping the only change to a
+ * path does, and {@link #changesSince(long, int)} then fails for sequences before it, and the consumer must rescan.
+ * <br>
+ * The changes may be persisted with {@link #changes()} and a new log created with {@link #restore(int, List)}.
+ */
+public final class StorageChangeLog implements StorageBatchWatcher {
+
+    /**
+     * The retention used by {@link Storage storages} that keep their own log.
+     */
+    public final static int DEFAULT_RETENTION = 1024;
+
+    public static StorageChangeLog with(final int retention) {
+        return restore(
+            retention,
+            Lists.empty()
+        );
+    }
+
+    /**
+     * Creates a log holding the given changes, which must be in increasing sequence order, with new changes continuing
+     * from the last sequence.
+     */
+    public static StorageChangeLog restore(final int retention,
+                                           final List<StorageChange> changes) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("Invalid retention " + retention + " < 1");
+        }
+        Objects.requireNonNull(changes, "changes");
+
+        final StorageChangeLog log = new StorageChangeLog(retention);
+
+        long sequence = 0;
+        for (final StorageChange change : changes) {
+            final long changeSequence = change.sequence();
+            if (changeSequence <= sequence) {
+                throw new IllegalArgumentException("Invalid sequence " + changeSequence + " <= " + sequence);
+            }
+
+            // changes before the first restored are unknown
+            if (0 == sequence) {
+                log.lost = changeSequence - 1;
+            }
+
+            log.add(change);
+            sequence = changeSequence;
+        }
+        log.sequence = sequence;
+
+        return log;
+    }
+
+    private StorageChangeLog(final int retention) {
+        super();
+        this.retention = retention;
+    }
+
+    // StorageBatchWatcher..............................................................................................
+
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        if (false == oldValue.equals(newValue)) {
+            this.record(
+                StorageValueChange.with(
+                    oldValue,
+                    newValue
+                )
+            );
+        }
+    }
+
+    @Override
+    public void onValueChanges(final List<StorageValueChange> changes) {
+        Objects.requireNonNull(changes, "changes");
+
+        for (final StorageValueChange change : changes) {
+            if (false == change.isUnchanged()) {
+                this.record(change);
+            }
+        }
+    }
+
+    private synchronized void record(final StorageValueChange change) {
+        this.sequence++;
+
+        this.add(
+            StorageChange.with(
+                this.sequence,
+                change.path(),
+                StorageChangeType.from(
+                    change.oldValue(),
+                    change.newValue()
+                )
+            )
+        );
+    }
+
+    private void add(final StorageChange change) {
+        final Long previous = this.latest.put(
+            change.path(),
+            change.sequence()
+        );
+        if (null != previous) {
+            this.superseded++;
+        }
+
+        final ArrayDeque<StorageChange> changes = this.changes;
+        changes.addLast(change);
+
+        final int retention = this.retention;
+        if (changes.size() > retention) {
+            // only compact when a useful number of changes can be removed, so compaction is not repeated on every add
+            if (this.superseded >= Math.max(1, retention / 4)) {
+                this.compact();
+            }
+
+            while (changes.size() > retention) {
+                this.dropOldest();
+            }
+        }
+    }
+
+    /**
+     * Removes all changes to a path that has a later change.
+     */
+    public synchronized void compact() {
+        if (this.superseded > 0) {
+            final Iterator<StorageChange> iterator = this.changes.iterator();
+            while (iterator.hasNext()) {
+                if (this.isSuperseded(iterator.next())) {
+                    iterator.remove();
+                }
+            }
+
+            this.superseded = 0;
+        }
+    }
+
+    private void dropOldest() {
+        final StorageChange oldest = this.changes.removeFirst();
+
+        if (this.isSuperseded(oldest)) {
+            this.superseded--;
+        } else {
+            this.latest.remove(
+                oldest.path()
+            );
+            this.lost = oldest.sequence();
+        }
+    }
+
+    private boolean isSuperseded(final StorageChange change) {
+        return this.latest.get(change.path()) != change.sequence();
+    }
+
+    // changesSince.....................................................................................................
+
+    /**
+     * Returns up to count changes with a sequence greater than the given, oldest first. Zero returns all retained
+     * changes. Fails with {@link IllegalArgumentException} if changes after the given sequence have been dropped,
+     * which may be tested with {@link #isAvailable(long)}.
+     */
+    public synchronized List<StorageChange> changesSince(final long sequence,
+                                                         final int count) {
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Invalid sequence " + sequence + " < 0");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+        if (false == this.isAvailable(sequence)) {
+            throw new IllegalArgumentException("Changes after " + sequence + " have been dropped, oldest available " + this.lost);
+        }
+
+        final List<StorageChange> since = Lists.array();
+
+        if (count > 0 && sequence < this.sequence) {
+            for (final StorageChange change : this.changes) {
+                if (change.sequence() > sequence) {
+                    since.add(change);
+                    if (since.size() == count) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return since;
+    }
+
+    /**
+     * Returns true if all changes after the given sequence are still available.
+     */
+    public synchronized boolean isAvailable(final long sequence) {
+        return sequence >= this.lost;
+    }
+
+    /**
+     * The sequence of the most recent change, or zero when nothing has changed.
+     */
+    public synchronized long sequence() {
+        return this.sequence;
+    }
+
+    /**
+     * A copy of all the retained changes, oldest first.
+     */
+    public synchronized List<StorageChange> changes() {
+        final List<StorageChange> changes = Lists.array();
+        changes.addAll(this.changes);
+        return changes;
+    }
+
+    private final int retention;
+
+    private final ArrayDeque<StorageChange> changes = new ArrayDeque<>();
+
+    /**
+     * The sequence of the latest retained change for each path.
+     */
+    private final Map<StoragePath, Long> latest = Maps.hash();
+
+    /**
+     * The number of retained changes that are not the latest for their path.
+     */
+    private int superseded;
+
+    private long sequence;
+
+    /**
+     * The sequence of the newest change dropped that was not superseded, consumers before this must rescan.
+     */
+    private long lost;
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return this.sequence + " " + this.changes;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.Optional;
+
+/**
+ * The kind of a {@link StorageChange}.
+ */
+public enum StorageChangeType {
+
+    CREATE,
+
+    UPDATE,
+
+    DELETE;
+
+    /**
+     * Returns the type of change between the old and new values.
+     */
+    static StorageChangeType from(final Optional<StorageValue> oldValue,
+                                  final Optional<StorageValue> newValue) {
+        return oldValue.isPresent() ?
+            newValue.isPresent() ?
+                UPDATE :
+                DELETE :
+            CREATE;
+    }
+}
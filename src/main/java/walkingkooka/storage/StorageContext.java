@@ -22,6 +22,8 @@ import walkingkooka.environment.EnvironmentContext;
 import walkingkooka.net.header.MediaTypeDetector;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 public interface StorageContext extends StorageEnvironmentContext,
     ConverterLike,
@@ -38,6 +40,24 @@ public interface StorageContext extends StorageEnvironmentContext,
      */
     boolean canWriteStorage(final StoragePath path);
 
+    /**
+     * {@link Storage#stat(StoragePath, StorageContext)}
+     */
+    default Optional<StorageValueStat> statStorage(final StoragePath path) {
+        Objects.requireNonNull(path, "path");
+
+        return StorageValueStat.loadOrList(
+            path,
+            this::loadStorage,
+            (final StoragePath parent, final Integer offset) -> this.listStorage(
+                parent,
+                offset,
+                StoragePathPatternFinder.PAGE_SIZE
+            ),
+            this::createdAuditInfo
+        );
+    }
+
     /**
      * {@link Storage#save(StorageValue, StorageContext)}.
      */
@@ -55,6 +75,24 @@ public interface StorageContext extends StorageEnvironmentContext,
                                        final int offset,
                                        final int count);
 
+    /**
+     * {@link Storage#listMatching(StoragePathPattern, int, int, StorageContext)}
+     */
+    default List<StorageValueInfo> listMatchingStorage(final StoragePathPattern pattern,
+                                                       final int offset,
+                                                       final int count) {
+        return StoragePathPatternFinder.find(
+            pattern,
+            offset,
+            count,
+            (final StoragePath parent, final Integer pageOffset) -> this.listStorage(
+                parent,
+                pageOffset,
+                StoragePathPatternFinder.PAGE_SIZE
+            )
+        );
+    }
+
     /**
      * {@link Storage#setAuditInfo(StorageValueInfo, StorageContext)}
      */
@@ -65,6 +65,12 @@ public interface StorageContextDelegator extends StorageContext,
             .loadStorage(path);
     }
 
+    @Override
+    default Optional<StorageValueStat> statStorage(final StoragePath path) {
+        return this.storageContext()
+            .statStorage(path);
+    }
+
     @Override
     default StorageValue saveStorage(final StorageValue value) {
         return this.storageContext()
@@ -89,6 +95,18 @@ public interface StorageContextDelegator extends StorageContext,
             );
     }
 
+    @Override
+    default List<StorageValueInfo> listMatchingStorage(final StoragePathPattern pattern,
+                                                       final int offset,
+                                                       final int count) {
+        return this.storageContext()
+            .listMatchingStorage(
+                pattern,
+                offset,
+                count
+            );
+    }
+
     @Override
     default void setAuditInfoStorage(final StorageValueInfo info) {
         this.storageContext()
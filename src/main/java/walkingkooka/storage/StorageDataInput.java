@@ -0,0 +1,336 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.net.header.MediaType;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reads {@link StoragePath}, {@link StorageValue}, {@link StorageValueInfo} and {@link AuditInfo} written by a
+ * {@link StorageDataOutput}, in the same order they were written. Names, emails and content types are only created
+ * the first time they are read, later references share the same instance.
+ */
+@GwtIncompatible
+public final class StorageDataInput implements Closeable {
+
+    public static StorageDataInput with(final InputStream input) {
+        return new StorageDataInput(
+            Objects.requireNonNull(input, "input")
+        );
+    }
+
+    private StorageDataInput(final InputStream input) {
+        super();
+        this.input = input instanceof BufferedInputStream ?
+            input :
+            new BufferedInputStream(input);
+    }
+
+    public StoragePath readPath() throws IOException {
+        final int header = this.readVarint();
+        final int count = header >>> 1;
+
+        final StringBuilder path = new StringBuilder();
+        path.append(StoragePath.SEPARATOR_CHAR);
+
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                path.append(StoragePath.SEPARATOR_CHAR);
+            }
+            path.append(
+                this.readReference(
+                    this.names,
+                    StorageName::with
+                ).value()
+            );
+        }
+
+        if (0 != (header & 1) && count > 0) {
+            path.append(StoragePath.SEPARATOR_CHAR);
+        }
+
+        // parse checks the length of the whole path
+        try {
+            return 0 == count ?
+                StoragePath.ROOT :
+                StoragePath.parse(
+                    path.toString()
+                );
+        } catch (final IllegalArgumentException cause) {
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private final List<StorageName> names = Lists.array();
+
+    public AuditInfo readAuditInfo() throws IOException {
+        final EmailAddress createdBy = this.readReference(
+            this.emails,
+            EmailAddress::parse
+        );
+        final long createdSeconds = this.readSignedVarlong();
+        final LocalDateTime created = this.readTimestamp(
+            createdSeconds,
+            this.readVarint()
+        );
+
+        final EmailAddress modifiedBy = this.readReference(
+            this.emails,
+            EmailAddress::parse
+        );
+        final LocalDateTime modified = this.readTimestamp(
+            createdSeconds + this.readSignedVarlong(),
+            this.readVarint()
+        );
+
+        return AuditInfo.with(
+            createdBy,
+            created,
+            modifiedBy,
+            modified
+        );
+    }
+
+    private LocalDateTime readTimestamp(final long seconds,
+                                        final int nanos) throws IOException {
+        try {
+            return LocalDateTime.ofEpochSecond(
+                seconds,
+                nanos,
+                ZoneOffset.UTC
+            );
+        } catch (final DateTimeException cause) {
+            throw new IOException("Invalid timestamp " + seconds + "." + nanos, cause);
+        }
+    }
+
+    private final List<EmailAddress> emails = Lists.array();
+
+    public StorageValueInfo readValueInfo() throws IOException {
+        return StorageValueInfo.with(
+            this.readPath(),
+            this.readAuditInfo()
+        );
+    }
+
+    public StorageValue readValue() throws IOException {
+        StorageValue value = StorageValue.with(
+            this.readPath()
+        );
+
+        final Optional<MediaType> contentType = 0 != this.readVarint() ?
+            Optional.of(
+                this.readReference(
+                    this.contentTypes,
+                    MediaType::parse
+                )
+            ) :
+            StorageValue.NO_CONTENT_TYPE;
+
+        final int tag = this.readVarint();
+        switch (tag) {
+            case StorageDataOutput.NO_VALUE:
+                break;
+            case StorageDataOutput.BINARY_VALUE:
+                value = value.setValue(
+                    Optional.of(
+                        Binary.with(
+                            this.readBytes()
+                        )
+                    )
+                );
+                break;
+            case StorageDataOutput.STRING_VALUE:
+                value = value.setValue(
+                    Optional.of(
+                        this.readString()
+                    )
+                );
+                break;
+            default:
+                throw new IOException("Invalid value tag " + tag);
+        }
+
+        return value.setContentType(contentType);
+    }
+
+    private final List<MediaType> contentTypes = Lists.array();
+
+    public StorageChange readChange() throws IOException {
+        final long sequence = this.readVarlong();
+
+        final int type = this.readVarint();
+        final StorageChangeType[] types = StorageChangeType.values();
+        if (type < 0 || type >= types.length) {
+            throw new IOException("Invalid change type " + type);
+        }
+
+        final StoragePath path = this.readPath();
+
+        try {
+            return StorageChange.with(
+                sequence,
+                path,
+                types[type]
+            );
+        } catch (final IllegalArgumentException cause) {
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Reads a reference to an earlier occurrence plus one, or zero followed by the text of a new value.
+     */
+    private <T> T readReference(final List<T> references,
+                                final Function<String, T> factory) throws IOException {
+        final int reference = this.readVarint();
+
+        final T value;
+        if (0 == reference) {
+            final String text = this.readString();
+            try {
+                value = factory.apply(text);
+            } catch (final IllegalArgumentException cause) {
+                throw new IOException(cause.getMessage(), cause);
+            }
+            references.add(value);
+        } else {
+            if (reference > references.size()) {
+                throw new IOException("Invalid reference " + reference);
+            }
+            value = references.get(reference - 1);
+        }
+
+        return value;
+    }
+
+    private String readString() throws IOException {
+        return new String(
+            this.readBytes(),
+            StandardCharsets.UTF_8
+        );
+    }
+
+    private byte[] readBytes() throws IOException {
+        final int length = this.readVarint();
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IOException("Invalid length " + (length & 0xFFFFFFFFL) + " > " + MAX_LENGTH);
+        }
+
+        // the length is not trusted, so the array only grows as bytes are actually read
+        byte[] bytes = new byte[Math.min(length, CHUNK)];
+        int offset = 0;
+        while (offset < length) {
+            if (offset == bytes.length) {
+                bytes = Arrays.copyOf(
+                    bytes,
+                    (int) Math.min(length, 2L * offset)
+                );
+            }
+
+            final int read = this.input.read(
+                bytes,
+                offset,
+                bytes.length - offset
+            );
+            if (-1 == read) {
+                throw new EOFException("Expected " + length + " bytes got " + offset);
+            }
+            offset += read;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * The largest {@link Binary} or {@link String} that may be read.
+     */
+    final static int MAX_LENGTH = 64 * 1024 * 1024;
+
+    /**
+     * The initial buffer size when reading bytes.
+     */
+    private final static int CHUNK = 8 * 1024;
+
+    private long readSignedVarlong() throws IOException {
+        final long value = this.readVarlong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readVarint() throws IOException {
+        final long value = this.readVarlong();
+        if (value != (value & 0xFFFFFFFFL)) {
+            throw new IOException("Invalid varint " + Long.toUnsignedString(value));
+        }
+        return (int) value;
+    }
+
+    private long readVarlong() throws IOException {
+        final InputStream input = this.input;
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = input.read();
+            if (-1 == b) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if (0 == (b & 0x80)) {
+                return value;
+            }
+        }
+
+        throw new IOException("Varint too long");
+    }
+
+    private final InputStream input;
+
+    // Closeable........................................................................................................
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.names.size() + " names, " + this.emails.size() + " emails, " + this.contentTypes.size() + " content types";
+    }
+}
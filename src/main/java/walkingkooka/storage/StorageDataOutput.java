@@ -0,0 +1,307 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.net.header.MediaType;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Writes {@link StoragePath}, {@link StorageValue}, {@link StorageValueInfo} and {@link AuditInfo} in a compact binary
+ * form that may be read back by {@link StorageDataInput}.
+ * <br>
+ * All lengths and counts are unsigned varints, 7 bits per byte with the high bit set when more bytes follow.
+ * Each {@link StorageName}, {@link EmailAddress} and {@link MediaType} is written in full the first time and afterwards
+ * as a reference to that first occurrence, so a stream of many entries under the same directories by the same users
+ * stays small. Because references point backwards, a stream must be read from its start by a single
+ * {@link StorageDataInput}.
+ * <br>
+ * A {@link StorageValue} value must be absent, a {@link Binary} or a {@link String}, any other value should be converted
+ * to a {@link Binary} first.
+ */
+@GwtIncompatible
+public final class StorageDataOutput implements Closeable {
+
+    /**
+     * Value tags
+     */
+    final static int NO_VALUE = 0;
+
+    final static int BINARY_VALUE = 1;
+
+    final static int STRING_VALUE = 2;
+
+    public static StorageDataOutput with(final OutputStream output) {
+        return new StorageDataOutput(
+            Objects.requireNonNull(output, "output")
+        );
+    }
+
+    private StorageDataOutput(final OutputStream output) {
+        super();
+        this.output = output instanceof BufferedOutputStream ?
+            output :
+            new BufferedOutputStream(output);
+    }
+
+    /**
+     * Writes the path as a count of names, followed by each name or a reference to an earlier occurrence of the name.
+     * The lowest bit of the count is set for parent paths with a trailing separator.
+     */
+    public void writePath(final StoragePath path) throws IOException {
+        Objects.requireNonNull(path, "path");
+
+        final StorageName[] names = new StorageName[path.depth];
+        StoragePath p = path;
+        for (int i = names.length - 1; i >= 0; i--) {
+            names[i] = p.name();
+            p = p.parent()
+                .get();
+        }
+
+        this.writeVarint(
+            names.length << 1 |
+                (path.isNotRoot() && path.isParent() ? 1 : 0)
+        );
+
+        for (final StorageName name : names) {
+            this.writeReference(
+                name,
+                this.names
+            );
+        }
+    }
+
+    private final Map<Object, Integer> names = Maps.hash();
+
+    /**
+     * Writes the {@link AuditInfo}, timestamps are seconds and nanos since the epoch in UTC, with the modified seconds
+     * written as the difference from the created seconds.
+     */
+    public void writeAuditInfo(final AuditInfo auditInfo) throws IOException {
+        Objects.requireNonNull(auditInfo, "auditInfo");
+
+        final LocalDateTime created = auditInfo.createdTimestamp();
+        final LocalDateTime modified = auditInfo.modifiedTimestamp();
+
+        final long createdSeconds = created.toEpochSecond(ZoneOffset.UTC);
+
+        this.writeReference(
+            auditInfo.createdBy(),
+            this.emails
+        );
+        this.writeSignedVarlong(createdSeconds);
+        this.writeVarint(
+            created.getNano()
+        );
+
+        this.writeReference(
+            auditInfo.modifiedBy(),
+            this.emails
+        );
+        this.writeSignedVarlong(
+            modified.toEpochSecond(ZoneOffset.UTC) - createdSeconds
+        );
+        this.writeVarint(
+            modified.getNano()
+        );
+    }
+
+    private final Map<Object, Integer> emails = Maps.hash();
+
+    public void writeValueInfo(final StorageValueInfo info) throws IOException {
+        Objects.requireNonNull(info, "info");
+
+        this.writePath(
+            info.path()
+        );
+        this.writeAuditInfo(
+            info.auditInfo()
+        );
+    }
+
+    /**
+     * Writes the path, content type and value, failing with {@link IllegalArgumentException} if the value is not a
+     * {@link Binary} or {@link String}.
+     */
+    public void writeValue(final StorageValue value) throws IOException {
+        Objects.requireNonNull(value, "value");
+
+        final Optional<Object> maybeValue = value.value();
+        final Object object = maybeValue.orElse(null);
+
+        if (null != object && false == object instanceof Binary && false == object instanceof String) {
+            throw new IllegalArgumentException(
+                "Unsupported value " +
+                    object.getClass()
+                        .getName() +
+                    " for " +
+                    value.path()
+            );
+        }
+
+        this.writePath(
+            value.path()
+        );
+
+        final Optional<MediaType> contentType = value.contentType();
+        if (contentType.isPresent()) {
+            this.writeVarint(1);
+            this.writeReference(
+                contentType.get(),
+                this.contentTypes
+            );
+        } else {
+            this.writeVarint(0);
+        }
+
+        if (null == object) {
+            this.writeVarint(NO_VALUE);
+        } else {
+            if (object instanceof Binary) {
+                this.writeVarint(BINARY_VALUE);
+                this.writeBytes(
+                    ((Binary) object).value()
+                );
+            } else {
+                this.writeVarint(STRING_VALUE);
+                this.writeString(
+                    (String) object
+                );
+            }
+        }
+    }
+
+    private final Map<Object, Integer> contentTypes = Maps.hash();
+
+    /**
+     * Writes the sequence, type and path of a {@link StorageChange}, allowing a {@link StorageChangeLog} to be
+     * persisted.
+     */
+    public void writeChange(final StorageChange change) throws IOException {
+        Objects.requireNonNull(change, "change");
+
+        this.writeVarlong(
+            change.sequence()
+        );
+        this.writeVarint(
+            change.type()
+                .ordinal()
+        );
+        this.writePath(
+            change.path()
+        );
+    }
+
+    /**
+     * Writes the reference to an earlier occurrence plus one, or zero followed by the text of a new value.
+     */
+    private void writeReference(final Object value,
+                                final Map<Object, Integer> references) throws IOException {
+        final Integer reference = references.get(value);
+
+        if (null != reference) {
+            this.writeVarint(reference + 1);
+        } else {
+            this.writeVarint(0);
+            this.writeString(
+                value instanceof StorageName ?
+                    ((StorageName) value).value() :
+                    value instanceof EmailAddress ?
+                        ((EmailAddress) value).value() :
+                        value.toString()
+            );
+
+            references.put(
+                value,
+                references.size()
+            );
+        }
+    }
+
+    private void writeString(final String text) throws IOException {
+        this.writeBytes(
+            text.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        this.writeVarint(bytes.length);
+        this.output.write(bytes);
+    }
+
+    private void writeSignedVarlong(final long value) throws IOException {
+        // zigzag so small negative numbers are also small
+        this.writeVarlong(
+            (value << 1) ^ (value >> 63)
+        );
+    }
+
+    private void writeVarint(final int value) throws IOException {
+        this.writeVarlong(
+            value & 0xFFFFFFFFL
+        );
+    }
+
+    private void writeVarlong(final long value) throws IOException {
+        final OutputStream output = this.output;
+
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            output.write(
+                (int) ((v & 0x7F) | 0x80)
+            );
+            v = v >>> 7;
+        }
+        output.write((int) v);
+    }
+
+    private final OutputStream output;
+
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    // Closeable........................................................................................................
+
+    @Override
+    public void close() throws IOException {
+        this.output.close();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.names.size() + " names, " + this.emails.size() + " emails, " + this.contentTypes.size() + " content types";
+    }
+}
@@ -52,6 +52,16 @@ public interface StorageDelegator<C extends StorageContext> extends Storage<C> {
             );
     }
 
+    @Override
+    default Optional<StorageValueStat> stat(final StoragePath path,
+                                            final C context) {
+        return this.storage()
+            .stat(
+                path,
+                context
+            );
+    }
+
     @Override
     default StorageValue save(final StorageValue value,
                               final C context) {
@@ -86,6 +96,28 @@ public interface StorageDelegator<C extends StorageContext> extends Storage<C> {
             );
     }
 
+    @Override
+    default List<StorageChange> changesSince(final long sequence,
+                                             final int count,
+                                             final C context) {
+        return this.storage()
+            .changesSince(
+                sequence,
+                count,
+                context
+            );
+    }
+
+    @Override
+    default boolean isChangesSinceAvailable(final long sequence,
+                                            final C context) {
+        return this.storage()
+            .isChangesSinceAvailable(
+                sequence,
+                context
+            );
+    }
+
     @Override
     default void setAuditInfo(final StorageValueInfo value,
                               final C context) {
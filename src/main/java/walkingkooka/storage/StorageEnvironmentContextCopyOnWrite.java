@@ -0,0 +1,674 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.environment.EnvironmentContext;
+import walkingkooka.environment.EnvironmentContextDelegator;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.environment.EnvironmentValueNameAndValue;
+import walkingkooka.environment.EnvironmentWatcher;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.TreePrintable;
+
+import java.nio.charset.Charset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.Supplier;
+
+/**
+ * A {@link StorageEnvironmentContext} where {@link #cloneEnvironment()} shares the wrapped {@link EnvironmentContext}
+ * rather than copying it. The wrapped {@link EnvironmentContext} is treated as read only, each instance records its
+ * own writes and removals in a small override map, so a write only touches the one {@link EnvironmentValueName}.
+ * <br>
+ * When an instance with overrides is cloned, its overrides are frozen into a read only layer shared by both instances,
+ * and each continues with an empty override map. Long chains of layers are merged, which only copies overridden values
+ * and never the values of the wrapped {@link EnvironmentContext}.
+ * <br>
+ * {@link EnvironmentWatcher watchers} belong to each instance and only receive changes made using that instance.
+ */
+final class StorageEnvironmentContextCopyOnWrite implements StorageEnvironmentContext,
+    EnvironmentContextDelegator,
+    TreePrintable {
+
+    static StorageEnvironmentContextCopyOnWrite with(final EnvironmentContext environmentContext) {
+        Objects.requireNonNull(environmentContext, "environmentContext");
+
+        return environmentContext instanceof StorageEnvironmentContextCopyOnWrite ?
+            (StorageEnvironmentContextCopyOnWrite) environmentContext :
+            new StorageEnvironmentContextCopyOnWrite(
+                environmentContext instanceof StorageEnvironmentContextBasic ?
+                    ((StorageEnvironmentContextBasic) environmentContext).environmentContext() :
+                    environmentContext,
+                null
+            );
+    }
+
+    private StorageEnvironmentContextCopyOnWrite(final EnvironmentContext context,
+                                                 final Layer layer) {
+        super();
+
+        this.context = context;
+        this.layer = layer;
+    }
+
+    // StorageEnvironmentContext........................................................................................
+
+    @Override
+    public Optional<StoragePath> currentWorkingDirectory() {
+        return this.environmentValue(CURRENT_WORKING_DIRECTORY);
+    }
+
+    @Override
+    public void setCurrentWorkingDirectory(final Optional<StoragePath> currentWorkingDirectory) {
+        CURRENT_WORKING_DIRECTORY.setOrRemoveEnvironmentValue(
+            currentWorkingDirectory,
+            this
+        );
+    }
+
+    @Override
+    public Optional<StoragePath> homeDirectory() {
+        return HOME_DIRECTORY.getEnvironmentValue(this);
+    }
+
+    @Override
+    public void setHomeDirectory(final Optional<StoragePath> homeDirectory) {
+        HOME_DIRECTORY.setOrRemoveEnvironmentValue(
+            homeDirectory,
+            this
+        );
+    }
+
+    // EnvironmentContextDelegator......................................................................................
+
+    /**
+     * Shares the wrapped {@link EnvironmentContext} and any overrides with the new instance, neither will see changes
+     * made by the other.
+     */
+    @Override
+    public StorageEnvironmentContext cloneEnvironment() {
+        final Layer layer;
+
+        synchronized (this) {
+            if (false == this.overrides.isEmpty()) {
+                this.layer = Layer.with(
+                    this.overrides,
+                    this.layer
+                );
+                this.overrides = Maps.hash();
+            }
+            layer = this.layer;
+        }
+
+        return new StorageEnvironmentContextCopyOnWrite(
+            this.context,
+            layer
+        );
+    }
+
+    @Override
+    public StorageEnvironmentContext setEnvironmentContext(final EnvironmentContext environmentContext) {
+        return this == environmentContext || this.context == environmentContext ?
+            this :
+            StorageEnvironmentContextCopyOnWrite.with(
+                environmentContext
+            );
+    }
+
+    @Override
+    public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+        Objects.requireNonNull(name, "name");
+
+        final Optional<?> value = this.override(name);
+        return null != value ?
+            Cast.to(value) :
+            this.context.environmentValue(name);
+    }
+
+    @Override
+    public Set<EnvironmentValueName<?>> environmentValueNames() {
+        final SortedSet<EnvironmentValueName<?>> names = SortedSets.tree();
+        names.addAll(
+            this.context.environmentValueNames()
+        );
+
+        for (final Entry<EnvironmentValueName<?>, Optional<?>> nameAndValue : this.overrides().entrySet()) {
+            final EnvironmentValueName<?> name = nameAndValue.getKey();
+
+            if (nameAndValue.getValue().isPresent()) {
+                names.add(name);
+            } else {
+                names.remove(name);
+            }
+        }
+
+        return names;
+    }
+
+    @Override
+    public <T> void setEnvironmentValue(final EnvironmentValueName<T> name,
+                                        final T value) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(value, "value");
+
+        this.write(
+            name,
+            Optional.of(value)
+        );
+    }
+
+    @Override
+    public void removeEnvironmentValue(final EnvironmentValueName<?> name) {
+        Objects.requireNonNull(name, "name");
+
+        this.write(
+            name,
+            Optional.empty()
+        );
+    }
+
+    @Override
+    public Charset charset() {
+        return this.value(
+            EnvironmentValueName.CHARSET,
+            this.context::charset
+        );
+    }
+
+    @Override
+    public void setCharset(final Charset charset) {
+        this.setEnvironmentValue(
+            EnvironmentValueName.CHARSET,
+            charset
+        );
+    }
+
+    @Override
+    public Currency currency() {
+        return this.value(
+            EnvironmentValueName.CURRENCY,
+            this.context::currency
+        );
+    }
+
+    @Override
+    public void setCurrency(final Currency currency) {
+        this.setEnvironmentValue(
+            EnvironmentValueName.CURRENCY,
+            currency
+        );
+    }
+
+    @Override
+    public Indentation indentation() {
+        return this.value(
+            EnvironmentValueName.INDENTATION,
+            this.context::indentation
+        );
+    }
+
+    @Override
+    public void setIndentation(final Indentation indentation) {
+        this.setEnvironmentValue(
+            EnvironmentValueName.INDENTATION,
+            indentation
+        );
+    }
+
+    @Override
+    public LineEnding lineEnding() {
+        return this.value(
+            EnvironmentValueName.LINE_ENDING,
+            this.context::lineEnding
+        );
+    }
+
+    @Override
+    public void setLineEnding(final LineEnding lineEnding) {
+        this.setEnvironmentValue(
+            EnvironmentValueName.LINE_ENDING,
+            lineEnding
+        );
+    }
+
+    @Override
+    public Locale locale() {
+        return this.value(
+            EnvironmentValueName.LOCALE,
+            this.context::locale
+        );
+    }
+
+    @Override
+    public void setLocale(final Locale locale) {
+        this.setEnvironmentValue(
+            EnvironmentValueName.LOCALE,
+            locale
+        );
+    }
+
+    @Override
+    public Optional<EmailAddress> user() {
+        final Optional<?> user = this.override(EnvironmentValueName.USER);
+        return null != user ?
+            Cast.to(user) :
+            this.context.user();
+    }
+
+    @Override
+    public void setUser(final Optional<EmailAddress> user) {
+        Objects.requireNonNull(user, "user");
+
+        if (user.isPresent()) {
+            this.setEnvironmentValue(
+                EnvironmentValueName.USER,
+                user.get()
+            );
+        } else {
+            this.removeEnvironmentValue(EnvironmentValueName.USER);
+        }
+    }
+
+    /**
+     * The shared read only {@link EnvironmentContext}, overridden values are not included.
+     */
+    @Override
+    public EnvironmentContext environmentContext() {
+        return this.context;
+    }
+
+    private final EnvironmentContext context;
+
+    /**
+     * Returns the overridden value when one was set, otherwise gets the value from the wrapped {@link EnvironmentContext}.
+     */
+    private <T> T value(final EnvironmentValueName<T> name,
+                        final Supplier<T> context) {
+        final Optional<?> value = this.override(name);
+        return null != value && value.isPresent() ?
+            Cast.to(value.get()) :
+            context.get();
+    }
+
+    /**
+     * Returns the value or {@link Optional#empty()} for a removed value, or null if the {@link EnvironmentValueName}
+     * has not been overridden by this instance or any shared {@link Layer}.
+     */
+    private synchronized Optional<?> override(final EnvironmentValueName<?> name) {
+        Optional<?> value = this.overrides.get(name);
+
+        Layer layer = this.layer;
+        while (null == value && null != layer) {
+            value = layer.values.get(name);
+            layer = layer.next;
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns all overridden values, with values from this instance replacing any from the shared {@link Layer}s.
+     */
+    private synchronized Map<EnvironmentValueName<?>, Optional<?>> overrides() {
+        return Layer.flatten(
+            this.overrides,
+            this.layer
+        );
+    }
+
+    /**
+     * Records the new value or removal and fires watchers if the value changed.
+     */
+    private void write(final EnvironmentValueName<?> name,
+                       final Optional<?> value) {
+        final Optional<?> oldValue;
+
+        synchronized (this) {
+            oldValue = this.environmentValue(name);
+            this.overrides.put(
+                name,
+                value
+            );
+        }
+
+        if (false == oldValue.equals(value)) {
+            this.fire(
+                nameAndValue(
+                    name,
+                    oldValue
+                ),
+                nameAndValue(
+                    name,
+                    value
+                )
+            );
+        }
+    }
+
+    private static <T> Optional<EnvironmentValueNameAndValue<?>> nameAndValue(final EnvironmentValueName<T> name,
+                                                                             final Optional<?> value) {
+        return value.isPresent() ?
+            Optional.of(
+                EnvironmentValueNameAndValue.with(
+                    name,
+                    Cast.<T>to(value.get())
+                )
+            ) :
+            Optional.empty();
+    }
+
+    /**
+     * Values written or removed using this instance, an {@link Optional#empty()} marks a removed value.
+     */
+    private Map<EnvironmentValueName<?>, Optional<?>> overrides = Maps.hash();
+
+    /**
+     * Overrides frozen by {@link #cloneEnvironment()}, shared with any clones.
+     */
+    private Layer layer;
+
+    /**
+     * A read only snapshot of overrides shared by one or more {@link StorageEnvironmentContextCopyOnWrite}.
+     */
+    private static final class Layer {
+
+        /**
+         * Chains longer than this are merged into a single {@link Layer} so reads stay cheap.
+         */
+        private final static int MAX_DEPTH = 8;
+
+        static Layer with(final Map<EnvironmentValueName<?>, Optional<?>> values,
+                          final Layer next) {
+            return null != next && next.depth >= MAX_DEPTH ?
+                new Layer(
+                    flatten(
+                        values,
+                        next
+                    ),
+                    null
+                ) :
+                new Layer(
+                    values,
+                    next
+                );
+        }
+
+        static Map<EnvironmentValueName<?>, Optional<?>> flatten(final Map<EnvironmentValueName<?>, Optional<?>> values,
+                                                                 final Layer next) {
+            final Map<EnvironmentValueName<?>, Optional<?>> flat = Maps.hash();
+            flat.putAll(values);
+
+            Layer layer = next;
+            while (null != layer) {
+                for (final Entry<EnvironmentValueName<?>, Optional<?>> nameAndValue : layer.values.entrySet()) {
+                    flat.putIfAbsent(
+                        nameAndValue.getKey(),
+                        nameAndValue.getValue()
+                    );
+                }
+                layer = layer.next;
+            }
+
+            return flat;
+        }
+
+        private Layer(final Map<EnvironmentValueName<?>, Optional<?>> values,
+                      final Layer next) {
+            this.values = values;
+            this.next = next;
+            this.depth = null == next ?
+                1 :
+                next.depth + 1;
+        }
+
+        final Map<EnvironmentValueName<?>, Optional<?>> values;
+
+        final Layer next;
+
+        final int depth;
+    }
+
+    // watchers.........................................................................................................
+
+    @Override
+    public Runnable addEnvironmentWatcher(final EnvironmentWatcher watcher) {
+        return this.addWatcher(
+            watcher,
+            false
+        );
+    }
+
+    @Override
+    public Runnable addEnvironmentWatcherOnce(final EnvironmentWatcher watcher) {
+        return this.addWatcher(
+            watcher,
+            true
+        );
+    }
+
+    private Runnable addWatcher(final EnvironmentWatcher watcher,
+                                final boolean once) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        final Watcher registration = new Watcher(
+            watcher,
+            once
+        );
+
+        synchronized (this.watchers) {
+            this.watchers.add(registration);
+        }
+
+        return registration::remove;
+    }
+
+    private void fire(final Optional<EnvironmentValueNameAndValue<?>> oldValue,
+                      final Optional<EnvironmentValueNameAndValue<?>> newValue) {
+        final List<Watcher> watchers;
+
+        synchronized (this.watchers) {
+            watchers = Lists.array();
+            watchers.addAll(this.watchers);
+        }
+
+        for (final Watcher watcher : watchers) {
+            watcher.onValueChange(
+                oldValue,
+                newValue
+            );
+        }
+    }
+
+    /**
+     * A {@link EnvironmentWatcher} added to this context, which may only fire once.
+     */
+    private final class Watcher implements EnvironmentWatcher {
+
+        Watcher(final EnvironmentWatcher watcher,
+                final boolean once) {
+            this.watcher = watcher;
+            this.once = once;
+        }
+
+        void remove() {
+            synchronized (StorageEnvironmentContextCopyOnWrite.this.watchers) {
+                StorageEnvironmentContextCopyOnWrite.this.watchers.remove(this);
+            }
+        }
+
+        @Override
+        public void onValueChange(final Optional<EnvironmentValueNameAndValue<?>> oldValue,
+                                  final Optional<EnvironmentValueNameAndValue<?>> newValue) {
+            if (this.once) {
+                this.remove();
+            }
+
+            this.watcher.onValueChange(
+                oldValue,
+                newValue
+            );
+        }
+
+        private final EnvironmentWatcher watcher;
+
+        private final boolean once;
+
+        @Override
+        public String toString() {
+            return this.watcher.toString();
+        }
+    }
+
+    private final List<Watcher> watchers = Lists.array();
+
+    // CanParseEnvironmentValueName.....................................................................................
+
+    @Override
+    public EnvironmentValueName<?> parseEnvironmentValueName(final String name) {
+        Objects.requireNonNull(name, "name");
+
+        EnvironmentValueName<?> parsed = EnvironmentValueName.CASE_SENSITIVITY.equals(
+            CURRENT_WORKING_DIRECTORY.value(),
+            name
+        ) ?
+            CURRENT_WORKING_DIRECTORY :
+            EnvironmentValueName.CASE_SENSITIVITY.equals(
+                HOME_DIRECTORY.value(),
+                name
+            ) ?
+                HOME_DIRECTORY :
+                null;
+
+        if (null == parsed) {
+            for (final EnvironmentValueName<?> overridden : this.overrides().keySet()) {
+                if (EnvironmentValueName.CASE_SENSITIVITY.equals(overridden.value(), name)) {
+                    parsed = overridden;
+                    break;
+                }
+            }
+        }
+
+        return null != parsed ?
+            parsed :
+            this.context.parseEnvironmentValueName(name);
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.context.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            (other instanceof StorageEnvironmentContextCopyOnWrite &&
+                this.equals0((StorageEnvironmentContextCopyOnWrite) other));
+    }
+
+    private boolean equals0(final StorageEnvironmentContextCopyOnWrite other) {
+        return this.context.equals(other.context) &&
+            this.overrides().equals(other.overrides());
+    }
+
+    @Override
+    public String toString() {
+        final String toString;
+
+        if (this.overrides().isEmpty()) {
+            toString = this.context.toString();
+        } else {
+            final Map<String, Object> values = Maps.sorted();
+
+            for (final EnvironmentValueName<?> name : this.environmentValueNames()) {
+                values.put(
+                    name.value(),
+                    this.environmentValue(name)
+                        .orElse(null)
+                );
+            }
+
+            toString = values.toString();
+        }
+
+        return toString;
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            TreePrintable.printTreeOrToString(
+                this.context,
+                printer
+            );
+
+            final Map<EnvironmentValueName<?>, Optional<?>> overrides = this.overrides();
+            if (false == overrides.isEmpty()) {
+                printer.println("overrides");
+                printer.indent();
+                {
+                    final Map<String, Optional<?>> sorted = Maps.sorted();
+                    for (final Entry<EnvironmentValueName<?>, Optional<?>> nameAndValue : overrides.entrySet()) {
+                        sorted.put(
+                            nameAndValue.getKey().value(),
+                            nameAndValue.getValue()
+                        );
+                    }
+
+                    for (final Entry<String, Optional<?>> nameAndValue : sorted.entrySet()) {
+                        printer.println(nameAndValue.getKey());
+                        printer.indent();
+                        {
+                            final Optional<?> value = nameAndValue.getValue();
+                            if (value.isPresent()) {
+                                TreePrintable.printTreeOrToString(
+                                    value.get(),
+                                    printer
+                                );
+                            } else {
+                                printer.println("removed");
+                            }
+                        }
+                        printer.outdent();
+                    }
+                }
+                printer.outdent();
+            }
+        }
+        printer.outdent();
+    }
+}
@@ -35,6 +35,13 @@ public final class StorageEnvironmentContexts implements PublicStaticHelper {
         return StorageEnvironmentContextBasic.with(environmentContext);
     }
 
+    /**
+     * {@see StorageEnvironmentContextCopyOnWrite}
+     */
+    public static StorageEnvironmentContext copyOnWrite(final EnvironmentContext environmentContext) {
+        return StorageEnvironmentContextCopyOnWrite.with(environmentContext);
+    }
+
     /**
      * {@see FakeStorageEnvironmentContext}
      */
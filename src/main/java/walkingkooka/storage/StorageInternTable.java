@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.Cast;
+
+/**
+ * A bounded table that remembers the value created for a {@link String}, used by {@link StoragePath#parse(String)} and
+ * {@link StorageName#with(String)} so equal text shares the same instance.
+ * <br>
+ * Each {@link String} hash selects a single slot, and a new value simply replaces whatever was in that slot, so the
+ * table never grows and needs no locking. Each slot holds an immutable {@link Entry}, so a reader either sees a
+ * complete key and value or a miss.
+ */
+final class StorageInternTable<T> {
+
+    /**
+     * The number of slots in each table.
+     */
+    final static int SIZE = 1024;
+
+    static <T> StorageInternTable<T> empty() {
+        return new StorageInternTable<>();
+    }
+
+    private StorageInternTable() {
+        super();
+    }
+
+    /**
+     * Returns the value previously added for the given text, or null if it has not been added or was replaced.
+     */
+    T get(final String text) {
+        final Entry entry = this.entries[index(text)];
+
+        return null != entry && text.equals(entry.text) ?
+            Cast.to(entry.value) :
+            null;
+    }
+
+    /**
+     * Adds the value replacing any other value in the same slot, returning the value.
+     */
+    T put(final String text,
+          final T value) {
+        this.entries[index(text)] = new Entry(
+            text,
+            value
+        );
+        return value;
+    }
+
+    private static int index(final String text) {
+        final int hash = text.hashCode();
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    private static final class Entry {
+
+        Entry(final String text,
+              final Object value) {
+            this.text = text;
+            this.value = value;
+        }
+
+        final String text;
+
+        final Object value;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        int count = 0;
+
+        for (final Entry entry : this.entries) {
+            if (null != entry) {
+                count++;
+            }
+        }
+
+        return count + "/" + SIZE;
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.Binary;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.json.JsonNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reads a single value selected by a JSON pointer from the UTF-8 bytes of a JSON document, such as a
+ * {@link StorageBinary} holding a <code>*.json</code> file.
+ * <pre>
+ * /reports/0/title
+ * </pre>
+ * The bytes are read once, in order, from {@link Binary#inputStream()} without copying the document. Values before the
+ * selected value are skipped by only tracking strings and nesting, and only the bytes of the selected value are kept,
+ * decoded and parsed into a {@link JsonNode}. Reading one property of a large document therefore never builds the rest
+ * of the tree. Values that are skipped are not validated.
+ * <br>
+ * Pointer tokens follow RFC 6901, with <code>~1</code> meaning <code>/</code> and <code>~0</code> meaning
+ * <code>~</code>, and an empty pointer selecting the whole document.
+ */
+public final class StorageJsonReader {
+
+    /**
+     * An empty pointer selects the whole document.
+     */
+    public final static String DOCUMENT = "";
+
+    /**
+     * Returns the value selected by the pointer or empty if any property or index along the pointer is missing.
+     */
+    public static Optional<JsonNode> read(final Binary json,
+                                          final String pointer) {
+        Objects.requireNonNull(json, "json");
+        Objects.requireNonNull(pointer, "pointer");
+
+        return new StorageJsonReader(
+            json.inputStream(),
+            pointer
+        ).read();
+    }
+
+    private StorageJsonReader(final InputStream input,
+                              final String pointer) {
+        super();
+        this.input = input;
+        this.pointer = pointer;
+        this.tokens = tokens(pointer);
+    }
+
+    /**
+     * Splits the pointer into its unescaped tokens.
+     */
+    private static String[] tokens(final String pointer) {
+        final String[] tokens;
+
+        if (pointer.isEmpty()) {
+            tokens = new String[0];
+        } else {
+            if ('/' != pointer.charAt(0)) {
+                throw new IllegalArgumentException("Invalid pointer " + CharSequences.quoteAndEscape(pointer) + " expected \"/\"");
+            }
+
+            tokens = pointer.substring(1)
+                .split("/", -1);
+
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = tokens[i].replace("~1", "/")
+                    .replace("~0", "~");
+            }
+        }
+
+        return tokens;
+    }
+
+    private Optional<JsonNode> read() {
+        this.next = this.readByte();
+
+        // skip any UTF-8 byte order mark
+        if (0xEF == this.next) {
+            this.advance();
+            this.expect(0xBB);
+            this.expect(0xBF);
+        }
+
+        this.skipWhitespace();
+
+        boolean found = true;
+
+        for (final String token : this.tokens) {
+            switch (this.peek()) {
+                case '{':
+                    this.advance();
+                    found = this.property(token);
+                    break;
+                case '[':
+                    this.advance();
+                    found = this.element(token);
+                    break;
+                default:
+                    found = false; // a scalar has no properties or elements
+                    break;
+            }
+
+            if (false == found) {
+                break;
+            }
+        }
+
+        JsonNode node = null;
+        if (found) {
+            final ByteArrayOutputStream value = new ByteArrayOutputStream();
+            this.capture = value;
+            this.skipValue();
+            this.capture = null;
+
+            node = JsonNode.parse(
+                new String(
+                    value.toByteArray(),
+                    StandardCharsets.UTF_8
+                )
+            );
+        }
+
+        return Optional.ofNullable(node);
+    }
+
+    /**
+     * Skips to the value of the named property in the object whose members follow, returning false if it is missing.
+     */
+    private boolean property(final String name) {
+        boolean found = false;
+
+        this.skipWhitespace();
+
+        if ('}' != this.peek()) {
+            for (; ; ) {
+                if ('"' != this.peek()) {
+                    throw this.invalidCharacter();
+                }
+
+                final boolean match = name.equals(
+                    this.string()
+                );
+
+                this.skipWhitespace();
+                this.expect(':');
+                this.skipWhitespace();
+
+                if (match) {
+                    found = true;
+                    break;
+                }
+
+                this.skipValue();
+                this.skipWhitespace();
+                if ('}' == this.peek()) {
+                    break;
+                }
+                this.expect(',');
+                this.skipWhitespace();
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Skips to the element at the index in the array whose elements follow, returning false if it is missing or the
+     * token is not an index.
+     */
+    private boolean element(final String token) {
+        final int index = index(token);
+
+        this.skipWhitespace();
+
+        boolean found = -1 != index && ']' != this.peek();
+        for (int i = 0; found && i < index; i++) {
+            this.skipValue();
+            this.skipWhitespace();
+            if (']' == this.peek()) {
+                found = false;
+            } else {
+                this.expect(',');
+                this.skipWhitespace();
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Returns the array index or -1 if the token is not zero or digits without a leading zero.
+     */
+    private static int index(final String token) {
+        final int length = token.length();
+
+        boolean valid = length > 0 && length < 10 && (length == 1 || '0' != token.charAt(0));
+        for (int i = 0; valid && i < length; i++) {
+            final char c = token.charAt(i);
+            valid = c >= '0' && c <= '9';
+        }
+
+        return valid ?
+            Integer.parseInt(token) :
+            -1;
+    }
+
+    /**
+     * Skips the value starting at the next byte, without validating its contents.
+     */
+    private void skipValue() {
+        switch (this.peek()) {
+            case '"':
+                this.skipString();
+                break;
+            case '{':
+            case '[':
+                int depth = 0;
+                do {
+                    switch (this.peek()) {
+                        case '"':
+                            this.skipString();
+                            continue;
+                        case '{':
+                        case '[':
+                            depth++;
+                            break;
+                        case '}':
+                        case ']':
+                            depth--;
+                            break;
+                        default:
+                            break;
+                    }
+                    this.advance();
+                } while (depth > 0);
+                break;
+            case ',':
+            case '}':
+            case ']':
+            case ':':
+                throw this.invalidCharacter();
+            default:
+                // number, true, false or null
+                while (END != this.next && false == isScalarEnd(this.next)) {
+                    this.advance();
+                }
+                break;
+        }
+    }
+
+    private static boolean isScalarEnd(final int b) {
+        return ',' == b || '}' == b || ']' == b || isWhitespace(b);
+    }
+
+    /**
+     * Skips the string starting at the next byte, including the closing quote.
+     */
+    private void skipString() {
+        this.advance();
+
+        for (; ; ) {
+            final char c = this.peek();
+            this.advance();
+
+            if ('"' == c) {
+                break;
+            }
+            if ('\\' == c) {
+                this.peek();
+                this.advance();
+            }
+        }
+    }
+
+    /**
+     * Reads and decodes the string starting at the next byte, only used for property names.
+     */
+    private String string() {
+        final ByteArrayOutputStream quoted = new ByteArrayOutputStream();
+        this.capture = quoted;
+        this.skipString();
+        this.capture = null;
+
+        final byte[] bytes = quoted.toByteArray();
+
+        boolean escaped = false;
+        for (final byte b : bytes) {
+            if ('\\' == b) {
+                escaped = true;
+                break;
+            }
+        }
+
+        return escaped ?
+            JsonNode.parse(
+                new String(
+                    bytes,
+                    StandardCharsets.UTF_8
+                )
+            ).stringOrFail() : // let JsonNode handle the escapes
+            new String(
+                bytes,
+                1,
+                bytes.length - 2,
+                StandardCharsets.UTF_8
+            );
+    }
+
+    private void skipWhitespace() {
+        while (END != this.next && isWhitespace(this.next)) {
+            this.advance();
+        }
+    }
+
+    private static boolean isWhitespace(final int b) {
+        return ' ' == b || '\t' == b || '\n' == b || '\r' == b;
+    }
+
+    private void expect(final int c) {
+        if (c != this.peek()) {
+            throw this.invalidCharacter();
+        }
+        this.advance();
+    }
+
+    /**
+     * Returns the next byte without consuming it, failing at the end of the document.
+     */
+    private char peek() {
+        if (END == this.next) {
+            throw this.unexpectedEnd();
+        }
+        return (char) this.next;
+    }
+
+    /**
+     * Consumes the next byte, adding it to any value or property name being kept.
+     */
+    private void advance() {
+        final ByteArrayOutputStream capture = this.capture;
+        if (null != capture) {
+            capture.write(this.next);
+        }
+
+        this.next = this.readByte();
+        this.position++;
+    }
+
+    private int readByte() {
+        try {
+            return this.input.read();
+        } catch (final IOException never) {
+            throw new IllegalStateException(never);
+        }
+    }
+
+    private IllegalArgumentException invalidCharacter() {
+        return new IllegalArgumentException(
+            "Invalid character " +
+                CharSequences.quoteIfChars(
+                    (char) this.next
+                ) +
+                " at " +
+                this.position +
+                " reading " +
+                CharSequences.quoteAndEscape(this.pointer)
+        );
+    }
+
+    private IllegalArgumentException unexpectedEnd() {
+        return new IllegalArgumentException("Unexpected end of JSON reading " + CharSequences.quoteAndEscape(this.pointer));
+    }
+
+    private final static int END = -1;
+
+    private final InputStream input;
+
+    /**
+     * The next byte or {@link #END}.
+     */
+    private int next;
+
+    /**
+     * The position of {@link #next} within the document.
+     */
+    private int position;
+
+    /**
+     * Receives each byte that is consumed while reading the selected value or a property name, otherwise null.
+     */
+    private ByteArrayOutputStream capture;
+
+    private final String pointer;
+
+    private final String[] tokens;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.pointer;
+    }
+}
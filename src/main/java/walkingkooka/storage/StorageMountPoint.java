@@ -52,14 +52,6 @@ public final class StorageMountPoint<C extends StorageContext> implements Compar
         super();
         this.path = path;
         this.storage = storage;
-
-        final String value = path.value();
-
-        this.storagePathSlash = path.isRoot() || value.endsWith(StoragePath.SEPARATOR_STRING) ?
-            value :
-            value.concat(
-                StoragePath.SEPARATOR_STRING
-            );
     }
 
     // /mount111 vs /mount111 -> true
@@ -67,31 +59,14 @@ public final class StorageMountPoint<C extends StorageContext> implements Compar
     // /mount222 vs /mount333/under333 -> false
     // / vs /under444 -> true
     boolean isMatch(final StoragePath path) {
-        return this.path.equals(path) ||
-            StoragePath.CASE_SENSITIVITY.startsWith(
-                path.value(),
-                this.storagePathSlash
-            );
+        return path.hasPrefix(this.path);
     }
 
-    private final String storagePathSlash;
-
     // /mount1/path2/path3
     //
     // /path/path2
     StoragePath remove(final StoragePath path) {
-        final StoragePath thisStoragePath = this.path;
-
-        return thisStoragePath.isRoot() ?
-            path :
-            thisStoragePath.equals(path) ?
-                StoragePath.ROOT :
-                StoragePath.parse(
-                    path.value()
-                        .substring(
-                            thisStoragePath.value().length()
-                        )
-                );
+        return path.removePrefix(this.path);
     }
 
     StoragePath add(final StoragePath path) {
@@ -41,7 +41,7 @@ final class StorageMountPointPaths<C extends StorageContext> implements StorageD
     private StorageMountPointPaths() {
         super();
 
-        this.storage = Storages.value(
+        this.storage = Storages.valueMemoized(
             (C context) -> StorageValue.with(StoragePath.ROOT)
                 .setValue(
                     Optional.of(
@@ -52,7 +52,9 @@ final class StorageMountPointPaths<C extends StorageContext> implements StorageD
                                 .collect(Collectors.toList())
                         )
                     )
-                )
+                ),
+            StorageContext::storageMountPoints, // mounting or unmounting changes the key
+            Optional.empty() // timeToLive
         );
     }
 
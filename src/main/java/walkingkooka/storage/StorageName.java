@@ -39,6 +39,11 @@ public final class StorageName implements PathName,
 
     public final static int MAX_LENGTH = 255;
 
+    /**
+     * Previously created {@link StorageName}, so frequently used names share the same instance.
+     */
+    private final static StorageInternTable<StorageName> NAMES = StorageInternTable.empty();
+
     final static String ROOT_NAME = "";
 
     final static StorageName ROOT = new StorageName(ROOT_NAME);
@@ -49,25 +54,75 @@ public final class StorageName implements PathName,
         )
     );
 
+    /**
+     * {@link #CHARACTERS} tested once for each ASCII character, so most names are validated without calling the
+     * {@link CharPredicate}.
+     */
+    private final static boolean[] ASCII = ascii();
+
+    private static boolean[] ascii() {
+        final boolean[] ascii = new boolean[128];
+
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = CHARACTERS.test((char) i);
+        }
+
+        return ascii;
+    }
+
     /**
      * Factory that creates a new {@link StorageName}
      */
     public static StorageName with(final String name) {
-        return ROOT.value().equals(name) ?
-            ROOT :
-            new StorageName(
-                CharPredicates.failIfNullOrEmptyOrInitialAndPartFalse(
-                    InvalidTextLengthException.throwIfFail(
-                        "name",
-                        name,
-                        MIN_LENGTH,
-                        MAX_LENGTH
-                    ),
-                    "name",
-                    CHARACTERS, // initial
-                    CHARACTERS // part
-                )
-            );
+        StorageName storageName;
+
+        if (ROOT.value().equals(name)) {
+            storageName = ROOT;
+        } else {
+            storageName = null != name ?
+                NAMES.get(name) :
+                null;
+            if (null == storageName) {
+                storageName = NAMES.put(
+                    name,
+                    new StorageName(
+                        isValidAscii(name) ?
+                            name :
+                            CharPredicates.failIfNullOrEmptyOrInitialAndPartFalse(
+                                InvalidTextLengthException.throwIfFail(
+                                    "name",
+                                    name,
+                                    MIN_LENGTH,
+                                    MAX_LENGTH
+                                ),
+                                "name",
+                                CHARACTERS, // initial
+                                CHARACTERS // part
+                            )
+                    )
+                );
+            }
+        }
+
+        return storageName;
+    }
+
+    /**
+     * Returns true if the name has a valid length and only valid ASCII characters. Any other name is validated by the
+     * slower path which also reports the actual failure.
+     */
+    private static boolean isValidAscii(final String name) {
+        final int length = null != name ?
+            name.length() :
+            0;
+        boolean valid = length >= MIN_LENGTH && length <= MAX_LENGTH;
+
+        for (int i = 0; valid && i < length; i++) {
+            final char c = name.charAt(i);
+            valid = c < ASCII.length && ASCII[c];
+        }
+
+        return valid;
     }
 
     private StorageName(final String name) {
@@ -18,7 +18,6 @@
 package walkingkooka.storage;
 
 import walkingkooka.InvalidTextLengthException;
-import walkingkooka.collect.list.Lists;
 import walkingkooka.compare.Comparators;
 import walkingkooka.naming.Path;
 import walkingkooka.naming.PathSeparator;
@@ -33,7 +32,7 @@ import walkingkooka.tree.json.marshall.JsonNodeContext;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -75,6 +74,11 @@ final public class StoragePath
      */
     public final static PathSeparator SEPARATOR = PathSeparator.requiredAtStart('/');
 
+    /**
+     * Parsed {@link StoragePath} including parents, so frequently parsed paths share the same instances.
+     */
+    private final static StorageInternTable<StoragePath> PARSED = StorageInternTable.empty();
+
     /**
      * Convenient constant holding the root.
      */
@@ -92,96 +96,146 @@ final public class StoragePath
         SEPARATOR.checkBeginning(path);
         pathLengthCheck(path);
 
-        final StoragePath storagePath;
+        StoragePath storagePath;
 
         switch (path) {
             case SEPARATOR_STRING:
                 storagePath = ROOT;
                 break;
             default:
-                storagePath = parseNonRoot(path);
+                storagePath = PARSED.get(path);
+                if (null == storagePath) {
+                    storagePath = PARSED.put(
+                        path,
+                        parseNonRoot(path)
+                    );
+                }
                 break;
         }
 
         return storagePath;
     }
 
+    /**
+     * Scans the path once recording where each name starts and ends, dropping EMPTY, DOT and DOUBLE DOT components.
+     * When none were dropped the path is already normalized and each parent is a substring of it, otherwise the
+     * normalized path is built once and parents are substrings of that.
+     */
     private static StoragePath parseNonRoot(final String path) {
         try {
             final int length = path.length();
-            int nameStart = 1; // must start with slash
 
-            final List<StorageName> names = Lists.array();
+            // pairs of name start and end within path
+            int[] names = new int[16];
+            int count = 0;
+            boolean normalized = true;
+
+            int nameStart = 1; // must start with slash
 
-            // capture StorageNames and normalize as well
             while (nameStart < length) {
-                final int next = path.indexOf(
+                int nameEnd = path.indexOf(
                     SEPARATOR_CHAR,
                     nameStart
                 );
+                if (-1 == nameEnd) {
+                    nameEnd = length;
+                }
 
-                final int nameEnd = -1 != next ?
-                    next :
-                    length -
-                        (
-                            path.charAt(
-                                length - 1
-                            ) == SEPARATOR_CHAR ?
-                                1 :
-                                0
-                        );
-
-                // skip empty components
-                if (nameStart != nameEnd) {
-                    final String name = path.substring(
-                        nameStart,
-                        nameEnd
-                    );
-
-                    switch (name) {
-                        case CURRENT:
-                            break;
-                        case PARENT:
-                            names.remove(
-                                names.size() - 1
-                            );
+                switch (nameEnd - nameStart) {
+                    case 0:
+                        // skip empty components
+                        normalized = false;
+                        break;
+                    case 1:
+                        if ('.' == path.charAt(nameStart)) {
+                            normalized = false;
                             break;
-                        default:
-                            names.add(
-                                StorageName.with(name)
-                            );
+                        }
+                        count = addName(names, count, nameStart, nameEnd);
+                        names = growIfNecessary(names, count);
+                        break;
+                    case 2:
+                        if ('.' == path.charAt(nameStart) && '.' == path.charAt(nameStart + 1)) {
+                            if (0 == count) {
+                                throw new IllegalArgumentException("Parent of root");
+                            }
+                            normalized = false;
+                            count--;
                             break;
-                    }
-                }
-
-                if (next == -1) {
-                    break;
+                        }
+                        count = addName(names, count, nameStart, nameEnd);
+                        names = growIfNecessary(names, count);
+                        break;
+                    default:
+                        count = addName(names, count, nameStart, nameEnd);
+                        names = growIfNecessary(names, count);
+                        break;
                 }
 
-                nameStart = next + 1;
+                nameStart = nameEnd + 1;
             }
 
-            // build actual StoragePath with normalized name components
-            StoragePath storagePath = ROOT;
+            final boolean parent = SEPARATOR_CHAR == path.charAt(length - 1);
 
-            int lastCountdown = path.endsWith(SEPARATOR_STRING) ?
-                names.size() :
-                Integer.MAX_VALUE;
-            final StringBuilder pathBuilder = new StringBuilder();
+            // ends of each name within the normalized path
+            final int[] ends = new int[count];
+            final String normalizedPath;
 
-            for(final StorageName name : names) {
-                pathBuilder.append(SEPARATOR_CHAR);
-                pathBuilder.append(name.value());
+            if (normalized) {
+                normalizedPath = path;
 
-                if(--lastCountdown == 0) {
-                    pathBuilder.append(SEPARATOR_CHAR);
+                for (int i = 0; i < count; i++) {
+                    ends[i] = names[i * 2 + 1];
+                }
+            } else {
+                final StringBuilder b = new StringBuilder(length);
+
+                for (int i = 0; i < count; i++) {
+                    b.append(SEPARATOR_CHAR)
+                        .append(
+                            path,
+                            names[i * 2],
+                            names[i * 2 + 1]
+                        );
+                    ends[i] = b.length();
                 }
 
-                storagePath = new StoragePath(
-                    pathBuilder.toString(), // path
-                    name,
-                    Optional.of(storagePath) // parent
-                );
+                if (parent && count > 0) {
+                    b.append(SEPARATOR_CHAR);
+                }
+
+                normalizedPath = b.toString();
+            }
+
+            // build actual StoragePath with normalized name components
+            StoragePath storagePath = ROOT;
+            final int last = count - 1;
+
+            for (int i = 0; i < count; i++) {
+                final String value = i == last ?
+                    normalizedPath :
+                    normalizedPath.substring(
+                        0,
+                        ends[i]
+                    );
+
+                final StoragePath interned = PARSED.get(value);
+
+                storagePath = null != interned ?
+                    interned :
+                    PARSED.put(
+                        value,
+                        new StoragePath(
+                            value, // path
+                            StorageName.with(
+                                path.substring(
+                                    names[i * 2],
+                                    names[i * 2 + 1]
+                                )
+                            ),
+                            Optional.of(storagePath) // parent
+                        )
+                    );
             }
 
             return storagePath;
@@ -196,6 +250,25 @@ final public class StoragePath
         }
     }
 
+    private static int addName(final int[] names,
+                               final int count,
+                               final int start,
+                               final int end) {
+        names[count * 2] = start;
+        names[count * 2 + 1] = end;
+        return count + 1;
+    }
+
+    private static int[] growIfNecessary(final int[] names,
+                                         final int count) {
+        return count * 2 < names.length ?
+            names :
+            Arrays.copyOf(
+                names,
+                names.length * 2
+            );
+    }
+
     /**
      * Replaced by the {@link HasUserDirectories#homeDirectory()} by {@link #parseSpecial(String, HasUserDirectories)}.
      * <pre>
@@ -265,6 +338,9 @@ final public class StoragePath
         this.path = path;
         this.name = name;
         this.parent = parent;
+        this.depth = parent.isPresent() ?
+            parent.get().depth + 1 :
+            0;
     }
 
     @Override
@@ -274,22 +350,13 @@ final public class StoragePath
         StoragePath appended = this;
 
         if (path.isNotRoot()) {
-            if (this.isNotRoot() && false == this.isEmpty()) {
-                for (StorageName component : path) {
-                    appended = appended.append(component);
-                }
-
-                final String pathValue = path.value();
-                if (pathValue.endsWith(SEPARATOR_STRING)) {
-                    appended = with(
-                        appended.path.concat(SEPARATOR_STRING), // replace #path with path ending with slash
-                        appended.name,
-                        appended.parent
-                    );
-                }
-            } else {
-                appended = path;
-            }
+            appended = this.isNotRoot() && false == this.isEmpty() ?
+                this.appendComponents(
+                    path,
+                    0, // all names
+                    path.isParent()
+                ) :
+                path;
         }
 
         return appended;
@@ -325,6 +392,23 @@ final public class StoragePath
             );
     }
 
+    /**
+     * Helper that adds a trailing SLASH to a value path, the opposite of {@link #withoutTrailingSeparator()}.
+     * <pre>
+     * /path1/path2
+     * /path1/path2/
+     * </pre>
+     */
+    StoragePath withTrailingSeparator() {
+        return this.isParent() ?
+            this :
+            with(
+                this.path.concat(SEPARATOR_STRING),
+                this.name,
+                this.parent
+            );
+    }
+
     // removePrefix.....................................................................................................
 
     /**
@@ -336,32 +420,155 @@ final public class StoragePath
         if (ROOT.equals(prefix)) {
             removed = this;
         } else {
-            final String path = this.path;
-            final String prefixString = prefix.toString();
+            if (false == this.hasPrefix(prefix)) {
+                // Prefix "/prefix123" missing from path "/path111/path222"
+                throw this.invalidStoragePathException(
+                    "Prefix " +
+                        CharSequences.quoteAndEscape(prefix.toString()) +
+                        " missing from path"
+                );
+            }
 
-            if (CASE_SENSITIVITY.equals(path, prefixString)) {
-                removed = ROOT;
-            } else {
-                if (false == CASE_SENSITIVITY.startsWith(path, prefixString.concat(SEPARATOR_STRING))) {
-                    // Prefix "/prefix123" missing from path "/path111/path222"
-                    throw this.invalidStoragePathException(
-                        "Prefix " +
-                            CharSequences.quoteAndEscape(prefixString) +
-                            " missing from path"
-                    );
-                }
+            removed = ROOT.appendComponents(
+                this,
+                prefix.depth,
+                this.isParent()
+            );
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns true if the names of the given prefix are the leading names of this path, ignoring any trailing separator.
+     * Parents are compared from the end, stopping as soon as both share the same parent instance, which is common
+     * because parsed paths are interned.
+     */
+    boolean hasPrefix(final StoragePath prefix) {
+        final int depth = prefix.depth;
 
-                removed = parse(
-                    path.substring(
-                        prefixString.length()
+        boolean has = depth <= this.depth;
+
+        if (has && depth > 0) {
+            StoragePath path = this.components()[depth - 1];
+            StoragePath other = prefix;
+
+            while (has && path != other) {
+                has = path.name.equals(other.name);
+
+                path = path.parent.get();
+                other = other.parent.get();
+            }
+        }
+
+        return has;
+    }
+
+    // components.......................................................................................................
+
+    /**
+     * Creates a new {@link StoragePath} with the names of the given {@link StoragePath} starting at the given index
+     * appended to this path. Names are not parsed or validated again, only the path text is concatenated once for
+     * each new parent.
+     */
+    private StoragePath appendComponents(final StoragePath path,
+                                         final int from,
+                                         final boolean parent) {
+        final StoragePath[] components = path.components();
+        final int count = components.length;
+
+        StoragePath appended = this.withoutTrailingSeparator();
+
+        if (from < count) {
+            final String prefix = appended.isRoot() ?
+                "" :
+                appended.path;
+            final int offset = 0 == from ?
+                0 :
+                components[from - 1].lengthWithoutTrailingSeparator();
+            final int last = count - 1;
+
+            for (int i = from; i < count; i++) {
+                final StoragePath component = components[i];
+
+                String value = prefix.concat(
+                    component.path.substring(
+                        offset,
+                        component.lengthWithoutTrailingSeparator()
                     )
                 );
+                if (i == last) {
+                    if (parent) {
+                        value = value.concat(SEPARATOR_STRING);
+                    }
+                    pathLengthCheck(value);
+                }
+
+                final StoragePath interned = PARSED.get(value);
+
+                appended = null != interned ?
+                    interned :
+                    PARSED.put(
+                        value,
+                        new StoragePath(
+                            value,
+                            component.name,
+                            Optional.of(appended) // parent
+                        )
+                    );
+            }
+        } else {
+            if (parent && appended.isNotRoot()) {
+                appended = with(
+                    appended.path.concat(SEPARATOR_STRING),
+                    appended.name,
+                    appended.parent
+                );
             }
         }
 
-        return removed;
+        return appended;
+    }
+
+    private int lengthWithoutTrailingSeparator() {
+        final int length = this.path.length();
+
+        return this.isParent() ?
+            length - 1 :
+            length;
+    }
+
+    /**
+     * Returns this path and all its parents except {@link #ROOT}, with the first name at index 0 and this path last.
+     */
+    StoragePath[] components() {
+        StoragePath[] components = this.components;
+
+        if (null == components) {
+            components = new StoragePath[this.depth];
+
+            StoragePath path = this;
+            for (int i = this.depth - 1; i >= 0; i--) {
+                components[i] = path;
+                path = path.parent.get();
+            }
+
+            this.components = components;
+        }
+
+        return components;
     }
 
+    /**
+     * Lazily created by {@link #components()}
+     */
+    private volatile StoragePath[] components;
+
+    /**
+     * The number of names in this path, where {@link #ROOT} has 0.
+     */
+    final int depth;
+
     // prepend..........................................................................................................
 
     /**
@@ -510,9 +717,21 @@ final public class StoragePath
 
     @Override
     public int hashCode() {
-        return CASE_SENSITIVITY.hash(this.path);
+        int hash = this.hash;
+
+        if (0 == hash) {
+            hash = CASE_SENSITIVITY.hash(this.path);
+            this.hash = hash;
+        }
+
+        return hash;
     }
 
+    /**
+     * Lazily computed by {@link #hashCode()}, 0 means not yet computed.
+     */
+    private int hash;
+
     @Override
     public boolean equals(final Object other) {
         return (this == other) ||
@@ -634,20 +853,19 @@ final public class StoragePath
         Objects.requireNonNull(prefix, "prefix");
         Objects.requireNonNull(replaceWith, "replaceWith");
 
-        final String value = this.value();
-        final String prefixValue = prefix.value();
+        final int prefixLength = prefix.isRoot() ?
+            0 :
+            prefix.path.length();
+        final int length = this.path.length();
 
         return Optional.ofNullable(
-            value.startsWith(prefixValue) ?
-                parse(
-                    replaceWith.value() +
-                        (
-                            prefix.isRoot() ?
-                                value :
-                                value.substring(
-                                    prefixValue.length()
-                                )
-                        )
+            length >= prefixLength && this.hasPrefix(prefix) ?
+                replaceWith.appendComponents(
+                    this,
+                    prefix.depth,
+                    length > prefixLength ?
+                        this.isParent() :
+                        replaceWith.isParent()
                 ) :
                 null
         );
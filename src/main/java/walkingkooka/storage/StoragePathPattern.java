@@ -0,0 +1,359 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A glob compiled into a matcher over the {@link StorageName names} of a {@link StoragePath}.
+ * <pre>
+ * /reports/**&#47;*.csv
+ * </pre>
+ * <ul>
+ * <li>A name without wildcards must be equal</li>
+ * <li><code>*</code> within a name matches any characters and <code>?</code> a single character</li>
+ * <li><code>**</code> as a whole name matches zero or more names</li>
+ * </ul>
+ * Matching tracks the set of pattern positions reached after each name, so no backtracking is needed and a walk can
+ * stop descending into a directory once {@link #isMatchPossibleBelow(StoragePath)} is false.
+ * <br>
+ * Being a {@link Predicate} a pattern may be given to {@link StorageWatcher#setFilter(Predicate)}.
+ */
+public final class StoragePathPattern implements Predicate<StoragePath> {
+
+    /**
+     * A name without any wildcards
+     */
+    final static int LITERAL = 0;
+
+    /**
+     * A name with <code>*</code> or <code>?</code>
+     */
+    final static int GLOB = 1;
+
+    /**
+     * <code>*</code> any single name
+     */
+    final static int ANY_NAME = 2;
+
+    /**
+     * <code>**</code> zero or more names
+     */
+    final static int ANY_NAMES = 3;
+
+    private final static String ANY_NAMES_STRING = "**";
+
+    public static StoragePathPattern parse(final String pattern) {
+        StoragePath.SEPARATOR.checkBeginning(pattern);
+
+        final List<String> texts = Lists.array();
+
+        for (final String text : pattern.substring(1).split(StoragePath.SEPARATOR_STRING)) {
+            // skip EMPTY as well as repeated **
+            if (false == text.isEmpty() &&
+                false == (ANY_NAMES_STRING.equals(text) && texts.size() > 0 && ANY_NAMES_STRING.equals(texts.get(texts.size() - 1)))) {
+                texts.add(text);
+            }
+        }
+
+        final int count = texts.size();
+        final int[] kinds = new int[count];
+        final String[] names = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            final String text = texts.get(i);
+
+            int kind;
+            switch (text) {
+                case ANY_NAMES_STRING:
+                    kind = ANY_NAMES;
+                    break;
+                case "*":
+                    kind = ANY_NAME;
+                    break;
+                default:
+                    if (text.indexOf('*') != -1 || text.indexOf('?') != -1) {
+                        if (text.contains(ANY_NAMES_STRING)) {
+                            throw new IllegalArgumentException(
+                                "Invalid pattern " +
+                                    CharSequences.quoteAndEscape(pattern) +
+                                    " \"**\" must be a whole name"
+                            );
+                        }
+                        kind = GLOB;
+                    } else {
+                        try {
+                            StorageName.with(text);
+                        } catch (final IllegalArgumentException cause) {
+                            throw new IllegalArgumentException(
+                                "Invalid pattern " +
+                                    CharSequences.quoteAndEscape(pattern) +
+                                    ", message: " +
+                                    cause.getMessage(),
+                                cause
+                            );
+                        }
+                        kind = LITERAL;
+                    }
+                    break;
+            }
+
+            kinds[i] = kind;
+            names[i] = text;
+        }
+
+        return new StoragePathPattern(
+            pattern,
+            kinds,
+            names
+        );
+    }
+
+    private StoragePathPattern(final String pattern,
+                               final int[] kinds,
+                               final String[] names) {
+        super();
+        this.pattern = pattern;
+        this.kinds = kinds;
+        this.names = names;
+    }
+
+    // Predicate........................................................................................................
+
+    /**
+     * Returns true if the names of the given {@link StoragePath} match this pattern, any trailing separator is ignored.
+     */
+    @Override
+    public boolean test(final StoragePath path) {
+        return null != path &&
+            this.isMatch(
+                this.states(path)
+            );
+    }
+
+    /**
+     * Returns true if a path below the given directory could match this pattern. When false a walk may skip the entire
+     * directory.
+     */
+    public boolean isMatchPossibleBelow(final StoragePath directory) {
+        Objects.requireNonNull(directory, "directory");
+
+        return this.isMatchPossibleBelow(
+            this.states(directory)
+        );
+    }
+
+    // states...........................................................................................................
+
+    /**
+     * Returns the states after matching all the names of the given {@link StoragePath}.
+     */
+    private boolean[] states(final StoragePath path) {
+        final StorageName[] names = new StorageName[path.depth];
+
+        StoragePath p = path;
+        for (int i = names.length - 1; i >= 0; i--) {
+            names[i] = p.name();
+            p = p.parent()
+                .get();
+        }
+
+        boolean[] states = this.start();
+        for (final StorageName name : names) {
+            states = this.next(
+                states,
+                name
+            );
+        }
+
+        return states;
+    }
+
+    /**
+     * The states before any name has been matched. Each state is the index of the next pattern name, with the last
+     * state meaning the whole pattern was matched.
+     */
+    boolean[] start() {
+        final boolean[] states = new boolean[this.kinds.length + 1];
+        states[0] = true;
+        this.anyNames(states);
+        return states;
+    }
+
+    /**
+     * Returns the states reached by matching the given {@link StorageName} from each of the given states.
+     */
+    boolean[] next(final boolean[] states,
+                   final StorageName name) {
+        final int[] kinds = this.kinds;
+        final int count = kinds.length;
+
+        final boolean[] next = new boolean[count + 1];
+
+        for (int i = 0; i < count; i++) {
+            if (states[i]) {
+                switch (kinds[i]) {
+                    case LITERAL:
+                        if (StorageName.CASE_SENSITIVITY.equals(this.names[i], name.value())) {
+                            next[i + 1] = true;
+                        }
+                        break;
+                    case GLOB:
+                        if (isGlobMatch(this.names[i], name.value())) {
+                            next[i + 1] = true;
+                        }
+                        break;
+                    case ANY_NAME:
+                        next[i + 1] = true;
+                        break;
+                    case ANY_NAMES:
+                        next[i] = true;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown kind " + kinds[i]);
+                }
+            }
+        }
+
+        this.anyNames(next);
+        return next;
+    }
+
+    /**
+     * A <code>**</code> may also match no names, so any state before one also reaches the state after.
+     */
+    private void anyNames(final boolean[] states) {
+        final int[] kinds = this.kinds;
+
+        for (int i = 0; i < kinds.length; i++) {
+            if (states[i] && ANY_NAMES == kinds[i]) {
+                states[i + 1] = true;
+            }
+        }
+    }
+
+    boolean isMatch(final boolean[] states) {
+        return states[this.kinds.length];
+    }
+
+    boolean isMatchPossibleBelow(final boolean[] states) {
+        boolean possible = false;
+
+        for (int i = 0; false == possible && i < this.kinds.length; i++) {
+            possible = states[i];
+        }
+
+        return possible;
+    }
+
+    /**
+     * Matches a name with <code>*</code> and <code>?</code>, remembering only the last <code>*</code> so the
+     * worst case is the length of the glob times the length of the name.
+     */
+    private static boolean isGlobMatch(final String glob,
+                                       final String name) {
+        final int globLength = glob.length();
+        final int nameLength = name.length();
+
+        int g = 0;
+        int n = 0;
+        int star = -1;
+        int starName = 0;
+
+        while (n < nameLength) {
+            final char c = g < globLength ?
+                glob.charAt(g) :
+                0;
+
+            if (c == '*') {
+                star = g;
+                starName = n;
+                g++;
+            } else {
+                if (g < globLength && (c == '?' || c == name.charAt(n))) {
+                    g++;
+                    n++;
+                } else {
+                    if (-1 == star) {
+                        return false;
+                    }
+                    g = star + 1;
+                    starName++;
+                    n = starName;
+                }
+            }
+        }
+
+        while (g < globLength && glob.charAt(g) == '*') {
+            g++;
+        }
+
+        return g == globLength;
+    }
+
+    /**
+     * Returns the leading names without wildcards as a directory, leaving at least one name of the pattern, where a
+     * walk can begin.
+     */
+    StoragePath directory() {
+        final int[] kinds = this.kinds;
+        final int last = kinds.length - 1;
+
+        StoragePath directory = StoragePath.ROOT;
+
+        for (int i = 0; i < last && LITERAL == kinds[i]; i++) {
+            directory = directory.append(
+                StorageName.with(
+                    this.names[i]
+                )
+            );
+        }
+
+        return directory;
+    }
+
+    private final int[] kinds;
+
+    private final String[] names;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.pattern.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof StoragePathPattern &&
+                this.pattern.equals(((StoragePathPattern) other).pattern);
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+
+    private final String pattern;
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.store.Store;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Walks directories using a list function one page at a time, collecting the {@link StorageValueInfo} with a
+ * {@link StoragePath} matched by a {@link StoragePathPattern}. The walk begins at the leading names of the pattern
+ * without wildcards, and directories below which no path can match are never listed.
+ */
+final class StoragePathPatternFinder {
+
+    /**
+     * The number of {@link StorageValueInfo} fetched for each list.
+     */
+    final static int PAGE_SIZE = 50;
+
+    /**
+     * The list function is given the directory and offset and should return up to {@link #PAGE_SIZE} entries.
+     */
+    static List<StorageValueInfo> find(final StoragePathPattern pattern,
+                                       final int offset,
+                                       final int count,
+                                       final BiFunction<StoragePath, Integer, List<StorageValueInfo>> list) {
+        Objects.requireNonNull(pattern, "pattern");
+        Store.checkOffsetAndCount(offset, count);
+        Objects.requireNonNull(list, "list");
+
+        final StoragePathPatternFinder finder = new StoragePathPatternFinder(
+            pattern,
+            offset,
+            count,
+            list
+        );
+
+        if (count > 0) {
+            final StoragePath directory = pattern.directory();
+
+            boolean[] states = pattern.start();
+            for (final StoragePath parent : directory.components()) {
+                states = pattern.next(
+                    states,
+                    parent.name()
+                );
+            }
+
+            finder.walk(
+                directory,
+                states
+            );
+        }
+
+        return finder.found;
+    }
+
+    private StoragePathPatternFinder(final StoragePathPattern pattern,
+                                     final int offset,
+                                     final int count,
+                                     final BiFunction<StoragePath, Integer, List<StorageValueInfo>> list) {
+        this.pattern = pattern;
+        this.skip = offset;
+        this.count = count;
+        this.list = list;
+    }
+
+    /**
+     * Lists the given directory, recording matches and walking into each child below which a match is possible.
+     * Returns false once enough matches have been found.
+     */
+    private boolean walk(final StoragePath directory,
+                         final boolean[] states) {
+        final StoragePathPattern pattern = this.pattern;
+        final StoragePath parent = directory.withTrailingSeparator();
+
+        int offset = 0;
+
+        for (; ; ) {
+            final List<StorageValueInfo> infos = this.list.apply(
+                parent,
+                offset
+            );
+
+            for (final StorageValueInfo info : infos) {
+                final StoragePath path = info.path();
+
+                // listing a file returns the file itself
+                if (path.withoutTrailingSeparator().equals(directory)) {
+                    continue;
+                }
+
+                final boolean[] next = pattern.next(
+                    states,
+                    path.name()
+                );
+
+                if (pattern.isMatch(next)) {
+                    if (this.skip > 0) {
+                        this.skip--;
+                    } else {
+                        this.found.add(info);
+                        if (this.found.size() >= this.count) {
+                            return false;
+                        }
+                    }
+                }
+
+                if (pattern.isMatchPossibleBelow(next)) {
+                    if (false == this.walk(path.withoutTrailingSeparator(), next)) {
+                        return false;
+                    }
+                }
+            }
+
+            if (infos.size() < PAGE_SIZE) {
+                break;
+            }
+            offset += infos.size();
+        }
+
+        return true;
+    }
+
+    private final StoragePathPattern pattern;
+
+    /**
+     * The number of matches still to be skipped.
+     */
+    private int skip;
+
+    private final int count;
+
+    private final BiFunction<StoragePath, Integer, List<StorageValueInfo>> list;
+
+    private final List<StorageValueInfo> found = Lists.array();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.pattern.toString();
+    }
+}
@@ -75,6 +75,21 @@ abstract class StorageShared<C extends StorageContext> implements Storage<C> {
     abstract Optional<StorageValue> load0(final StoragePath path,
                                           final C context);
 
+    @Override
+    public final Optional<StorageValueStat> stat(final StoragePath path,
+                                                 final C context) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(context, "context");
+
+        return this.stat0(
+            path,
+            context
+        );
+    }
+
+    abstract Optional<StorageValueStat> stat0(final StoragePath path,
+                                              final C context);
+
     @Override
     public final StorageValue save(final StorageValue value,
                                    final C context) {
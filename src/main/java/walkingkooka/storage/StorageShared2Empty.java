@@ -62,6 +62,12 @@ final class StorageShared2Empty<C extends StorageContext> extends StorageShared2
         return NO_STORAGE_VALUE;
     }
 
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        return NO_STORAGE_VALUE_STAT;
+    }
+
     @Override
     StorageValue save0(final StorageValue value,
                        final C context) {
@@ -26,6 +26,7 @@ import walkingkooka.environment.EnvironmentWatcher;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 
 /**
@@ -96,6 +97,46 @@ final class StorageShared2Environment<C extends StorageContext> extends StorageS
         );
     }
 
+    /**
+     * Environment values are held in memory, the root reports the number of environment values.
+     */
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        final Optional<StorageValueStat> stat;
+
+        if (path.isRoot()) {
+            stat = Optional.of(
+                StorageValueStat.with(
+                    StorageValueInfo.with(
+                        path,
+                        context.createdAuditInfo()
+                    )
+                ).setChildCount(
+                    OptionalInt.of(
+                        context.environmentValueNames()
+                            .size()
+                    )
+                )
+            );
+        } else {
+            stat = this.load0(
+                path,
+                context
+            ).map(
+                (StorageValue value) -> StorageValueStat.value(
+                    StorageValueInfo.with(
+                        path,
+                        context.createdAuditInfo()
+                    ),
+                    value
+                )
+            );
+        }
+
+        return stat;
+    }
+
     @Override
     StorageValue save0(final StorageValue value,
                        final C context) {
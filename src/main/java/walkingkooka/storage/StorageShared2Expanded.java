@@ -17,9 +17,10 @@
 
 package walkingkooka.storage;
 
+import walkingkooka.collect.list.Lists;
+
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 abstract class StorageShared2Expanded<C extends StorageContext> extends StorageShared2<C> {
 
@@ -81,6 +82,38 @@ abstract class StorageShared2Expanded<C extends StorageContext> extends StorageS
         return loaded;
     }
 
+    @Override //
+    final Optional<StorageValueStat> stat0(final StoragePath path,
+                                           final C context) {
+        final StoragePath replaced = this.expand(
+            path,
+            context
+        ).orElse(null);
+
+        Optional<StorageValueStat> stat = context.statStorage(
+            null != replaced ?
+                replaced :
+                path
+        );
+
+        if (stat.isPresent() && null != replaced && false == path.equals(replaced)) {
+            stat = stat.map(
+                (s) -> {
+                    final StoragePath p = s.path();
+
+                    return s.setPath(
+                        StorageShared2Expanded.this.unexpand(
+                            p,
+                            context
+                        ).orElse(p)
+                    );
+                }
+            );
+        }
+
+        return stat;
+    }
+
     @Override //
     final StorageValue save0(final StorageValue value,
                              final C context) {
@@ -140,21 +173,23 @@ abstract class StorageShared2Expanded<C extends StorageContext> extends StorageS
             count
         );
 
-        if (null != replaced) {
-            infos = infos.stream()
-                .map(
-                    (storageValue) -> {
-                        final StoragePath p = storageValue.path();
-                        final StoragePath u = StorageShared2Expanded.this.unexpand(
-                            p,
-                            context
-                        ).orElse(null);
+        if (null != replaced && false == infos.isEmpty()) {
+            final StorageShared2ExpandedDirectory directory = this.directory(context);
+            final List<StorageValueInfo> unexpanded = Lists.array();
+
+            for (final StorageValueInfo info : infos) {
+                final StoragePath u = directory.unexpand(
+                    info.path()
+                ).orElse(null);
+
+                unexpanded.add(
+                    null != u ?
+                        info.setPath(u) :
+                        info
+                );
+            }
 
-                        return null != u ?
-                            storageValue.setPath(u) :
-                            storageValue;
-                    }
-                ).collect(Collectors.toList());
+            infos = unexpanded;
         }
 
         return infos;
@@ -175,32 +210,42 @@ abstract class StorageShared2Expanded<C extends StorageContext> extends StorageS
         );
     }
 
-    abstract Optional<StoragePath> expand(final StoragePath path,
-                                          final C context);
+    final Optional<StoragePath> expand(final StoragePath path,
+                                       final C context) {
+        final StorageShared2ExpandedDirectory directory = this.directory(context);
 
-    final Optional<StoragePath> replacePrefixWithEnvironment(final StoragePath path,
-                                                             final Optional<StoragePath> environment) {
-        return environment.flatMap(
-            (StoragePath p) -> path.replacePrefix(
-                StoragePath.ROOT,
-                p
-            )
-        );
+        return null != directory ?
+            directory.expand(path) :
+            Optional.empty();
     }
 
-    abstract Optional<StoragePath> unexpand(final StoragePath path,
-                                            final C context);
+    final Optional<StoragePath> unexpand(final StoragePath path,
+                                         final C context) {
+        final StorageShared2ExpandedDirectory directory = this.directory(context);
 
-    final Optional<StoragePath> replaceEnvironment(final StoragePath path,
-                                                   final Optional<StoragePath> environment) {
-        return environment.flatMap(
-            (StoragePath p) -> path.replacePrefix(
-                p,
-                StoragePath.ROOT
-            )
-        );
+        return null != directory ?
+            directory.unexpand(path) :
+            Optional.empty();
+    }
+
+    /**
+     * Returns the {@link StorageShared2ExpandedDirectory} for the current directory value or null if the context has no
+     * directory. This is created for each operation as it is cheaper than any shared cache and its lock.
+     */
+    private StorageShared2ExpandedDirectory directory(final C context) {
+        final StoragePath path = this.directoryPath(context)
+            .orElse(null);
+
+        return null != path ?
+            StorageShared2ExpandedDirectory.with(path) :
+            null;
     }
 
+    /**
+     * Returns the environment value holding the directory that replaces {@link StoragePath#ROOT}.
+     */
+    abstract Optional<StoragePath> directoryPath(final C context);
+
     // addWatcher.......................................................................................................
 
     @Override //
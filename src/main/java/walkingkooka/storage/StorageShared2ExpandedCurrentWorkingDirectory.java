@@ -40,21 +40,8 @@ final class StorageShared2ExpandedCurrentWorkingDirectory<C extends StorageConte
     // StorageShared2Expanded...........................................................................................
 
     @Override//
-    Optional<StoragePath> expand(final StoragePath path,
-                                 final C context) {
-        return this.replacePrefixWithEnvironment(
-            path,
-            context.currentWorkingDirectory()
-        );
-    }
-
-    @Override//
-    Optional<StoragePath> unexpand(final StoragePath path,
-                                   final C context) {
-        return this.replaceEnvironment(
-            path,
-            context.currentWorkingDirectory()
-        );
+    Optional<StoragePath> directoryPath(final C context) {
+        return context.currentWorkingDirectory();
     }
 
     // Object...........................................................................................................
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.Optional;
+
+/**
+ * Holds a resolved home or current working directory used by {@link StorageShared2Expanded}, with the prefix and
+ * the expanded {@link StoragePath#ROOT} computed once. Expanding and un-expanding work on components without parsing,
+ * and un-expanding only matches whole components, so <code>/home/user2</code> is never un-expanded using the directory
+ * <code>/home/user</code>.
+ */
+final class StorageShared2ExpandedDirectory {
+
+    static StorageShared2ExpandedDirectory with(final StoragePath directory) {
+        return new StorageShared2ExpandedDirectory(directory);
+    }
+
+    private StorageShared2ExpandedDirectory(final StoragePath directory) {
+        super();
+
+        this.directory = directory;
+
+        this.prefix = directory.withoutTrailingSeparator();
+        this.root = directory.withTrailingSeparator();
+    }
+
+    /**
+     * Replaces the {@link StoragePath#ROOT} of the given {@link StoragePath} with this directory.
+     */
+    Optional<StoragePath> expand(final StoragePath path) {
+        return Optional.of(
+            path.isRoot() ?
+                this.root :
+                this.prefix.append(path)
+        );
+    }
+
+    /**
+     * Removes this directory from the given {@link StoragePath}, returning {@link Optional#empty()} if the path is
+     * outside this directory.
+     */
+    Optional<StoragePath> unexpand(final StoragePath path) {
+        final StoragePath prefix = this.prefix;
+
+        return Optional.ofNullable(
+            path.hasPrefix(prefix) ?
+                path.removePrefix(prefix) :
+                null // outside or a different component, eg /home/user2 and /home/user
+        );
+    }
+
+    /**
+     * The directory from the environment.
+     */
+    final StoragePath directory;
+
+    /**
+     * The directory without any trailing separator.
+     */
+    private final StoragePath prefix;
+
+    /**
+     * The {@link StoragePath#ROOT} expanded, which is the directory with a trailing separator.
+     */
+    private final StoragePath root;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.directory.toString();
+    }
+}
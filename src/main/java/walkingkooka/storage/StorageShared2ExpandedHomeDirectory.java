@@ -40,21 +40,8 @@ final class StorageShared2ExpandedHomeDirectory<C extends StorageContext> extend
     // StorageShared2Expanded...........................................................................................
 
     @Override//
-    Optional<StoragePath> expand(final StoragePath path,
-                                 final C context) {
-        return this.replacePrefixWithEnvironment(
-            path,
-            context.homeDirectory()
-        );
-    }
-
-    @Override//
-    Optional<StoragePath> unexpand(final StoragePath path,
-                                   final C context) {
-        return this.replaceEnvironment(
-            path,
-            context.homeDirectory()
-        );
+    Optional<StoragePath> directoryPath(final C context) {
+        return context.homeDirectory();
     }
 
     // Object...........................................................................................................
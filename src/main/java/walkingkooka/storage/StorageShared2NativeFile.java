@@ -53,6 +53,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -96,6 +98,8 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
         this.watchKeyToPath = Maps.concurrent();
         this.registerTree(root);
 
+        this.watchers.add(this.changeLog);
+
         final Thread thread = new Thread(
             () -> this.pollWatchService(context)
         );
@@ -159,6 +163,65 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
         return Optional.ofNullable(storageValue);
     }
 
+    /**
+     * Reads the file attributes, the size is that of the file and directories count their entries.
+     */
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath storagePath,
+                                     final C context) {
+        // map StoragePath to file system path
+        final Path fileSystemPath = this.toPath(storagePath);
+
+        StorageValueStat stat = null;
+
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(
+                fileSystemPath,
+                BasicFileAttributes.class
+            );
+
+            if (attributes.isDirectory()) {
+                final long childCount;
+                try (Stream<Path> stream = Files.list(fileSystemPath)) {
+                    childCount = stream.count();
+                }
+
+                stat = StorageValueStat.with(
+                    this.toStorageValueInfo(
+                        storagePath,
+                        attributes,
+                        context
+                    )
+                ).setChildCount(
+                    OptionalInt.of((int) childCount)
+                );
+            } else {
+                if (false == storagePath.isParent()) {
+                    stat = StorageValueStat.with(
+                        this.toStorageValueInfo(
+                            storagePath,
+                            attributes,
+                            context
+                        )
+                    ).setSize(
+                        OptionalLong.of(
+                            attributes.size()
+                        )
+                    );
+                }
+            }
+        } catch (final FileNotFoundException | NoSuchFileException cause) {
+            stat = null;
+        } catch (final IOException cause) {
+            throw storagePath.invalidStoragePathException(
+                "Unable to read file attributes",
+                cause
+            );
+        }
+
+        return Optional.ofNullable(stat);
+    }
+
     @Override
     StorageValue save0(final StorageValue storageValue,
                        final C context) {
@@ -348,6 +411,10 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
         );
     }
 
+    /**
+     * Waits for a {@link WatchKey} and then takes any others already signaled, firing all their changes as a single
+     * batch.
+     */
     private void pollWatchService(final C context) {
         while (false == this.stopped.isClosed()) {
             // wait for key to be signaled
@@ -362,69 +429,93 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
                 continue;
             }
 
-            if (null == watchKey) {
-                continue;
-            }
-            final Path dir = this.watchKeyToPath.get(watchKey);
+            final List<StorageValueChange> changes = Lists.array();
 
-            if (dir != null) {
-                for (final WatchEvent<?> event : watchKey.pollEvents()) {
-                    final WatchEvent.Kind<?> kind = event.kind();
+            while (null != watchKey) {
+                this.pollWatchKey(
+                    watchKey,
+                    changes,
+                    context
+                );
 
-                    if (StandardWatchEventKinds.OVERFLOW != kind) {
-                        // Context for directory entry event is the file name of entry
-                        final Path path = dir.resolve(
-                            Cast.<WatchEvent<Path>>to(event)
-                                .context()
-                        );
+                watchKey = this.watcher.poll();
+            }
 
-                        Path oldPath = null;
-                        Path newPath = null;
+            if (false == changes.isEmpty()) {
+                this.watchers.onValueChanges(changes);
+            }
+        }
+    }
 
-                        // if directory create register parent and sub-directories
-                        if (StandardWatchEventKinds.ENTRY_CREATE == kind) {
-                            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
-                                this.registerTree(path);
-                            }
+    private void pollWatchKey(final WatchKey watchKey,
+                              final List<StorageValueChange> changes,
+                              final C context) {
+        final Path dir = this.watchKeyToPath.get(watchKey);
+
+        if (dir != null) {
+            for (final WatchEvent<?> event : watchKey.pollEvents()) {
+                final WatchEvent.Kind<?> kind = event.kind();
+
+                if (StandardWatchEventKinds.OVERFLOW != kind) {
+                    // Context for directory entry event is the file name of entry
+                    final Path path = dir.resolve(
+                        Cast.<WatchEvent<Path>>to(event)
+                            .context()
+                    );
+
+                    Path oldPath = null;
+                    Path newPath = null;
+
+                    // if directory create register parent and sub-directories
+                    if (StandardWatchEventKinds.ENTRY_CREATE == kind) {
+                        if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                            this.registerTree(path);
+                        }
 
-                            newPath = path;
+                        newPath = path;
+                    } else {
+                        if (StandardWatchEventKinds.ENTRY_DELETE == kind) {
+                            oldPath = path;
                         } else {
-                            if (StandardWatchEventKinds.ENTRY_DELETE == kind) {
+                            if (StandardWatchEventKinds.ENTRY_MODIFY == kind) {
                                 oldPath = path;
-                            } else {
-                                if (StandardWatchEventKinds.ENTRY_MODIFY == kind) {
-                                    oldPath = path;
-                                    newPath = path;
-                                }
+                                newPath = path;
                             }
                         }
+                    }
 
-                        if (null != oldPath || null != newPath) {
-                            if (Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)) {
-                                this.watchers.onValueChange(
-                                    Optional.ofNullable(oldPath)
-                                        .map(
-                                            (final Path p) -> StorageValue.with(
-                                                this.toStoragePath(p)
-                                            )
-                                        ),
-                                    Optional.ofNullable(newPath)
-                                        .flatMap(
-                                            (final Path p) -> this.load(
-                                                this.toStoragePath(p),
-                                                context
-                                            )
-                                        )
+                    if (null != oldPath || null != newPath) {
+                        if (Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)) {
+                            final Optional<StorageValue> oldValue = Optional.ofNullable(oldPath)
+                                .map(
+                                    (final Path p) -> StorageValue.with(
+                                        this.toStoragePath(p)
+                                    )
+                                );
+                            final Optional<StorageValue> newValue = Optional.ofNullable(newPath)
+                                .flatMap(
+                                    (final Path p) -> this.load(
+                                        this.toStoragePath(p),
+                                        context
+                                    )
+                                );
+
+                            if (oldValue.isPresent() || newValue.isPresent()) {
+                                changes.add(
+                                    StorageValueChange.with(
+                                        oldValue,
+                                        newValue
+                                    )
                                 );
                             }
                         }
                     }
                 }
             }
+        }
 
-            if (false == watchKey.reset()) {
-                this.watchKeyToPath.remove(watchKey);
-            }
+        if (false == watchKey.reset()) {
+            this.watchKeyToPath.remove(watchKey);
         }
     }
 
@@ -446,12 +537,41 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
 
     private final StorageWatchers watchers = StorageWatchers.empty();
 
+    // changesSince.....................................................................................................
+
+    /**
+     * Changes made outside this {@link Storage} are also recorded, because they are detected by polling the
+     * {@link WatchService}.
+     */
+    @Override
+    public List<StorageChange> changesSince(final long sequence,
+                                            final int count,
+                                            final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.changeLog.changesSince(
+            sequence,
+            count
+        );
+    }
+
+    @Override
+    public boolean isChangesSinceAvailable(final long sequence,
+                                           final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.changeLog.isAvailable(sequence);
+    }
+
+    private final StorageChangeLog changeLog = StorageChangeLog.with(StorageChangeLog.DEFAULT_RETENTION);
+
     // helpers..........................................................................................................
 
     /**
-     * Helper that converts a {@link StoragePath} to the equivalent file system {@link Path}.
+     * Helper that converts a {@link StoragePath} to the equivalent file system {@link Path}. This is also used by
+     * {@link StorageShared2WrapperZipFile} to open archives directly.
      */
-    private Path toPath(final StoragePath storagePath) {
+    Path toPath(final StoragePath storagePath) {
         this.stopped.check();
 
         final Path root = this.root;
@@ -463,29 +583,37 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
             );
     }
 
-    private StorageValueInfo toStorageValueInfo(final Path fileSystemPath,
-                                                final StoragePath parent,
-                                                final C context) {
-        try {
-            final EmailAddress user = context.userOrFail();
+    /**
+     * Returns a {@link String} that changes whenever the file is written, or null if it does not exist. This is used by
+     * wrappers that cache something read from an archive to notice when it changes.
+     */
+    static String version(final Path path) {
+        String version;
 
-            final BasicFileAttributes basicFileAttributes = Files.readAttributes(
-                fileSystemPath,
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(
+                path,
                 BasicFileAttributes.class
             );
+            version = attributes.lastModifiedTime() + " " + attributes.size();
+        } catch (final IOException cause) {
+            version = null;
+        }
 
-            return StorageValueInfo.with(
+        return version;
+    }
+
+    private StorageValueInfo toStorageValueInfo(final Path fileSystemPath,
+                                                final StoragePath parent,
+                                                final C context) {
+        try {
+            return this.toStorageValueInfo(
                 this.toStoragePath(fileSystemPath), // path
-                AuditInfo.with(
-                    user,
-                    toLocalDateTime(
-                        basicFileAttributes.creationTime()
-                    ),
-                    user,
-                    toLocalDateTime(
-                        basicFileAttributes.lastModifiedTime()
-                    )
-                )
+                Files.readAttributes(
+                    fileSystemPath,
+                    BasicFileAttributes.class
+                ),
+                context
             );
         } catch (final IOException rethrow) {
             throw parent.append(
@@ -500,6 +628,26 @@ final class StorageShared2NativeFile<C extends StorageContext> extends StorageSh
         }
     }
 
+    private StorageValueInfo toStorageValueInfo(final StoragePath path,
+                                                final BasicFileAttributes attributes,
+                                                final C context) {
+        final EmailAddress user = context.userOrFail();
+
+        return StorageValueInfo.with(
+            path,
+            AuditInfo.with(
+                user,
+                toLocalDateTime(
+                    attributes.creationTime()
+                ),
+                user,
+                toLocalDateTime(
+                    attributes.lastModifiedTime()
+                )
+            )
+        );
+    }
+
     private StoragePath toStoragePath(final Path path) {
         return StoragePath.ROOT.append(
             StoragePath.parse(
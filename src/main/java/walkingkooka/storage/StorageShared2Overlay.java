@@ -0,0 +1,524 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.TreePrintable;
+import walkingkooka.watch.Watchers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link Storage} that unites a read only lower {@link Storage} which may be shared by many overlays, with an upper
+ * {@link Storage} that receives all saves and deletes.
+ * <ul>
+ * <li>Loads try the upper {@link Storage} first and then fall through to the lower.</li>
+ * <li>Saves always go to the upper {@link Storage}, the lower is never modified.</li>
+ * <li>Deleting a value present in the lower {@link Storage} saves a whiteout marker named {@link #WHITEOUT_PREFIX} followed
+ * by the deleted name, next to it in the upper {@link Storage}. The marker hides that path until it is saved again, and
+ * survives a restart when the upper {@link Storage} is persistent. Markers are never loaded or listed.
+ * Directories cannot be deleted.</li>
+ * <li>Listings merge the listings of both, with upper entries shadowing lower entries with the same {@link StoragePath}.
+ * Both layers must list their entries sorted by {@link StoragePath}, as all {@link Storages} do.</li>
+ * </ul>
+ * Creating an overlay is O(1), no values are copied from the lower {@link Storage}.
+ */
+final class StorageShared2Overlay<C extends StorageContext> extends StorageShared2<C>
+    implements TreePrintable {
+
+    /**
+     * The number of {@link StorageValueInfo} fetched from each layer during a single {@link Storage#list(StoragePath, int, int, StorageContext)}.
+     */
+    // @VisibleForTesting
+    final static int BATCH_SIZE = 32;
+
+    /**
+     * The prefix added to the name of a deleted lower value, to form the name of its whiteout marker.
+     */
+    final static String WHITEOUT_PREFIX = ".wh.";
+
+    static <C extends StorageContext> StorageShared2Overlay<C> with(final Storage<C> lower,
+                                                                    final Storage<C> upper) {
+        return new StorageShared2Overlay<>(
+            Objects.requireNonNull(lower, "lower"),
+            Objects.requireNonNull(upper, "upper")
+        );
+    }
+
+    private StorageShared2Overlay(final Storage<C> lower,
+                                  final Storage<C> upper) {
+        super();
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    // Storage..........................................................................................................
+
+    @Override
+    boolean canRead0(final StoragePath path,
+                     final C context) {
+        return false == isWhiteoutMarker(path) &&
+            (this.upper.canRead(
+                path,
+                context
+            ) ||
+                (false == this.isWhiteout(
+                    path,
+                    context
+                ) &&
+                    this.lower.canRead(
+                        path,
+                        context
+                    )
+                )
+            );
+    }
+
+    @Override
+    boolean canWrite0(final StoragePath path,
+                      final C context) {
+        return false == isWhiteoutMarker(path) &&
+            this.upper.canWrite(
+                path,
+                context
+            );
+    }
+
+    @Override
+    Optional<StorageValue> load0(final StoragePath path,
+                                 final C context) {
+        Optional<StorageValue> loaded = NO_STORAGE_VALUE;
+
+        if (false == isWhiteoutMarker(path)) {
+            loaded = this.upper.load(
+                path,
+                context
+            );
+            if (false == loaded.isPresent() &&
+                false == this.isWhiteout(
+                    path,
+                    context
+                )) {
+                loaded = this.lower.load(
+                    path,
+                    context
+                );
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Returns the upper stat if present otherwise the lower. The child count of a directory is cleared as it would only
+     * count the children of one layer.
+     */
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        Optional<StorageValueStat> stat = NO_STORAGE_VALUE_STAT;
+
+        if (false == isWhiteoutMarker(path)) {
+            stat = this.upper.stat(
+                path,
+                context
+            );
+            if (false == stat.isPresent() &&
+                false == this.isWhiteout(
+                    path,
+                    context
+                )) {
+                stat = this.lower.stat(
+                    path,
+                    context
+                );
+            }
+        }
+
+        return stat.map(
+            (StorageValueStat s) -> s.setChildCount(StorageValueStat.NO_CHILD_COUNT)
+        );
+    }
+
+    @Override
+    StorageValue save0(final StorageValue value,
+                       final C context) {
+        final StoragePath path = value.path();
+        if (isWhiteoutMarker(path)) {
+            throw path.invalidStoragePathException("Invalid name");
+        }
+
+        final Storage<C> upper = this.upper;
+        final StorageValue saved = upper.save(
+            value,
+            context
+        );
+
+        // saving "un-deletes" any earlier whiteout
+        if (this.isWhiteout(
+            path,
+            context
+        )) {
+            upper.delete(
+                whiteout(path),
+                context
+            );
+        }
+
+        return saved;
+    }
+
+    @Override
+    void delete0(final StoragePath path,
+                 final C context) {
+        if (path.isParent()) {
+            throw path.invalidStoragePathException("Invalid parent path");
+        }
+        if (isWhiteoutMarker(path)) {
+            throw path.invalidStoragePathException("Invalid name");
+        }
+
+        final Storage<C> upper = this.upper;
+
+        if (false == this.isWhiteout(
+            path,
+            context
+        )) {
+            final boolean upperPresent = upper.stat(
+                path,
+                context
+            ).isPresent();
+
+            final StorageValueStat lowerStat = this.lower.stat(
+                path,
+                context
+            ).orElse(null);
+
+            if (null != lowerStat) {
+                // a whiteout only hides the exact path, so a lower directory would leave its children visible
+                if (lowerStat.childCount().isPresent()) {
+                    throw path.invalidStoragePathException("Invalid parent path");
+                }
+                if (path.name().value().length() + WHITEOUT_PREFIX.length() > StorageName.MAX_LENGTH) {
+                    throw path.invalidStoragePathException("Name too long to delete");
+                }
+            }
+
+            // delete from upper if present or neither layer has the path so the upper reports any failure
+            if (upperPresent || null == lowerStat) {
+                upper.delete(
+                    path,
+                    context
+                );
+            }
+
+            if (null != lowerStat) {
+                upper.save(
+                    StorageValue.with(
+                        whiteout(path)
+                    ).setValue(
+                        Optional.of(Binary.EMPTY)
+                    ),
+                    context
+                );
+            }
+        }
+    }
+
+    /**
+     * Merges the listings of both layers, fetching each in batches only as far as necessary. When both layers
+     * have the same {@link StoragePath} the upper entry wins, whiteouts hide lower entries and whiteout markers are
+     * skipped. Each layer must return its entries sorted by {@link StoragePath}, which all {@link Storages} do, otherwise
+     * entries with the same {@link StoragePath} will not be merged.
+     */
+    @Override
+    List<StorageValueInfo> list0(final StoragePath parent,
+                                 final int offset,
+                                 final int count,
+                                 final C context) {
+        final StorageShared2OverlayListing<C> upper = new StorageShared2OverlayListing<>(
+            this.upper,
+            parent,
+            context
+        );
+        final StorageShared2OverlayListing<C> lower = new StorageShared2OverlayListing<>(
+            this.lower,
+            parent,
+            context
+        );
+
+        final List<StorageValueInfo> merged = Lists.array();
+        int skip = offset;
+
+        while (merged.size() < count) {
+            StorageValueInfo lowerInfo = lower.peek();
+            while (null != lowerInfo &&
+                this.isWhiteout(
+                    lowerInfo.path(),
+                    context
+                )) {
+                lower.next();
+                lowerInfo = lower.peek();
+            }
+
+            StorageValueInfo upperInfo = upper.peek();
+            while (null != upperInfo && isWhiteoutMarker(upperInfo.path())) {
+                upper.next();
+                upperInfo = upper.peek();
+            }
+
+            final StorageValueInfo info;
+            if (null == upperInfo) {
+                if (null == lowerInfo) {
+                    break;
+                }
+                info = lowerInfo;
+                lower.next();
+            } else {
+                if (null == lowerInfo) {
+                    info = upperInfo;
+                    upper.next();
+                } else {
+                    final int compare = upperInfo.path()
+                        .compareTo(lowerInfo.path());
+                    if (compare <= 0) {
+                        info = upperInfo;
+                        upper.next();
+
+                        // upper shadows lower
+                        if (0 == compare) {
+                            lower.next();
+                        }
+                    } else {
+                        info = lowerInfo;
+                        lower.next();
+                    }
+                }
+            }
+
+            if (skip > 0) {
+                skip--;
+            } else {
+                merged.add(info);
+            }
+        }
+
+        // only fail if both layers failed
+        if (upper.failed() && lower.failed()) {
+            throw lower.failure;
+        }
+
+        return merged;
+    }
+
+    /**
+     * Updates the upper {@link StorageValueInfo}, copying the lower {@link StorageValue} into the upper {@link Storage}
+     * if necessary.
+     */
+    @Override
+    void setAuditInfo0(final StorageValueInfo value,
+                       final C context) {
+        final StoragePath path = value.path();
+        if (isWhiteoutMarker(path)) {
+            throw path.invalidStoragePathException("Unknown path");
+        }
+
+        final Storage<C> upper = this.upper;
+
+        if (false == upper.stat(
+            path,
+            context
+        ).isPresent()) {
+            if (this.isWhiteout(
+                path,
+                context
+            )) {
+                throw path.invalidStoragePathException("Unknown path");
+            }
+
+            final StorageValue lower = this.lower.load(
+                path,
+                context
+            ).orElseThrow(() -> path.invalidStoragePathException("Unknown path"));
+
+            // copy-up
+            upper.save(
+                lower,
+                context
+            );
+        }
+
+        upper.setAuditInfo(
+            value,
+            context
+        );
+    }
+
+    /**
+     * Returns true if the upper {@link Storage} has a whiteout marker for the given path.
+     */
+    private boolean isWhiteout(final StoragePath path,
+                               final C context) {
+        return path.isValue() &&
+            path.isNotRoot() &&
+            path.name().value().length() + WHITEOUT_PREFIX.length() <= StorageName.MAX_LENGTH &&
+            this.upper.stat(
+                whiteout(path),
+                context
+            ).isPresent();
+    }
+
+    /**
+     * Returns the {@link StoragePath} of the whiteout marker for the given value path.
+     */
+    // @VisibleForTesting
+    static StoragePath whiteout(final StoragePath path) {
+        return path.parent()
+            .orElse(StoragePath.ROOT)
+            .append(
+                StorageName.with(
+                    WHITEOUT_PREFIX + path.name().value()
+                )
+            );
+    }
+
+    private static boolean isWhiteoutMarker(final StoragePath path) {
+        return path.isNotRoot() &&
+            path.name()
+                .value()
+                .startsWith(WHITEOUT_PREFIX);
+    }
+
+    // @VisibleForTesting
+    final Storage<C> lower;
+
+    // @VisibleForTesting
+    final Storage<C> upper;
+
+    // addWatcher.......................................................................................................
+
+    /**
+     * Watches both layers, with events for whiteout markers and from the lower layer for whiteout paths ignored.
+     */
+    @Override
+    Runnable addWatcher0(final StorageWatcher watcher,
+                         final C context) {
+        return Watchers.runnableCollection(
+            Lists.of(
+                this.upper.addWatcher(
+                    upperWatcher(watcher),
+                    context
+                ),
+                this.lower.addWatcher(
+                    this.lowerWatcher(
+                        watcher,
+                        context
+                    ),
+                    context
+                )
+            )
+        );
+    }
+
+    @Override
+    Runnable addWatcherOnce0(final StorageWatcher watcher,
+                             final C context) {
+        return Watchers.runnableCollection(
+            Lists.of(
+                this.upper.addWatcherOnce(
+                    upperWatcher(watcher),
+                    context
+                ),
+                this.lower.addWatcherOnce(
+                    this.lowerWatcher(
+                        watcher,
+                        context
+                    ),
+                    context
+                )
+            )
+        );
+    }
+
+    private static StorageWatcher upperWatcher(final StorageWatcher watcher) {
+        return watcher.setFilter(
+            (StoragePath p) -> false == isWhiteoutMarker(p)
+        );
+    }
+
+    private StorageWatcher lowerWatcher(final StorageWatcher watcher,
+                                        final C context) {
+        return watcher.setFilter(
+            (StoragePath p) -> false == this.isWhiteout(
+                p,
+                context
+            )
+        );
+    }
+
+    // Stoppable........................................................................................................
+
+    /**
+     * Only stops the upper layer, the lower layer may be shared by other overlays and must be stopped by its owner.
+     */
+    @Override
+    public void stop() {
+        this.upper.stop();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.lower + " " + this.upper;
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            printer.println("lower");
+            printer.indent();
+            {
+                TreePrintable.printTreeOrToString(
+                    this.lower,
+                    printer
+                );
+            }
+            printer.outdent();
+
+            printer.println("upper");
+            printer.indent();
+            {
+                TreePrintable.printTreeOrToString(
+                    this.upper,
+                    printer
+                );
+            }
+            printer.outdent();
+        }
+        printer.outdent();
+    }
+}
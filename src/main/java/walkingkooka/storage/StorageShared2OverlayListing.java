@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.List;
+
+/**
+ * A cursor over the sorted listing of one layer of a {@link StorageShared2Overlay}, fetching
+ * {@link StorageShared2Overlay#BATCH_SIZE} entries at a time only when the previous batch has been consumed.
+ * A layer that does not have the directory is treated as empty, with the failure kept.
+ */
+final class StorageShared2OverlayListing<C extends StorageContext> {
+
+    StorageShared2OverlayListing(final Storage<C> storage,
+                                 final StoragePath parent,
+                                 final C context) {
+        super();
+        this.storage = storage;
+        this.parent = parent;
+        this.context = context;
+    }
+
+    /**
+     * Returns the current entry or null when the listing is exhausted.
+     */
+    StorageValueInfo peek() {
+        if (null == this.batch || (this.index >= this.batch.size() && false == this.exhausted)) {
+            this.fetch();
+        }
+
+        final List<StorageValueInfo> batch = this.batch;
+        return this.index < batch.size() ?
+            batch.get(this.index) :
+            null;
+    }
+
+    void next() {
+        this.index++;
+    }
+
+    private void fetch() {
+        List<StorageValueInfo> batch;
+        try {
+            batch = this.storage.list(
+                this.parent,
+                this.offset,
+                StorageShared2Overlay.BATCH_SIZE,
+                this.context
+            );
+        } catch (final InvalidStoragePathException cause) {
+            this.failure = cause;
+            batch = StorageValueInfoList.EMPTY;
+        }
+
+        this.batch = batch;
+        this.index = 0;
+        this.offset += batch.size();
+        this.exhausted = batch.size() < StorageShared2Overlay.BATCH_SIZE;
+    }
+
+    boolean failed() {
+        return null != this.failure;
+    }
+
+    private final Storage<C> storage;
+
+    private final StoragePath parent;
+
+    private final C context;
+
+    private List<StorageValueInfo> batch;
+
+    private int index;
+
+    private int offset;
+
+    private boolean exhausted;
+
+    /**
+     * The failure when the layer did not have the directory.
+     */
+    InvalidStoragePathException failure;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.storage + " " + this.parent + " " + this.offset;
+    }
+}
@@ -18,6 +18,7 @@
 package walkingkooka.storage;
 
 import walkingkooka.CanBeEmpty;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.environment.AuditInfo;
 import walkingkooka.store.Store;
 import walkingkooka.store.StoreWatcher;
@@ -27,7 +28,10 @@ import walkingkooka.text.printer.TreePrintable;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -48,8 +52,62 @@ final class StorageShared2TreeMapStore<C extends StorageContext> extends Storage
             Comparator.naturalOrder(),
             this::idSetter
         );
+        this.store.addStoreWatcher(
+            toStoreWatcher(this.changeLog)
+        );
+        this.store.addStoreWatcher(
+            new StoreWatcher<>() {
+
+                @Override
+                public void onValueChange(final Optional<StorageShared2TreeMapStoreValue> oldValue,
+                                          final Optional<StorageShared2TreeMapStoreValue> newValue) {
+                    if (false == oldValue.isPresent()) {
+                        newValue.ifPresent(v -> StorageShared2TreeMapStore.this.updateChildCount(v, +1));
+                    } else {
+                        if (false == newValue.isPresent()) {
+                            StorageShared2TreeMapStore.this.updateChildCount(oldValue.get(), -1);
+                        }
+                    }
+                }
+
+                @Override
+                public String toString() {
+                    return "childCounts";
+                }
+            }
+        );
     }
 
+    /**
+     * Adds or removes the given entry from the count of children of its parent.
+     */
+    private void updateChildCount(final StorageShared2TreeMapStoreValue value,
+                                  final int delta) {
+        final StoragePath parent = value.path()
+            .parent()
+            .orElse(null);
+
+        // the root has no parent
+        if (null != parent) {
+            this.childCounts.merge(
+                parent.withoutTrailingSeparator(),
+                delta,
+                (final Integer count, final Integer d) -> {
+                    final int sum = count + d;
+                    return 0 == sum ?
+                        null :
+                        sum;
+                }
+            );
+        }
+    }
+
+    /**
+     * The number of children of each parent, kept up to date by a {@link StoreWatcher} so {@link #stat0} does not
+     * visit every entry.
+     */
+    private final Map<StoragePath, Integer> childCounts = Maps.concurrent();
+
     private StorageShared2TreeMapStoreValue idSetter(final StoragePath path,
                                                      final StorageShared2TreeMapStoreValue treeMapStoreStorageStoreValue) {
         return treeMapStoreStorageStoreValue.setPath(path);
@@ -77,6 +135,47 @@ final class StorageShared2TreeMapStore<C extends StorageContext> extends Storage
                 .map(StorageShared2TreeMapStoreValue::value);
     }
 
+    /**
+     * Values are already held in memory so the stat is created from the stored {@link StorageValueInfo} and
+     * {@link StorageValue} without any conversion.
+     */
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        this.saveRootIfNecessary(context);
+
+        final StoragePath pathWithoutSlash = path.withoutTrailingSeparator();
+
+        final StorageShared2TreeMapStoreValue value = this.store.load(pathWithoutSlash)
+            .orElse(null);
+
+        StorageValueStat stat = null;
+
+        if (null != value) {
+            if (value.parent) {
+                stat = StorageValueStat.with(
+                    value.info.setPath(path)
+                ).setChildCount(
+                    OptionalInt.of(
+                        this.childCounts.getOrDefault(
+                            pathWithoutSlash,
+                            0
+                        )
+                    )
+                );
+            } else {
+                if (false == path.isParent()) {
+                    stat = StorageValueStat.value(
+                        value.info,
+                        value.value
+                    );
+                }
+            }
+        }
+
+        return Optional.ofNullable(stat);
+    }
+
     @Override
     StorageValue save0(final StorageValue value,
                        final C context) {
@@ -229,6 +328,34 @@ final class StorageShared2TreeMapStore<C extends StorageContext> extends Storage
         );
     }
 
+    // changesSince.....................................................................................................
+
+    @Override
+    public List<StorageChange> changesSince(final long sequence,
+                                            final int count,
+                                            final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.changeLog.changesSince(
+            sequence,
+            count
+        );
+    }
+
+    @Override
+    public boolean isChangesSinceAvailable(final long sequence,
+                                           final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.changeLog.isAvailable(sequence);
+    }
+
+    /**
+     * Records every change, including those to directory entries.
+     */
+    // @VisibleForTesting
+    final StorageChangeLog changeLog = StorageChangeLog.with(StorageChangeLog.DEFAULT_RETENTION);
+
     // addWatcherXXX....................................................................................................
 
     @Override
@@ -67,6 +67,22 @@ final class StorageShared2Value<C extends StorageContext> extends StorageShared2
 
     private final Function<C, StorageValue> value;
 
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        return Optional.ofNullable(
+            isPath(path) ?
+                StorageValueStat.value(
+                    StorageValueInfo.with(
+                        path,
+                        context.createdAuditInfo()
+                    ),
+                    this.value.apply(context)
+                ) :
+                null
+        );
+    }
+
     @Override
     StorageValue save0(final StorageValue value,
                        final C context) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A {@link Function} used by {@link StorageShared2Value} that remembers the most recently computed {@link StorageValue}
+ * for each key.
+ * The value is computed again when the key returned by the key {@link Function} is different, or the optional time to
+ * live has passed. The key is usually whatever the value is computed from, such as the
+ * {@link StorageContext#storageMountPoints()}, so a mount or unmount invalidates the value.
+ * <br>
+ * Keys are compared by identity, and {@link List lists} by the identity of their elements, so checking a key never calls
+ * a possibly expensive equals, such as that of a {@link Storage} within a {@link StorageMountPoint}.
+ * <br>
+ * Up to {@link #MAX_ENTRIES} values are remembered, each in an immutable {@link Entry}. When a new list of mount points
+ * is computed, entries for older lists from the same {@link Storage} are dropped, so unmounted {@link Storage storages}
+ * are not kept alive by a stale key. The array of entries is
+ * replaced rather than modified, so concurrent callers either see a complete entry or compute their own.
+ */
+final class StorageShared2ValueMemoizingFunction<C extends StorageContext> implements Function<C, StorageValue> {
+
+    static <C extends StorageContext> StorageShared2ValueMemoizingFunction<C> with(final Function<C, StorageValue> value,
+                                                                                 final Function<C, ?> key,
+                                                                                 final Optional<Duration> timeToLive) {
+        Objects.requireNonNull(value, "value");
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(timeToLive, "timeToLive");
+
+        timeToLive.ifPresent(
+            (Duration d) -> {
+                if (d.isNegative() || d.isZero()) {
+                    throw new IllegalArgumentException("Invalid timeToLive " + d + " <= 0");
+                }
+            }
+        );
+
+        return new StorageShared2ValueMemoizingFunction<>(
+            value,
+            key,
+            timeToLive
+        );
+    }
+
+    private StorageShared2ValueMemoizingFunction(final Function<C, StorageValue> value,
+                                                 final Function<C, ?> key,
+                                                 final Optional<Duration> timeToLive) {
+        super();
+        this.value = value;
+        this.key = key;
+        this.timeToLive = timeToLive.orElse(null);
+    }
+
+    // Function.........................................................................................................
+
+    @Override
+    public StorageValue apply(final C context) {
+        final Object key = this.key.apply(context);
+        final Duration timeToLive = this.timeToLive;
+        final LocalDateTime now = null != timeToLive ?
+            context.now() :
+            null;
+
+        final Entry[] entries = this.entries;
+        final int count = entries.length;
+
+        Entry entry = null;
+        int index = 0;
+
+        while (index < count) {
+            final Entry possible = entries[index];
+            if (isSameKey(key, possible.key)) {
+                entry = possible;
+                break;
+            }
+            index++;
+        }
+
+        if (null == entry || null != now && now.isAfter(entry.expires)) {
+            entry = new Entry(
+                key,
+                this.value.apply(context),
+                null != now ?
+                    now.plus(timeToLive) :
+                    null
+            );
+
+            // new or replaced entries go first, dropping entries superseded by a mount or unmount and the last entry when full
+            final Object owner = owner(key);
+            final Entry[] replaced = new Entry[Math.min(count + 1, MAX_ENTRIES)];
+            replaced[0] = entry;
+
+            int to = 1;
+            for (int i = 0; i < count && to < replaced.length; i++) {
+                final Entry possible = entries[i];
+                if (i != index && (null == owner || owner != owner(possible.key))) {
+                    replaced[to] = possible;
+                    to++;
+                }
+            }
+
+            this.entries = to < replaced.length ?
+                Arrays.copyOf(
+                    replaced,
+                    to
+                ) :
+                replaced;
+        }
+
+        return entry.value;
+    }
+
+    /**
+     * Returns the {@link StorageMountPoint} for {@link StoragePath#ROOT} when the key is a {@link List} of mount points,
+     * otherwise null. The root mount is never unmounted, so it identifies the {@link Storage} that returned the list,
+     * and any other list with the same root was replaced by a mount or unmount and will never be returned again.
+     */
+    private static Object owner(final Object key) {
+        Object owner = null;
+
+        if (key instanceof List) {
+            for (final Object element : (List<?>) key) {
+                if (element instanceof StorageMountPoint && ((StorageMountPoint<?>) element).path.isRoot()) {
+                    owner = element;
+                    break;
+                }
+            }
+        }
+
+        return owner;
+    }
+
+    private static boolean isSameKey(final Object key,
+                                     final Object other) {
+        boolean same = key == other;
+
+        if (false == same && key instanceof List && other instanceof List) {
+            final List<?> list = (List<?>) key;
+            final List<?> otherList = (List<?>) other;
+
+            final int size = list.size();
+            same = size == otherList.size();
+
+            for (int i = 0; same && i < size; i++) {
+                same = list.get(i) == otherList.get(i);
+            }
+        }
+
+        return same;
+    }
+
+    private final Function<C, StorageValue> value;
+
+    private final Function<C, ?> key;
+
+    /**
+     * When null values never expire.
+     */
+    private final Duration timeToLive;
+
+    /**
+     * The maximum number of keys remembered, so a shared instance used by contexts with different keys, such as different
+     * mount points, does not recompute the value each time the context changes.
+     */
+    final static int MAX_ENTRIES = 16;
+
+    /**
+     * The most recently computed entries first, replaced as a whole on every change.
+     */
+    private volatile Entry[] entries = new Entry[0];
+
+    /**
+     * A computed {@link StorageValue} and the key it was computed for.
+     */
+    private static final class Entry {
+
+        Entry(final Object key,
+              final StorageValue value,
+              final LocalDateTime expires) {
+            this.key = key;
+            this.value = value;
+            this.expires = expires;
+        }
+
+        final Object key;
+
+        final StorageValue value;
+
+        final LocalDateTime expires;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.value.toString();
+    }
+}
@@ -31,7 +31,18 @@ abstract class StorageShared2Wrapper<C extends StorageContext> extends StorageSh
 
     @Override
     public final void stop() {
-        this.storage.stop();
+        try {
+            this.stop0();
+        } finally {
+            this.storage.stop();
+        }
+    }
+
+    /**
+     * Sub-classes should release any resources or watchers they hold, before the wrapped {@link Storage} is stopped.
+     */
+    void stop0() {
+        // nop
     }
 
     // @VisibleForTesting
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.storage;
+
+import java.util.Optional;
+
+/**
+ * A {@link StorageWatcher} that runs an action whenever a single archive {@link StoragePath} is saved or deleted, used
+ * by wrappers that cache something read from that archive.
+ */
+final class StorageShared2WrapperArchiveWatcher implements StorageWatcher {
+
+    static StorageShared2WrapperArchiveWatcher with(final StoragePath archive,
+                                                     final Runnable changed) {
+        return new StorageShared2WrapperArchiveWatcher(
+            archive,
+            changed
+        );
+    }
+
+    private StorageShared2WrapperArchiveWatcher(final StoragePath archive,
+                                                final Runnable changed) {
+        super();
+        this.archive = archive;
+        this.changed = changed;
+    }
+
+    /**
+     * Adds this watcher to the given {@link Storage}, returning a no-op remover if the {@link Storage} does not
+     * support watchers, in which case changes will never be noticed.
+     */
+    <C extends StorageContext> Runnable addTo(final Storage<C> storage,
+                                              final C context) {
+        Runnable remover;
+
+        try {
+            remover = storage.addWatcher(
+                this,
+                context
+            );
+        } catch (final UnsupportedOperationException ignore) {
+            remover = () -> {
+            };
+        }
+
+        return remover;
+    }
+
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        if (this.isArchive(oldValue) || this.isArchive(newValue)) {
+            this.changed.run();
+        }
+    }
+
+    private boolean isArchive(final Optional<StorageValue> value) {
+        return value.map(
+            (StorageValue v) -> this.archive.equals(v.path())
+        ).orElse(false);
+    }
+
+    private final StoragePath archive;
+
+    private final Runnable changed;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.archive.toString();
+    }
+}
@@ -19,24 +19,28 @@ package walkingkooka.storage;
 
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.Binary;
+import walkingkooka.collect.list.ImmutableList;
 import walkingkooka.environment.AuditInfo;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 
-import java.io.IOException;
 import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.SortedSet;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 /**
- * Uses a {@link StoragePath} to an archive and presents a read-only view of its contents.
+ * Uses a {@link StoragePath} to an archive and presents a read-only view of its contents. The decompressed archive and
+ * its directory index are shared with all other instances using {@link StorageShared2WrapperExplodedZipFileCache},
+ * which discards it whenever the archive changes.
  */
 @GwtIncompatible
 final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> extends StorageShared2Wrapper<C>
@@ -44,25 +48,39 @@ final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> exten
 
     static <C extends StorageContext> StorageShared2WrapperExplodedZipFile<C> with(final StoragePath archive,
                                                                                    final Storage<C> storage) {
+        return with(
+            archive,
+            storage,
+            StorageShared2WrapperExplodedZipFileCache.instance()
+        );
+    }
+
+    static <C extends StorageContext> StorageShared2WrapperExplodedZipFile<C> with(final StoragePath archive,
+                                                                                   final Storage<C> storage,
+                                                                                   final StorageShared2WrapperExplodedZipFileCache cache) {
         return new StorageShared2WrapperExplodedZipFile<>(
             Objects.requireNonNull(archive, "archive"),
-            storage
+            storage,
+            Objects.requireNonNull(cache, "cache")
         );
     }
 
     private StorageShared2WrapperExplodedZipFile(final StoragePath archive,
-                                                 final Storage<C> storage) {
+                                                 final Storage<C> storage,
+                                                 final StorageShared2WrapperExplodedZipFileCache cache) {
         super(storage);
         this.archive = archive;
+        this.cache = cache;
     }
 
     @Override
     boolean canRead0(final StoragePath path,
                      final C context) {
-        return this.exploded(context)
-            .canRead(
-                path,
-                context
+        final StorageShared2WrapperExplodedZipFileArchive exploded = this.exploded(context);
+
+        return exploded.contents.containsKey(path) ||
+            null != exploded.children(
+                path.withoutTrailingSeparator()
             );
     }
 
@@ -75,11 +93,60 @@ final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> exten
     @Override
     Optional<StorageValue> load0(final StoragePath path,
                                  final C context) {
-        return this.exploded(context)
-            .load(
-                path,
-                context
+        final Binary content = this.exploded(context)
+            .contents
+            .get(path);
+
+        return Optional.ofNullable(
+            null != content ?
+                StorageValue.with(path)
+                    .setValue(
+                        Optional.of(content)
+                    ) :
+                null
+        );
+    }
+
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        final StorageShared2WrapperExplodedZipFileArchive exploded = this.exploded(context);
+
+        StorageValueStat stat = null;
+
+        final SortedSet<StoragePath> children = exploded.children(
+            path.withoutTrailingSeparator()
+        );
+        if (null != children) {
+            stat = StorageValueStat.with(
+                this.storageValueInfo(
+                    path,
+                    exploded,
+                    context
+                )
+            ).setChildCount(
+                OptionalInt.of(
+                    children.size()
+                )
             );
+        } else {
+            final Binary content = exploded.contents.get(path);
+            if (null != content) {
+                stat = StorageValueStat.with(
+                    this.storageValueInfo(
+                        path,
+                        exploded,
+                        context
+                    )
+                ).setSize(
+                    OptionalLong.of(
+                        content.size()
+                    )
+                );
+            }
+        }
+
+        return Optional.ofNullable(stat);
     }
 
     @Override
@@ -100,13 +167,73 @@ final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> exten
                                  final int offset,
                                  final int count,
                                  final C context) {
-        return this.exploded(context)
-            .list(
-                parent,
-                offset,
-                count,
-                context
+        final StorageShared2WrapperExplodedZipFileArchive exploded = this.exploded(context);
+        final StoragePath path = parent.withoutTrailingSeparator();
+
+        final List<StorageValueInfo> infos;
+
+        final SortedSet<StoragePath> children = exploded.children(path);
+        if (null != children) {
+            infos = children.stream()
+                .skip(offset)
+                .limit(count)
+                .map(
+                    (StoragePath child) -> this.storageValueInfo(
+                        child,
+                        exploded,
+                        context
+                    )
+                ).collect(
+                    ImmutableList.collector()
+                );
+        } else {
+            infos = exploded.contents.containsKey(path) ?
+                StorageValueInfoList.EMPTY.concat(
+                    this.storageValueInfo(
+                        path,
+                        exploded,
+                        context
+                    )
+                ) :
+                StorageValueInfoList.EMPTY;
+        }
+
+        return infos;
+    }
+
+    /**
+     * Files use the timestamps of their {@link ZipEntry} with the current user, directories are created now.
+     */
+    private StorageValueInfo storageValueInfo(final StoragePath path,
+                                              final StorageShared2WrapperExplodedZipFileArchive exploded,
+                                              final C context) {
+        final ZipEntry zipEntry = exploded.zipEntries.get(path);
+
+        final AuditInfo auditInfo;
+
+        if (null != zipEntry) {
+            final EmailAddress user = context.userOrFail();
+            final FileTime creation = zipEntry.getCreationTime();
+            final FileTime lastModified = zipEntry.getLastModifiedTime();
+
+            auditInfo = AuditInfo.with(
+                user,
+                toLocalDateTime(
+                    null != creation ?
+                        creation :
+                        lastModified
+                ),
+                user,
+                toLocalDateTime(lastModified)
             );
+        } else {
+            auditInfo = context.createdAuditInfo();
+        }
+
+        return StorageValueInfo.with(
+            path,
+            auditInfo
+        );
     }
 
     @Override
@@ -121,89 +248,41 @@ final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> exten
      */
     private final StoragePath archive;
 
-    private Storage<C> exploded(final C context) {
-        if (null == this.exploded) {
-            final StorageValue storageValue = this.storage.load(
+    /**
+     * Returns the shared exploded archive, which is only loaded again after the archive changes.
+     */
+    private StorageShared2WrapperExplodedZipFileArchive exploded(final C context) {
+        final StorageShared2WrapperExplodedZipFileArchive exploded = this.cache.get(
+            this.location(context),
+            this.storage,
+            context
+        );
+        this.exploded = exploded;
+        return exploded;
+    }
+
+    private synchronized StorageShared2WrapperExplodedZipFileLocation location(final C context) {
+        if (null == this.location) {
+            this.location = this.cache.acquire(
                 this.archive,
+                this.storage,
                 context
-            ).orElse(null);
-
-            try {
-                if (null != storageValue) {
-                    final Binary binary = context.convert(
-                        storageValue.value(),
-                        Binary.class
-                    ).orElseLeft(null);
-
-                    if (null != binary) {
-                        final Storage<C> exploded = Storages.treeMapStore();
-
-                        try (final ZipInputStream zipInputStream = new ZipInputStream(binary.inputStream())) {
-                            for (; ; ) {
-                                final ZipEntry zipEntry = zipInputStream.getNextEntry();
-                                if (null == zipEntry) {
-                                    break;
-                                }
-
-                                if (zipEntry.isDirectory()) {
-                                    continue;
-                                }
-
-                                final StoragePath zipEntryStoragePath = StoragePath.parse(
-                                    zipEntry.getName()
-                                );
-
-                                exploded.save(
-                                    StorageValue.with(
-                                        zipEntryStoragePath
-                                    ).setValue(
-                                        Optional.of(
-                                            Binary.with(
-                                                zipInputStream.readAllBytes()
-                                            )
-                                        )
-                                    ),
-                                    context
-                                );
-
-                                final EmailAddress user = context.userOrFail();
-
-                                // FIX the create and last modified timestamps
-                                exploded.setAuditInfo(
-                                    StorageValueInfo.with(
-                                        zipEntryStoragePath,
-                                        AuditInfo.with(
-                                            user,
-                                            toLocalDateTime(
-                                                zipEntry.getCreationTime()
-                                            ),
-                                            user,
-                                            toLocalDateTime(
-                                                zipEntry.getLastModifiedTime()
-                                            )
-                                        )
-                                    ),
-                                    context
-                                );
-                            }
-
-                        } catch (final IOException cause) {
-                            throw new IllegalStateException("Unable to explode directory, " + cause.getMessage(), cause);
-                        }
-
-                        this.exploded = Storages.readOnly(exploded);
-                    }
-                }
-            } finally {
-                if (null == this.exploded) {
-                    this.exploded = Storages.empty();
-                }
-            }
+            );
         }
 
-        return this.exploded;
+        return this.location;
     }
 
+    /**
+     * The location of the archive shared with other views, acquired on first access and released when stopped.
+     */
+    private StorageShared2WrapperExplodedZipFileLocation location;
+
+    /**
+     * The shared cache of decompressed archives.
+     */
+    private final StorageShared2WrapperExplodedZipFileCache cache;
+
     private static LocalDateTime toLocalDateTime(final FileTime fileTime) {
         return LocalDateTime.ofInstant(
             fileTime.toInstant(),
@@ -212,9 +291,26 @@ final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> exten
     }
 
     /**
-     * The {@link Storages#treeMapStore()} containing the archive in exploded form.
+     * The most recently returned exploded archive, only used by {@link #printTree(IndentingPrinter)}.
      */
-    private Storage<C> exploded;
+    // @VisibleForTesting
+    StorageShared2WrapperExplodedZipFileArchive exploded;
+
+    // Stoppable........................................................................................................
+
+    @Override
+    synchronized void stop0() {
+        final StorageShared2WrapperExplodedZipFileLocation location = this.location;
+        this.location = null;
+        this.exploded = null;
+
+        if (null != location) {
+            this.cache.release(
+                location,
+                this.storage
+            );
+        }
+    }
 
     // addWatcher.......................................................................................................
 
@@ -250,14 +346,13 @@ final class StorageShared2WrapperExplodedZipFile<C extends StorageContext> exten
                 )
             );
 
-            final Storage<C> exploded = this.exploded;
-            if(null != exploded) {
+            final StorageShared2WrapperExplodedZipFileArchive exploded = this.exploded;
+            if (null != exploded) {
                 printer.indent();
                 {
-                    TreePrintable.printTreeOrToString(
-                        exploded,
-                        printer
-                    );
+                    for (final StoragePath path : exploded.contents.keySet()) {
+                        printer.println(path.toString());
+                    }
                 }
                 printer.outdent();
             }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The decompressed contents of an archive, independent of any {@link StorageContext} so it may be shared by many
+ * {@link StorageShared2WrapperExplodedZipFile} using {@link StorageShared2WrapperExplodedZipFileCache}.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperExplodedZipFileArchive {
+
+    /**
+     * An archive that does not exist.
+     */
+    final static StorageShared2WrapperExplodedZipFileArchive EMPTY = new StorageShared2WrapperExplodedZipFileArchive(
+        Maps.empty(),
+        Maps.empty(),
+        0
+    );
+
+    static StorageShared2WrapperExplodedZipFileArchive explode(final Binary archive) {
+        final Map<StoragePath, ZipEntry> zipEntries = Maps.ordered();
+        final Map<StoragePath, Binary> contents = Maps.ordered();
+        long size = 0;
+
+        try (final ZipInputStream zipInputStream = new ZipInputStream(archive.inputStream())) {
+            for (; ; ) {
+                final ZipEntry zipEntry = zipInputStream.getNextEntry();
+                if (null == zipEntry) {
+                    break;
+                }
+
+                if (zipEntry.isDirectory()) {
+                    continue;
+                }
+
+                // unsafe names are skipped
+                final StoragePath zipEntryStoragePath = StorageShared2WrapperZipFileCentralDirectory.storagePath(
+                    zipEntry.getName()
+                );
+                if (null == zipEntryStoragePath) {
+                    continue;
+                }
+
+                final Binary content = Binary.with(
+                    zipInputStream.readAllBytes()
+                );
+
+                zipEntries.put(
+                    zipEntryStoragePath,
+                    zipEntry
+                );
+                contents.put(
+                    zipEntryStoragePath,
+                    content
+                );
+                size += content.size();
+            }
+        } catch (final IOException cause) {
+            throw new IllegalStateException("Unable to explode directory, " + cause.getMessage(), cause);
+        }
+
+        return new StorageShared2WrapperExplodedZipFileArchive(
+            zipEntries,
+            contents,
+            size
+        );
+    }
+
+    private StorageShared2WrapperExplodedZipFileArchive(final Map<StoragePath, ZipEntry> zipEntries,
+                                                        final Map<StoragePath, Binary> contents,
+                                                        final long size) {
+        this.zipEntries = zipEntries;
+        this.contents = contents;
+        this.size = size;
+
+        final Map<StoragePath, SortedSet<StoragePath>> directories = Maps.sorted();
+        directories.put(
+            StoragePath.ROOT,
+            SortedSets.tree()
+        );
+        for (final StoragePath path : zipEntries.keySet()) {
+            addChild(
+                path,
+                directories
+            );
+        }
+        this.directories = directories;
+    }
+
+    private static void addChild(final StoragePath path,
+                                 final Map<StoragePath, SortedSet<StoragePath>> directories) {
+        final StoragePath parent = path.parent()
+            .orElse(StoragePath.ROOT);
+
+        SortedSet<StoragePath> children = directories.get(parent);
+        if (null == children) {
+            children = SortedSets.tree();
+            directories.put(
+                parent,
+                children
+            );
+            addChild(
+                parent,
+                directories
+            );
+        }
+        children.add(path);
+    }
+
+    /**
+     * Returns the children of the directory or null if the path is not a directory.
+     */
+    SortedSet<StoragePath> children(final StoragePath path) {
+        return this.directories.get(path);
+    }
+
+    /**
+     * The {@link ZipEntry} for each file, which also provide the creation and last modified times.
+     */
+    final Map<StoragePath, ZipEntry> zipEntries;
+
+    /**
+     * The decompressed content for each file.
+     */
+    final Map<StoragePath, Binary> contents;
+
+    /**
+     * The total number of decompressed bytes, used by {@link StorageShared2WrapperExplodedZipFileCache} to enforce its
+     * memory budget.
+     */
+    final long size;
+
+    /**
+     * All directories implied by a file path, with their immediate children. This is built once and shared by all
+     * views of the archive.
+     */
+    private final Map<StoragePath, SortedSet<StoragePath>> directories;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.contents.keySet() + " " + this.size;
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A process wide cache of {@link StorageShared2WrapperExplodedZipFileArchive} keyed by a hash of the archive content,
+ * so the same archive mounted by many {@link StorageShared2WrapperExplodedZipFile}, even across tenants, is only
+ * exploded once. Concurrent requests for the same archive wait for the single explosion to complete. Once the total
+ * decompressed size exceeds the budget, the least recently used archives are evicted.
+ * <br>
+ * Each archive location is shared by all its views, with a single watcher that discards the archive when it changes,
+ * so the archive is only loaded and hashed again after a change. Native archives are checked using their size and last
+ * modified time.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperExplodedZipFileCache {
+
+    /**
+     * The default maximum number of decompressed bytes held by {@link #instance()}.
+     */
+    final static long DEFAULT_MAX_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * Returns the process wide cache.
+     */
+    static StorageShared2WrapperExplodedZipFileCache instance() {
+        return INSTANCE;
+    }
+
+    private final static StorageShared2WrapperExplodedZipFileCache INSTANCE = with(DEFAULT_MAX_SIZE);
+
+    static StorageShared2WrapperExplodedZipFileCache with(final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+
+        return new StorageShared2WrapperExplodedZipFileCache(maxSize);
+    }
+
+    private StorageShared2WrapperExplodedZipFileCache(final long maxSize) {
+        super();
+        this.maxSize = maxSize;
+    }
+
+    // location.........................................................................................................
+
+    /**
+     * Returns the shared location for the archive within the {@link Storage}, adding a watcher for the first user of a
+     * non native location. Each acquire must be followed by a {@link #release(StorageShared2WrapperExplodedZipFileLocation)}.
+     */
+    synchronized <C extends StorageContext> StorageShared2WrapperExplodedZipFileLocation acquire(final StoragePath archive,
+                                                                                               final Storage<C> storage,
+                                                                                               final C context) {
+        StorageShared2WrapperExplodedZipFileLocation location;
+
+        if (storage instanceof StorageShared2NativeFile) {
+            final Path nativePath = ((StorageShared2NativeFile<?>) storage).toPath(archive)
+                .toAbsolutePath();
+
+            location = this.nativeLocations.get(nativePath);
+            if (null == location) {
+                location = StorageShared2WrapperExplodedZipFileLocation.with(
+                    archive,
+                    nativePath
+                );
+                this.nativeLocations.put(
+                    nativePath,
+                    location
+                );
+            }
+        } else {
+            Map<StoragePath, StorageShared2WrapperExplodedZipFileLocation> archives = this.storageLocations.get(storage);
+            if (null == archives) {
+                archives = Maps.hash();
+                this.storageLocations.put(
+                    storage,
+                    archives
+                );
+            }
+
+            location = archives.get(archive);
+            if (null == location) {
+                final StorageShared2WrapperExplodedZipFileLocation newLocation = StorageShared2WrapperExplodedZipFileLocation.with(
+                    archive,
+                    null
+                );
+                newLocation.watcherRemover = StorageShared2WrapperArchiveWatcher.with(
+                    archive,
+                    () -> this.invalidate(newLocation)
+                ).addTo(
+                    storage,
+                    context
+                );
+
+                archives.put(
+                    archive,
+                    newLocation
+                );
+                location = newLocation;
+            }
+        }
+
+        location.references++;
+        return location;
+    }
+
+    /**
+     * Releases a location returned by {@link #acquire(StoragePath, Storage, StorageContext)}, removing its watcher
+     * and discarding its archive once there are no users.
+     */
+    synchronized <C extends StorageContext> void release(final StorageShared2WrapperExplodedZipFileLocation location,
+                                                         final Storage<C> storage) {
+        location.references--;
+
+        if (0 == location.references) {
+            final Path nativePath = location.nativePath;
+            if (null != nativePath) {
+                this.nativeLocations.remove(nativePath);
+            } else {
+                final Map<StoragePath, StorageShared2WrapperExplodedZipFileLocation> archives = this.storageLocations.get(storage);
+                if (null != archives) {
+                    archives.remove(location.archive);
+                    if (archives.isEmpty()) {
+                        this.storageLocations.remove(storage);
+                    }
+                }
+            }
+
+            final Runnable watcherRemover = location.watcherRemover;
+            location.watcherRemover = null;
+
+            this.invalidate(location);
+
+            if (null != watcherRemover) {
+                watcherRemover.run();
+            }
+        }
+    }
+
+    /**
+     * Called when the archive at a location changes, discarding its archive if no other location shares it.
+     */
+    synchronized void invalidate(final StorageShared2WrapperExplodedZipFileLocation location) {
+        final String key = location.key;
+
+        location.key = null;
+        location.generation++;
+
+        if (null != key) {
+            this.discardIfUnused(key);
+        }
+    }
+
+    private void discardIfUnused(final String key) {
+        boolean used = false;
+
+        for (final StorageShared2WrapperExplodedZipFileLocation location : this.locations()) {
+            if (key.equals(location.key)) {
+                used = true;
+                break;
+            }
+        }
+
+        if (false == used) {
+            final CompletableFuture<StorageShared2WrapperExplodedZipFileArchive> future = this.archives.get(key);
+
+            // archives still being exploded are not yet counted and are left for eviction
+            if (null != future) {
+                final StorageShared2WrapperExplodedZipFileArchive exploded = future.getNow(null);
+                if (null != exploded) {
+                    this.archives.remove(key);
+                    this.size -= exploded.size;
+                }
+            }
+        }
+    }
+
+    private List<StorageShared2WrapperExplodedZipFileLocation> locations() {
+        final List<StorageShared2WrapperExplodedZipFileLocation> locations = Lists.array();
+        locations.addAll(this.nativeLocations.values());
+
+        for (final Map<StoragePath, StorageShared2WrapperExplodedZipFileLocation> archives : this.storageLocations.values()) {
+            locations.addAll(archives.values());
+        }
+
+        return locations;
+    }
+
+    /**
+     * The number of locations with at least one user.
+     */
+    synchronized int locationCount() {
+        return this.locations()
+            .size();
+    }
+
+    /**
+     * Locations within a {@link StorageShared2NativeFile} are shared by their absolute file system {@link Path}.
+     */
+    private final Map<Path, StorageShared2WrapperExplodedZipFileLocation> nativeLocations = Maps.hash();
+
+    /**
+     * Other locations are shared by the identity of their {@link Storage} and the archive {@link StoragePath}.
+     */
+    private final Map<Storage<?>, Map<StoragePath, StorageShared2WrapperExplodedZipFileLocation>> storageLocations = new IdentityHashMap<>();
+
+    // get..............................................................................................................
+
+    /**
+     * Returns the exploded archive at the location, only loading and hashing the archive if it has changed since the
+     * last request. A missing archive returns {@link StorageShared2WrapperExplodedZipFileArchive#EMPTY}.
+     */
+    <C extends StorageContext> StorageShared2WrapperExplodedZipFileArchive get(final StorageShared2WrapperExplodedZipFileLocation location,
+                                                                                final Storage<C> storage,
+                                                                                final C context) {
+        final Path nativePath = location.nativePath;
+        final String nativeVersion = null != nativePath ?
+            StorageShared2NativeFile.version(nativePath) :
+            null;
+
+        final long generation;
+        CompletableFuture<StorageShared2WrapperExplodedZipFileArchive> future = null;
+
+        synchronized (this) {
+            if (null != nativePath && false == Objects.equals(nativeVersion, location.nativeVersion)) {
+                this.invalidate(location);
+                location.nativeVersion = nativeVersion;
+            }
+
+            generation = location.generation;
+
+            final String key = location.key;
+            if (null != key) {
+                future = this.archives.get(key);
+            }
+        }
+
+        final StorageShared2WrapperExplodedZipFileArchive exploded;
+
+        if (null != future) {
+            exploded = join(future);
+        } else {
+            final StorageValue storageValue = storage.load(
+                location.archive,
+                context
+            ).orElse(null);
+
+            final Binary binary = null != storageValue ?
+                context.convert(
+                    storageValue.value(),
+                    Binary.class
+                ).orElseLeft(null) :
+                null;
+
+            if (null != binary) {
+                final String key = key(binary);
+
+                synchronized (this) {
+                    // the archive may have changed while it was being loaded
+                    if (generation == location.generation) {
+                        location.key = key;
+                    }
+                }
+
+                exploded = this.get(
+                    key,
+                    binary
+                );
+            } else {
+                exploded = StorageShared2WrapperExplodedZipFileArchive.EMPTY;
+            }
+        }
+
+        return exploded;
+    }
+
+    /**
+     * Returns the exploded archive, exploding and caching it if necessary.
+     */
+    StorageShared2WrapperExplodedZipFileArchive get(final Binary archive) {
+        return this.get(
+            key(archive),
+            archive
+        );
+    }
+
+    private StorageShared2WrapperExplodedZipFileArchive get(final String key,
+                                                            final Binary archive) {
+
+        CompletableFuture<StorageShared2WrapperExplodedZipFileArchive> future;
+        boolean explode = false;
+
+        synchronized (this) {
+            future = this.archives.get(key);
+            if (null == future) {
+                future = new CompletableFuture<>();
+                this.archives.put(
+                    key,
+                    future
+                );
+                explode = true;
+            }
+        }
+
+        if (explode) {
+            try {
+                final StorageShared2WrapperExplodedZipFileArchive exploded = StorageShared2WrapperExplodedZipFileArchive.explode(archive);
+                future.complete(exploded);
+
+                synchronized (this) {
+                    this.size += exploded.size;
+                    this.evict();
+                }
+            } catch (final RuntimeException cause) {
+                synchronized (this) {
+                    this.archives.remove(key);
+                }
+                future.completeExceptionally(cause);
+                throw cause;
+            }
+        }
+
+        return join(future);
+    }
+
+    private static StorageShared2WrapperExplodedZipFileArchive join(final CompletableFuture<StorageShared2WrapperExplodedZipFileArchive> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException cause) {
+            final Throwable wrapped = cause.getCause();
+            throw wrapped instanceof RuntimeException ?
+                (RuntimeException) wrapped :
+                cause;
+        }
+    }
+
+    /**
+     * Removes the least recently used completed archives until within the budget, always keeping the most recent.
+     */
+    private void evict() {
+        final Iterator<CompletableFuture<StorageShared2WrapperExplodedZipFileArchive>> iterator = this.archives.values()
+            .iterator();
+
+        while (this.size > this.maxSize && this.archives.size() > 1 && iterator.hasNext()) {
+            final StorageShared2WrapperExplodedZipFileArchive exploded = iterator.next()
+                .getNow(null);
+
+            // archives still being exploded are not yet counted
+            if (null != exploded) {
+                iterator.remove();
+                this.size -= exploded.size;
+            }
+        }
+    }
+
+    /**
+     * The key is a digest of the archive content, which acts as its version.
+     */
+    private static String key(final Binary archive) {
+        try {
+            return Base64.getEncoder()
+                .encodeToString(
+                    MessageDigest.getInstance("SHA-256")
+                        .digest(
+                            archive.value()
+                        )
+                );
+        } catch (final NoSuchAlgorithmException cause) {
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * The number of archives, including those still being exploded.
+     */
+    synchronized int count() {
+        return this.archives.size();
+    }
+
+    /**
+     * The total decompressed bytes of all cached archives.
+     */
+    synchronized long size() {
+        return this.size;
+    }
+
+    /**
+     * Access order, so the first entry is always the least recently used.
+     */
+    private final Map<String, CompletableFuture<StorageShared2WrapperExplodedZipFileArchive>> archives = new LinkedHashMap<>(
+        16,
+        0.75f,
+        true
+    );
+
+    private final long maxSize;
+
+    private long size;
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return this.archives.size() + " " + this.size + "/" + this.maxSize;
+    }
+}
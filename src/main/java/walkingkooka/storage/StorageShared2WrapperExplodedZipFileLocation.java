@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.nio.file.Path;
+
+/**
+ * An archive within a {@link Storage}, shared by every {@link StorageShared2WrapperExplodedZipFile} viewing it, so the
+ * {@link StorageShared2WrapperExplodedZipFileCache} only adds one watcher and only hashes each version once. All
+ * fields are guarded by the owning {@link StorageShared2WrapperExplodedZipFileCache}.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperExplodedZipFileLocation {
+
+    static StorageShared2WrapperExplodedZipFileLocation with(final StoragePath archive,
+                                                             final Path nativePath) {
+        return new StorageShared2WrapperExplodedZipFileLocation(
+            archive,
+            nativePath
+        );
+    }
+
+    private StorageShared2WrapperExplodedZipFileLocation(final StoragePath archive,
+                                                         final Path nativePath) {
+        super();
+        this.archive = archive;
+        this.nativePath = nativePath;
+    }
+
+    final StoragePath archive;
+
+    /**
+     * The file system {@link Path} when the archive is within a {@link StorageShared2NativeFile}, otherwise null.
+     */
+    final Path nativePath;
+
+    /**
+     * The number of {@link StorageShared2WrapperExplodedZipFile} using this location.
+     */
+    int references;
+
+    /**
+     * Removes the watcher added to a non native {@link Storage}.
+     */
+    Runnable watcherRemover;
+
+    /**
+     * The key of the current version of the archive within the {@link StorageShared2WrapperExplodedZipFileCache} or
+     * null if it has not been read or has changed.
+     */
+    String key;
+
+    /**
+     * The size and last modified time of a native archive when the {@link #key} was computed.
+     */
+    String nativeVersion;
+
+    /**
+     * Incremented each time the archive changes, so a {@link #key} computed from a stale read is not recorded.
+     */
+    long generation;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return null != this.nativePath ?
+            this.nativePath.toString() :
+            this.archive.toString();
+    }
+}
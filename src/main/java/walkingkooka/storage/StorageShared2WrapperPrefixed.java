@@ -111,6 +111,23 @@ final class StorageShared2WrapperPrefixed<C extends StorageContext> extends Stor
         }
     }
 
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        try {
+            return StoragePath.ROOT.equals(path) ?
+                NO_STORAGE_VALUE_STAT :
+                this.storage.stat(
+                    path.removePrefix(this.prefix),
+                    context
+                ).map(
+                    s -> s.prependPath(this.prefix)
+                );
+        } catch (final InvalidStoragePathException rethrow) {
+            throw this.fixInvalidPath(rethrow);
+        }
+    }
+
     @Override
     StorageValue save0(final StorageValue value,
                        final C context) {
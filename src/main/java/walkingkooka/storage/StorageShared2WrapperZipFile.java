@@ -0,0 +1,488 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.ImmutableList;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.TreePrintable;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.SortedSet;
+import java.util.function.Function;
+
+/**
+ * Uses a {@link StoragePath} to an archive and presents a read-only view of its contents. Unlike
+ * {@link StorageShared2WrapperExplodedZipFile} only the central directory is read to build an index, and individual
+ * entries are decompressed when loaded. When the wrapped {@link Storage} is a {@link StorageShared2NativeFile} the
+ * archive is read directly from the file system, using a {@link java.util.zip.ZipFile} when on the default file system.
+ * The index is discarded whenever
+ * the archive changes.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperZipFile<C extends StorageContext> extends StorageShared2Wrapper<C>
+    implements TreePrintable {
+
+    static <C extends StorageContext> StorageShared2WrapperZipFile<C> with(final StoragePath archive,
+                                                                           final Storage<C> storage) {
+        return new StorageShared2WrapperZipFile<>(
+            Objects.requireNonNull(archive, "archive"),
+            storage
+        );
+    }
+
+    private StorageShared2WrapperZipFile(final StoragePath archive,
+                                         final Storage<C> storage) {
+        super(storage);
+        this.archive = archive;
+    }
+
+    @Override
+    boolean canRead0(final StoragePath path,
+                     final C context) {
+        return this.read(
+            context,
+            (centralDirectory) -> centralDirectory.entry(path)
+                .isPresent() ||
+                null != centralDirectory.children(
+                    path.withoutTrailingSeparator()
+                )
+        );
+    }
+
+    @Override
+    boolean canWrite0(final StoragePath path,
+                      final C context) {
+        return false;
+    }
+
+    @Override
+    Optional<StorageValue> load0(final StoragePath path,
+                                 final C context) {
+        return path.isParent() ?
+            NO_STORAGE_VALUE :
+            this.read(
+                context,
+                (centralDirectory) -> {
+                    StorageValue storageValue = null;
+
+                    final StorageShared2WrapperZipFileEntry entry = centralDirectory.entry(path)
+                        .orElse(null);
+
+                    if (null != entry) {
+                        try {
+                            storageValue = StorageValue.with(path)
+                                .setValue(
+                                    Optional.of(
+                                        centralDirectory.read(entry)
+                                    )
+                                );
+                        } catch (final IOException cause) {
+                            throw path.invalidStoragePathException(
+                                "Unable to read",
+                                cause
+                            );
+                        }
+                    }
+
+                    return Optional.ofNullable(storageValue);
+                }
+            );
+    }
+
+    /**
+     * Answers from the central directory, the size and CRC-32 of each entry are available without decompressing.
+     */
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        return this.read(
+            context,
+            (centralDirectory) -> this.stat1(
+                path,
+                centralDirectory,
+                context
+            )
+        );
+    }
+
+    private Optional<StorageValueStat> stat1(final StoragePath path,
+                                             final StorageShared2WrapperZipFileCentralDirectory centralDirectory,
+                                             final C context) {
+        StorageValueStat stat = null;
+
+        final SortedSet<StoragePath> children = centralDirectory.children(
+            path.withoutTrailingSeparator()
+        );
+        if (null != children) {
+            stat = StorageValueStat.with(
+                this.storageValueInfo(
+                    path,
+                    centralDirectory,
+                    context
+                )
+            ).setChildCount(
+                OptionalInt.of(
+                    children.size()
+                )
+            );
+        } else {
+            if (false == path.isParent()) {
+                final StorageShared2WrapperZipFileEntry entry = centralDirectory.entry(path)
+                    .orElse(null);
+
+                if (null != entry) {
+                    stat = StorageValueStat.with(
+                        this.storageValueInfo(
+                            path,
+                            centralDirectory,
+                            context
+                        )
+                    ).setSize(
+                        OptionalLong.of(entry.size)
+                    ).setContentHash(
+                        Optional.of(
+                            CRC32_PREFIX +
+                                Long.toHexString(0x1_0000_0000L | entry.crc)
+                                    .substring(1)
+                        )
+                    );
+                }
+            }
+        }
+
+        return Optional.ofNullable(stat);
+    }
+
+    /**
+     * Prefix for the {@link StorageValueStat#contentHash()} of an entry, followed by 8 lowercase hex digits.
+     */
+    final static String CRC32_PREFIX = "crc32:";
+
+    @Override
+    StorageValue save0(final StorageValue value,
+                       final C context) {
+        throw value.path()
+            .invalidStoragePathException("Read only");
+    }
+
+    @Override
+    void delete0(final StoragePath path,
+                 final C context) {
+        throw path.invalidStoragePathException("Read only");
+    }
+
+    @Override
+    List<StorageValueInfo> list0(final StoragePath parent,
+                                 final int offset,
+                                 final int count,
+                                 final C context) {
+        return this.read(
+            context,
+            (centralDirectory) -> this.list1(
+                parent,
+                offset,
+                count,
+                centralDirectory,
+                context
+            )
+        );
+    }
+
+    private List<StorageValueInfo> list1(final StoragePath parent,
+                                         final int offset,
+                                         final int count,
+                                         final StorageShared2WrapperZipFileCentralDirectory centralDirectory,
+                                         final C context) {
+        final StoragePath path = parent.withoutTrailingSeparator();
+
+        final List<StorageValueInfo> infos;
+
+        final SortedSet<StoragePath> children = centralDirectory.children(path);
+        if (null != children) {
+            infos = children.stream()
+                .skip(offset)
+                .limit(count)
+                .map(
+                    (StoragePath child) -> this.storageValueInfo(
+                        child,
+                        centralDirectory,
+                        context
+                    )
+                ).collect(
+                    ImmutableList.collector()
+                );
+        } else {
+            infos = centralDirectory.entry(path)
+                .isPresent() ?
+                StorageValueInfoList.EMPTY.concat(
+                    this.storageValueInfo(
+                        path,
+                        centralDirectory,
+                        context
+                    )
+                ) :
+                StorageValueInfoList.EMPTY;
+        }
+
+        return infos;
+    }
+
+    private StorageValueInfo storageValueInfo(final StoragePath path,
+                                              final StorageShared2WrapperZipFileCentralDirectory centralDirectory,
+                                              final C context) {
+        final StorageShared2WrapperZipFileEntry entry = centralDirectory.entry(path)
+            .orElse(null);
+
+        final AuditInfo auditInfo;
+
+        if (null != entry) {
+            final EmailAddress user = context.userOrFail();
+
+            try {
+                auditInfo = AuditInfo.with(
+                    user,
+                    centralDirectory.creation(entry),
+                    user,
+                    entry.lastModified
+                );
+            } catch (final IOException cause) {
+                throw path.invalidStoragePathException(
+                    "Unable to read",
+                    cause
+                );
+            }
+        } else {
+            // directories without an entry in the archive
+            auditInfo = context.createdAuditInfo();
+        }
+
+        return StorageValueInfo.with(
+            path,
+            auditInfo
+        );
+    }
+
+    @Override
+    void setAuditInfo0(final StorageValueInfo value,
+                       final C context) {
+        throw value.path()
+            .invalidStoragePathException("Read only");
+    }
+
+    /**
+     * The {@link StoragePath} for the archive in the wrapped {@link Storage}.
+     */
+    private final StoragePath archive;
+
+    /**
+     * Runs the reader with the current index of the archive, which is not closed until the reader completes, even if
+     * the archive changes or this {@link Storage} is stopped meanwhile.
+     */
+    private <T> T read(final C context,
+                       final Function<StorageShared2WrapperZipFileCentralDirectory, T> reader) {
+        final StorageShared2WrapperZipFileCentralDirectory centralDirectory = this.centralDirectory(context);
+        try {
+            return reader.apply(centralDirectory);
+        } finally {
+            centralDirectory.release();
+        }
+    }
+
+    /**
+     * Returns the index of the archive acquired for the caller, discarding and reading it again if the archive has
+     * changed. Native archives are checked using their size and last modified time, otherwise a {@link StorageWatcher}
+     * is added to the wrapped {@link Storage}.
+     */
+    private synchronized StorageShared2WrapperZipFileCentralDirectory centralDirectory(final C context) {
+        final Storage<C> storage = this.storage;
+
+        if (storage instanceof StorageShared2NativeFile) {
+            final String nativeVersion = StorageShared2NativeFile.version(
+                ((StorageShared2NativeFile<?>) storage).toPath(this.archive)
+            );
+            if (false == Objects.equals(nativeVersion, this.nativeVersion)) {
+                this.invalidate();
+                this.nativeVersion = nativeVersion;
+            }
+        } else {
+            if (null == this.archiveWatcherRemover) {
+                this.archiveWatcherRemover = StorageShared2WrapperArchiveWatcher.with(
+                    this.archive,
+                    this::invalidate
+                ).addTo(
+                    storage,
+                    context
+                );
+            }
+        }
+
+        if (null == this.centralDirectory) {
+            this.centralDirectory = this.readCentralDirectory(context);
+        }
+
+        return this.centralDirectory.acquire();
+    }
+
+    /**
+     * Discards the index, which is closed once any reads in progress complete, with the next access reading the
+     * archive again.
+     */
+    synchronized void invalidate() {
+        final StorageShared2WrapperZipFileCentralDirectory centralDirectory = this.centralDirectory;
+        this.centralDirectory = null;
+
+        if (null != centralDirectory) {
+            centralDirectory.release();
+        }
+    }
+
+    private StorageShared2WrapperZipFileCentralDirectory readCentralDirectory(final C context) {
+        final StoragePath archive = this.archive;
+        final Storage<C> storage = this.storage;
+
+        try {
+            StorageShared2WrapperZipFileCentralDirectory centralDirectory;
+
+            if (storage instanceof StorageShared2NativeFile) {
+                try {
+                    centralDirectory = StorageShared2WrapperZipFileCentralDirectory.path(
+                        ((StorageShared2NativeFile<?>) storage).toPath(archive)
+                    );
+                } catch (final NoSuchFileException cause) {
+                    centralDirectory = StorageShared2WrapperZipFileCentralDirectory.empty();
+                }
+            } else {
+                final StorageValue storageValue = storage.load(
+                    archive,
+                    context
+                ).orElse(null);
+
+                final Binary binary = null != storageValue ?
+                    context.convert(
+                        storageValue.value(),
+                        Binary.class
+                    ).orElseLeft(null) :
+                    null;
+
+                centralDirectory = null != binary ?
+                    StorageShared2WrapperZipFileCentralDirectory.bytes(
+                        binary.value()
+                    ) :
+                    StorageShared2WrapperZipFileCentralDirectory.empty();
+            }
+
+            return centralDirectory;
+        } catch (final IOException cause) {
+            throw archive.invalidStoragePathException(
+                "Unable to read archive",
+                cause
+            );
+        }
+    }
+
+    /**
+     * The index of the archive, which is read on first access and after the archive changes.
+     */
+    private StorageShared2WrapperZipFileCentralDirectory centralDirectory;
+
+    /**
+     * The size and last modified time of a native archive when the {@link #centralDirectory} was read.
+     */
+    private String nativeVersion;
+
+    /**
+     * Removes the watcher added to a non native wrapped {@link Storage}.
+     */
+    private Runnable archiveWatcherRemover;
+
+    // Stoppable........................................................................................................
+
+    @Override
+    synchronized void stop0() {
+        final Runnable archiveWatcherRemover = this.archiveWatcherRemover;
+        this.archiveWatcherRemover = null;
+
+        try {
+            if (null != archiveWatcherRemover) {
+                archiveWatcherRemover.run();
+            }
+        } finally {
+            this.invalidate();
+            this.nativeVersion = null;
+        }
+    }
+
+    // addWatcher.......................................................................................................
+
+    @Override
+    Runnable addWatcher0(final StorageWatcher watcher,
+                         final C context) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    Runnable addWatcherOnce0(final StorageWatcher watcher,
+                             final C context) {
+        throw new UnsupportedOperationException();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.storage.toString();
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            printer.println(
+                CharSequences.quoteAndEscape(
+                    this.archive.value()
+                )
+            );
+
+            final StorageShared2WrapperZipFileCentralDirectory centralDirectory = this.centralDirectory;
+            if (null != centralDirectory) {
+                printer.indent();
+                {
+                    for (final StorageShared2WrapperZipFileEntry entry : centralDirectory.entries.values()) {
+                        printer.println(entry.toString());
+                    }
+                }
+                printer.outdent();
+            }
+        }
+        printer.outdent();
+    }
+}
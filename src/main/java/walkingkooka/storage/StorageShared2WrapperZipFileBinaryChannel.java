@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * A read only {@link SeekableByteChannel} over a byte array, used to read an archive that was loaded from a
+ * {@link Storage} that is not a {@link StorageShared2NativeFile}.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperZipFileBinaryChannel implements SeekableByteChannel {
+
+    static StorageShared2WrapperZipFileBinaryChannel with(final byte[] bytes) {
+        return new StorageShared2WrapperZipFileBinaryChannel(bytes);
+    }
+
+    private StorageShared2WrapperZipFileBinaryChannel(final byte[] bytes) {
+        super();
+        this.bytes = bytes;
+    }
+
+    @Override
+    public int read(final ByteBuffer buffer) throws IOException {
+        this.checkOpen();
+
+        final byte[] bytes = this.bytes;
+        final int position = this.position;
+
+        final int read;
+
+        if (position >= bytes.length) {
+            read = -1;
+        } else {
+            read = Math.min(
+                buffer.remaining(),
+                bytes.length - position
+            );
+            buffer.put(
+                bytes,
+                position,
+                read
+            );
+            this.position = position + read;
+        }
+
+        return read;
+    }
+
+    @Override
+    public int write(final ByteBuffer buffer) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        this.checkOpen();
+        return this.position;
+    }
+
+    @Override
+    public SeekableByteChannel position(final long position) throws IOException {
+        this.checkOpen();
+
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position " + position + " < 0");
+        }
+
+        this.position = (int) Math.min(
+            position,
+            this.bytes.length
+        );
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        this.checkOpen();
+        return this.bytes.length;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.open;
+    }
+
+    @Override
+    public void close() {
+        this.open = false;
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (false == this.open) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private final byte[] bytes;
+
+    private int position;
+
+    private boolean open = true;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.bytes.length + " bytes";
+    }
+}
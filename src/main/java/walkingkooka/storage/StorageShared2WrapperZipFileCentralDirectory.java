@@ -0,0 +1,854 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.text.CharSequences;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An index of a zip archive built by reading only its central directory. Archives on the default file system are
+ * opened with a {@link ZipFile}, which is held open until {@link #close()}. Other archives have their central directory
+ * parsed, and entries are decompressed individually when read, using a new {@link SeekableByteChannel} for each read,
+ * so very large archives do not need to be read in full or held in memory.
+ * <br>
+ * Entries with unsafe names, such as those containing a {@link #PARENT} component, are skipped.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperZipFileCentralDirectory {
+
+    /**
+     * An index for an archive that does not exist.
+     */
+    static StorageShared2WrapperZipFileCentralDirectory empty() {
+        return new StorageShared2WrapperZipFileCentralDirectory(
+            null,
+            null,
+            null
+        );
+    }
+
+    /**
+     * An index of an archive on a native file system. Archives on the default file system are opened using a
+     * {@link ZipFile}, others such as in memory file systems are read using a {@link FileChannel}.
+     */
+    static StorageShared2WrapperZipFileCentralDirectory path(final Path path) throws IOException {
+        return FileSystems.getDefault()
+            .equals(path.getFileSystem()) ?
+            zipFile(path) :
+            new StorageShared2WrapperZipFileCentralDirectory(
+                path,
+                null,
+                null
+            ).readCentralDirectory();
+    }
+
+    private static StorageShared2WrapperZipFileCentralDirectory zipFile(final Path path) throws IOException {
+        final ZipFile zipFile = new ZipFile(
+            path.toFile()
+        );
+
+        try {
+            return new StorageShared2WrapperZipFileCentralDirectory(
+                path,
+                null,
+                zipFile
+            ).readZipFile();
+        } catch (final IOException | RuntimeException cause) {
+            zipFile.close();
+            throw cause;
+        }
+    }
+
+    /**
+     * An index of an archive already loaded into memory.
+     */
+    static StorageShared2WrapperZipFileCentralDirectory bytes(final byte[] bytes) throws IOException {
+        return new StorageShared2WrapperZipFileCentralDirectory(
+            null,
+            bytes,
+            null
+        ).readCentralDirectory();
+    }
+
+    private StorageShared2WrapperZipFileCentralDirectory(final Path path,
+                                                        final byte[] bytes,
+                                                        final ZipFile zipFile) {
+        this.path = path;
+        this.bytes = bytes;
+        this.zipFile = zipFile;
+
+        this.directories.put(
+            StoragePath.ROOT,
+            SortedSets.tree()
+        );
+    }
+
+    private SeekableByteChannel open() throws IOException {
+        return null != this.path ?
+            FileChannel.open(
+                this.path,
+                StandardOpenOption.READ
+            ) :
+            StorageShared2WrapperZipFileBinaryChannel.with(this.bytes);
+    }
+
+    /**
+     * The native archive or null
+     */
+    private final Path path;
+
+    /**
+     * The archive bytes or null
+     */
+    private final byte[] bytes;
+
+    /**
+     * The open archive when the {@link #path} is on the default file system, otherwise null.
+     */
+    private final ZipFile zipFile;
+
+    /**
+     * Adds a reader, which must call {@link #release()} when finished, so the {@link ZipFile} is not closed while it
+     * is being read.
+     */
+    synchronized StorageShared2WrapperZipFileCentralDirectory acquire() {
+        this.references++;
+        return this;
+    }
+
+    /**
+     * Removes a reader or the owner, closing the {@link ZipFile} if one was opened when none remain.
+     */
+    synchronized void release() {
+        this.references--;
+
+        if (0 == this.references) {
+            final ZipFile zipFile = this.zipFile;
+            if (null != zipFile) {
+                try {
+                    zipFile.close();
+                } catch (final IOException ignore) {
+                    // nothing to do
+                }
+            }
+        }
+    }
+
+    /**
+     * The owner and each reader, starting with the owner which releases when the directory is discarded.
+     */
+    // @VisibleForTesting
+    int references = 1;
+
+    // index............................................................................................................
+
+    /**
+     * Builds the index from the entries of the {@link ZipFile}, which also rejects encrypted entries.
+     */
+    private StorageShared2WrapperZipFileCentralDirectory readZipFile() {
+        final Enumeration<? extends ZipEntry> zipEntries = this.zipFile.entries();
+
+        while (zipEntries.hasMoreElements()) {
+            final ZipEntry zipEntry = zipEntries.nextElement();
+            final String name = zipEntry.getName();
+
+            final StoragePath path = storagePath(name);
+            if (null != path) {
+                if (zipEntry.isDirectory()) {
+                    this.addDirectory(path);
+                } else {
+                    final LocalDateTime lastModified = toLocalDateTime(
+                        zipEntry.getLastModifiedTime()
+                    );
+                    final LocalDateTime creation = toLocalDateTime(
+                        zipEntry.getCreationTime()
+                    );
+
+                    this.entries.put(
+                        path,
+                        StorageShared2WrapperZipFileEntry.with(
+                            path,
+                            name,
+                            zipEntry.getMethod(),
+                            false,
+                            zipEntry.getCompressedSize(),
+                            zipEntry.getSize(),
+                            zipEntry.getCrc(),
+                            NO_LOCAL_HEADER_OFFSET,
+                            lastModified,
+                            null != creation ?
+                                creation :
+                                lastModified
+                        )
+                    );
+                    this.addChild(path);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    private static LocalDateTime toLocalDateTime(final FileTime fileTime) {
+        return null != fileTime ?
+            LocalDateTime.ofInstant(
+                fileTime.toInstant(),
+                ZONE_OFFSET
+            ) :
+            null;
+    }
+
+    /**
+     * {@link ZipFile} does not expose the offset of the local file header.
+     */
+    private final static long NO_LOCAL_HEADER_OFFSET = -1;
+
+    /**
+     * Returns the {@link StoragePath} for an entry name, or null if the name is empty or unsafe. Names with empty,
+     * {@link #CURRENT} or {@link #PARENT} components or backslashes are unsafe, as they could escape the archive or
+     * collide with another entry once normalized.
+     */
+    // @VisibleForTesting
+    static StoragePath storagePath(final String name) {
+        String storagePath = name.startsWith(StoragePath.SEPARATOR_STRING) ?
+            name :
+            StoragePath.SEPARATOR_STRING + name;
+        if (storagePath.endsWith(StoragePath.SEPARATOR_STRING)) {
+            storagePath = storagePath.substring(
+                0,
+                storagePath.length() - 1
+            );
+        }
+
+        boolean safe = false == storagePath.isEmpty() &&
+            -1 == storagePath.indexOf('\\');
+
+        if (safe) {
+            for (final String component : storagePath.substring(1).split(StoragePath.SEPARATOR_STRING, -1)) {
+                if (component.isEmpty() || CURRENT.equals(component) || PARENT.equals(component)) {
+                    safe = false;
+                    break;
+                }
+            }
+        }
+
+        return safe ?
+            StoragePath.parse(storagePath) :
+            null;
+    }
+
+    private final static String CURRENT = ".";
+
+    private final static String PARENT = "..";
+
+    private StorageShared2WrapperZipFileCentralDirectory readCentralDirectory() throws IOException {
+        try (final SeekableByteChannel channel = this.open()) {
+            this.readCentralDirectory(channel);
+        }
+        return this;
+    }
+
+    private void readCentralDirectory(final SeekableByteChannel channel) throws IOException {
+        final long archiveSize = channel.size();
+
+        // the end of central directory record is followed by a comment of up to 64k
+        final int tailLength = (int) Math.min(
+            archiveSize,
+            END_HEADER_LENGTH + MAX_COMMENT_LENGTH
+        );
+        final long tailOffset = archiveSize - tailLength;
+        final ByteBuffer tail = read(
+            channel,
+            tailOffset,
+            tailLength
+        );
+
+        int end = -1;
+        for (int i = tailLength - END_HEADER_LENGTH; i >= 0; i--) {
+            if (END_SIGNATURE == tail.getInt(i)) {
+                end = i;
+                break;
+            }
+        }
+        if (-1 == end) {
+            throw new IOException("End of central directory record missing");
+        }
+
+        long count = unsignedShort(tail, end + 10);
+        long centralDirectorySize = unsignedInt(tail, end + 12);
+        long centralDirectoryOffset = unsignedInt(tail, end + 16);
+
+        if (0xffff == count || 0xffffffffL == centralDirectorySize || 0xffffffffL == centralDirectoryOffset) {
+            // the zip64 locator immediately precedes the end of central directory record
+            final long locatorOffset = tailOffset + end - ZIP64_LOCATOR_LENGTH;
+            if (locatorOffset >= 0) {
+                final ByteBuffer locator = read(
+                    channel,
+                    locatorOffset,
+                    ZIP64_LOCATOR_LENGTH
+                );
+                if (ZIP64_LOCATOR_SIGNATURE == locator.getInt(0)) {
+                    final ByteBuffer zip64End = read(
+                        channel,
+                        locator.getLong(8),
+                        ZIP64_END_HEADER_LENGTH
+                    );
+                    if (ZIP64_END_SIGNATURE != zip64End.getInt(0)) {
+                        throw new IOException("Invalid zip64 end of central directory record");
+                    }
+
+                    count = zip64End.getLong(32);
+                    centralDirectorySize = zip64End.getLong(40);
+                    centralDirectoryOffset = zip64End.getLong(48);
+                }
+            }
+        }
+
+        if (centralDirectorySize > Integer.MAX_VALUE) {
+            throw new IOException("Central directory too large " + centralDirectorySize);
+        }
+
+        final ByteBuffer centralDirectory = read(
+            channel,
+            centralDirectoryOffset,
+            (int) centralDirectorySize
+        );
+
+        int offset = 0;
+        for (long i = 0; i < count; i++) {
+            if (CENTRAL_SIGNATURE != centralDirectory.getInt(offset)) {
+                throw new IOException("Invalid central directory header at " + (centralDirectoryOffset + offset));
+            }
+
+            final int flags = unsignedShort(centralDirectory, offset + 8);
+            final int method = unsignedShort(centralDirectory, offset + 10);
+            final long crc = unsignedInt(centralDirectory, offset + 16);
+            long compressedSize = unsignedInt(centralDirectory, offset + 20);
+            long size = unsignedInt(centralDirectory, offset + 24);
+            final int nameLength = unsignedShort(centralDirectory, offset + 28);
+            final int extraLength = unsignedShort(centralDirectory, offset + 30);
+            final int commentLength = unsignedShort(centralDirectory, offset + 32);
+            long localHeaderOffset = unsignedInt(centralDirectory, offset + 42);
+
+            final int nameOffset = offset + CENTRAL_HEADER_LENGTH;
+            final int extraOffset = nameOffset + nameLength;
+            final int extraEnd = extraOffset + extraLength;
+
+            // zip64 extra holds only the values that overflowed in the fixed header, in this order
+            int extra = extraOffset;
+            while (extra + 4 <= extraEnd) {
+                final int id = unsignedShort(centralDirectory, extra);
+                final int dataLength = unsignedShort(centralDirectory, extra + 2);
+
+                if (ZIP64_EXTRA == id) {
+                    int data = extra + 4;
+                    final int dataEnd = Math.min(data + dataLength, extraEnd);
+
+                    if (0xffffffffL == size && data + 8 <= dataEnd) {
+                        size = centralDirectory.getLong(data);
+                        data += 8;
+                    }
+                    if (0xffffffffL == compressedSize && data + 8 <= dataEnd) {
+                        compressedSize = centralDirectory.getLong(data);
+                        data += 8;
+                    }
+                    if (0xffffffffL == localHeaderOffset && data + 8 <= dataEnd) {
+                        localHeaderOffset = centralDirectory.getLong(data);
+                    }
+                }
+
+                extra = extra + 4 + dataLength;
+            }
+
+            // names are always treated as UTF-8, matching java.util.zip.ZipFile
+            final String name = new String(
+                centralDirectory.array(),
+                nameOffset,
+                nameLength,
+                StandardCharsets.UTF_8
+            );
+
+            final StoragePath path = storagePath(name);
+            if (null != path) {
+                if (name.endsWith(StoragePath.SEPARATOR_STRING)) {
+                    this.addDirectory(path);
+                } else {
+                    final LocalDateTime dosTime = dosTime(
+                        unsignedShort(centralDirectory, offset + 14),
+                        unsignedShort(centralDirectory, offset + 12)
+                    );
+                    final LocalDateTime lastModified = extraTime(
+                        centralDirectory,
+                        extraOffset,
+                        extraLength,
+                        false
+                    );
+
+                    this.entries.put(
+                        path,
+                        StorageShared2WrapperZipFileEntry.with(
+                            path,
+                            name,
+                            method,
+                            0 != (flags & ENCRYPTED_FLAG),
+                            compressedSize,
+                            size,
+                            crc,
+                            localHeaderOffset,
+                            null != lastModified ?
+                                lastModified :
+                                dosTime,
+                            extraTime(
+                                centralDirectory,
+                                extraOffset,
+                                extraLength,
+                                true
+                            )
+                        )
+                    );
+                    this.addChild(path);
+                }
+            }
+
+            offset = extraEnd + commentLength;
+        }
+    }
+
+    private void addDirectory(final StoragePath path) {
+        if (false == this.directories.containsKey(path)) {
+            this.directories.put(
+                path,
+                SortedSets.tree()
+            );
+            this.addChild(path);
+        }
+    }
+
+    private void addChild(final StoragePath path) {
+        final StoragePath parent = path.parent()
+            .orElse(StoragePath.ROOT);
+
+        this.addDirectory(parent);
+        this.directories.get(parent)
+            .add(path);
+    }
+
+    /**
+     * Returns the file entry for the given path if one exists.
+     */
+    Optional<StorageShared2WrapperZipFileEntry> entry(final StoragePath path) {
+        return Optional.ofNullable(
+            this.entries.get(path)
+        );
+    }
+
+    /**
+     * Returns the children of the directory or null if the path is not a directory.
+     */
+    SortedSet<StoragePath> children(final StoragePath path) {
+        return this.directories.get(path);
+    }
+
+    /**
+     * All files in the archive.
+     */
+    // @VisibleForTesting
+    final Map<StoragePath, StorageShared2WrapperZipFileEntry> entries = Maps.sorted();
+
+    /**
+     * All directories including those that are only implied by a file path, with their immediate children.
+     */
+    private final Map<StoragePath, SortedSet<StoragePath>> directories = Maps.sorted();
+
+    // read.............................................................................................................
+
+    /**
+     * Reads and decompresses the content of a single entry.
+     */
+    Binary read(final StorageShared2WrapperZipFileEntry entry) throws IOException {
+        if (entry.encrypted) {
+            throw new IOException("Encrypted entry " + CharSequences.quoteAndEscape(entry.name));
+        }
+
+        final ZipFile zipFile = this.zipFile;
+        return null != zipFile ?
+            readZipFile(
+                zipFile,
+                entry
+            ) :
+            this.readChannel(entry);
+    }
+
+    private static Binary readZipFile(final ZipFile zipFile,
+                                      final StorageShared2WrapperZipFileEntry entry) throws IOException {
+        final ZipEntry zipEntry = zipFile.getEntry(entry.name);
+        if (null == zipEntry) {
+            throw new IOException("Missing entry " + CharSequences.quoteAndEscape(entry.name));
+        }
+
+        try (final InputStream inputStream = zipFile.getInputStream(zipEntry)) {
+            return Binary.with(
+                inputStream.readAllBytes()
+            );
+        }
+    }
+
+    private Binary readChannel(final StorageShared2WrapperZipFileEntry entry) throws IOException {
+        final long compressedSize = entry.compressedSize;
+        final long size = entry.size;
+
+        if (compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE) {
+            throw new IOException("Entry too large " + size);
+        }
+
+        try (final SeekableByteChannel channel = this.open()) {
+            final ByteBuffer header = localHeader(
+                channel,
+                entry
+            );
+
+            final byte[] compressed = read(
+                channel,
+                entry.localHeaderOffset +
+                    LOCAL_HEADER_LENGTH +
+                    unsignedShort(header, 26) +
+                    unsignedShort(header, 28),
+                (int) compressedSize
+            ).array();
+
+            final byte[] content;
+
+            switch (entry.method) {
+                case STORED:
+                    content = compressed;
+                    break;
+                case DEFLATED:
+                    content = inflate(
+                        compressed,
+                        (int) size
+                    );
+                    break;
+                default:
+                    throw new IOException("Unsupported compression method " + entry.method);
+            }
+
+            // ZipFile verifies the CRC-32, the channel must do the same
+            final CRC32 crc = new CRC32();
+            crc.update(content);
+            if (crc.getValue() != entry.crc) {
+                throw new IOException("Invalid CRC-32 for entry " + CharSequences.quoteAndEscape(entry.name));
+            }
+
+            return Binary.with(content);
+        }
+    }
+
+    private static byte[] inflate(final byte[] compressed,
+                                  final int size) throws IOException {
+        final byte[] content = new byte[size];
+        final Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setInput(compressed);
+
+            int offset = 0;
+            while (offset < size) {
+                final int read = inflater.inflate(
+                    content,
+                    offset,
+                    size - offset
+                );
+                if (0 == read && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new EOFException("Truncated entry");
+                }
+                offset += read;
+            }
+        } catch (final DataFormatException cause) {
+            throw new IOException(cause.getMessage(), cause);
+        } finally {
+            inflater.end();
+        }
+
+        return content;
+    }
+
+    /**
+     * Returns the creation time for the entry, reading the local file header if the central directory did not include
+     * one. If no creation time is present the last modified time is returned.
+     */
+    LocalDateTime creation(final StorageShared2WrapperZipFileEntry entry) throws IOException {
+        LocalDateTime creation = entry.creation;
+
+        if (null == creation) {
+            try (final SeekableByteChannel channel = this.open()) {
+                final ByteBuffer header = localHeader(
+                    channel,
+                    entry
+                );
+                final int nameLength = unsignedShort(header, 26);
+                final int extraLength = unsignedShort(header, 28);
+
+                creation = extraTime(
+                    read(
+                        channel,
+                        entry.localHeaderOffset + LOCAL_HEADER_LENGTH + nameLength,
+                        extraLength
+                    ),
+                    0,
+                    extraLength,
+                    true
+                );
+            }
+
+            if (null == creation) {
+                creation = entry.lastModified;
+            }
+            entry.creation = creation;
+        }
+
+        return creation;
+    }
+
+    private static ByteBuffer localHeader(final SeekableByteChannel channel,
+                                          final StorageShared2WrapperZipFileEntry entry) throws IOException {
+        final ByteBuffer header = read(
+            channel,
+            entry.localHeaderOffset,
+            LOCAL_HEADER_LENGTH
+        );
+        if (LOCAL_SIGNATURE != header.getInt(0)) {
+            throw new IOException("Invalid local header at " + entry.localHeaderOffset);
+        }
+        return header;
+    }
+
+    // helpers..........................................................................................................
+
+    private static ByteBuffer read(final SeekableByteChannel channel,
+                                   final long position,
+                                   final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of archive reading " + length + " bytes at " + position);
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int unsignedShort(final ByteBuffer buffer,
+                                     final int offset) {
+        return buffer.getShort(offset) & 0xffff;
+    }
+
+    private static long unsignedInt(final ByteBuffer buffer,
+                                    final int offset) {
+        return buffer.getInt(offset) & 0xffffffffL;
+    }
+
+    /**
+     * Searches the extra fields for either the extended timestamp or NTFS field, returning the modified or creation
+     * time or null if neither is present.
+     */
+    private static LocalDateTime extraTime(final ByteBuffer buffer,
+                                           final int offset,
+                                           final int length,
+                                           final boolean creation) {
+        LocalDateTime time = null;
+
+        final int end = offset + length;
+        int extra = offset;
+
+        while (null == time && extra + 4 <= end) {
+            final int id = unsignedShort(buffer, extra);
+            final int dataLength = unsignedShort(buffer, extra + 2);
+            final int data = extra + 4;
+            final int dataEnd = Math.min(data + dataLength, end);
+
+            switch (id) {
+                case EXTENDED_TIMESTAMP_EXTRA: {
+                    // flags followed by only the modified, accessed and created seconds that are present
+                    if (data < dataEnd) {
+                        final int flags = buffer.get(data);
+                        int field = data + 1;
+
+                        if (0 != (flags & 1)) {
+                            if (false == creation && field + 4 <= dataEnd) {
+                                time = unixTime(buffer.getInt(field));
+                            }
+                            field += 4;
+                        }
+                        if (0 != (flags & 2)) {
+                            field += 4;
+                        }
+                        if (creation && 0 != (flags & 4) && field + 4 <= dataEnd) {
+                            time = unixTime(buffer.getInt(field));
+                        }
+                    }
+                    break;
+                }
+                case NTFS_EXTRA: {
+                    // 4 reserved bytes followed by tagged attributes, tag 1 holds modified, accessed and created
+                    int attribute = data + 4;
+                    while (null == time && attribute + 4 <= dataEnd) {
+                        final int tag = unsignedShort(buffer, attribute);
+                        final int attributeLength = unsignedShort(buffer, attribute + 2);
+
+                        if (NTFS_TIMES_TAG == tag && 24 == attributeLength && attribute + 28 <= dataEnd) {
+                            time = ntfsTime(
+                                buffer.getLong(attribute + 4 + (creation ? 16 : 0))
+                            );
+                        }
+                        attribute = attribute + 4 + attributeLength;
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+
+            extra = data + dataLength;
+        }
+
+        return time;
+    }
+
+    private static LocalDateTime unixTime(final int seconds) {
+        return LocalDateTime.ofEpochSecond(
+            seconds,
+            0,
+            ZONE_OFFSET
+        );
+    }
+
+    /**
+     * NTFS times are 100 nanosecond intervals since 1601-01-01.
+     */
+    private static LocalDateTime ntfsTime(final long time) {
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(time, 10_000_000L) - NTFS_EPOCH_OFFSET_SECONDS,
+            (int) Math.floorMod(time, 10_000_000L) * 100,
+            ZONE_OFFSET
+        );
+    }
+
+    private static LocalDateTime dosTime(final int date,
+                                         final int time) {
+        LocalDateTime dateTime;
+
+        try {
+            dateTime = LocalDateTime.of(
+                1980 + (date >> 9),
+                (date >> 5) & 0xf,
+                date & 0x1f,
+                time >> 11,
+                (time >> 5) & 0x3f,
+                (time & 0x1f) * 2
+            );
+        } catch (final DateTimeException invalid) {
+            dateTime = DOS_EPOCH;
+        }
+
+        return dateTime;
+    }
+
+    private final static ZoneOffset ZONE_OFFSET = ZoneOffset.UTC;
+
+    private final static LocalDateTime DOS_EPOCH = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+    private final static long NTFS_EPOCH_OFFSET_SECONDS = 11_644_473_600L;
+
+    private final static int LOCAL_SIGNATURE = 0x04034b50;
+
+    private final static int LOCAL_HEADER_LENGTH = 30;
+
+    private final static int CENTRAL_SIGNATURE = 0x02014b50;
+
+    private final static int CENTRAL_HEADER_LENGTH = 46;
+
+    private final static int END_SIGNATURE = 0x06054b50;
+
+    private final static int END_HEADER_LENGTH = 22;
+
+    private final static int MAX_COMMENT_LENGTH = 0xffff;
+
+    private final static int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private final static int ZIP64_LOCATOR_LENGTH = 20;
+
+    private final static int ZIP64_END_SIGNATURE = 0x06064b50;
+
+    private final static int ZIP64_END_HEADER_LENGTH = 56;
+
+    private final static int ZIP64_EXTRA = 0x0001;
+
+    private final static int NTFS_EXTRA = 0x000a;
+
+    private final static int NTFS_TIMES_TAG = 0x0001;
+
+    private final static int EXTENDED_TIMESTAMP_EXTRA = 0x5455;
+
+    private final static int ENCRYPTED_FLAG = 1;
+
+    private final static int STORED = 0;
+
+    private final static int DEFLATED = 8;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return null != this.path ?
+            this.path.toString() :
+            this.entries.keySet()
+                .toString();
+    }
+}
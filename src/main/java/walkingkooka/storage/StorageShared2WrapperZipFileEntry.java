@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single file entry read from the central directory of a zip archive, holding enough to locate and decompress its
+ * content on demand.
+ */
+@GwtIncompatible
+final class StorageShared2WrapperZipFileEntry {
+
+    static StorageShared2WrapperZipFileEntry with(final StoragePath path,
+                                                  final String name,
+                                                  final int method,
+                                                  final boolean encrypted,
+                                                  final long compressedSize,
+                                                  final long size,
+                                                  final long crc,
+                                                  final long localHeaderOffset,
+                                                  final LocalDateTime lastModified,
+                                                  final LocalDateTime creation) {
+        return new StorageShared2WrapperZipFileEntry(
+            path,
+            name,
+            method,
+            encrypted,
+            compressedSize,
+            size,
+            crc,
+            localHeaderOffset,
+            lastModified,
+            creation
+        );
+    }
+
+    private StorageShared2WrapperZipFileEntry(final StoragePath path,
+                                              final String name,
+                                              final int method,
+                                              final boolean encrypted,
+                                              final long compressedSize,
+                                              final long size,
+                                              final long crc,
+                                              final long localHeaderOffset,
+                                              final LocalDateTime lastModified,
+                                              final LocalDateTime creation) {
+        this.path = path;
+        this.name = name;
+        this.method = method;
+        this.encrypted = encrypted;
+        this.compressedSize = compressedSize;
+        this.size = size;
+        this.crc = crc;
+        this.localHeaderOffset = localHeaderOffset;
+        this.lastModified = lastModified;
+        this.creation = creation;
+    }
+
+    final StoragePath path;
+
+    /**
+     * The entry name as it appears in the archive.
+     */
+    final String name;
+
+    /**
+     * The compression method, only STORED and DEFLATED are supported.
+     */
+    final int method;
+
+    /**
+     * Encrypted entries are indexed but cannot be read.
+     */
+    final boolean encrypted;
+
+    final long compressedSize;
+
+    final long size;
+
+    /**
+     * The CRC-32 of the uncompressed content as recorded in the central directory.
+     */
+    final long crc;
+
+    /**
+     * The offset of the local file header within the archive.
+     */
+    final long localHeaderOffset;
+
+    final LocalDateTime lastModified;
+
+    /**
+     * The creation time is only present in the central directory for some archives, most archivers only record it in
+     * the local file header. When null it will be read from the local file header when first required.
+     */
+    LocalDateTime creation;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.path + " " + this.compressedSize + "/" + this.size;
+    }
+}
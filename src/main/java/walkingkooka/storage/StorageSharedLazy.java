@@ -0,0 +1,470 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.TreePrintable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A {@link Storage} that holds a factory and only creates the actual {@link Storage} on first access. This is intended
+ * to be mounted using {@link Storages#mount(Storage)}, so expensive {@link Storage} such as
+ * {@link Storages#nativeStorage(java.nio.file.Path, StorageContext)} are not created until they are actually used.
+ * <br>
+ * If an idle timeout is present, the materialized {@link Storage} is stopped and released after no access for that
+ * {@link Duration}, with the next access creating a new {@link Storage}. {@link StorageSharedMount} releases other idle
+ * mounts as it selects a mount, and {@link Storages#releaseIdle(Storage, LocalDateTime)} may be called by a timer to
+ * release them without any other operation. A {@link Storage} with operations in flight is never released.
+ * {@link StorageWatcher watchers} are removed from a released {@link Storage} and added again to the next, so they
+ * do not keep it materialized, but will not see any changes made outside this {@link Storage} while released.
+ */
+final class StorageSharedLazy<C extends StorageContext> extends StorageShared<C>
+    implements TreePrintable {
+
+    final static Optional<Duration> NO_IDLE_TIMEOUT = Optional.empty();
+
+    static <C extends StorageContext> StorageSharedLazy<C> with(final Function<C, Storage<C>> factory,
+                                                                final Optional<Duration> idleTimeout) {
+        Objects.requireNonNull(factory, "factory");
+        Objects.requireNonNull(idleTimeout, "idleTimeout");
+
+        final Duration duration = idleTimeout.orElse(null);
+        if (null != duration && (duration.isNegative() || duration.isZero())) {
+            throw new IllegalArgumentException("Invalid idleTimeout " + duration + " must be greater than zero");
+        }
+
+        return new StorageSharedLazy<>(
+            factory,
+            idleTimeout
+        );
+    }
+
+    private StorageSharedLazy(final Function<C, Storage<C>> factory,
+                              final Optional<Duration> idleTimeout) {
+        super();
+        this.factory = factory;
+        this.idleTimeout = idleTimeout;
+    }
+
+    // Storage..........................................................................................................
+
+    @Override
+    boolean canRead0(final StoragePath path,
+                     final C context) {
+        return this.run(
+            context,
+            (s) -> s.canRead(
+                path,
+                context
+            )
+        );
+    }
+
+    @Override
+    boolean canWrite0(final StoragePath path,
+                      final C context) {
+        return this.run(
+            context,
+            (s) -> s.canWrite(
+                path,
+                context
+            )
+        );
+    }
+
+    @Override
+    Optional<StorageValue> load0(final StoragePath path,
+                                 final C context) {
+        return this.run(
+            context,
+            (s) -> s.load(
+                path,
+                context
+            )
+        );
+    }
+
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        return this.run(
+            context,
+            (s) -> s.stat(
+                path,
+                context
+            )
+        );
+    }
+
+    @Override
+    StorageValue save0(final StorageValue value,
+                       final C context) {
+        return this.run(
+            context,
+            (s) -> s.save(
+                value,
+                context
+            )
+        );
+    }
+
+    @Override
+    void delete0(final StoragePath path,
+                 final C context) {
+        this.run(
+            context,
+            (s) -> {
+                s.delete(
+                    path,
+                    context
+                );
+                return null;
+            }
+        );
+    }
+
+    @Override
+    List<StorageValueInfo> list0(final StoragePath parent,
+                                 final int offset,
+                                 final int count,
+                                 final C context) {
+        return this.run(
+            context,
+            (s) -> s.list(
+                parent,
+                offset,
+                count,
+                context
+            )
+        );
+    }
+
+    @Override
+    void setAuditInfo0(final StorageValueInfo value,
+                       final C context) {
+        this.run(
+            context,
+            (s) -> {
+                s.setAuditInfo(
+                    value,
+                    context
+                );
+                return null;
+            }
+        );
+    }
+
+    @Override
+    void mount0(final StorageMountPoint<C> mountPoint,
+                final C context) {
+        this.run(
+            context,
+            (s) -> {
+                s.mount(
+                    mountPoint,
+                    context
+                );
+                return null;
+            }
+        );
+    }
+
+    @Override
+    void unmount0(final StoragePath path,
+                  final C context) {
+        this.run(
+            context,
+            (s) -> {
+                s.unmount(
+                    path,
+                    context
+                );
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Returns the {@link StorageMountPoint} of the materialized {@link Storage} without materializing.
+     */
+    @Override
+    public List<StorageMountPoint<C>> mountPoints() {
+        final Storage<C> storage = this.storage;
+
+        return null != storage ?
+            storage.mountPoints() :
+            Lists.empty();
+    }
+
+    // materialize......................................................................................................
+
+    /**
+     * Runs the operation against the materialized {@link Storage}, counting it as in flight so it cannot be
+     * unmaterialized by {@link #unmaterializeIfIdle(LocalDateTime)} until the operation completes.
+     */
+    private <T> T run(final C context,
+                      final Function<Storage<C>, T> operation) {
+        final Storage<C> storage = this.acquire(context);
+        try {
+            return operation.apply(storage);
+        } finally {
+            this.release(context);
+        }
+    }
+
+    /**
+     * Returns the materialized {@link Storage}, creating it if necessary and incrementing the in flight count.
+     */
+    private synchronized Storage<C> acquire(final C context) {
+        Storage<C> storage = this.storage;
+
+        if (null == storage) {
+            storage = Objects.requireNonNull(
+                this.factory.apply(context),
+                "factory returned null Storage"
+            );
+
+            for (final StorageSharedLazyWatcher<C> watcher : this.watchers) {
+                watcher.register(
+                    storage,
+                    context
+                );
+            }
+
+            this.storage = storage;
+        }
+
+        this.inFlight++;
+        this.recordAccess(context);
+
+        return storage;
+    }
+
+    /**
+     * Decrements the in flight count and records the access time, so the idle timeout starts when an operation completes.
+     */
+    private synchronized void release(final C context) {
+        this.inFlight--;
+        this.recordAccess(context);
+    }
+
+    private void recordAccess(final C context) {
+        if (this.idleTimeout.isPresent()) {
+            this.lastAccess = context.now();
+        }
+    }
+
+    /**
+     * Stops and releases the materialized {@link Storage} if it has not been accessed within the idle timeout, returning
+     * true if it was released. A {@link Storage} with operations in flight is never released. Any watchers are
+     * unregistered and will be registered again with the next materialized {@link Storage}.
+     */
+    synchronized boolean unmaterializeIfIdle(final LocalDateTime now) {
+        boolean unmaterialized = false;
+
+        final Storage<C> storage = this.storage;
+        final Duration idleTimeout = this.idleTimeout.orElse(null);
+
+        if (null != storage &&
+            null != idleTimeout &&
+            0 == this.inFlight &&
+            false == this.lastAccess.plus(idleTimeout).isAfter(now)) {
+            this.unmaterialize();
+            unmaterialized = true;
+        }
+
+        return unmaterialized;
+    }
+
+    /**
+     * Releases the given {@link Storage} if it is an idle {@link StorageSharedLazy}, and any idle
+     * {@link StorageSharedLazy} mounted within it, returning the number released.
+     */
+    static <C extends StorageContext> int releaseIdle(final Storage<C> storage,
+                                                      final LocalDateTime now) {
+        int released = 0;
+
+        if (storage instanceof StorageSharedLazy) {
+            final StorageSharedLazy<C> lazy = (StorageSharedLazy<C>) storage;
+
+            // release mounts within first, as they are not visible once released
+            final Storage<C> materialized = lazy.storage;
+            if (null != materialized) {
+                released = releaseIdle(
+                    materialized,
+                    now
+                );
+            }
+
+            if (lazy.unmaterializeIfIdle(now)) {
+                released++;
+            }
+        } else {
+            for (final StorageMountPoint<C> mountPoint : storage.mountPoints()) {
+                final Storage<C> mounted = mountPoint.storage;
+                if (mounted != storage) {
+                    released += releaseIdle(
+                        mounted,
+                        now
+                    );
+                }
+            }
+        }
+
+        return released;
+    }
+
+    private void unmaterialize() {
+        for (final StorageSharedLazyWatcher<C> watcher : this.watchers) {
+            watcher.unregister();
+        }
+
+        final Storage<C> storage = this.storage;
+        this.storage = null;
+        this.lastAccess = null;
+
+        storage.stop();
+    }
+
+    /**
+     * Returns true if the {@link Storage} has been created.
+     */
+    boolean isMaterialized() {
+        return null != this.storage;
+    }
+
+    private final Function<C, Storage<C>> factory;
+
+    private final Optional<Duration> idleTimeout;
+
+    /**
+     * The {@link Storage} created by the {@link #factory} or null if not materialized. This is volatile as
+     * {@link #mountPoints()}, {@link #toString()} and {@link #printTree(IndentingPrinter)} read it without the lock.
+     */
+    private volatile Storage<C> storage;
+
+    /**
+     * The time of the last access, only recorded when an idle timeout is present.
+     */
+    private LocalDateTime lastAccess;
+
+    /**
+     * The number of operations currently running against the materialized {@link Storage}.
+     */
+    private int inFlight;
+
+    // addWatcher.......................................................................................................
+
+    @Override
+    Runnable addWatcher0(final StorageWatcher watcher,
+                         final C context) {
+        return this.addWatcher1(
+            watcher,
+            false,
+            context
+        );
+    }
+
+    @Override
+    Runnable addWatcherOnce0(final StorageWatcher watcher,
+                             final C context) {
+        return this.addWatcher1(
+            watcher,
+            true,
+            context
+        );
+    }
+
+    private synchronized Runnable addWatcher1(final StorageWatcher watcher,
+                                              final boolean once,
+                                              final C context) {
+        final StorageSharedLazyWatcher<C> lazyWatcher = StorageSharedLazyWatcher.with(
+            watcher,
+            once,
+            this
+        );
+        this.watchers.add(lazyWatcher);
+
+        final Storage<C> storage = this.storage;
+        if (null != storage) {
+            lazyWatcher.register(
+                storage,
+                context
+            );
+        }
+
+        return () -> this.removeWatcher(lazyWatcher);
+    }
+
+    synchronized void removeWatcher(final StorageSharedLazyWatcher<C> watcher) {
+        if (this.watchers.remove(watcher)) {
+            watcher.unregister();
+        }
+    }
+
+    /**
+     * All watchers, which will be registered with each materialized {@link Storage}.
+     */
+    private final List<StorageSharedLazyWatcher<C>> watchers = Lists.array();
+
+    // Stoppable........................................................................................................
+
+    @Override
+    public synchronized void stop() {
+        if (null != this.storage) {
+            this.unmaterialize();
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        final Storage<C> storage = this.storage;
+
+        return null != storage ?
+            storage.toString() :
+            "lazy " + this.factory;
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+
+        final Storage<C> storage = this.storage;
+        if (null != storage) {
+            printer.indent();
+            {
+                TreePrintable.printTreeOrToString(
+                    storage,
+                    printer
+                );
+            }
+            printer.outdent();
+        }
+    }
+}
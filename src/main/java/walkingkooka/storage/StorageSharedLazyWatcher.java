@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.Optional;
+
+/**
+ * A {@link StorageWatcher} added to a {@link StorageSharedLazy}, which is registered with each materialized {@link Storage}.
+ */
+final class StorageSharedLazyWatcher<C extends StorageContext> implements StorageWatcher {
+
+    static <C extends StorageContext> StorageSharedLazyWatcher<C> with(final StorageWatcher watcher,
+                                                                       final boolean once,
+                                                                       final StorageSharedLazy<C> lazy) {
+        return new StorageSharedLazyWatcher<>(
+            watcher,
+            once,
+            lazy
+        );
+    }
+
+    private StorageSharedLazyWatcher(final StorageWatcher watcher,
+                                     final boolean once,
+                                     final StorageSharedLazy<C> lazy) {
+        super();
+        this.watcher = watcher;
+        this.once = once;
+        this.lazy = lazy;
+    }
+
+    void register(final Storage<C> storage,
+                  final C context) {
+        this.remover = this.once ?
+            storage.addWatcherOnce(
+                this,
+                context
+            ) :
+            storage.addWatcher(
+                this,
+                context
+            );
+    }
+
+    void unregister() {
+        final Runnable remover = this.remover;
+        this.remover = null;
+
+        if (null != remover) {
+            remover.run();
+        }
+    }
+
+    /**
+     * The remover returned by the currently materialized {@link Storage}.
+     */
+    private Runnable remover;
+
+    // StorageWatcher...................................................................................................
+
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        if (this.once) {
+            // once watchers must not be registered again with the next materialized Storage
+            this.remover = null;
+            this.lazy.removeWatcher(this);
+        }
+
+        this.watcher.onValueChange(
+            oldValue,
+            newValue
+        );
+    }
+
+    private final StorageWatcher watcher;
+
+    private final boolean once;
+
+    private final StorageSharedLazy<C> lazy;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.watcher.toString();
+    }
+}
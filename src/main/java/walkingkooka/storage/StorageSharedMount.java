@@ -19,17 +19,20 @@ package walkingkooka.storage;
 
 import walkingkooka.Cast;
 import walkingkooka.collect.list.ImmutableList;
-import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.SortedSets;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
-import walkingkooka.watch.Watchers;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
-import java.util.function.Function;
 
 /**
  * A {@link Storage} that wraps another supporting dynamic mount/unmounts at unique {@link StoragePath}.
@@ -51,11 +54,14 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
     private StorageSharedMount(final Storage<C> storage) {
         this.mountPoints = SortedSets.tree();
 
-        this.mountPoints.add(
-            StorageMountPoint.with(
-                StoragePath.ROOT,
-                storage
-            )
+        final StorageMountPoint<C> root = StorageMountPoint.with(
+            StoragePath.ROOT,
+            storage
+        );
+        this.mountPoints.add(root);
+        this.updateLazyMountCount(
+            root,
+            +1
         );
     }
 
@@ -64,7 +70,10 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
     @Override
     boolean canRead0(final StoragePath path,
                      final C context) {
-        final StorageMountPoint<C> mount = this.firstMount(path);
+        final StorageMountPoint<C> mount = this.firstMount(
+            path,
+            context
+        );
 
         return mount.storage.canRead(
             mount.remove(path),
@@ -75,7 +84,10 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
     @Override
     boolean canWrite0(final StoragePath path,
                       final C context) {
-        final StorageMountPoint<C> mount = this.firstMount(path);
+        final StorageMountPoint<C> mount = this.firstMount(
+            path,
+            context
+        );
 
         return mount.storage.canWrite(
             mount.remove(path),
@@ -86,7 +98,10 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
     @Override
     Optional<StorageValue> load0(final StoragePath path,
                                  final C context) {
-        final StorageMountPoint<C> mount = this.firstMount(path);
+        final StorageMountPoint<C> mount = this.firstMount(
+            path,
+            context
+        );
 
         return mount.storage.load(
             mount.remove(path),
@@ -98,10 +113,31 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
         ));
     }
 
+    @Override
+    Optional<StorageValueStat> stat0(final StoragePath path,
+                                     final C context) {
+        final StorageMountPoint<C> mount = this.firstMount(
+            path,
+            context
+        );
+
+        return mount.storage.stat(
+            mount.remove(path),
+            context
+        ).map(s -> s.setPath(
+            mount.add(
+                s.path()
+            )
+        ));
+    }
+
     @Override
     StorageValue save0(final StorageValue value,
                        final C context) {
-        final StorageMountPoint<C> mount = this.firstMount(value.path());
+        final StorageMountPoint<C> mount = this.firstMount(
+            value.path(),
+            context
+        );
 
         final StorageValue saved = mount.storage.save(
             value.setPath(
@@ -120,7 +156,10 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
     @Override
     void delete0(final StoragePath path,
                  final C context) {
-        final StorageMountPoint<C> mounting = this.firstMount(path);
+        final StorageMountPoint<C> mounting = this.firstMount(
+            path,
+            context
+        );
 
         mounting.storage.delete(
             mounting.remove(path),
@@ -135,7 +174,10 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
                                  final int offset,
                                  final int count,
                                  final C context) {
-        final StorageMountPoint<C> mount = this.firstMount(parent);
+        final StorageMountPoint<C> mount = this.firstMount(
+            parent,
+            context
+        );
 
         return mount.storage.list(
                 mount.remove(parent),
@@ -151,6 +193,73 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
             ).collect(ImmutableList.collector());
     }
 
+    /**
+     * Selects the first {@link StorageMountPoint} and releases any other idle {@link StorageSharedLazy} mounts.
+     */
+    private StorageMountPoint<C> firstMount(final StoragePath path,
+                                            final C context) {
+        final StorageMountPoint<C> mount = this.firstMount(path);
+
+        this.unmaterializeIdle(
+            mount,
+            context
+        );
+
+        return mount;
+    }
+
+    /**
+     * Visits all {@link StorageSharedLazy} mounts except for the given selected and releases those that are idle.
+     * This is done here so idle mounts are released without requiring a background thread, but at most once every
+     * {@link #IDLE_CHECK_INTERVAL}, so each operation does not visit every mount.
+     */
+    private void unmaterializeIdle(final StorageMountPoint<C> selected,
+                                   final C context) {
+        if (this.lazyMountCount > 0) {
+            final LocalDateTime now = context.now();
+
+            if (this.isIdleCheckDue(now)) {
+                for (final StorageMountPoint<C> mount : this.mountPoints) {
+                    if (mount != selected && mount.storage instanceof StorageSharedLazy) {
+                        ((StorageSharedLazy<C>) mount.storage).unmaterializeIfIdle(now);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the last idle check was at least {@link #IDLE_CHECK_INTERVAL} ago, also recording the next check.
+     */
+    private synchronized boolean isIdleCheckDue(final LocalDateTime now) {
+        final LocalDateTime nextIdleCheck = this.nextIdleCheck;
+        final boolean due = null == nextIdleCheck || false == now.isBefore(nextIdleCheck);
+        if (due) {
+            this.nextIdleCheck = now.plus(IDLE_CHECK_INTERVAL);
+        }
+        return due;
+    }
+
+    // @VisibleForTesting
+    final static Duration IDLE_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * The earliest time the next idle check will visit the {@link StorageSharedLazy} mounts.
+     */
+    private LocalDateTime nextIdleCheck;
+
+    /**
+     * The number of {@link StorageSharedLazy} mounts, so {@link StorageContext#now()} is only read when there are some.
+     */
+    private int lazyMountCount;
+
+    private void updateLazyMountCount(final StorageMountPoint<C> mount,
+                                      final int delta) {
+        if (mount.storage instanceof StorageSharedLazy) {
+            this.lazyMountCount += delta;
+        }
+    }
+
     /**
      * Selects the first {@link StorageMountPoint} that matches the given path.
      */
@@ -182,7 +291,10 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
                        final C context) {
         final StoragePath path = value.path();
 
-        final StorageMountPoint<C> mount = this.firstMount(path);
+        final StorageMountPoint<C> mount = this.firstMount(
+            path,
+            context
+        );
         mount.storage.setAuditInfo(
             value.setPath(
                 mount.remove(path)
@@ -191,11 +303,48 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
         );
     }
 
+    // changesSince.....................................................................................................
+
+    /**
+     * Forwards to the {@link Storage} mounted at {@link StoragePath#ROOT}, whose paths need no translation. Each mount
+     * numbers its own changes, so changes within other mounts are not included and are read from their
+     * {@link Storage} via {@link #mountPoints()}.
+     */
+    @Override
+    public List<StorageChange> changesSince(final long sequence,
+                                            final int count,
+                                            final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.firstMount(
+            StoragePath.ROOT,
+            context
+        ).storage.changesSince(
+            sequence,
+            count,
+            context
+        );
+    }
+
+    @Override
+    public boolean isChangesSinceAvailable(final long sequence,
+                                           final C context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.firstMount(
+            StoragePath.ROOT,
+            context
+        ).storage.isChangesSinceAvailable(
+            sequence,
+            context
+        );
+    }
+
     // mount............................................................................................................
 
     @Override
-    void mount0(final StorageMountPoint<C> mountPoint,
-                final C context) {
+    synchronized void mount0(final StorageMountPoint<C> mountPoint,
+                             final C context) {
         final StoragePath mountPath = mountPoint.path()
             .withoutTrailingSeparator();
         final Collection<StorageMountPoint<C>> mountPoints = this.mountPoints;
@@ -208,11 +357,21 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
         }
 
         mountPoints.add(mountPoint);
+        this.mountPointsList = null;
+        this.updateLazyMountCount(
+            mountPoint,
+            +1
+        );
+
+        this.watchMountIfWatched(
+            mountPoint,
+            context
+        );
     }
 
     @Override
-    void unmount0(final StoragePath path,
-                  final C context) {
+    synchronized void unmount0(final StoragePath path,
+                               final C context) {
         if (path.isNotRoot()) {
             final StoragePath mountPath = path.withoutTrailingSeparator();
 
@@ -221,6 +380,12 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
             for (final StorageMountPoint<C> mounting : mountPoints) {
                 if (mounting.path.equals(mountPath)) {
                     mountPoints.remove(mounting);
+                    this.mountPointsList = null;
+                    this.updateLazyMountCount(
+                        mounting,
+                        -1
+                    );
+                    this.unwatchMount(mounting.path);
                     return;
                 }
             }
@@ -231,52 +396,161 @@ final class StorageSharedMount<C extends StorageContext> extends StorageShared<C
 
     @Override
     public List<StorageMountPoint<C>> mountPoints() {
-
-        // reverse necessary because StorageMountPointPaths are reversed
-        return Cast.to(
-            StorageMountPointList.EMPTY
-                .setElements(
-                    Cast.to(this.mountPoints)
-                ).reverse()
-        );
+        List<StorageMountPoint<C>> list = this.mountPointsList;
+        if (null == list) {
+            // reverse necessary because StorageMountPointPaths are reversed
+            list = Cast.to(
+                StorageMountPointList.EMPTY
+                    .setElements(
+                        Cast.to(this.mountPoints)
+                    ).reverse()
+            );
+            this.mountPointsList = list;
+        }
+        return list;
     }
 
+    /**
+     * The list returned by {@link #mountPoints()}, cleared by a mount or unmount. Returning the same instance until the
+     * mounts change lets {@link StorageShared2ValueMemoizingFunction} keyed by mount points check its key by identity.
+     */
+    private volatile List<StorageMountPoint<C>> mountPointsList;
+
     // addWatcher.......................................................................................................
 
     @Override
-    Runnable addWatcher0(final StorageWatcher watcher,
-                         final C context) {
-        return this.addWatcherToMounts(
-            (StorageMountPoint<C> mount) -> mount.addWatcher(
-                watcher,
-                context
-            )
+    synchronized Runnable addWatcher0(final StorageWatcher watcher,
+                                      final C context) {
+        return this.watchMounts(
+            this.watchers.add(
+                StoragePath.ROOT,
+                watcher
+            ),
+            context
         );
     }
 
     @Override
-    Runnable addWatcherOnce0(final StorageWatcher watcher,
-                             final C context) {
-        return this.addWatcherToMounts(
-            (StorageMountPoint<C> mount) -> mount.addWatcherOnce(
-                watcher,
-                context
-            )
+    synchronized Runnable addWatcherOnce0(final StorageWatcher watcher,
+                                          final C context) {
+        return this.watchMounts(
+            this.watchers.addOnce(
+                StoragePath.ROOT,
+                watcher
+            ),
+            context
         );
     }
 
-    private Runnable addWatcherToMounts(final Function<StorageMountPoint<C>, Runnable> adder) {
-        final List<Runnable> removers = Lists.array();
+    /**
+     * Watches the mounts for the newly added watcher, returning a remover which also stops watching mounts no longer
+     * needed by any watcher.
+     */
+    private Runnable watchMounts(final Runnable remover,
+                                 final C context) {
+        try {
+            this.watchMounts(context);
+        } catch (final RuntimeException cause) {
+            remover.run();
+            this.unwatchMountsNotWatched();
+            throw cause;
+        }
+
+        return () -> {
+            synchronized (this) {
+                remover.run();
+                this.unwatchMountsNotWatched();
+            }
+        };
+    }
+
+    /**
+     * Watches a new mount if watchers were added for a path at, above or below this mount.
+     */
+    private void watchMountIfWatched(final StorageMountPoint<C> mount,
+                                     final C context) {
+        if (this.watchers.isWatched(mount.path)) {
+            try {
+                this.watchMount(
+                    mount,
+                    context
+                );
+            } catch (final UnsupportedOperationException ignore) {
+                // mounted Storage does not support watchers
+            }
+        }
+    }
+
+    /**
+     * Adds the {@link StorageWatcherRegistry} under the path of every mount not already watched, which has watchers
+     * for a path at, above or below the mount, so each mount has a single watcher no matter how many watchers are
+     * added, and mounts without any watchers are never watched.
+     */
+    private void watchMounts(final C context) {
+        final StorageWatcherRegistry watchers = this.watchers;
 
         for (final StorageMountPoint<C> mount : this.mountPoints) {
-            removers.add(
-                adder.apply(mount)
+            if (watchers.isWatched(mount.path)) {
+                this.watchMount(
+                    mount,
+                    context
+                );
+            }
+        }
+    }
+
+    private void watchMount(final StorageMountPoint<C> mount,
+                            final C context) {
+        final StoragePath path = mount.path;
+
+        if (false == this.mountWatcherRemovers.containsKey(path)) {
+            this.mountWatcherRemovers.put(
+                path,
+                mount.addWatcher(
+                    this.watchers,
+                    context
+                )
             );
         }
+    }
 
-        return Watchers.runnableCollection(removers);
+    private void unwatchMount(final StoragePath path) {
+        final Runnable remover = this.mountWatcherRemovers.remove(path);
+        if (null != remover) {
+            remover.run();
+        }
     }
 
+    /**
+     * Stops watching mounts without any watchers for a path at, above or below the mount.
+     */
+    private void unwatchMountsNotWatched() {
+        final StorageWatcherRegistry watchers = this.watchers;
+        final Iterator<Map.Entry<StoragePath, Runnable>> pathAndRemovers = this.mountWatcherRemovers.entrySet()
+            .iterator();
+
+        while (pathAndRemovers.hasNext()) {
+            final Map.Entry<StoragePath, Runnable> pathAndRemover = pathAndRemovers.next();
+
+            if (false == watchers.isWatched(pathAndRemover.getKey())) {
+                pathAndRemovers.remove();
+                pathAndRemover.getValue()
+                    .run();
+            }
+        }
+    }
+
+    /**
+     * All watchers added to this {@link Storage}, which receives the changes from every mount.
+     */
+    private final StorageWatcherRegistry watchers = StorageWatcherRegistry.empty();
+
+    /**
+     * The remover for the {@link #watchers} added to each watched mount, empty until the first watcher is added and
+     * again after the last is removed. Only read or written while holding the lock of this {@link StorageSharedMount}.
+     */
+    final Map<StoragePath, Runnable> mountWatcherRemovers = Maps.hash();
+
     @Override
     public void stop() {
         this.mountPoints.forEach(
@@ -96,6 +96,45 @@ public interface StorageTesting extends TreePrintableTesting {
         );
     }
 
+    // stat.............................................................................................................
+
+    default <C extends StorageContext> void statAndCheck(final Storage<C> storage,
+                                                         final StoragePath path,
+                                                         final C context) {
+        this.statAndCheck(
+            storage,
+            path,
+            context,
+            Optional.empty()
+        );
+    }
+
+    default <C extends StorageContext> void statAndCheck(final Storage<C> storage,
+                                                         final StoragePath path,
+                                                         final C context,
+                                                         final StorageValueStat expected) {
+        this.statAndCheck(
+            storage,
+            path,
+            context,
+            Optional.of(expected)
+        );
+    }
+
+    default <C extends StorageContext> void statAndCheck(final Storage<C> storage,
+                                                         final StoragePath path,
+                                                         final C context,
+                                                         final Optional<StorageValueStat> expected) {
+        this.checkEquals(
+            expected,
+            storage.stat(
+                path,
+                context
+            ),
+            () -> " storage stat " + path
+        );
+    }
+
     // save.............................................................................................................
 
     default <C extends StorageContext> void saveAndCheck(final Storage<C> storage,
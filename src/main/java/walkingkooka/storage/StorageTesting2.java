@@ -116,6 +116,32 @@ public interface StorageTesting2<S extends Storage<C>, C extends StorageContext>
         );
     }
 
+    // stat.............................................................................................................
+
+    @Test
+    default void testStatWithNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStorage()
+                .stat(
+                    null,
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    default void testStatWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createStorage()
+                .stat(
+                    StoragePath.ROOT,
+                    null
+                )
+        );
+    }
+
     // save.............................................................................................................
 
     @Test
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.Binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A {@link CharSequence} view over the UTF-8 bytes of a {@link Binary}, such as a large <code>*.txt</code> file held
+ * by a {@link StorageBinary}, that avoids creating the whole {@link String}. Bytes are only ever read from
+ * {@link Binary#inputStream()}, so the {@link Binary} is never copied.
+ * <ul>
+ * <li>The first call to {@link #length()}, {@link #charAt(int)}, {@link #subSequence(int, int)} or {@link #isAscii()}
+ * reads the bytes once, counting characters and recording where each window of about {@link #WINDOW_SIZE} bytes
+ * starts</li>
+ * <li>{@link #charAt(int)} decodes only the window holding the character, keeping the last window decoded</li>
+ * <li>When every byte is ASCII {@link #subSequence(int, int)} returns another view over the same {@link Binary}</li>
+ * <li>{@link #lines()} splits on the bytes, so only a single line is ever decoded at a time</li>
+ * </ul>
+ */
+public final class StorageText implements CharSequence {
+
+    /**
+     * The approximate number of bytes decoded by {@link #charAt(int)}.
+     */
+    final static int WINDOW_SIZE = 4096;
+
+    public static StorageText with(final Binary binary) {
+        Objects.requireNonNull(binary, "binary");
+
+        return new StorageText(
+            binary,
+            0,
+            binary.size()
+        );
+    }
+
+    private StorageText(final Binary binary,
+                        final int start,
+                        final int end) {
+        super();
+        this.binary = binary;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates a view over an ASCII range, which needs no scan because each byte is a character.
+     */
+    private StorageText ascii(final int start,
+                              final int end) {
+        final StorageText text = new StorageText(
+            this.binary,
+            start,
+            end
+        );
+        text.ascii = true;
+        text.length = end - start;
+        return text;
+    }
+
+    /**
+     * Returns true when every byte is ASCII and each character is a single byte.
+     */
+    public boolean isAscii() {
+        this.scan();
+        return this.ascii;
+    }
+
+    // CharSequence.....................................................................................................
+
+    @Override
+    public int length() {
+        this.scan();
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        final int length = this.length();
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + length);
+        }
+
+        final int window = this.window(index);
+        return this.windowText(window)
+            .charAt(index - this.windowChar(window));
+    }
+
+    @Override
+    public CharSequence subSequence(final int start,
+                                    final int end) {
+        final int length = this.length();
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("Invalid range " + start + ".." + end + " not between 0 and " + length);
+        }
+
+        final CharSequence subSequence;
+
+        if (0 == start && length == end) {
+            subSequence = this;
+        } else {
+            if (this.ascii) {
+                subSequence = this.ascii(
+                    this.start + start,
+                    this.start + end
+                );
+            } else {
+                if (start == end) {
+                    subSequence = "";
+                } else {
+                    // decode only the windows holding the range
+                    final int first = this.window(start);
+                    final int last = this.window(end - 1);
+                    final int firstChar = this.windowChar(first);
+
+                    subSequence = this.decode(
+                        this.windowByte(first),
+                        this.windowByte(last + 1)
+                    ).substring(
+                        start - firstChar,
+                        end - firstChar
+                    );
+                }
+            }
+        }
+
+        return subSequence;
+    }
+
+    // windows..........................................................................................................
+
+    /**
+     * Reads every byte once, counting characters and recording the byte and character offset of each window, which
+     * always starts at the first byte of a character.
+     */
+    private void scan() {
+        if (-1 == this.length) {
+            final int size = this.end - this.start;
+
+            boolean ascii = true;
+            int length = 0;
+
+            int[] windowBytes = new int[1 + size / WINDOW_SIZE];
+            int[] windowChars = new int[windowBytes.length];
+            int windowCount = 1;
+
+            final InputStream input = this.inputStream();
+            final byte[] buffer = new byte[WINDOW_SIZE];
+            int offset = 0;
+
+            while (offset < size) {
+                final int count = read(
+                    input,
+                    buffer,
+                    Math.min(buffer.length, size - offset)
+                );
+
+                for (int i = 0; i < count; i++) {
+                    final int b = buffer[i] & 0xFF;
+
+                    if (b >= 0x80) {
+                        ascii = false;
+                    }
+
+                    // continuation bytes never start a character
+                    if (0x80 != (b & 0xC0)) {
+                        if (offset + i - windowBytes[windowCount - 1] >= WINDOW_SIZE) {
+                            if (windowCount == windowBytes.length) {
+                                windowBytes = copy(windowBytes, windowCount * 2);
+                                windowChars = copy(windowChars, windowCount * 2);
+                            }
+                            windowBytes[windowCount] = offset + i;
+                            windowChars[windowCount] = length;
+                            windowCount++;
+                        }
+
+                        length++;
+
+                        // a 4 byte character is a surrogate pair
+                        if (0xF0 == (b & 0xF8)) {
+                            length++;
+                        }
+                    }
+                }
+
+                offset += count;
+            }
+
+            this.ascii = ascii;
+            this.windowBytes = copy(windowBytes, windowCount);
+            this.windowChars = copy(windowChars, windowCount);
+            this.length = length;
+        }
+    }
+
+    private static int[] copy(final int[] values,
+                              final int length) {
+        final int[] copy = new int[length];
+        System.arraycopy(values, 0, copy, 0, Math.min(values.length, length));
+        return copy;
+    }
+
+    /**
+     * Returns the window holding the character at the given index.
+     */
+    private int window(final int index) {
+        final int window;
+
+        if (this.ascii) {
+            window = index / WINDOW_SIZE;
+        } else {
+            final int[] windowChars = this.windowChars;
+
+            int low = 0;
+            int high = windowChars.length - 1;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (windowChars[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            window = low;
+        }
+
+        return window;
+    }
+
+    /**
+     * The offset of the first byte of the window, or the end when past the last window.
+     */
+    private int windowByte(final int window) {
+        final int size = this.end - this.start;
+
+        return this.ascii ?
+            Math.min(window * WINDOW_SIZE, size) :
+            window < this.windowBytes.length ?
+                this.windowBytes[window] :
+                size;
+    }
+
+    /**
+     * The index of the first character of the window.
+     */
+    private int windowChar(final int window) {
+        return this.ascii ?
+            window * WINDOW_SIZE :
+            this.windowChars[window];
+    }
+
+    private String windowText(final int window) {
+        if (window != this.decodedWindow) {
+            this.decodedWindowText = this.decode(
+                this.windowByte(window),
+                this.windowByte(window + 1)
+            );
+            this.decodedWindow = window;
+        }
+        return this.decodedWindowText;
+    }
+
+    /**
+     * The last window decoded by {@link #charAt(int)}.
+     */
+    private int decodedWindow = -1;
+
+    private String decodedWindowText;
+
+    /**
+     * The number of characters or -1 until {@link #scan()}.
+     */
+    private int length = -1;
+
+    private boolean ascii;
+
+    /**
+     * The byte offset of each window, empty for ASCII text where windows are exactly {@link #WINDOW_SIZE}.
+     */
+    private int[] windowBytes;
+
+    /**
+     * The index of the first character in each window.
+     */
+    private int[] windowChars;
+
+    // bytes............................................................................................................
+
+    /**
+     * Decodes the bytes between the offsets, which are relative to the start of this view.
+     */
+    private String decode(final int start,
+                          final int end) {
+        final int length = end - start;
+        final byte[] bytes = new byte[length];
+
+        final InputStream input = this.inputStream();
+        skip(
+            input,
+            start
+        );
+
+        int offset = 0;
+        while (offset < length) {
+            final int count = read(
+                input,
+                bytes,
+                offset,
+                length - offset
+            );
+            offset += count;
+        }
+
+        return new String(
+            bytes,
+            StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Returns an {@link InputStream} positioned at the start of this view.
+     */
+    private InputStream inputStream() {
+        final InputStream input = this.binary.inputStream();
+        skip(
+            input,
+            this.start
+        );
+        return input;
+    }
+
+    private static void skip(final InputStream input,
+                             final long count) {
+        try {
+            long remaining = count;
+            while (remaining > 0) {
+                final long skipped = input.skip(remaining);
+                if (skipped <= 0) {
+                    throw new IllegalStateException("Unable to skip " + remaining + " bytes");
+                }
+                remaining -= skipped;
+            }
+        } catch (final IOException never) {
+            throw new IllegalStateException(never);
+        }
+    }
+
+    private static int read(final InputStream input,
+                            final byte[] buffer,
+                            final int length) {
+        return read(
+            input,
+            buffer,
+            0,
+            length
+        );
+    }
+
+    private static int read(final InputStream input,
+                            final byte[] buffer,
+                            final int offset,
+                            final int length) {
+        try {
+            final int count = input.read(
+                buffer,
+                offset,
+                length
+            );
+            if (count < 0) {
+                throw new IllegalStateException("Unexpected end of bytes");
+            }
+            return count;
+        } catch (final IOException never) {
+            throw new IllegalStateException(never);
+        }
+    }
+
+    private final Binary binary;
+
+    /**
+     * The offset of the first byte of this view within the {@link Binary}.
+     */
+    private final int start;
+
+    private final int end;
+
+    // lines............................................................................................................
+
+    /**
+     * Returns each line without its line ending, which may be <code>\n</code>, <code>\r\n</code> or <code>\r</code>.
+     * The bytes of a line ending never appear within a multibyte UTF-8 character, so lines are found without decoding,
+     * and each line is decoded as it is returned.
+     */
+    public Iterable<CharSequence> lines() {
+        return () -> new Iterator<CharSequence>() {
+
+            @Override
+            public boolean hasNext() {
+                return this.offset < StorageText.this.end - StorageText.this.start;
+            }
+
+            @Override
+            public CharSequence next() {
+                if (false == this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final int size = StorageText.this.end - StorageText.this.start;
+                final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+                int b = this.next();
+                while ('\n' != b && '\r' != b) {
+                    line.write(b);
+                    if (this.offset == size) {
+                        break;
+                    }
+                    b = this.next();
+                }
+
+                // \r\n is a single line ending
+                if ('\r' == b && this.offset < size) {
+                    this.lookAhead = this.next();
+                    if ('\n' == this.lookAhead) {
+                        this.lookAhead = -1;
+                    } else {
+                        this.offset--;
+                    }
+                }
+
+                return new String(
+                    line.toByteArray(),
+                    StandardCharsets.UTF_8
+                );
+            }
+
+            /**
+             * Returns the next byte, which was either peeked after a <code>\r</code> or is read.
+             */
+            private int next() {
+                int b = this.lookAhead;
+                if (-1 == b) {
+                    try {
+                        b = this.input.read();
+                    } catch (final IOException never) {
+                        throw new IllegalStateException(never);
+                    }
+                    if (-1 == b) {
+                        throw new IllegalStateException("Unexpected end of bytes");
+                    }
+                } else {
+                    this.lookAhead = -1;
+                }
+                this.offset++;
+                return b;
+            }
+
+            private final InputStream input = StorageText.this.inputStream();
+
+            private int lookAhead = -1;
+
+            /**
+             * The number of bytes consumed, including any looked ahead.
+             */
+            private int offset;
+        };
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.decode(
+            0,
+            this.end - this.start
+        );
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A single change to a {@link StorageValue} delivered within a batch to a {@link StorageBatchWatcher}. The old value is
+ * empty for a create and the new value is empty for a delete.
+ */
+public final class StorageValueChange {
+
+    public static StorageValueChange with(final Optional<StorageValue> oldValue,
+                                          final Optional<StorageValue> newValue) {
+        Objects.requireNonNull(oldValue, "oldValue");
+        Objects.requireNonNull(newValue, "newValue");
+
+        if (false == oldValue.isPresent() && false == newValue.isPresent()) {
+            throw new IllegalArgumentException("Missing old and new value");
+        }
+
+        return new StorageValueChange(
+            oldValue,
+            newValue
+        );
+    }
+
+    private StorageValueChange(final Optional<StorageValue> oldValue,
+                               final Optional<StorageValue> newValue) {
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public Optional<StorageValue> oldValue() {
+        return this.oldValue;
+    }
+
+    private final Optional<StorageValue> oldValue;
+
+    public Optional<StorageValue> newValue() {
+        return this.newValue;
+    }
+
+    private final Optional<StorageValue> newValue;
+
+    /**
+     * The {@link StoragePath} of the new value, or the old value for a delete.
+     */
+    public StoragePath path() {
+        return this.newValue.orElseGet(this.oldValue::get)
+            .path();
+    }
+
+    /**
+     * Returns true if the old and new values are equal, such changes are never delivered to watchers.
+     */
+    boolean isUnchanged() {
+        return this.oldValue.equals(this.newValue);
+    }
+
+    /**
+     * Returns a {@link StorageValueChange} with the given prefix added to the path of both values.
+     */
+    StorageValueChange prependPath(final StoragePath prefix) {
+        return prefix.isRoot() ?
+            this :
+            new StorageValueChange(
+                prependPath(
+                    this.oldValue,
+                    prefix
+                ),
+                prependPath(
+                    this.newValue,
+                    prefix
+                )
+            );
+    }
+
+    private static Optional<StorageValue> prependPath(final Optional<StorageValue> value,
+                                                      final StoragePath prefix) {
+        return value.map(
+            (StorageValue v) -> v.setPath(
+                v.path()
+                    .prepend(prefix)
+            )
+        );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.oldValue,
+            this.newValue
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof StorageValueChange && this.equals0((StorageValueChange) other);
+    }
+
+    private boolean equals0(final StorageValueChange other) {
+        return this.oldValue.equals(other.oldValue) &&
+            this.newValue.equals(other.newValue);
+    }
+
+    @Override
+    public String toString() {
+        return this.oldValue.map(Object::toString).orElse("") +
+            " -> " +
+            this.newValue.map(Object::toString).orElse("");
+    }
+}
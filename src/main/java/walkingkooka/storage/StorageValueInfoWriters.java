@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Writes many {@link StorageValueInfo} directly to an {@link Appendable} such as a {@link java.io.Writer} or
+ * {@link StringBuilder}, one at a time, without first building a {@link StorageValueInfoList},
+ * {@link walkingkooka.tree.json.JsonNode} tree or intermediate {@link String}.
+ * <br>
+ * The JSON is the same as marshalling a {@link StorageValueInfoList} and printing it with the same
+ * {@link Indentation} and {@link LineEnding}.
+ */
+public final class StorageValueInfoWriters {
+
+    /**
+     * Writes a JSON array holding an object for each {@link StorageValueInfo}.
+     */
+    public static void json(final Iterable<StorageValueInfo> infos,
+                            final Indentation indentation,
+                            final LineEnding lineEnding,
+                            final Appendable output) throws IOException {
+        Objects.requireNonNull(infos, "infos");
+        Objects.requireNonNull(indentation, "indentation");
+        Objects.requireNonNull(lineEnding, "lineEnding");
+        Objects.requireNonNull(output, "output");
+
+        final String indent1 = indentation.toString();
+        final String indent2 = indent1 + indent1;
+        final String indent3 = indent2 + indent1;
+        final String newLine = lineEnding.toString();
+
+        String separator = "";
+        output.append('[');
+
+        for (final StorageValueInfo info : infos) {
+            output.append(separator)
+                .append(newLine)
+                .append(indent1)
+                .append('{')
+                .append(newLine)
+                .append(indent2);
+
+            property(
+                StorageValueInfo.PATH_PROPERTY.value(),
+                info.path()
+                    .value(),
+                true, // pretty
+                output
+            );
+
+            output.append(',')
+                .append(newLine)
+                .append(indent2)
+                .append('"')
+                .append(
+                    StorageValueInfo.AUDIT_INFO_PROPERTY.value()
+                ).append("\": {")
+                .append(newLine);
+
+            auditInfo(
+                info.auditInfo(),
+                indent3,
+                newLine,
+                output
+            );
+
+            output.append(newLine)
+                .append(indent2)
+                .append('}')
+                .append(newLine)
+                .append(indent1)
+                .append('}');
+
+            separator = ",";
+        }
+
+        if (false == separator.isEmpty()) {
+            output.append(newLine);
+        }
+        output.append(']');
+    }
+
+    /**
+     * Writes newline delimited JSON, with each {@link StorageValueInfo} as a single line object.
+     */
+    public static void ndjson(final Iterable<StorageValueInfo> infos,
+                              final Appendable output) throws IOException {
+        Objects.requireNonNull(infos, "infos");
+        Objects.requireNonNull(output, "output");
+
+        for (final StorageValueInfo info : infos) {
+            output.append('{');
+
+            property(
+                StorageValueInfo.PATH_PROPERTY.value(),
+                info.path()
+                    .value(),
+                false, // pretty
+                output
+            );
+
+            output.append(",\"")
+                .append(
+                    StorageValueInfo.AUDIT_INFO_PROPERTY.value()
+                ).append("\":{");
+
+            auditInfo(
+                info.auditInfo(),
+                "",
+                "",
+                output
+            );
+
+            output.append("}}\n");
+        }
+    }
+
+    /**
+     * Writes the {@link StorageValueInfo#text()} of each info, each followed by the {@link LineEnding}.
+     */
+    public static void text(final Iterable<StorageValueInfo> infos,
+                            final LineEnding lineEnding,
+                            final Appendable output) throws IOException {
+        Objects.requireNonNull(infos, "infos");
+        Objects.requireNonNull(lineEnding, "lineEnding");
+        Objects.requireNonNull(output, "output");
+
+        final String newLine = lineEnding.toString();
+
+        boolean empty = true;
+
+        for (final StorageValueInfo info : infos) {
+            output.append(
+                info.text()
+            ).append(newLine);
+
+            empty = false;
+        }
+
+        // matches Collectors.joining with a suffix
+        if (empty) {
+            output.append(newLine);
+        }
+    }
+
+    /**
+     * Writes the four {@link AuditInfo} properties, each on a new line starting with the indent when the newLine is
+     * not empty.
+     */
+    private static void auditInfo(final AuditInfo auditInfo,
+                                  final String indent,
+                                  final String newLine,
+                                  final Appendable output) throws IOException {
+        final boolean pretty = false == newLine.isEmpty();
+        final String separator = pretty ?
+            "," + newLine :
+            ",";
+
+        output.append(indent);
+        property(
+            "createdBy",
+            auditInfo.createdBy()
+                .value(),
+            pretty,
+            output
+        );
+
+        output.append(separator)
+            .append(indent);
+        property(
+            "createdTimestamp",
+            auditInfo.createdTimestamp()
+                .toString(),
+            pretty,
+            output
+        );
+
+        output.append(separator)
+            .append(indent);
+        property(
+            "modifiedBy",
+            auditInfo.modifiedBy()
+                .value(),
+            pretty,
+            output
+        );
+
+        output.append(separator)
+            .append(indent);
+        property(
+            "modifiedTimestamp",
+            auditInfo.modifiedTimestamp()
+                .toString(),
+            pretty,
+            output
+        );
+    }
+
+    /**
+     * Writes a property with a {@link String} value, a space follows the colon only when pretty printing.
+     */
+    private static void property(final String name,
+                                 final String value,
+                                 final boolean pretty,
+                                 final Appendable output) throws IOException {
+        output.append('"')
+            .append(name)
+            .append(
+                pretty ?
+                    "\": " :
+                    "\":"
+            );
+
+        string(
+            value,
+            output
+        );
+    }
+
+    /**
+     * Writes the {@link String} as a JSON string, escaping quotes, backslashes and control characters.
+     */
+    private static void string(final String value,
+                               final Appendable output) throws IOException {
+        output.append('"');
+
+        final int length = value.length();
+        int start = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+
+            final String escaped;
+            switch (c) {
+                case '"':
+                    escaped = "\\\"";
+                    break;
+                case '\\':
+                    escaped = "\\\\";
+                    break;
+                case '\b':
+                    escaped = "\\b";
+                    break;
+                case '\f':
+                    escaped = "\\f";
+                    break;
+                case '\n':
+                    escaped = "\\n";
+                    break;
+                case '\r':
+                    escaped = "\\r";
+                    break;
+                case '\t':
+                    escaped = "\\t";
+                    break;
+                default:
+                    escaped = c < ' ' ?
+                        "\\u00" + HEX.charAt(c >> 4) + HEX.charAt(c & 0xF) :
+                        null;
+                    break;
+            }
+
+            if (null != escaped) {
+                output.append(value, start, i)
+                    .append(escaped);
+                start = i + 1;
+            }
+        }
+
+        output.append(value, start, length)
+            .append('"');
+    }
+
+    private final static String HEX = "0123456789abcdef";
+
+    /**
+     * Stop creation
+     */
+    private StorageValueInfoWriters() {
+        throw new UnsupportedOperationException();
+    }
+}
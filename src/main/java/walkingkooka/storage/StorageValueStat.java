@@ -0,0 +1,411 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.Binary;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.environment.HasAuditInfo;
+import walkingkooka.naming.HasPath;
+import walkingkooka.net.header.HasContentType;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.text.printer.IndentingPrinter;
+import walkingkooka.text.printer.TreePrintable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The metadata for a single {@link StoragePath} returned by {@link Storage#stat(StoragePath, StorageContext)}, which
+ * is gathered from file attributes or stored metadata without loading the value.
+ * <ul>
+ * <li>{@link #size()} the number of bytes when the value is held as bytes</li>
+ * <li>{@link #contentType()} the {@link MediaType} when known without converting the value</li>
+ * <li>{@link #contentHash()} an opaque hash of the bytes, such as the CRC-32 of a zip entry</li>
+ * <li>{@link #childCount()} the number of children of a directory</li>
+ * </ul>
+ */
+public final class StorageValueStat implements HasAuditInfo,
+    HasContentType,
+    HasPath<StoragePath>,
+    TreePrintable {
+
+    public final static OptionalLong NO_SIZE = OptionalLong.empty();
+
+    public final static Optional<String> NO_CONTENT_HASH = Optional.empty();
+
+    public final static OptionalInt NO_CHILD_COUNT = OptionalInt.empty();
+
+    public static StorageValueStat with(final StorageValueInfo info) {
+        return new StorageValueStat(
+            Objects.requireNonNull(info, "info"),
+            NO_CONTENT_TYPE,
+            NO_SIZE,
+            NO_CONTENT_HASH,
+            NO_CHILD_COUNT
+        );
+    }
+
+    /**
+     * Creates a {@link StorageValueStat} for a {@link StorageValue} that is already held in memory, the size is only
+     * available for {@link Binary} values, other values have no size until converted.
+     */
+    static StorageValueStat value(final StorageValueInfo info,
+                                  final StorageValue value) {
+        final Object object = value.value()
+            .orElse(null);
+
+        return with(info)
+            .setContentType(
+                value.contentType()
+            ).setSize(
+                object instanceof Binary ?
+                    OptionalLong.of(
+                        ((Binary) object).size()
+                    ) :
+                    NO_SIZE
+            );
+    }
+
+    /**
+     * Creates a {@link StorageValueStat} using only load and list, for {@link Storage storages} without their own stat.
+     * A value is listed to get its {@link StorageValueInfo} and then loaded, while a directory has its children
+     * counted one page at a time and is given the created {@link AuditInfo}, as a listing does not include itself.
+     */
+    static Optional<StorageValueStat> loadOrList(final StoragePath path,
+                                                 final Function<StoragePath, Optional<StorageValue>> load,
+                                                 final BiFunction<StoragePath, Integer, List<StorageValueInfo>> list,
+                                                 final Supplier<AuditInfo> createdAuditInfo) {
+        StorageValueStat stat = null;
+
+        if (false == path.isParent()) {
+            // listing a value returns the value itself
+            final List<StorageValueInfo> infos = list.apply(
+                path,
+                0
+            );
+            if (1 == infos.size()) {
+                final StorageValueInfo info = infos.get(0);
+
+                if (path.equals(info.path())) {
+                    final StorageValue value = load.apply(path)
+                        .orElse(null);
+                    if (null != value && value.value().isPresent()) {
+                        stat = value(
+                            info,
+                            value
+                        );
+                    }
+                }
+            }
+        }
+
+        if (null == stat) {
+            final StoragePath parent = path.withTrailingSeparator();
+
+            int childCount = 0;
+
+            for (; ; ) {
+                final List<StorageValueInfo> infos = list.apply(
+                    parent,
+                    childCount
+                );
+                childCount += infos.size();
+
+                if (infos.size() < StoragePathPatternFinder.PAGE_SIZE) {
+                    break;
+                }
+            }
+
+            // an unknown path has no children, while the root always exists
+            if (childCount > 0 || path.isRoot()) {
+                stat = with(
+                    StorageValueInfo.with(
+                        path,
+                        createdAuditInfo.get()
+                    )
+                ).setChildCount(
+                    OptionalInt.of(childCount)
+                );
+            }
+        }
+
+        return Optional.ofNullable(stat);
+    }
+
+    private StorageValueStat(final StorageValueInfo info,
+                             final Optional<MediaType> contentType,
+                             final OptionalLong size,
+                             final Optional<String> contentHash,
+                             final OptionalInt childCount) {
+        this.info = info;
+        this.contentType = contentType;
+        this.size = size;
+        this.contentHash = contentHash;
+        this.childCount = childCount;
+    }
+
+    // info.............................................................................................................
+
+    public StorageValueInfo info() {
+        return this.info;
+    }
+
+    public StorageValueStat setInfo(final StorageValueInfo info) {
+        return this.info.equals(info) ?
+            this :
+            new StorageValueStat(
+                Objects.requireNonNull(info, "info"),
+                this.contentType,
+                this.size,
+                this.contentHash,
+                this.childCount
+            );
+    }
+
+    private final StorageValueInfo info;
+
+    // path.............................................................................................................
+
+    @Override
+    public StoragePath path() {
+        return this.info.path();
+    }
+
+    public StorageValueStat setPath(final StoragePath path) {
+        return this.setInfo(
+            this.info.setPath(path)
+        );
+    }
+
+    // StorageShared2WrapperPrefixed.....................................................................................
+
+    StorageValueStat prependPath(final StoragePath path) {
+        return this.setInfo(
+            this.info.prependPath(path)
+        );
+    }
+
+    // HasAuditInfo.....................................................................................................
+
+    @Override
+    public AuditInfo auditInfo() {
+        return this.info.auditInfo();
+    }
+
+    // HasContentType...................................................................................................
+
+    @Override
+    public Optional<MediaType> contentType() {
+        return this.contentType;
+    }
+
+    public StorageValueStat setContentType(final Optional<MediaType> contentType) {
+        return this.contentType.equals(contentType) ?
+            this :
+            new StorageValueStat(
+                this.info,
+                Objects.requireNonNull(contentType, "contentType"),
+                this.size,
+                this.contentHash,
+                this.childCount
+            );
+    }
+
+    private final Optional<MediaType> contentType;
+
+    // size.............................................................................................................
+
+    /**
+     * The size of the value in bytes, which is only present when the value is held as bytes.
+     */
+    public OptionalLong size() {
+        return this.size;
+    }
+
+    public StorageValueStat setSize(final OptionalLong size) {
+        Objects.requireNonNull(size, "size");
+        if (size.isPresent() && size.getAsLong() < 0) {
+            throw new IllegalArgumentException("Invalid size " + size.getAsLong() + " < 0");
+        }
+
+        return this.size.equals(size) ?
+            this :
+            new StorageValueStat(
+                this.info,
+                this.contentType,
+                size,
+                this.contentHash,
+                this.childCount
+            );
+    }
+
+    private final OptionalLong size;
+
+    // contentHash......................................................................................................
+
+    /**
+     * An opaque hash of the bytes of the value, which may be compared with an earlier hash from the same
+     * {@link Storage} to detect changes.
+     */
+    public Optional<String> contentHash() {
+        return this.contentHash;
+    }
+
+    public StorageValueStat setContentHash(final Optional<String> contentHash) {
+        return this.contentHash.equals(contentHash) ?
+            this :
+            new StorageValueStat(
+                this.info,
+                this.contentType,
+                this.size,
+                Objects.requireNonNull(contentHash, "contentHash"),
+                this.childCount
+            );
+    }
+
+    private final Optional<String> contentHash;
+
+    // childCount.......................................................................................................
+
+    /**
+     * The number of children, which is only present for directories.
+     */
+    public OptionalInt childCount() {
+        return this.childCount;
+    }
+
+    public StorageValueStat setChildCount(final OptionalInt childCount) {
+        Objects.requireNonNull(childCount, "childCount");
+        if (childCount.isPresent() && childCount.getAsInt() < 0) {
+            throw new IllegalArgumentException("Invalid childCount " + childCount.getAsInt() + " < 0");
+        }
+
+        return this.childCount.equals(childCount) ?
+            this :
+            new StorageValueStat(
+                this.info,
+                this.contentType,
+                this.size,
+                this.contentHash,
+                childCount
+            );
+    }
+
+    private final OptionalInt childCount;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.info,
+            this.contentType,
+            this.size,
+            this.contentHash,
+            this.childCount
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof StorageValueStat && this.equals0((StorageValueStat) other);
+    }
+
+    private boolean equals0(final StorageValueStat other) {
+        return this.info.equals(other.info) &&
+            this.contentType.equals(other.contentType) &&
+            this.size.equals(other.size) &&
+            this.contentHash.equals(other.contentHash) &&
+            this.childCount.equals(other.childCount);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(this.info);
+
+        final MediaType contentType = this.contentType.orElse(null);
+        if (null != contentType) {
+            b.append(' ')
+                .append(contentType);
+        }
+
+        final OptionalLong size = this.size;
+        if (size.isPresent()) {
+            b.append(" size=")
+                .append(size.getAsLong());
+        }
+
+        final String contentHash = this.contentHash.orElse(null);
+        if (null != contentHash) {
+            b.append(" hash=")
+                .append(contentHash);
+        }
+
+        final OptionalInt childCount = this.childCount;
+        if (childCount.isPresent()) {
+            b.append(" children=")
+                .append(childCount.getAsInt());
+        }
+
+        return b.toString();
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Override
+    public void printTree(final IndentingPrinter printer) {
+        printer.println(this.getClass().getSimpleName());
+        printer.indent();
+        {
+            this.info.printTree(printer);
+
+            printer.indent();
+            {
+                final MediaType contentType = this.contentType.orElse(null);
+                if (null != contentType) {
+                    printer.println("contentType: " + contentType);
+                }
+
+                final OptionalLong size = this.size;
+                if (size.isPresent()) {
+                    printer.println("size: " + size.getAsLong());
+                }
+
+                final String contentHash = this.contentHash.orElse(null);
+                if (null != contentHash) {
+                    printer.println("contentHash: " + contentHash);
+                }
+
+                final OptionalInt childCount = this.childCount;
+                if (childCount.isPresent()) {
+                    printer.println("childCount: " + childCount.getAsInt());
+                }
+            }
+            printer.outdent();
+        }
+        printer.outdent();
+    }
+}
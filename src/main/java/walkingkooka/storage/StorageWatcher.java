@@ -21,7 +21,6 @@ package walkingkooka.storage;
 import walkingkooka.watch.ValueChangeWatcher;
 
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -37,69 +36,19 @@ public interface StorageWatcher extends ValueChangeWatcher<StorageValue> {
 
         return path.isRoot() ?
             this :
-            new StorageWatcher() {
-                @Override
-                public void onValueChange(final Optional<StorageValue> oldValue,
-                                          final Optional<StorageValue> newValue) {
-                    StorageWatcher.this.onValueChange(
-                        storageValueSetPathPrefix(
-                            oldValue,
-                            path
-                        ),
-                        storageValueSetPathPrefix(
-                            newValue,
-                            path
-                        )
-                    );
-                }
-
-                private Optional<StorageValue> storageValueSetPathPrefix(final Optional<StorageValue> storageValue,
-                                                                         final StoragePath path) {
-                    return storageValue.map(
-                        (StorageValue sv) -> sv.setPath(
-                            sv.path()
-                                .prepend(path)
-                        )
-                    );
-                }
-
-                // Object...............................................................................................
-
-                @Override
-                public String toString() {
-                    return path + " " + StorageWatcher.this;
-                }
-            };
+            StorageWatcherPathPrefix.with(
+                path,
+                this
+            );
     }
 
     /**
      * Wraps this {@link StorageWatcher} with a {@link Predicate} filtering all events that are not matched.
      */
     default StorageWatcher setFilter(final Predicate<StoragePath> filter) {
-        Objects.requireNonNull(filter, "filter");
-
-        return new StorageWatcher() {
-            @Override
-            public void onValueChange(final Optional<StorageValue> oldValue,
-                                      final Optional<StorageValue> newValue) {
-                if (this.test(oldValue) || this.test(newValue)) {
-                    StorageWatcher.this.onValueChange(
-                        oldValue,
-                        newValue
-                    );
-                }
-            }
-
-            private boolean test(final Optional<StorageValue> value) {
-                return value.map((StorageValue sv) -> filter.test(sv.path())).orElse(false);
-            }
-
-            // Object...................................................................................................
-
-            @Override
-            public String toString() {
-                return "if " + filter + " " + StorageWatcher.this;
-            }
-        };
+        return StorageWatcherFilter.with(
+            filter,
+            this
+        );
     }
 }
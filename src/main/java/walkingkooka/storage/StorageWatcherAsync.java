@@ -0,0 +1,298 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link StorageWatcher} that queues each event and returns immediately, with the wrapped {@link StorageWatcher}
+ * receiving the events later on a thread of the given {@link Executor}. Many {@link StorageWatcherAsync} may share
+ * the same {@link Executor}, a slow watcher only delays its own queue.
+ * <br>
+ * Events are delivered one at a time in the order they were queued, so the events for any {@link StoragePath} are
+ * never re-ordered. When the queue is full the {@link StorageWatcherOverflow} decides what happens to the new event.
+ * <br>
+ * A watcher that saves to the {@link Storage} it is watching should not use {@link StorageWatcherOverflow#BLOCK}
+ * with a full queue, as it would wait for itself.
+ */
+@GwtIncompatible
+public final class StorageWatcherAsync implements StorageWatcher {
+
+    public static StorageWatcherAsync with(final StorageWatcher watcher,
+                                           final Executor executor,
+                                           final int capacity,
+                                           final StorageWatcherOverflow overflow) {
+        return with(
+            watcher,
+            executor,
+            capacity,
+            overflow,
+            System::nanoTime
+        );
+    }
+
+    static StorageWatcherAsync with(final StorageWatcher watcher,
+                                    final Executor executor,
+                                    final int capacity,
+                                    final StorageWatcherOverflow overflow,
+                                    final LongSupplier nanoTime) {
+        Objects.requireNonNull(watcher, "watcher");
+        Objects.requireNonNull(executor, "executor");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + " < 1");
+        }
+        Objects.requireNonNull(overflow, "overflow");
+
+        return new StorageWatcherAsync(
+            watcher,
+            executor,
+            capacity,
+            overflow,
+            nanoTime
+        );
+    }
+
+    private StorageWatcherAsync(final StorageWatcher watcher,
+                                final Executor executor,
+                                final int capacity,
+                                final StorageWatcherOverflow overflow,
+                                final LongSupplier nanoTime) {
+        super();
+        this.watcher = watcher;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.nanoTime = nanoTime;
+        this.queue = new ArrayDeque<>(capacity);
+    }
+
+    // StorageWatcher...................................................................................................
+
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        final ArrayDeque<StorageWatcherAsyncEvent> queue = this.queue;
+
+        boolean schedule;
+
+        synchronized (queue) {
+            while (queue.size() >= this.capacity) {
+                if (this.overflow == StorageWatcherOverflow.DROP_OLDEST) {
+                    queue.removeFirst();
+                    this.dropped++;
+                } else {
+                    if (this.overflow == StorageWatcherOverflow.COALESCE &&
+                        this.coalesce(oldValue, newValue)) {
+                        return;
+                    }
+
+                    try {
+                        queue.wait();
+                    } catch (final InterruptedException cause) {
+                        // cannot wait any longer, make room rather than losing the newest event
+                        Thread.currentThread().interrupt();
+                        queue.removeFirst();
+                        this.dropped++;
+                    }
+                }
+            }
+
+            queue.addLast(
+                new StorageWatcherAsyncEvent(
+                    oldValue,
+                    newValue,
+                    this.nanoTime.getAsLong()
+                )
+            );
+
+            schedule = false == this.scheduled;
+            this.scheduled = true;
+        }
+
+        if (schedule) {
+            this.schedule();
+        }
+    }
+
+    /**
+     * Tries to merge the given event with the newest queued event for the same {@link StoragePath}, returning true if
+     * the queue no longer needs room.
+     */
+    private boolean coalesce(final Optional<StorageValue> oldValue,
+                             final Optional<StorageValue> newValue) {
+        final StoragePath path = StorageWatcherAsyncEvent.path(
+            oldValue,
+            newValue
+        );
+
+        boolean coalesced = false;
+
+        final Iterator<StorageWatcherAsyncEvent> iterator = this.queue.descendingIterator();
+        while (iterator.hasNext()) {
+            final StorageWatcherAsyncEvent queued = iterator.next();
+            if (queued.path().equals(path)) {
+                // a value created then deleted cancels out
+                if (queued.oldValue.equals(newValue)) {
+                    iterator.remove();
+                    this.queue.notifyAll();
+                } else {
+                    queued.newValue = newValue;
+                }
+                this.coalesced++;
+                coalesced = true;
+                break;
+            }
+        }
+
+        return coalesced;
+    }
+
+    private void schedule() {
+        try {
+            this.executor.execute(this::dispatch);
+        } catch (final RuntimeException cause) {
+            synchronized (this.queue) {
+                this.scheduled = false;
+            }
+            throw cause;
+        }
+    }
+
+    /**
+     * Delivers queued events until the queue is empty. Only one dispatch is ever running for this watcher.
+     */
+    private void dispatch() {
+        final ArrayDeque<StorageWatcherAsyncEvent> queue = this.queue;
+
+        for (; ; ) {
+            final StorageWatcherAsyncEvent event;
+
+            synchronized (queue) {
+                event = queue.pollFirst();
+                if (null == event) {
+                    this.scheduled = false;
+                    break;
+                }
+                queue.notifyAll();
+            }
+
+            boolean completed = false;
+            try {
+                this.watcher.onValueChange(
+                    event.oldValue,
+                    event.newValue
+                );
+                completed = true;
+            } finally {
+                if (false == completed) {
+                    // the watcher threw, continue with the remaining events in a new dispatch
+                    boolean schedule;
+                    synchronized (queue) {
+                        schedule = false == queue.isEmpty();
+                        this.scheduled = schedule;
+                    }
+                    if (schedule) {
+                        this.schedule();
+                    }
+                }
+            }
+        }
+    }
+
+    private final StorageWatcher watcher;
+
+    private final Executor executor;
+
+    private final int capacity;
+
+    private final StorageWatcherOverflow overflow;
+
+    /**
+     * The queued events, which is also the lock for all the mutable fields below.
+     */
+    private final ArrayDeque<StorageWatcherAsyncEvent> queue;
+
+    /**
+     * True when a {@link #dispatch()} has been given to the {@link Executor} and has not yet emptied the queue.
+     */
+    private boolean scheduled;
+
+    private long dropped;
+
+    private long coalesced;
+
+    private final LongSupplier nanoTime;
+
+    // metrics..........................................................................................................
+
+    /**
+     * The number of events waiting to be delivered.
+     */
+    public int queueDepth() {
+        synchronized (this.queue) {
+            return this.queue.size();
+        }
+    }
+
+    /**
+     * How long the oldest waiting event has been queued, or {@link Duration#ZERO} when nothing is waiting.
+     */
+    public Duration dispatchLag() {
+        synchronized (this.queue) {
+            final StorageWatcherAsyncEvent oldest = this.queue.peekFirst();
+            return null == oldest ?
+                Duration.ZERO :
+                Duration.ofNanos(
+                    this.nanoTime.getAsLong() - oldest.queued
+                );
+        }
+    }
+
+    /**
+     * The number of events discarded by {@link StorageWatcherOverflow#DROP_OLDEST}.
+     */
+    public long dropped() {
+        synchronized (this.queue) {
+            return this.dropped;
+        }
+    }
+
+    /**
+     * The number of events merged into an earlier event by {@link StorageWatcherOverflow#COALESCE}.
+     */
+    public long coalesced() {
+        synchronized (this.queue) {
+            return this.coalesced;
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.watcher + " " + this.overflow + " " + this.queueDepth() + "/" + this.capacity;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.Optional;
+
+/**
+ * A single event waiting in the queue of a {@link StorageWatcherAsync}. The new value may be replaced when a later
+ * event for the same {@link StoragePath} is coalesced.
+ */
+@GwtIncompatible
+final class StorageWatcherAsyncEvent {
+
+    /**
+     * Returns the {@link StoragePath} of the new value, or the old value when deleted.
+     */
+    static StoragePath path(final Optional<StorageValue> oldValue,
+                            final Optional<StorageValue> newValue) {
+        return newValue.isPresent() ?
+            newValue.get()
+                .path() :
+            oldValue.map(StorageValue::path)
+                .orElse(StoragePath.ROOT);
+    }
+
+    StorageWatcherAsyncEvent(final Optional<StorageValue> oldValue,
+                             final Optional<StorageValue> newValue,
+                             final long queued) {
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.queued = queued;
+    }
+
+    StoragePath path() {
+        return path(
+            this.oldValue,
+            this.newValue
+        );
+    }
+
+    final Optional<StorageValue> oldValue;
+
+    Optional<StorageValue> newValue;
+
+    /**
+     * The {@link System#nanoTime()} when queued.
+     */
+    final long queued;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.oldValue + " " + this.newValue;
+    }
+}
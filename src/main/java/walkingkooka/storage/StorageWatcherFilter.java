@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A {@link StorageWatcher} that only receives changes where the old or new {@link StoragePath} is matched by a
+ * {@link Predicate}, created by {@link StorageWatcher#setFilter(Predicate)}. A {@link StorageWatcherRegistry} unwraps
+ * it, testing the filter itself and holding the watcher at the directory of a {@link StoragePathPattern} filter.
+ */
+final class StorageWatcherFilter implements StorageBatchWatcher {
+
+    static StorageWatcherFilter with(final Predicate<StoragePath> filter,
+                                     final StorageWatcher watcher) {
+        return new StorageWatcherFilter(
+            Objects.requireNonNull(filter, "filter"),
+            watcher
+        );
+    }
+
+    private StorageWatcherFilter(final Predicate<StoragePath> filter,
+                                 final StorageWatcher watcher) {
+        this.filter = filter;
+        this.watcher = watcher;
+    }
+
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        if (this.test(oldValue) || this.test(newValue)) {
+            this.watcher.onValueChange(
+                oldValue,
+                newValue
+            );
+        }
+    }
+
+    /**
+     * Removes changes that are not matched, batches left empty are not delivered.
+     */
+    @Override
+    public void onValueChanges(final List<StorageValueChange> changes) {
+        final List<StorageValueChange> filtered = Lists.array();
+
+        for (final StorageValueChange change : changes) {
+            if (this.test(change.oldValue()) || this.test(change.newValue())) {
+                filtered.add(change);
+            }
+        }
+
+        if (false == filtered.isEmpty()) {
+            StorageWatcherRegistry.onValueChanges(
+                this.watcher,
+                filtered
+            );
+        }
+    }
+
+    private boolean test(final Optional<StorageValue> value) {
+        return value.isPresent() &&
+            this.filter.test(
+                value.get()
+                    .path()
+            );
+    }
+
+    final Predicate<StoragePath> filter;
+
+    final StorageWatcher watcher;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "if " + this.filter + " " + this.watcher;
+    }
+}
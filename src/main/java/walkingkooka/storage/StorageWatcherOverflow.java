@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+/**
+ * What a {@link StorageWatcherAsync} does with a new event when its queue is full.
+ */
+public enum StorageWatcherOverflow {
+
+    /**
+     * The writer waits until the watcher has taken an event from the queue.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued event is discarded to make room.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is merged with a queued event for the same {@link StoragePath}, keeping the old value of the queued
+     * event and the new value of the new event. When no event for the same path is queued the writer waits as with
+     * {@link #BLOCK}.
+     */
+    COALESCE
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link StorageWatcher} that prepends a {@link StoragePath} to the path of every change before giving it to the
+ * wrapped watcher, created by {@link StorageWatcher#setPathPrefix(StoragePath)}. Batches are prefixed and delivered
+ * as a single batch.
+ */
+final class StorageWatcherPathPrefix implements StorageBatchWatcher {
+
+    static StorageWatcherPathPrefix with(final StoragePath path,
+                                         final StorageWatcher watcher) {
+        return new StorageWatcherPathPrefix(
+            path,
+            watcher
+        );
+    }
+
+    private StorageWatcherPathPrefix(final StoragePath path,
+                                     final StorageWatcher watcher) {
+        this.path = path;
+        this.watcher = watcher;
+    }
+
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        this.watcher.onValueChange(
+            this.prependPath(oldValue),
+            this.prependPath(newValue)
+        );
+    }
+
+    private Optional<StorageValue> prependPath(final Optional<StorageValue> value) {
+        return value.map(
+            (StorageValue v) -> v.setPath(
+                v.path()
+                    .prepend(this.path)
+            )
+        );
+    }
+
+    @Override
+    public void onValueChanges(final List<StorageValueChange> changes) {
+        final List<StorageValueChange> prefixed = Lists.array();
+
+        for (final StorageValueChange change : changes) {
+            prefixed.add(
+                change.prependPath(this.path)
+            );
+        }
+
+        StorageWatcherRegistry.onValueChanges(
+            this.watcher,
+            prefixed
+        );
+    }
+
+    final StoragePath path;
+
+    final StorageWatcher watcher;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.path + " " + this.watcher;
+    }
+}
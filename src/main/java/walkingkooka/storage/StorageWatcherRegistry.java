@@ -0,0 +1,357 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Routes changes only to the {@link StorageWatcher watchers} subscribed to the {@link StoragePath} of the change, or one
+ * of its parents, using a trie of {@link StorageName names}. Finding the watchers for a change visits one node per
+ * name in its path, regardless of how many watchers are registered elsewhere. A watcher returned by
+ * {@link StorageWatcher#setFilter(Predicate)} is unwrapped, its filter tested by the registry, and a
+ * {@link StoragePathPattern} filter held at the directory of the pattern.
+ * <br>
+ * The trie is immutable and replaced with compare and set, so firing never waits for and never blocks adding or
+ * removing a watcher. A {@link StorageBatchWatcher} receives all its matching changes from a batch in a single call.
+ */
+public final class StorageWatcherRegistry implements StorageBatchWatcher {
+
+    public static StorageWatcherRegistry empty() {
+        return new StorageWatcherRegistry();
+    }
+
+    private StorageWatcherRegistry() {
+        super();
+    }
+
+    /**
+     * Adds a watcher for all changes at or below the given {@link StoragePath}.
+     */
+    public Runnable add(final StoragePath path,
+                        final StorageWatcher watcher) {
+        return this.add(
+            path,
+            watcher,
+            false // once
+        );
+    }
+
+    /**
+     * Adds a watcher for the first change at or below the given {@link StoragePath}.
+     */
+    public Runnable addOnce(final StoragePath path,
+                            final StorageWatcher watcher) {
+        return this.add(
+            path,
+            watcher,
+            true // once
+        );
+    }
+
+    private Runnable add(final StoragePath path,
+                         final StorageWatcher watcher,
+                         final boolean once) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(watcher, "watcher");
+
+        StoragePath subscriptionPath = path;
+        Predicate<StoragePath> filter = null;
+        StorageWatcher subscriptionWatcher = watcher;
+
+        // the registry tests a filter itself, and holds a pattern filter at its directory
+        if (watcher instanceof StorageWatcherFilter) {
+            final StorageWatcherFilter watcherFilter = (StorageWatcherFilter) watcher;
+            filter = watcherFilter.filter;
+            subscriptionWatcher = watcherFilter.watcher;
+
+            if (filter instanceof StoragePathPattern) {
+                final StoragePath directory = ((StoragePathPattern) filter).directory();
+                if (directory.hasPrefix(path.withoutTrailingSeparator())) {
+                    subscriptionPath = directory;
+                }
+            }
+        }
+
+        return this.add(
+            StorageWatcherRegistrySubscription.with(
+                subscriptionPath,
+                filter,
+                subscriptionWatcher,
+                once
+            )
+        );
+    }
+
+    /**
+     * Adds a watcher for all changes to paths matched by the {@link StoragePathPattern}. The watcher is held at the
+     * leading names of the pattern without wildcards, so it is only tested against changes below them.
+     */
+    public Runnable add(final StoragePathPattern pattern,
+                        final StorageWatcher watcher) {
+        return this.add(
+            pattern,
+            watcher,
+            false // once
+        );
+    }
+
+    /**
+     * Adds a watcher for the first change to a path matched by the {@link StoragePathPattern}.
+     */
+    public Runnable addOnce(final StoragePathPattern pattern,
+                            final StorageWatcher watcher) {
+        return this.add(
+            pattern,
+            watcher,
+            true // once
+        );
+    }
+
+    private Runnable add(final StoragePathPattern pattern,
+                         final StorageWatcher watcher,
+                         final boolean once) {
+        Objects.requireNonNull(pattern, "pattern");
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.add(
+            StorageWatcherRegistrySubscription.with(
+                pattern.directory(),
+                pattern,
+                watcher,
+                once
+            )
+        );
+    }
+
+    private Runnable add(final StorageWatcherRegistrySubscription subscription) {
+        final StoragePath[] components = subscription.path.components();
+        final AtomicReference<StorageWatcherRegistryNode> root = this.root;
+
+        StorageWatcherRegistryNode before;
+        do {
+            before = root.get();
+        } while (false == root.compareAndSet(
+            before,
+            before.add(
+                subscription,
+                components,
+                0
+            )
+        ));
+
+        return () -> this.remove(subscription);
+    }
+
+    /**
+     * Removes the subscription returning true if it was present.
+     */
+    private boolean remove(final StorageWatcherRegistrySubscription subscription) {
+        final StoragePath[] components = subscription.path.components();
+        final AtomicReference<StorageWatcherRegistryNode> root = this.root;
+
+        StorageWatcherRegistryNode before;
+        StorageWatcherRegistryNode after;
+        do {
+            before = root.get();
+            after = before.remove(
+                subscription,
+                components,
+                0
+            );
+        } while (before != after && false == root.compareAndSet(before, after));
+
+        return before != after;
+    }
+
+    /**
+     * Returns true if any watcher may receive changes at or below the given {@link StoragePath}, because it was added
+     * for the path, one of its parents or a path below it.
+     */
+    boolean isWatched(final StoragePath path) {
+        return this.root.get()
+            .isWatched(
+                path.components()
+            );
+    }
+
+    /**
+     * Returns true if no watchers remain.
+     */
+    boolean isEmpty() {
+        return this.root.get()
+            .isEmpty();
+    }
+
+    private final AtomicReference<StorageWatcherRegistryNode> root = new AtomicReference<>(StorageWatcherRegistryNode.EMPTY);
+
+    // StorageBatchWatcher..............................................................................................
+
+    /**
+     * Fires the change to each matching watcher, unless the old and new values are equal.
+     */
+    @Override
+    public void onValueChange(final Optional<StorageValue> oldValue,
+                              final Optional<StorageValue> newValue) {
+        if (false == oldValue.equals(newValue)) {
+            final StorageValueChange change = StorageValueChange.with(
+                oldValue,
+                newValue
+            );
+
+            for (final StorageWatcherRegistrySubscription subscription : this.subscriptions(change)) {
+                if (false == subscription.once || this.remove(subscription)) {
+                    subscription.watcher.onValueChange(
+                        oldValue,
+                        newValue
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Fires the matching changes from the batch to each watcher, a {@link StorageBatchWatcher} receives them in a
+     * single call. Changes where the old and new values are equal are ignored.
+     */
+    @Override
+    public void onValueChanges(final List<StorageValueChange> changes) {
+        Objects.requireNonNull(changes, "changes");
+
+        final Map<StorageWatcherRegistrySubscription, List<StorageValueChange>> subscriptionToChanges = Maps.ordered();
+
+        for (final StorageValueChange change : changes) {
+            if (false == change.isUnchanged()) {
+                for (final StorageWatcherRegistrySubscription subscription : this.subscriptions(change)) {
+                    List<StorageValueChange> subscriptionChanges = subscriptionToChanges.get(subscription);
+                    if (null == subscriptionChanges) {
+                        subscriptionChanges = Lists.array();
+                        subscriptionToChanges.put(
+                            subscription,
+                            subscriptionChanges
+                        );
+                    }
+                    subscriptionChanges.add(change);
+                }
+            }
+        }
+
+        for (final Map.Entry<StorageWatcherRegistrySubscription, List<StorageValueChange>> subscriptionAndChanges : subscriptionToChanges.entrySet()) {
+            final StorageWatcherRegistrySubscription subscription = subscriptionAndChanges.getKey();
+
+            if (false == subscription.once || this.remove(subscription)) {
+                onValueChanges(
+                    subscription.watcher,
+                    subscriptionAndChanges.getValue()
+                );
+            }
+        }
+    }
+
+    /**
+     * Gives the changes to the {@link StorageWatcher}, a {@link StorageBatchWatcher} receives them in a single call.
+     */
+    static void onValueChanges(final StorageWatcher watcher,
+                               final List<StorageValueChange> changes) {
+        if (watcher instanceof StorageBatchWatcher) {
+            ((StorageBatchWatcher) watcher).onValueChanges(changes);
+        } else {
+            for (final StorageValueChange change : changes) {
+                watcher.onValueChange(
+                    change.oldValue(),
+                    change.newValue()
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns the subscriptions matching the path of either value of the change.
+     */
+    private List<StorageWatcherRegistrySubscription> subscriptions(final StorageValueChange change) {
+        final StorageWatcherRegistryNode root = this.root.get();
+        final List<StorageWatcherRegistrySubscription> collected = Lists.array();
+
+        final StoragePath oldPath = change.oldValue()
+            .map(StorageValue::path)
+            .orElse(null);
+        final StoragePath newPath = change.newValue()
+            .map(StorageValue::path)
+            .orElse(null);
+
+        if (null != oldPath) {
+            root.collect(
+                oldPath,
+                collected
+            );
+        }
+        if (null != newPath && false == newPath.equals(oldPath)) {
+            if (collected.isEmpty()) {
+                root.collect(
+                    newPath,
+                    collected
+                );
+            } else {
+                // a subscription may be along both paths, only these need to be checked for duplicates
+                final Set<StorageWatcherRegistrySubscription> old = Collections.newSetFromMap(
+                    new IdentityHashMap<>()
+                );
+                old.addAll(collected);
+
+                final List<StorageWatcherRegistrySubscription> collectedNew = Lists.array();
+                root.collect(
+                    newPath,
+                    collectedNew
+                );
+
+                for (final StorageWatcherRegistrySubscription subscription : collectedNew) {
+                    if (false == old.contains(subscription)) {
+                        collected.add(subscription);
+                    }
+                }
+            }
+        }
+
+        final List<StorageWatcherRegistrySubscription> matched = Lists.array();
+        for (final StorageWatcherRegistrySubscription subscription : collected) {
+            if (subscription.test(change)) {
+                matched.add(subscription);
+            }
+        }
+
+        return matched;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.root.get()
+            .toString();
+    }
+}
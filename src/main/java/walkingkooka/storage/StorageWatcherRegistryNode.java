@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable node in the trie of a {@link StorageWatcherRegistry}, with a child for each {@link StorageName}. Adding
+ * or removing a subscription copies only the nodes from the root to the affected node, all other nodes are shared.
+ */
+final class StorageWatcherRegistryNode {
+
+    final static StorageWatcherRegistryNode EMPTY = new StorageWatcherRegistryNode(
+        Collections.emptyMap(),
+        Lists.empty()
+    );
+
+    private StorageWatcherRegistryNode(final Map<StorageName, StorageWatcherRegistryNode> children,
+                                       final List<StorageWatcherRegistrySubscription> subscriptions) {
+        this.children = children;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Returns a new trie with the subscription added below this node, with index the position within the components
+     * of the subscription path.
+     */
+    StorageWatcherRegistryNode add(final StorageWatcherRegistrySubscription subscription,
+                                   final StoragePath[] components,
+                                   final int index) {
+        final StorageWatcherRegistryNode added;
+
+        if (index == components.length) {
+            final List<StorageWatcherRegistrySubscription> subscriptions = Lists.array();
+            subscriptions.addAll(this.subscriptions);
+            subscriptions.add(subscription);
+
+            added = new StorageWatcherRegistryNode(
+                this.children,
+                subscriptions
+            );
+        } else {
+            final StorageName name = components[index].name();
+
+            StorageWatcherRegistryNode child = this.children.get(name);
+            if (null == child) {
+                child = EMPTY;
+            }
+
+            added = this.setChild(
+                name,
+                child.add(
+                    subscription,
+                    components,
+                    index + 1
+                )
+            );
+        }
+
+        return added;
+    }
+
+    /**
+     * Returns a new trie without the given subscription, or this node if it was not found. Nodes left without any
+     * subscriptions or children are removed.
+     */
+    StorageWatcherRegistryNode remove(final StorageWatcherRegistrySubscription subscription,
+                                      final StoragePath[] components,
+                                      final int index) {
+        StorageWatcherRegistryNode removed = this;
+
+        if (index == components.length) {
+            final List<StorageWatcherRegistrySubscription> subscriptions = Lists.array();
+            for (final StorageWatcherRegistrySubscription possible : this.subscriptions) {
+                if (possible != subscription) {
+                    subscriptions.add(possible);
+                }
+            }
+
+            if (subscriptions.size() != this.subscriptions.size()) {
+                removed = new StorageWatcherRegistryNode(
+                    this.children,
+                    subscriptions.isEmpty() ?
+                        Lists.empty() :
+                        subscriptions
+                );
+            }
+        } else {
+            final StorageName name = components[index].name();
+
+            final StorageWatcherRegistryNode child = this.children.get(name);
+            if (null != child) {
+                final StorageWatcherRegistryNode removedChild = child.remove(
+                    subscription,
+                    components,
+                    index + 1
+                );
+                if (child != removedChild) {
+                    removed = this.setChild(
+                        name,
+                        removedChild
+                    );
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    private StorageWatcherRegistryNode setChild(final StorageName name,
+                                                final StorageWatcherRegistryNode child) {
+        final Map<StorageName, StorageWatcherRegistryNode> children = Maps.hash();
+        children.putAll(this.children);
+
+        if (child.isEmpty()) {
+            children.remove(name);
+        } else {
+            children.put(
+                name,
+                child
+            );
+        }
+
+        return new StorageWatcherRegistryNode(
+            children.isEmpty() ?
+                Collections.emptyMap() :
+                children,
+            this.subscriptions
+        );
+    }
+
+    /**
+     * Adds the subscriptions of this node and every node along the given path, which are all the subscriptions for
+     * the path or one of its parents.
+     */
+    void collect(final StoragePath path,
+                 final List<StorageWatcherRegistrySubscription> collected) {
+        final StoragePath[] components = path.components();
+        final int count = components.length;
+
+        StorageWatcherRegistryNode node = this;
+        int i = 0;
+
+        for (; ; ) {
+            // each subscription is held by a single node, so none are added twice
+            collected.addAll(node.subscriptions);
+
+            if (i == count) {
+                break;
+            }
+
+            node = node.children.get(
+                components[i].name()
+            );
+            if (null == node) {
+                break;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Returns true if a node along the path has subscriptions or the node for the path is not empty.
+     */
+    boolean isWatched(final StoragePath[] components) {
+        final int count = components.length;
+
+        StorageWatcherRegistryNode node = this;
+        int i = 0;
+        boolean watched = false;
+
+        for (; ; ) {
+            if (false == node.subscriptions.isEmpty()) {
+                watched = true;
+                break;
+            }
+            if (i == count) {
+                watched = false == node.children.isEmpty();
+                break;
+            }
+
+            node = node.children.get(
+                components[i].name()
+            );
+            if (null == node) {
+                break;
+            }
+            i++;
+        }
+
+        return watched;
+    }
+
+    boolean isEmpty() {
+        return this.children.isEmpty() && this.subscriptions.isEmpty();
+    }
+
+    private final Map<StorageName, StorageWatcherRegistryNode> children;
+
+    private final List<StorageWatcherRegistrySubscription> subscriptions;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.subscriptions + " " + this.children;
+    }
+}
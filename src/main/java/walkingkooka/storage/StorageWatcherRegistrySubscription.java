@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import java.util.function.Predicate;
+
+/**
+ * A single {@link StorageWatcher} added to a {@link StorageWatcherRegistry}, for all paths at or below the given
+ * {@link StoragePath} which are also matched by an optional filter.
+ */
+final class StorageWatcherRegistrySubscription {
+
+    static StorageWatcherRegistrySubscription with(final StoragePath path,
+                                                   final Predicate<StoragePath> filter,
+                                                   final StorageWatcher watcher,
+                                                   final boolean once) {
+        return new StorageWatcherRegistrySubscription(
+            path.withoutTrailingSeparator(),
+            filter,
+            watcher,
+            once
+        );
+    }
+
+    private StorageWatcherRegistrySubscription(final StoragePath path,
+                                               final Predicate<StoragePath> filter,
+                                               final StorageWatcher watcher,
+                                               final boolean once) {
+        this.path = path;
+        this.filter = filter;
+        this.watcher = watcher;
+        this.once = once;
+    }
+
+    /**
+     * Tests the path of a change which is already known to be at or below {@link #path}.
+     */
+    boolean test(final StorageValueChange change) {
+        final Predicate<StoragePath> filter = this.filter;
+
+        return null == filter ||
+            test(filter, change.oldValue().orElse(null)) ||
+            test(filter, change.newValue().orElse(null));
+    }
+
+    private static boolean test(final Predicate<StoragePath> filter,
+                                final StorageValue value) {
+        return null != value && filter.test(value.path());
+    }
+
+    /**
+     * The path of the trie node holding this subscription.
+     */
+    final StoragePath path;
+
+    /**
+     * When null all paths at or below {@link #path} are matched.
+     */
+    private final Predicate<StoragePath> filter;
+
+    final StorageWatcher watcher;
+
+    final boolean once;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return (null != this.filter ? this.filter : this.path) +
+            (this.once ? " once " : " ") +
+            this.watcher;
+    }
+}
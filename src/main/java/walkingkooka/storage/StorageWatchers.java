@@ -18,26 +18,43 @@
 package walkingkooka.storage;
 
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.watch.ValueChangeWatchers;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * A collection of {@link StorageWatcher}. Note the event is only fired to watchers if the old and new values
  * are different.
+ * <br>
+ * A {@link StorageBatchWatcher} receives each batch given to {@link #onValueChanges(List)} in a single call, while
+ * other watchers receive each change in the batch one at a time.
  */
-public final class StorageWatchers implements StorageWatcher {
+public final class StorageWatchers implements StorageBatchWatcher {
 
     public static StorageWatchers empty() {
         return new StorageWatchers();
     }
 
     public Runnable add(final StorageWatcher watcher) {
-        return this.watchers.add(watcher);
+        return watcher instanceof StorageBatchWatcher ?
+            this.addBatchWatcher(
+                (StorageBatchWatcher) watcher,
+                false // once
+            ) :
+            this.watchers.add(watcher);
     }
 
     public Runnable addOnce(final StorageWatcher watcher) {
-        return this.watchers.addOnce(watcher);
+        return watcher instanceof StorageBatchWatcher ?
+            this.addBatchWatcher(
+                (StorageBatchWatcher) watcher,
+                true // once
+            ) :
+            this.watchers.addOnce(watcher);
     }
 
     /**
@@ -47,14 +64,150 @@ public final class StorageWatchers implements StorageWatcher {
     public void onValueChange(final Optional<StorageValue> oldValue,
                               final Optional<StorageValue> newValue) {
         this.watchers.onValueChange(oldValue, newValue);
+
+        if (false == oldValue.equals(newValue)) {
+            this.fireBatchWatchers(
+                Lists.of(
+                    StorageValueChange.with(
+                        oldValue,
+                        newValue
+                    )
+                )
+            );
+        }
+    }
+
+    /**
+     * Fires the changes as a single batch, changes where the old and new values are equal are removed, and nothing is
+     * fired if none remain.
+     */
+    @Override
+    public void onValueChanges(final List<StorageValueChange> changes) {
+        Objects.requireNonNull(changes, "changes");
+
+        final List<StorageValueChange> changed = Lists.array();
+
+        for (final StorageValueChange change : changes) {
+            if (false == change.isUnchanged()) {
+                changed.add(change);
+            }
+        }
+
+        if (false == changed.isEmpty()) {
+            for (final StorageValueChange change : changed) {
+                this.watchers.onValueChange(
+                    change.oldValue(),
+                    change.newValue()
+                );
+            }
+
+            this.fireBatchWatchers(
+                Collections.unmodifiableList(changed)
+            );
+        }
     }
 
     private final ValueChangeWatchers<StorageValue> watchers = ValueChangeWatchers.empty();
 
+    // StorageBatchWatcher..............................................................................................
+
+    private synchronized Runnable addBatchWatcher(final StorageBatchWatcher watcher,
+                                                  final boolean once) {
+        if (once) {
+            this.onceBatchWatchers = copyAndAdd(
+                this.onceBatchWatchers,
+                watcher
+            );
+        } else {
+            this.batchWatchers = copyAndAdd(
+                this.batchWatchers,
+                watcher
+            );
+        }
+
+        return () -> this.removeBatchWatcher(
+            watcher,
+            once
+        );
+    }
+
+    private synchronized void removeBatchWatcher(final StorageBatchWatcher watcher,
+                                                 final boolean once) {
+        if (once) {
+            this.onceBatchWatchers = copyAndRemove(
+                this.onceBatchWatchers,
+                watcher
+            );
+        } else {
+            this.batchWatchers = copyAndRemove(
+                this.batchWatchers,
+                watcher
+            );
+        }
+    }
+
+    private void fireBatchWatchers(final List<StorageValueChange> changes) {
+        final List<StorageBatchWatcher> watchers;
+        final List<StorageBatchWatcher> onceWatchers;
+
+        synchronized (this) {
+            watchers = this.batchWatchers;
+            onceWatchers = this.onceBatchWatchers;
+            this.onceBatchWatchers = Lists.empty();
+        }
+
+        for (final StorageBatchWatcher watcher : watchers) {
+            watcher.onValueChanges(changes);
+        }
+
+        for (final StorageBatchWatcher watcher : onceWatchers) {
+            watcher.onValueChanges(changes);
+        }
+    }
+
+    private static List<StorageBatchWatcher> copyAndAdd(final List<StorageBatchWatcher> watchers,
+                                                        final StorageBatchWatcher watcher) {
+        final List<StorageBatchWatcher> copy = Lists.array();
+        copy.addAll(watchers);
+        copy.add(watcher);
+        return copy;
+    }
+
+    private static List<StorageBatchWatcher> copyAndRemove(final List<StorageBatchWatcher> watchers,
+                                                           final StorageBatchWatcher watcher) {
+        final List<StorageBatchWatcher> copy = Lists.array();
+
+        boolean removed = false;
+        for (final StorageBatchWatcher possible : watchers) {
+            if (false == removed && possible == watcher) {
+                removed = true;
+            } else {
+                copy.add(possible);
+            }
+        }
+
+        return removed ?
+            copy :
+            watchers;
+    }
+
+    /**
+     * The {@link StorageBatchWatcher batch watchers}, which are replaced rather than modified so firing may iterate
+     * without copying.
+     */
+    private List<StorageBatchWatcher> batchWatchers = Lists.empty();
+
+    private List<StorageBatchWatcher> onceBatchWatchers = Lists.empty();
+
     // Object...........................................................................................................
 
     @Override
     public String toString() {
-        return this.watchers.toString();
+        final List<StorageBatchWatcher> batchWatchers = this.batchWatchers;
+        final List<StorageBatchWatcher> onceBatchWatchers = this.onceBatchWatchers;
+
+        return batchWatchers.isEmpty() && onceBatchWatchers.isEmpty() ?
+            this.watchers.toString() :
+            this.watchers + " " + batchWatchers + " " + onceBatchWatchers;
     }
 }
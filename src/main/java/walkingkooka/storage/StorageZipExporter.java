@@ -0,0 +1,287 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.environment.AuditInfo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a {@link StoragePath} and all its children as a zip to an {@link OutputStream}. Directories are walked using
+ * {@link StorageContext#listStorage(StoragePath, int, int)} one page at a time, and each file is loaded and written
+ * before the next is loaded, so the subtree is never held in memory.
+ * <br>
+ * If the {@link Storage} supports watchers, any change within the subtree while exporting fails the export, rather than
+ * producing an archive that does not match any point in time.
+ */
+@GwtIncompatible
+final class StorageZipExporter {
+
+    /**
+     * The number of {@link StorageValueInfo} fetched for each {@link StorageContext#listStorage(StoragePath, int, int)}.
+     */
+    final static int PAGE_SIZE = 50;
+
+    static void export(final StoragePath path,
+                       final OutputStream output,
+                       final StorageContext context) throws IOException {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(output, "output");
+        Objects.requireNonNull(context, "context");
+
+        new StorageZipExporter(
+            path,
+            context
+        ).export(output);
+    }
+
+    private StorageZipExporter(final StoragePath path,
+                               final StorageContext context) {
+        this.root = path.withoutTrailingSeparator();
+        this.context = context;
+    }
+
+    private void export(final OutputStream output) throws IOException {
+        final Runnable removeWatcher = this.watch();
+
+        try {
+            final ZipOutputStream zipOutputStream = new ZipOutputStream(output);
+            final StoragePath root = this.root;
+
+            final StorageValue value = root.isRoot() ?
+                null :
+                this.context.loadStorage(root)
+                    .orElse(null);
+
+            if (null != value && value.value().isPresent()) {
+                this.writeFile(
+                    zipOutputStream,
+                    value,
+                    this.context.listStorage(
+                        root,
+                        0,
+                        1
+                    ).stream()
+                        .filter(i -> root.equals(i.path()))
+                        .findFirst()
+                );
+            } else {
+                this.writeDirectory(
+                    zipOutputStream,
+                    root
+                );
+            }
+
+            this.failIfModified();
+
+            // dont close the OutputStream that belongs to the caller
+            zipOutputStream.finish();
+            zipOutputStream.flush();
+        } finally {
+            removeWatcher.run();
+        }
+    }
+
+    private void writeDirectory(final ZipOutputStream zipOutputStream,
+                                final StoragePath directory) throws IOException {
+        final StorageContext context = this.context;
+
+        final StoragePath parent = directory.withTrailingSeparator();
+
+        int offset = 0;
+
+        for (; ; ) {
+            final List<StorageValueInfo> infos = context.listStorage(
+                parent,
+                offset,
+                PAGE_SIZE
+            );
+
+            for (final StorageValueInfo info : infos) {
+                final StoragePath path = info.path();
+
+                // listing a file returns the file itself
+                if (path.equals(directory)) {
+                    continue;
+                }
+
+                final StorageValue value = context.loadStorage(path)
+                    .orElse(null);
+
+                if (null != value && value.value().isPresent()) {
+                    this.writeFile(
+                        zipOutputStream,
+                        value,
+                        Optional.of(info)
+                    );
+                } else {
+                    this.writeDirectory(
+                        zipOutputStream,
+                        path
+                    );
+                }
+            }
+
+            if (infos.size() < PAGE_SIZE) {
+                break;
+            }
+            offset += infos.size();
+        }
+    }
+
+    private void writeFile(final ZipOutputStream zipOutputStream,
+                           final StorageValue value,
+                           final Optional<StorageValueInfo> info) throws IOException {
+        this.failIfModified();
+
+        final Object content = value.value()
+            .get();
+        final Binary binary = content instanceof Binary ?
+            (Binary) content :
+            this.context.convertOrFail(
+                value,
+                StorageBinary.class
+            ).binary();
+
+        final ZipEntry zipEntry = new ZipEntry(
+            this.entryName(
+                value.path()
+            )
+        );
+
+        if (info.isPresent()) {
+            final AuditInfo auditInfo = info.get()
+                .auditInfo();
+
+            zipEntry.setCreationTime(
+                toFileTime(
+                    auditInfo.createdTimestamp()
+                )
+            );
+            zipEntry.setLastModifiedTime(
+                toFileTime(
+                    auditInfo.modifiedTimestamp()
+                )
+            );
+        }
+
+        zipOutputStream.putNextEntry(zipEntry);
+        zipOutputStream.write(
+            binary.value()
+        );
+        zipOutputStream.closeEntry();
+    }
+
+    /**
+     * Entry names are relative to the exported {@link StoragePath}, a single file is exported using just its name.
+     */
+    private String entryName(final StoragePath path) {
+        final StoragePath root = this.root;
+
+        return path.equals(root) ?
+            path.name()
+                .value() :
+            path.value()
+                .substring(
+                    root.isRoot() ?
+                        1 :
+                        root.value().length() + 1
+                );
+    }
+
+    private static FileTime toFileTime(final LocalDateTime dateTime) {
+        return FileTime.from(
+            dateTime.toInstant(ZoneOffset.UTC)
+        );
+    }
+
+    // watcher..........................................................................................................
+
+    private Runnable watch() {
+        Runnable remover;
+
+        try {
+            remover = this.context.addStorageWatcher(
+                new StorageWatcher() {
+                    @Override
+                    public void onValueChange(final Optional<StorageValue> oldValue,
+                                              final Optional<StorageValue> newValue) {
+                        StorageZipExporter.this.onValueChange(oldValue);
+                        StorageZipExporter.this.onValueChange(newValue);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return StorageZipExporter.this.toString();
+                    }
+                }
+            );
+        } catch (final UnsupportedOperationException ignore) {
+            // Storage does not support watchers, cannot detect changes
+            remover = () -> {
+            };
+        }
+
+        return remover;
+    }
+
+    private void onValueChange(final Optional<StorageValue> value) {
+        if (value.isPresent()) {
+            final StoragePath path = value.get()
+                .path();
+
+            if (path.hasPrefix(this.root)) {
+                this.modified = path;
+            }
+        }
+    }
+
+    private void failIfModified() {
+        final StoragePath modified = this.modified;
+        if (null != modified) {
+            throw modified.invalidStoragePathException("Modified during export");
+        }
+    }
+
+    /**
+     * The first {@link StoragePath} within the exported subtree that was modified during the export.
+     */
+    private volatile StoragePath modified;
+
+    private final StoragePath root;
+
+    private final StorageContext context;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "export " + this.root;
+    }
+}
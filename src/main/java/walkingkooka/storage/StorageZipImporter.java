@@ -0,0 +1,253 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.CharSequences;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads a zip from an {@link InputStream} and saves each entry below a {@link StoragePath}. Entries are converted to a
+ * {@link StorageValue} in the same way as a {@link StorageBinary} posted to the storage http handler, keeping the
+ * {@link Binary} if no conversion exists.
+ * <br>
+ * All entries are read and their paths validated before any are saved, so an archive with an invalid entry or an entry
+ * or total size above the maximums saves nothing. The maximums also bound the memory used to hold the entries. The
+ * import is not atomic, if saving an entry fails the entries saved before it remain.
+ */
+@GwtIncompatible
+final class StorageZipImporter {
+
+    /**
+     * The maximum uncompressed size of a single entry used by {@link #importZip(InputStream, StoragePath, StorageContext)}.
+     */
+    final static long DEFAULT_MAX_ENTRY_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The maximum uncompressed size of all entries used by {@link #importZip(InputStream, StoragePath, StorageContext)}.
+     */
+    final static long DEFAULT_MAX_TOTAL_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Imports with {@link #DEFAULT_MAX_ENTRY_SIZE} and {@link #DEFAULT_MAX_TOTAL_SIZE}, returning the number of files saved.
+     */
+    static int importZip(final InputStream input,
+                         final StoragePath path,
+                         final StorageContext context) throws IOException {
+        return importZip(
+            input,
+            path,
+            DEFAULT_MAX_ENTRY_SIZE,
+            DEFAULT_MAX_TOTAL_SIZE,
+            context
+        );
+    }
+
+    /**
+     * Returns the number of files saved, throwing an {@link IOException} if an entry is larger than the maximum entry
+     * size or all entries are larger than the maximum total size.
+     */
+    static int importZip(final InputStream input,
+                         final StoragePath path,
+                         final long maxEntrySize,
+                         final long maxTotalSize,
+                         final StorageContext context) throws IOException {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(path, "path");
+        if (maxEntrySize <= 0) {
+            throw new IllegalArgumentException("Invalid maxEntrySize " + maxEntrySize + " <= 0");
+        }
+        if (maxTotalSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxTotalSize " + maxTotalSize + " <= 0");
+        }
+        Objects.requireNonNull(context, "context");
+
+        final String prefix = path.isRoot() ?
+            "" :
+            path.withoutTrailingSeparator()
+                .value();
+
+        final List<StorageBinary> entries = Lists.array();
+        long totalSize = 0;
+
+        // dont close the InputStream that belongs to the caller
+        final ZipInputStream zipInputStream = new ZipInputStream(input);
+
+        for (; ; ) {
+            final ZipEntry zipEntry = zipInputStream.getNextEntry();
+            if (null == zipEntry) {
+                break;
+            }
+
+            if (zipEntry.isDirectory()) {
+                continue;
+            }
+
+            final String name = zipEntry.getName();
+            if (isOutside(name)) {
+                throw invalidEntry(
+                    name,
+                    path,
+                    null
+                );
+            }
+
+            final StoragePath entryPath;
+            try {
+                entryPath = StoragePath.parse(
+                    prefix +
+                        (name.startsWith(StoragePath.SEPARATOR_STRING) ?
+                            name :
+                            StoragePath.SEPARATOR_STRING + name)
+                );
+            } catch (final IllegalArgumentException cause) {
+                throw invalidEntry(
+                    name,
+                    path,
+                    cause
+                );
+            }
+
+            final byte[] content = read(
+                zipInputStream,
+                name,
+                maxEntrySize,
+                maxTotalSize,
+                totalSize
+            );
+            totalSize += content.length;
+
+            entries.add(
+                StorageBinary.with(
+                    entryPath,
+                    Binary.with(content)
+                )
+            );
+        }
+
+        for (final StorageBinary entry : entries) {
+            context.saveStorage(
+                context.convert(
+                    entry,
+                    StorageValue.class
+                ).orElseLeft(
+                    StorageValue.with(
+                        entry.path()
+                    ).setValue(
+                        Optional.of(
+                            entry.binary()
+                        )
+                    )
+                )
+            );
+        }
+
+        return entries.size();
+    }
+
+    private static InvalidStoragePathException invalidEntry(final String name,
+                                                            final StoragePath path,
+                                                            final IllegalArgumentException cause) {
+        final String message = "Invalid entry " + CharSequences.quoteAndEscape(name);
+
+        return null == cause ?
+            path.invalidStoragePathException(message) :
+            path.invalidStoragePathException(
+                message,
+                cause
+            );
+    }
+
+    /**
+     * Reads the current entry, failing as soon as either maximum is exceeded, so a highly compressed entry is never
+     * fully decompressed.
+     */
+    private static byte[] read(final InputStream input,
+                               final String name,
+                               final long maxEntrySize,
+                               final long maxTotalSize,
+                               final long totalSize) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+
+        for (; ; ) {
+            final int read = input.read(buffer);
+            if (-1 == read) {
+                break;
+            }
+
+            size += read;
+            if (size > maxEntrySize) {
+                throw new IOException("Entry " + CharSequences.quoteAndEscape(name) + " larger than " + maxEntrySize + " bytes");
+            }
+            if (totalSize + size > maxTotalSize) {
+                throw new IOException("Entries larger than " + maxTotalSize + " bytes");
+            }
+
+            content.write(
+                buffer,
+                0,
+                read
+            );
+        }
+
+        return content.toByteArray();
+    }
+
+    private final static int BUFFER_SIZE = 8192;
+
+    /**
+     * Entries with a parent component could escape the target {@link StoragePath}. Backslashes are treated as
+     * separators, as some archivers write Windows paths.
+     */
+    private static boolean isOutside(final String name) {
+        boolean outside = false;
+
+        final String normalized = name.replace(
+            '\\',
+            StoragePath.SEPARATOR_CHAR
+        );
+
+        for (final String component : normalized.split(StoragePath.SEPARATOR_STRING)) {
+            if ("..".equals(component)) {
+                outside = true;
+                break;
+            }
+        }
+
+        return outside;
+    }
+
+    /**
+     * Stop creation
+     */
+    private StorageZipImporter() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -20,7 +20,14 @@ package walkingkooka.storage;
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.reflect.PublicStaticHelper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -61,6 +68,20 @@ public final class Storages implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see StorageZipExporter}
+     */
+    @GwtIncompatible
+    public static void exportZip(final StoragePath path,
+                                 final OutputStream output,
+                                 final StorageContext context) throws IOException {
+        StorageZipExporter.export(
+            path,
+            output,
+            context
+        );
+    }
+
     /**
      * {@see FakeStorage}
      */
@@ -75,6 +96,49 @@ public final class Storages implements PublicStaticHelper {
         return StorageShared2ExpandedHomeDirectory.instance();
     }
 
+    /**
+     * {@see StorageZipImporter}
+     */
+    @GwtIncompatible
+    public static int importZip(final InputStream input,
+                                final StoragePath path,
+                                final StorageContext context) throws IOException {
+        return StorageZipImporter.importZip(
+            input,
+            path,
+            context
+        );
+    }
+
+    /**
+     * {@see StorageZipImporter}
+     */
+    @GwtIncompatible
+    public static int importZip(final InputStream input,
+                                final StoragePath path,
+                                final long maxEntrySize,
+                                final long maxTotalSize,
+                                final StorageContext context) throws IOException {
+        return StorageZipImporter.importZip(
+            input,
+            path,
+            maxEntrySize,
+            maxTotalSize,
+            context
+        );
+    }
+
+    /**
+     * {@see StorageSharedLazy}
+     */
+    public static <C extends StorageContext> Storage<C> lazy(final Function<C, Storage<C>> factory,
+                                                             final Optional<Duration> idleTimeout) {
+        return StorageSharedLazy.with(
+            factory,
+            idleTimeout
+        );
+    }
+
     /**
      * {@see StorageSharedMount}
      */
@@ -101,6 +165,17 @@ public final class Storages implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see StorageShared2Overlay}
+     */
+    public static <C extends StorageContext> Storage<C> overlay(final Storage<C> lower,
+                                                                final Storage<C> upper) {
+        return StorageShared2Overlay.with(
+            lower,
+            upper
+        );
+    }
+
     /**
      * {@see StorageShared2WrapperPrefixed}
      */
@@ -119,6 +194,22 @@ public final class Storages implements PublicStaticHelper {
         return ReadOnlyStorage.with(storage);
     }
 
+    /**
+     * Stops and releases every idle {@link #lazy(Function, Optional)} {@link Storage} which is or is mounted within the
+     * given {@link Storage}, returning the number released. This may be called periodically by a timer, otherwise idle
+     * {@link Storage} are only released as a mount storage selects other mounts.
+     */
+    public static <C extends StorageContext> int releaseIdle(final Storage<C> storage,
+                                                             final LocalDateTime now) {
+        Objects.requireNonNull(storage, "storage");
+        Objects.requireNonNull(now, "now");
+
+        return StorageSharedLazy.releaseIdle(
+            storage,
+            now
+        );
+    }
+
     /**
      * {@see StorageShared2TreeMapStore}
      */
@@ -133,6 +224,33 @@ public final class Storages implements PublicStaticHelper {
         return StorageShared2Value.with(value);
     }
 
+    /**
+     * {@see StorageShared2ValueMemoizingFunction}
+     */
+    public static <C extends StorageContext> Storage<C> valueMemoized(final Function<C, StorageValue> value,
+                                                                      final Function<C, ?> key,
+                                                                      final Optional<Duration> timeToLive) {
+        return StorageShared2Value.with(
+            StorageShared2ValueMemoizingFunction.with(
+                value,
+                key,
+                timeToLive
+            )
+        );
+    }
+
+    /**
+     * {@see StorageShared2WrapperZipFile}
+     */
+    @GwtIncompatible
+    public static <C extends StorageContext> Storage<C> zipFile(final StoragePath archive,
+                                                                final Storage<C> storage) {
+        return StorageShared2WrapperZipFile.with(
+            archive,
+            storage
+        );
+    }
+
     /**
      * Stop creation
      */
@@ -33,7 +33,8 @@ import java.util.Objects;
 
 final class BasicStorageConverterContext implements StorageConverterContext,
     JsonNodeConverterContextDelegator,
-    HasUserDirectoriesDelegator {
+    HasUserDirectoriesDelegator,
+    HasStorageConverterExpressionCache {
 
     static BasicStorageConverterContext with(final Converter<StorageConverterContext> converter,
                                              final HasUserDirectories hasUserDirectories,
@@ -47,7 +48,8 @@ final class BasicStorageConverterContext implements StorageConverterContext,
         return new BasicStorageConverterContext(
             converter,
             hasUserDirectories,
-            mediaTypeDetector,
+            StorageConverterContentTypeDetector.with(mediaTypeDetector),
+            StorageConverterExpressionCache.with(StorageConverterExpressionCache.MAX_SIZE),
             context
         );
     }
@@ -55,12 +57,14 @@ final class BasicStorageConverterContext implements StorageConverterContext,
     private BasicStorageConverterContext(final Converter<StorageConverterContext> converter,
                                          final HasUserDirectories hasUserDirectories,
                                          final MediaTypeDetector mediaTypeDetector,
+                                         final StorageConverterExpressionCache expressionCache,
                                          final JsonNodeConverterContext context) {
         super();
 
         this.converter = converter;
         this.hasUserDirectories = hasUserDirectories;
         this.mediaTypeDetector = mediaTypeDetector;
+        this.expressionCache = expressionCache;
         this.context = context;
     }
 
@@ -86,6 +90,15 @@ final class BasicStorageConverterContext implements StorageConverterContext,
 
     private final HasUserDirectories hasUserDirectories;
 
+    // HasStorageConverterExpressionCache...............................................................................
+
+    @Override
+    public StorageConverterExpressionCache expressionCache() {
+        return this.expressionCache;
+    }
+
+    private final StorageConverterExpressionCache expressionCache;
+
     // JsonNodeConverterContextDelegator................................................................................
 
     @Override
@@ -120,6 +133,7 @@ final class BasicStorageConverterContext implements StorageConverterContext,
                 this.converter,
                 this.hasUserDirectories,
                 this.mediaTypeDetector,
+                this.expressionCache, // same converter, parses the same
                 after
             ) :
             this;
@@ -135,6 +149,7 @@ final class BasicStorageConverterContext implements StorageConverterContext,
                 this.converter,
                 this.hasUserDirectories,
                 this.mediaTypeDetector,
+                this.expressionCache, // same converter, parses the same
                 after
             ) :
             this;
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+/**
+ * A {@link StorageConverterContext} that owns a {@link StorageConverterExpressionCache}, shared only by contexts with the
+ * same converter. Contexts that do not implement this interface parse every <code>*.expression.txt</code> file.
+ */
+interface HasStorageConverterExpressionCache {
+
+    StorageConverterExpressionCache expressionCache();
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import walkingkooka.Binary;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeDetector;
+import walkingkooka.storage.StorageBinary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link MediaTypeDetector} that wraps another, trying the cheapest steps first.
+ * <ol>
+ * <li>A content type remembered for the file extension, when detecting with the filename alone was decisive</li>
+ * <li>Detecting with only the first {@link #SNIFF_SIZE} bytes, which is enough for any magic number</li>
+ * </ol>
+ * Whether a file extension is decisive is learnt the second time it is seen, by detecting with the filename and
+ * {@link Binary#EMPTY}, so a detector that only ever sees a file extension once, such as one for a single request, never
+ * pays for the extra detect. The remembered file extensions are bounded and belong to this detector, so the answers of
+ * one {@link MediaTypeDetector} are never given to the contexts of another.
+ */
+final class StorageConverterContentTypeDetector implements MediaTypeDetector {
+
+    /**
+     * The maximum number of bytes given to the wrapped {@link MediaTypeDetector}.
+     */
+    final static int SNIFF_SIZE = 4 * 1024;
+
+    /**
+     * The maximum number of file extensions that are remembered.
+     */
+    final static int MAX_SIZE = 256;
+
+    static StorageConverterContentTypeDetector with(final MediaTypeDetector detector) {
+        return with(
+            MAX_SIZE,
+            detector
+        );
+    }
+
+    static StorageConverterContentTypeDetector with(final int maxSize,
+                                                    final MediaTypeDetector detector) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+        Objects.requireNonNull(detector, "detector");
+
+        return new StorageConverterContentTypeDetector(
+            maxSize,
+            detector
+        );
+    }
+
+    private StorageConverterContentTypeDetector(final int maxSize,
+                                                final MediaTypeDetector detector) {
+        super();
+        this.maxSize = maxSize;
+        this.detector = detector;
+
+        // access order so the least recently used entry is removed first
+        this.fileExtensionToContentType = new LinkedHashMap<String, Optional<MediaType>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Optional<MediaType>> eldest) {
+                return this.size() > StorageConverterContentTypeDetector.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns a content type other than {@link MediaType#BINARY} already on the {@link StorageBinary}, such as one
+     * persisted when it was saved, otherwise detects with the filename and only the first {@link #SNIFF_SIZE} bytes.
+     */
+    static MediaType contentType(final StorageBinary storageBinary,
+                                 final StorageConverterContext context) {
+        MediaType contentType = storageBinary.contentType()
+            .filter(c -> false == MediaType.BINARY.equals(c))
+            .orElse(null);
+
+        if (null == contentType) {
+            contentType = context.detect(
+                storageBinary.path()
+                    .value(),
+                sniff(
+                    storageBinary.binary()
+                )
+            );
+        }
+
+        return contentType;
+    }
+
+    // MediaTypeDetector................................................................................................
+
+    @Override
+    public MediaType detect(final String filename,
+                            final Binary content) {
+        MediaType contentType = null;
+
+        final String fileExtension = fileExtension(filename);
+        if (null != fileExtension) {
+            contentType = this.fileExtension(
+                fileExtension,
+                filename
+            );
+        }
+
+        if (null == contentType) {
+            contentType = this.detector.detect(
+                filename,
+                sniff(content)
+            );
+        }
+
+        return contentType;
+    }
+
+    /**
+     * Returns the text after the last dot of the last name in the filename or null if there is none.
+     */
+    private static String fileExtension(final String filename) {
+        final int slash = filename.lastIndexOf('/');
+        final int dot = filename.lastIndexOf('.');
+
+        return dot > slash + 1 && dot < filename.length() - 1 ?
+            filename.substring(dot + 1) :
+            null;
+    }
+
+    /**
+     * Returns the content type for the file extension or null if the file extension alone is not decisive or was not
+     * seen before.
+     */
+    private MediaType fileExtension(final String fileExtension,
+                                    final String filename) {
+        Optional<MediaType> contentType;
+        final boolean seen;
+
+        synchronized (this.fileExtensionToContentType) {
+            contentType = this.fileExtensionToContentType.get(fileExtension);
+            seen = null != contentType || this.fileExtensionToContentType.containsKey(fileExtension);
+            if (false == seen) {
+                this.fileExtensionToContentType.put(
+                    fileExtension,
+                    null // seen once, not probed
+                );
+            }
+        }
+
+        if (null == contentType && seen) {
+            contentType = Optional.ofNullable(
+                this.detector.detect(
+                    filename,
+                    Binary.EMPTY
+                )
+            ).filter(c -> false == MediaType.BINARY.equals(c));
+
+            synchronized (this.fileExtensionToContentType) {
+                this.fileExtensionToContentType.put(
+                    fileExtension,
+                    contentType
+                );
+            }
+        }
+
+        return null != contentType ?
+            contentType.orElse(null) :
+            null;
+    }
+
+    private final MediaTypeDetector detector;
+
+    /**
+     * Returns the leading {@link #SNIFF_SIZE} bytes of the {@link Binary}, reading only those bytes from
+     * {@link Binary#inputStream()}.
+     */
+    static Binary sniff(final Binary binary) {
+        final Binary sniffed;
+
+        if (binary.size() <= SNIFF_SIZE) {
+            sniffed = binary;
+        } else {
+            final byte[] bytes = new byte[SNIFF_SIZE];
+
+            try (final InputStream input = binary.inputStream()) {
+                int offset = 0;
+                while (offset < SNIFF_SIZE) {
+                    final int count = input.read(
+                        bytes,
+                        offset,
+                        SNIFF_SIZE - offset
+                    );
+                    if (-1 == count) {
+                        break;
+                    }
+                    offset += count;
+                }
+            } catch (final IOException never) {
+                throw new IllegalStateException(never);
+            }
+
+            sniffed = Binary.with(bytes);
+        }
+
+        return sniffed;
+    }
+
+    int size() {
+        synchronized (this.fileExtensionToContentType) {
+            return this.fileExtensionToContentType.size();
+        }
+    }
+
+    private final int maxSize;
+
+    /**
+     * The content type detected for each file extension, empty when the file extension alone is not decisive and null
+     * when it was seen once and not probed yet.
+     */
+    private final Map<String, Optional<MediaType>> fileExtensionToContentType;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.size() + "/" + this.maxSize;
+    }
+}
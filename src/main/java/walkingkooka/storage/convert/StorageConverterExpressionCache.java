@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded least recently used cache of parsed {@link Expression}, keyed by the text of an <code>*.expression.txt</code>
+ * file and the {@link StorageConverterContext} state that changes how it is parsed, the {@link ExpressionNumberKind} of
+ * number literals, the {@link Locale} and the value separator between function parameters. Each instance is owned by a
+ * {@link HasStorageConverterExpressionCache} context, and never shared between contexts with different converters, so a
+ * file that is loaded again with the same context is only parsed once. {@link Expression} are immutable and safe to share.
+ */
+final class StorageConverterExpressionCache {
+
+    /**
+     * The maximum number of {@link Expression} that are cached.
+     */
+    final static int MAX_SIZE = 256;
+
+    /**
+     * Texts longer than this are never cached so a few large files cannot hold a lot of memory.
+     */
+    final static int MAX_TEXT_LENGTH = 32 * 1024;
+
+    static StorageConverterExpressionCache with(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+
+        return new StorageConverterExpressionCache(maxSize);
+    }
+
+    private StorageConverterExpressionCache(final int maxSize) {
+        super();
+        this.maxSize = maxSize;
+
+        // access order so the least recently used entry is removed first
+        this.keyToExpression = new LinkedHashMap<Key, Expression>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Expression> eldest) {
+                return this.size() > StorageConverterExpressionCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached {@link Expression} or null if the text has not been parsed with the same context state or was
+     * evicted.
+     */
+    Expression get(final String text,
+                   final StorageConverterContext context) {
+        final Key key = Key.with(
+            text,
+            context
+        );
+
+        synchronized (this.keyToExpression) {
+            return this.keyToExpression.get(key);
+        }
+    }
+
+    void put(final String text,
+             final StorageConverterContext context,
+             final Expression expression) {
+        if (text.length() <= MAX_TEXT_LENGTH) {
+            final Key key = Key.with(
+                text,
+                context
+            );
+
+            synchronized (this.keyToExpression) {
+                this.keyToExpression.put(
+                    key,
+                    expression
+                );
+            }
+        }
+    }
+
+    int size() {
+        synchronized (this.keyToExpression) {
+            return this.keyToExpression.size();
+        }
+    }
+
+    private final int maxSize;
+
+    private final Map<Key, Expression> keyToExpression;
+
+    /**
+     * The text and the context state that changes the {@link Expression} it is parsed into.
+     */
+    private static final class Key {
+
+        static Key with(final String text,
+                        final StorageConverterContext context) {
+            return new Key(
+                text,
+                context.expressionNumberKind(),
+                context.locale(),
+                context.valueSeparator()
+            );
+        }
+
+        private Key(final String text,
+                    final ExpressionNumberKind expressionNumberKind,
+                    final Locale locale,
+                    final char valueSeparator) {
+            this.text = text;
+            this.expressionNumberKind = expressionNumberKind;
+            this.locale = locale;
+            this.valueSeparator = valueSeparator;
+        }
+
+        private final String text;
+
+        private final ExpressionNumberKind expressionNumberKind;
+
+        private final Locale locale;
+
+        private final char valueSeparator;
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                this.text,
+                this.expressionNumberKind,
+                this.locale,
+                this.valueSeparator
+            );
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other ||
+                other instanceof Key && this.equals0((Key) other);
+        }
+
+        private boolean equals0(final Key other) {
+            return this.text.equals(other.text) &&
+                this.expressionNumberKind == other.expressionNumberKind &&
+                Objects.equals(this.locale, other.locale) &&
+                this.valueSeparator == other.valueSeparator;
+        }
+
+        @Override
+        public String toString() {
+            return this.text;
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.size() + "/" + this.maxSize;
+    }
+}
@@ -28,7 +28,8 @@ import walkingkooka.storage.StorageValue;
 import java.util.Optional;
 
 /**
- * A {@link StorageConverterStorageBinaryToStorageValue} that keeps the {@link Binary} and detects the {@link MediaType}.
+ * A {@link StorageConverterStorageBinaryToStorageValue} that keeps the {@link Binary} and detects the {@link MediaType}
+ * using {@link StorageConverterContentTypeDetector}.
  * <br>
  * This should be the last with other {@link StorageConverterStorageBinaryToStorageValue} preceeding it in a collection.
  */
@@ -69,9 +70,9 @@ final class StorageConverterStorageBinaryToStorageValueBinary<C extends StorageC
                     Optional.of(binary)
                 ).setContentType(
                     Optional.of(
-                        context.detect(
-                            path.value(),
-                            binary
+                        StorageConverterContentTypeDetector.contentType(
+                            storageBinary,
+                            context
                         )
                     )
                 ),
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import walkingkooka.Cast;
+import walkingkooka.Either;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.io.FileExtension;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.storage.StorageBinary;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link StorageConverterStorageBinaryToStorageValue} that indexes each {@link StorageConverterStorageBinaryToStorageValueShared}
+ * by its {@link FileExtension} and {@link MediaType}, picking the converter for a {@link StorageBinary} with a lookup
+ * rather than testing each in turn.
+ * <ul>
+ * <li>A converter matching the longest file extension of the {@link StoragePath}, so <code>add.expression.txt</code> picks
+ * the <code>expression.txt</code> converter before the <code>txt</code> converter</li>
+ * <li>A converter matching the content type, ignoring any parameters such as the charset</li>
+ * <li>Otherwise {@link StorageConverterStorageBinaryToStorageValueBinary}</li>
+ * </ul>
+ */
+final class StorageConverterStorageBinaryToStorageValueRouter<C extends StorageConverterContext> extends StorageConverterStorageBinaryToStorageValue<C> {
+
+    /**
+     * Type safe getter.
+     */
+    static <C extends StorageConverterContext> StorageConverterStorageBinaryToStorageValueRouter<C> instance() {
+        return Cast.to(INSTANCE);
+    }
+
+    /**
+     * Singleton
+     */
+    private final static StorageConverterStorageBinaryToStorageValueRouter INSTANCE = new StorageConverterStorageBinaryToStorageValueRouter<>(
+        Cast.to(
+            Lists.of(
+                StorageConverterStorageBinaryToStorageValueSharedCsv.instance(),
+                StorageConverterStorageBinaryToStorageValueSharedExpression.instance(),
+                StorageConverterStorageBinaryToStorageValueSharedJson.instance(),
+                StorageConverterStorageBinaryToStorageValueSharedProperties.instance(),
+                StorageConverterStorageBinaryToStorageValueSharedTsv.instance(),
+                StorageConverterStorageBinaryToStorageValueSharedTxt.instance()
+            )
+        )
+    );
+
+    private StorageConverterStorageBinaryToStorageValueRouter(final List<StorageConverterStorageBinaryToStorageValueShared<C>> converters) {
+        super();
+
+        final Map<String, StorageConverterStorageBinaryToStorageValueShared<C>> fileExtensionToConverter = Maps.ordered();
+        final Map<String, StorageConverterStorageBinaryToStorageValueShared<C>> contentTypeToConverter = Maps.hash();
+
+        // the first converter for a key wins, the same as a Converters#collection
+        for (final StorageConverterStorageBinaryToStorageValueShared<C> converter : converters) {
+            fileExtensionToConverter.putIfAbsent(
+                converter.fileExtension()
+                    .value(),
+                converter
+            );
+            contentTypeToConverter.putIfAbsent(
+                contentTypeKey(
+                    converter.contentType()
+                ),
+                converter
+            );
+        }
+
+        this.fileExtensionToConverter = fileExtensionToConverter;
+        this.contentTypeToConverter = contentTypeToConverter;
+    }
+
+    // always matched, a StorageBinary without a known file extension or content type is kept as a Binary
+    @Override
+    boolean testStorageBinary(final StorageBinary storageBinary) {
+        return true;
+    }
+
+    @Override
+    <T> Either<T, String> storageBinaryToStorageValue(final StorageBinary storageBinary,
+                                                      final Class<T> type,
+                                                      final C context) {
+        return this.converter(storageBinary)
+            .storageBinaryToStorageValue(
+                storageBinary,
+                type,
+                context
+            );
+    }
+
+    private StorageConverterStorageBinaryToStorageValue<C> converter(final StorageBinary storageBinary) {
+        StorageConverterStorageBinaryToStorageValue<C> converter = fileExtensionConverter(
+            storageBinary.path(),
+            this.fileExtensionToConverter
+        );
+
+        if (null == converter) {
+            final MediaType contentType = storageBinary.contentType()
+                .orElse(null);
+            if (null != contentType) {
+                converter = this.contentTypeToConverter.get(
+                    contentTypeKey(contentType)
+                );
+            }
+        }
+
+        return null != converter ?
+            converter :
+            StorageConverterStorageBinaryToStorageValueBinary.instance();
+    }
+
+    private final Map<String, StorageConverterStorageBinaryToStorageValueShared<C>> fileExtensionToConverter;
+
+    private final Map<String, StorageConverterStorageBinaryToStorageValueShared<C>> contentTypeToConverter;
+
+    /**
+     * Tries each file extension of the {@link StoragePath} name from the longest to the shortest, so a compound extension
+     * such as <code>expression.txt</code> wins over <code>txt</code>. Returns null if none match.
+     */
+    static <T> T fileExtensionConverter(final StoragePath path,
+                                        final Map<String, T> fileExtensionToConverter) {
+        final String name = path.name()
+            .value();
+
+        T converter = null;
+
+        int dot = name.indexOf('.');
+        while (null == converter && -1 != dot) {
+            converter = fileExtensionToConverter.get(
+                name.substring(dot + 1)
+            );
+            dot = name.indexOf('.', dot + 1);
+        }
+
+        return converter;
+    }
+
+    /**
+     * Content types are keyed by their type and sub type, so parameters such as the charset do not miss.
+     */
+    static String contentTypeKey(final MediaType contentType) {
+        return (contentType.type() + "/" + contentType.subType())
+            .toLowerCase();
+    }
+
+    // Object...........................................................................................................
+
+    // StorageBinary *.csv *.expression.txt *.json *.properties *.tsv *.txt | * to StorageValue
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append(StorageBinary.class.getSimpleName());
+
+        for (final String fileExtension : this.fileExtensionToConverter.keySet()) {
+            b.append(" *.")
+                .append(fileExtension);
+        }
+
+        return b.append(" | * to ")
+            .append(StorageValue.class.getSimpleName())
+            .toString();
+    }
+}
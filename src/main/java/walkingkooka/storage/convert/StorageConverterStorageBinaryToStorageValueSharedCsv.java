@@ -70,8 +70,9 @@ final class StorageConverterStorageBinaryToStorageValueSharedCsv<C extends Stora
         if (text.isRight()) {
             result = Cast.to(text);
         } else {
+            // convert the already decoded text, rather than decoding the StorageBinary again
             final Either<CsvStringList, String> csv = context.convert(
-                storageBinary,
+                text.leftValue(),
                 CsvStringList.class
             );
 
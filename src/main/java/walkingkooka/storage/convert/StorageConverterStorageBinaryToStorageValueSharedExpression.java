@@ -27,7 +27,9 @@ import walkingkooka.tree.expression.Expression;
 
 /**
  * Converts {@link FileExtension#EXPRESSION} files to {@link Expression} by converting the {@link StorageBinary} to
- * {@link String} then to {@link walkingkooka.tree.expression.Expression}.
+ * {@link String} then to {@link walkingkooka.tree.expression.Expression}. Parsed expressions are kept in the
+ * {@link StorageConverterExpressionCache} of a {@link HasStorageConverterExpressionCache} context so the same text is
+ * only parsed once by that context.
  */
 final class StorageConverterStorageBinaryToStorageValueSharedExpression<C extends StorageConverterContext> extends StorageConverterStorageBinaryToStorageValueShared<C> {
 
@@ -71,13 +73,38 @@ final class StorageConverterStorageBinaryToStorageValueSharedExpression<C extend
         if (text.isRight()) {
             storageValue = Cast.to(text);
         } else {
-            // parse String holding expression into an Expression etc
-            final Either<Expression, String> expression = context.convert(
-                text.leftValue(),
-                Expression.class
-            );
+            final String expressionText = text.leftValue();
+            final StorageConverterExpressionCache cache = context instanceof HasStorageConverterExpressionCache ?
+                ((HasStorageConverterExpressionCache) context).expressionCache() :
+                null;
+
+            final Expression cached = null != cache ?
+                cache.get(
+                    expressionText,
+                    context
+                ) :
+                null;
+
+            final Either<Expression, String> expression;
+            if (null != cached) {
+                expression = Either.left(cached);
+            } else {
+                // parse String holding expression into an Expression etc
+                expression = context.convert(
+                    expressionText,
+                    Expression.class
+                );
+                if (null != cache && expression.isLeft()) {
+                    cache.put(
+                        expressionText,
+                        context,
+                        expression.leftValue()
+                    );
+                }
+            }
+
             if (expression.isRight()) {
-                storageValue = Cast.to(text);
+                storageValue = Cast.to(expression);
             } else {
                 storageValue = this.successfulConversion(
                     storageBinary.path(),
@@ -22,13 +22,16 @@ import walkingkooka.Either;
 import walkingkooka.io.FileExtension;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.storage.StorageBinary;
+import walkingkooka.storage.StorageJsonReader;
 import walkingkooka.tree.json.JsonNode;
 
+import java.nio.charset.StandardCharsets;
 
 /**
  * Converts {@link FileExtension#JSON} files in several steps,
  * <ul>
- * <li>Convert {@link StorageBinary} to a {@link String}, which is expected to hold JSON</li>
+ * <li>Convert {@link StorageBinary} to a {@link String}, which is expected to hold JSON, unless the charset is UTF-8
+ * when the bytes are read directly by {@link StorageJsonReader}</li>
  * <li>Parse but not convert {@link String} to a {@link JsonNode, converting will always create a {@link walkingkooka.tree.json.JsonString}</li>
  * </ul>
  */
@@ -63,22 +66,35 @@ final class StorageConverterStorageBinaryToStorageValueSharedJson<C extends Stor
                                                       final C context) {
         final Either<T, String> result;
 
-        // convert Binary to String
-        final Either<String, String> text = context.convert(
-            storageBinary,
-            String.class
-        );
-        if (text.isRight()) {
-            result = Cast.to(text);
-        } else {
+        if (StandardCharsets.UTF_8.equals(context.charset())) {
+            // read the bytes directly, skipping the String holding the entire document
             result = this.successfulConversion(
                 storageBinary.path(),
                 type,
-                JsonNode.parse(
-                    text.leftValue()
-                ),
+                StorageJsonReader.read(
+                    storageBinary.binary(),
+                    StorageJsonReader.DOCUMENT
+                ).get(),
                 storageBinary.contentType()
             );
+        } else {
+            // convert Binary to String
+            final Either<String, String> text = context.convert(
+                storageBinary,
+                String.class
+            );
+            if (text.isRight()) {
+                result = Cast.to(text);
+            } else {
+                result = this.successfulConversion(
+                    storageBinary.path(),
+                    type,
+                    JsonNode.parse(
+                        text.leftValue()
+                    ),
+                    storageBinary.contentType()
+                );
+            }
         }
 
         return result;
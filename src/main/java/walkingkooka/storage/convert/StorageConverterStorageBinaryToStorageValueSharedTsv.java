@@ -70,8 +70,9 @@ final class StorageConverterStorageBinaryToStorageValueSharedTsv<C extends Stora
         if (text.isRight()) {
             result = Cast.to(text);
         } else {
+            // convert the already decoded text, rather than decoding the StorageBinary again
             final Either<TsvStringList, String> tsv = context.convert(
-                storageBinary,
+                text.leftValue(),
                 TsvStringList.class
             );
 
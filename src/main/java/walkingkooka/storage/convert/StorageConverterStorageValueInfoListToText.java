@@ -19,11 +19,10 @@ package walkingkooka.storage.convert;
 
 import walkingkooka.Cast;
 import walkingkooka.Either;
-import walkingkooka.storage.StorageValueInfo;
 import walkingkooka.storage.StorageValueInfoList;
-import walkingkooka.text.LineEnding;
+import walkingkooka.storage.StorageValueInfoWriters;
 
-import java.util.stream.Collectors;
+import java.io.IOException;
 
 /**
  * A {@link walkingkooka.convert.Converter} that converts a {@link StorageValueInfoList} into lines of text, with one
@@ -62,18 +61,21 @@ final class StorageConverterStorageValueInfoListToText<C extends StorageConverte
     public <T> Either<T, String> doConvert(final Object value,
                                            final Class<T> type,
                                            final C context) {
-        final LineEnding lineEnding = context.lineEnding();
+        final StorageValueInfoList infos = (StorageValueInfoList) value;
+        final StringBuilder text = new StringBuilder();
+
+        try {
+            StorageValueInfoWriters.text(
+                infos,
+                context.lineEnding(),
+                text
+            );
+        } catch (final IOException never) {
+            throw new IllegalStateException(never);
+        }
 
         return this.successfulConversion(
-            ((StorageValueInfoList)value).stream()
-            .map(StorageValueInfo::text)
-            .collect(
-                Collectors.joining(
-                    lineEnding, // between
-                    "", // prefix
-                    lineEnding // suffix
-                )
-            ),
+            text.toString(),
             type
         );
     }
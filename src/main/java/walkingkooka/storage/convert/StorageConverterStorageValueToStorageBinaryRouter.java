@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import walkingkooka.Cast;
+import walkingkooka.Either;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.io.FileExtension;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.storage.StorageBinary;
+import walkingkooka.storage.StorageValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link walkingkooka.convert.Converter} that indexes each {@link StorageConverterStorageValueToStorageBinaryShared}
+ * by its {@link FileExtension} and {@link MediaType}, so only the converters for the {@link StorageValue} are tried
+ * rather than testing each in turn.
+ * <ul>
+ * <li>A converter matching the longest file extension of the {@link walkingkooka.storage.StoragePath}</li>
+ * <li>A converter matching the content type, ignoring any parameters such as the charset</li>
+ * <li>Otherwise {@link StorageConverterStorageValueToStorageBinaryBinary}</li>
+ * </ul>
+ * A converter that cannot convert the value, such as a JSON converter given a value that cannot be marshalled, is
+ * skipped for the next.
+ */
+final class StorageConverterStorageValueToStorageBinaryRouter<C extends StorageConverterContext> extends StorageConverter<C> {
+
+    /**
+     * Type safe getter.
+     */
+    static <C extends StorageConverterContext> StorageConverterStorageValueToStorageBinaryRouter<C> instance() {
+        return Cast.to(INSTANCE);
+    }
+
+    /**
+     * Singleton
+     */
+    private final static StorageConverterStorageValueToStorageBinaryRouter INSTANCE = new StorageConverterStorageValueToStorageBinaryRouter<>(
+        Cast.to(
+            Lists.of(
+                StorageConverterStorageValueToStorageBinarySharedCsv.instance(),
+                StorageConverterStorageValueToStorageBinarySharedExpression.instance(),
+                StorageConverterStorageValueToStorageBinarySharedJson.instance(),
+                StorageConverterStorageValueToStorageBinarySharedProperties.instance(),
+                StorageConverterStorageValueToStorageBinarySharedTsv.instance(),
+                StorageConverterStorageValueToStorageBinarySharedTxt.instance()
+            )
+        )
+    );
+
+    private StorageConverterStorageValueToStorageBinaryRouter(final List<StorageConverterStorageValueToStorageBinaryShared<C>> converters) {
+        super();
+
+        final Map<String, StorageConverterStorageValueToStorageBinaryShared<C>> fileExtensionToConverter = Maps.ordered();
+        final Map<String, StorageConverterStorageValueToStorageBinaryShared<C>> contentTypeToConverter = Maps.hash();
+
+        // the first converter for a key wins, the same as a Converters#collection
+        for (final StorageConverterStorageValueToStorageBinaryShared<C> converter : converters) {
+            fileExtensionToConverter.putIfAbsent(
+                converter.fileExtension()
+                    .value(),
+                converter
+            );
+            contentTypeToConverter.putIfAbsent(
+                StorageConverterStorageBinaryToStorageValueRouter.contentTypeKey(
+                    converter.contentType()
+                ),
+                converter
+            );
+        }
+
+        this.fileExtensionToConverter = fileExtensionToConverter;
+        this.contentTypeToConverter = contentTypeToConverter;
+    }
+
+    @Override
+    public boolean canConvert(final Object value,
+                              final Class<?> type,
+                              final C context) {
+        return value instanceof StorageValue &&
+            null != this.converter(
+                (StorageValue) value,
+                type,
+                context
+            );
+    }
+
+    @Override
+    public <T> Either<T, String> doConvert(final Object value,
+                                           final Class<T> type,
+                                           final C context) {
+        final StorageConverter<C> converter = this.converter(
+            (StorageValue) value,
+            type,
+            context
+        );
+
+        return null != converter ?
+            converter.doConvert(
+                value,
+                type,
+                context
+            ) :
+            this.failConversion(
+                value,
+                type
+            );
+    }
+
+    /**
+     * Returns the first converter that can convert the {@link StorageValue} or null if none can.
+     */
+    private StorageConverter<C> converter(final StorageValue storageValue,
+                                          final Class<?> type,
+                                          final C context) {
+        StorageConverter<C> converter = StorageConverterStorageBinaryToStorageValueRouter.fileExtensionConverter(
+            storageValue.path(),
+            this.fileExtensionToConverter
+        );
+        if (null != converter && false == converter.canConvert(storageValue, type, context)) {
+            converter = null;
+        }
+
+        if (null == converter) {
+            final MediaType contentType = storageValue.contentType()
+                .orElse(null);
+            if (null != contentType) {
+                converter = this.contentTypeToConverter.get(
+                    StorageConverterStorageBinaryToStorageValueRouter.contentTypeKey(contentType)
+                );
+                if (null != converter && false == converter.canConvert(storageValue, type, context)) {
+                    converter = null;
+                }
+            }
+        }
+
+        if (null == converter) {
+            converter = StorageConverterStorageValueToStorageBinaryBinary.instance();
+            if (false == converter.canConvert(storageValue, type, context)) {
+                converter = null;
+            }
+        }
+
+        return converter;
+    }
+
+    private final Map<String, StorageConverterStorageValueToStorageBinaryShared<C>> fileExtensionToConverter;
+
+    private final Map<String, StorageConverterStorageValueToStorageBinaryShared<C>> contentTypeToConverter;
+
+    // Object...........................................................................................................
+
+    // *.csv *.expression.txt *.json *.properties *.tsv *.txt | * to StorageBinary
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+
+        for (final String fileExtension : this.fileExtensionToConverter.keySet()) {
+            b.append("*.")
+                .append(fileExtension)
+                .append(' ');
+        }
+
+        return b.append("| * to ")
+            .append(StorageBinary.class.getSimpleName())
+            .toString();
+    }
+}
@@ -25,6 +25,13 @@ import walkingkooka.reflect.PublicStaticHelper;
  */
 public final class StorageConverters implements PublicStaticHelper {
 
+    /**
+     * {see StorageConverterStorageBinaryToStorageValueRouter}
+     */
+    public static <C extends StorageConverterContext> Converter<C> storageBinaryToStorageValue() {
+        return StorageConverterStorageBinaryToStorageValueRouter.instance();
+    }
+
     /**
      * {see StorageConverterStorageBinaryToStorageValueBinary}
      */
@@ -81,6 +88,13 @@ public final class StorageConverters implements PublicStaticHelper {
         return StorageConverterStorageValueInfoListToText.instance();
     }
 
+    /**
+     * {@see StorageConverterStorageValueToStorageBinaryRouter}
+     */
+    public static <C extends StorageConverterContext> Converter<C> storageValueToStorageBinary() {
+        return StorageConverterStorageValueToStorageBinaryRouter.instance();
+    }
+
     /**
      * {@see StorageConverterStorageValueToStorageBinaryBinary}
      */
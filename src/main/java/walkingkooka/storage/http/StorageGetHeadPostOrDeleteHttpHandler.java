@@ -17,6 +17,7 @@
 
 package walkingkooka.storage.http;
 
+import walkingkooka.Binary;
 import walkingkooka.Either;
 import walkingkooka.net.UrlPath;
 import walkingkooka.net.header.Accept;
@@ -25,6 +26,7 @@ import walkingkooka.net.header.HasHateosContentType;
 import walkingkooka.net.header.HttpHeaderName;
 import walkingkooka.net.header.MediaType;
 import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpMethod;
 import walkingkooka.net.http.HttpStatusCode;
 import walkingkooka.net.http.server.GetHeadPostOrDeleteHttpHandler;
 import walkingkooka.net.http.server.HttpRequest;
@@ -34,12 +36,18 @@ import walkingkooka.storage.StorageBinary;
 import walkingkooka.storage.StoragePath;
 import walkingkooka.storage.StorageValue;
 import walkingkooka.storage.StorageValueInfo;
-import walkingkooka.storage.StorageValueInfoList;
-import walkingkooka.tree.json.JsonNode;
-
+import walkingkooka.storage.StorageValueInfoWriters;
+import walkingkooka.storage.StorageValueStat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * A {@link walkingkooka.net.http.server.HttpHandler} that handles all {@link walkingkooka.storage.Storage} CRUD operations.
@@ -94,36 +102,73 @@ final class StorageGetHeadPostOrDeleteHttpHandler<C extends StorageHttpHandlerCo
                 );
 
             } else {
-                loadStorageValue(
-                    path,
-                    accept,
-                    request,
-                    response,
-                    context
-                );
+                if (HttpMethod.HEAD.equals(request.method())) {
+                    statStorageValue(
+                        path,
+                        accept,
+                        request,
+                        response,
+                        context
+                    );
+                } else {
+                    loadStorageValue(
+                        path,
+                        accept,
+                        true, // body
+                        request,
+                        response,
+                        context
+                    );
+                }
             }
             //}
         }
     }
 
     /**
-     * Supports producing a JSON response holding the {@link walkingkooka.storage.Storage} listing.
+     * Newline delimited JSON, with one {@link StorageValueInfo} per line.
+     */
+    final static MediaType NDJSON = MediaType.parse("application/x-ndjson");
+
+    /**
+     * Supports producing a JSON, NDJSON or plain text response holding the {@link walkingkooka.storage.Storage} listing.
      */
     private void acceptAndListStorage(final StoragePath path,
                                       final Accept accept,
                                       final HttpRequest request,
                                       final HttpResponse response,
                                       final C context) {
-        if (false == accept.test(HATEOS_CONTENT_TYPE)) {
+        final MediaType contentType;
+
+        if (accept.test(HATEOS_CONTENT_TYPE)) {
+            contentType = HATEOS_CONTENT_TYPE;
+        } else if (accept.test(NDJSON)) {
+            contentType = NDJSON;
+        } else if (accept.test(MediaType.TEXT_PLAIN)) {
+            contentType = MediaType.TEXT_PLAIN;
+        } else {
+            contentType = null;
+        }
+
+        if (null == contentType) {
             response.setStatus(
                 HttpStatusCode.BAD_REQUEST.setMessage(
-                    accept.requireIncompatibleMessage(HATEOS_CONTENT_TYPE)
+                    HttpHeaderName.ACCEPT +
+                        ": Got " +
+                        HATEOS_CONTENT_TYPE +
+                        ", " +
+                        NDJSON +
+                        " or " +
+                        MediaType.TEXT_PLAIN +
+                        " require " +
+                        accept
                 )
             );
             response.clearEntity();
         } else {
             listStorage(
                 path,
+                contentType,
                 request,
                 response,
                 context
@@ -132,9 +177,12 @@ final class StorageGetHeadPostOrDeleteHttpHandler<C extends StorageHttpHandlerCo
     }
 
     /**
-     * Assumes the request content type has been satisfied, and produces the listing as a JSON response.
+     * Assumes the request content type has been satisfied, and produces the listing as a JSON, NDJSON or text response.
+     * The listing is encoded as UTF-8 bytes as it is written, without first creating a
+     * {@link walkingkooka.tree.json.JsonNode} or {@link String}.
      */
     private void listStorage(final StoragePath path,
+                             final MediaType contentType,
                              final HttpRequest request,
                              final HttpResponse response,
                              final C context) {
@@ -156,61 +204,132 @@ final class StorageGetHeadPostOrDeleteHttpHandler<C extends StorageHttpHandlerCo
             HttpStatusCode.OK.status()
         );
 
-        // convert StorageValueInfoList to JsonNode and then Binary
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+            ESTIMATED_INFO_LENGTH * Math.max(
+                1,
+                infos.size()
+            )
+        );
+
+        try (final Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            if (HATEOS_CONTENT_TYPE.equals(contentType)) {
+                StorageValueInfoWriters.json(
+                    infos,
+                    context.indentation(),
+                    context.lineEnding(),
+                    writer
+                );
+            } else if (NDJSON.equals(contentType)) {
+                StorageValueInfoWriters.ndjson(
+                    infos,
+                    writer
+                );
+            } else {
+                StorageValueInfoWriters.text(
+                    infos,
+                    context.lineEnding(),
+                    writer
+                );
+            }
+        } catch (final IOException never) {
+            throw new IllegalStateException(never);
+        }
+
         response.setEntity(
-            HttpEntity.EMPTY.setContentType(HATEOS_CONTENT_TYPE)
-                .setBodyText(
-                    context.convertOrFail(
-                        StorageValueInfoList.with(infos),
-                        JsonNode.class
-                    ).toJsonText(context)
-                ).setContentLength()
+            HttpEntity.EMPTY.setContentType(
+                contentType.setCharset(CharsetName.UTF_8)
+            ).setBody(
+                Binary.with(
+                    bytes.toByteArray()
+                )
+            ).setContentLength()
         );
     }
 
     /**
-     * Loads the identified {@link StorageValue} and converts that to the requested {@link MediaType}.
+     * The approximate length of a single {@link StorageValueInfo} as JSON, used to size the body buffer.
      */
-    private void loadStorageValue(final StoragePath path,
+    private final static int ESTIMATED_INFO_LENGTH = 256;
+
+    /**
+     * Answers a HEAD from the {@link StorageValueStat} when it has the size and content type of a value held as bytes,
+     * which GET sends unchanged. Otherwise the value is loaded and converted exactly as GET would, without the body.
+     */
+    private void statStorageValue(final StoragePath path,
                                   final Accept accept,
                                   final HttpRequest request,
                                   final HttpResponse response,
                                   final C context) {
-        response.setVersion(request.protocolVersion());
-
-        final Optional<StorageValue> storageValue = context.loadStorage(path);
+        final StorageValueStat stat = context.statStorage(path)
+            .orElse(null);
 
-        if (storageValue.isPresent()) {
+        if (null == stat) {
+            response.setVersion(request.protocolVersion());
             response.setStatus(
-                HttpStatusCode.OK.status()
+                HttpStatusCode.NOT_FOUND.status()
             );
+            response.clearEntity();
+        } else {
+            final MediaType contentType = stat.contentType()
+                .orElse(null);
+            final OptionalLong size = stat.size();
 
-            final StorageBinary storageBinary = context.convertOrFail(
-                storageValue.get(),
-                StorageBinary.class
-            );
+            if (null != contentType && size.isPresent()) {
+                response.setVersion(request.protocolVersion());
 
-            final MediaType responseContentType = storageBinary.contentType()
-                .orElse(MediaType.BINARY);
-            if (false == accept.test(responseContentType)) {
-                response.setStatus(
-                    HttpStatusCode.BAD_REQUEST.setMessage(accept.requireIncompatibleMessage(responseContentType))
+                this.setStorageValueEntity(
+                    contentType,
+                    size.getAsLong(),
+                    null, // no body
+                    accept,
+                    response,
+                    context
                 );
-                response.clearEntity();
             } else {
-                response.setEntity(
-                    HttpEntity.EMPTY.setContentType(responseContentType.setCharset(
-                            CharsetName.with(
-                                context.charset()
-                                    .name()
-                            )
-                        )
-                    ).setBody(
-                        storageBinary.binary()
-                    ).setContentLength()
+                loadStorageValue(
+                    path,
+                    accept,
+                    false, // HEAD has no body
+                    request,
+                    response,
+                    context
                 );
             }
+        }
+    }
 
+    /**
+     * Loads the identified {@link StorageValue} and converts that to the requested {@link MediaType}, only including
+     * the body when requested.
+     */
+    private void loadStorageValue(final StoragePath path,
+                                  final Accept accept,
+                                  final boolean body,
+                                  final HttpRequest request,
+                                  final HttpResponse response,
+                                  final C context) {
+        response.setVersion(request.protocolVersion());
+
+        final Optional<StorageValue> storageValue = context.loadStorage(path);
+
+        if (storageValue.isPresent()) {
+            final StorageBinary storageBinary = context.convertOrFail(
+                storageValue.get(),
+                StorageBinary.class
+            );
+            final Binary binary = storageBinary.binary();
+
+            this.setStorageValueEntity(
+                storageBinary.contentType()
+                    .orElse(MediaType.BINARY),
+                binary.size(),
+                body ?
+                    binary :
+                    null,
+                accept,
+                response,
+                context
+            );
         } else {
             response.setStatus(
                 HttpStatusCode.NOT_FOUND.status()
@@ -219,6 +338,47 @@ final class StorageGetHeadPostOrDeleteHttpHandler<C extends StorageHttpHandlerCo
         }
     }
 
+    /**
+     * Sets the status and entity for a single value, shared by GET and HEAD so both send the same Content-Type and
+     * Content-Length. A null body is used by HEAD.
+     */
+    private void setStorageValueEntity(final MediaType contentType,
+                                       final long contentLength,
+                                       final Binary body,
+                                       final Accept accept,
+                                       final HttpResponse response,
+                                       final C context) {
+        if (false == accept.test(contentType)) {
+            response.setStatus(
+                HttpStatusCode.BAD_REQUEST.setMessage(accept.requireIncompatibleMessage(contentType))
+            );
+            response.clearEntity();
+        } else {
+            response.setStatus(
+                HttpStatusCode.OK.status()
+            );
+
+            final HttpEntity entity = HttpEntity.EMPTY.setContentType(
+                contentType.setCharset(
+                    CharsetName.with(
+                        context.charset()
+                            .name()
+                    )
+                )
+            );
+
+            response.setEntity(
+                null != body ?
+                    entity.setBody(body)
+                        .setContentLength() :
+                    entity.addHeader(
+                        HttpHeaderName.CONTENT_LENGTH,
+                        contentLength
+                    )
+            );
+        }
+    }
+
     @Override
     public void handleNonMultipartPost(final HttpRequest request,
                                        final HttpEntity httpEntity,
@@ -257,13 +417,13 @@ final class StorageGetHeadPostOrDeleteHttpHandler<C extends StorageHttpHandlerCo
                              final HttpResponse response,
                              final C context) {
         final StoragePath storagePath = extractStoragePath(request);
-        final Optional<StorageValue> loaded = context.loadStorage(storagePath);
+        final Optional<StorageValueStat> stat = context.statStorage(storagePath);
 
         context.deleteStorage(storagePath);
 
         response.setVersion(request.protocolVersion());
         response.setStatus(
-            loaded.isPresent() ?
+            stat.isPresent() ?
                 HttpStatusCode.OK.status() :
                 HttpStatusCode.NOT_FOUND.setMessage("StorageValue not found")
         );
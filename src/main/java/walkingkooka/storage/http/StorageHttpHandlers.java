@@ -17,6 +17,7 @@
 
 package walkingkooka.storage.http;
 
+import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.net.http.server.HttpHandler;
 import walkingkooka.reflect.PublicStaticHelper;
 
@@ -32,6 +33,20 @@ public final class StorageHttpHandlers implements PublicStaticHelper {
         return StorageGetHeadPostOrDeleteHttpHandler.with(pathAfter);
     }
 
+    /**
+     * {@link StorageZipHttpHandler}
+     */
+    @GwtIncompatible
+    public static <C extends StorageHttpHandlerContext> HttpHandler<C> zip(final int pathAfter,
+                                                                          final long maxEntrySize,
+                                                                          final long maxTotalSize) {
+        return StorageZipHttpHandler.with(
+            pathAfter,
+            maxEntrySize,
+            maxTotalSize
+        );
+    }
+
     /**
      * Stop creation
      */
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.http;
+
+import javaemul.internal.annotations.GwtIncompatible;
+import walkingkooka.Binary;
+import walkingkooka.net.UrlPath;
+import walkingkooka.net.header.Accept;
+import walkingkooka.net.header.HttpHeaderName;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpMethod;
+import walkingkooka.net.http.HttpStatusCode;
+import walkingkooka.net.http.server.GetHeadPostOrDeleteHttpHandler;
+import walkingkooka.net.http.server.HttpRequest;
+import walkingkooka.net.http.server.HttpResponse;
+import walkingkooka.storage.InvalidStoragePathException;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.Storages;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link walkingkooka.net.http.server.HttpHandler} that exports a {@link StoragePath} and all its children as a zip
+ * for a GET, and imports a zip below the {@link StoragePath} for a POST, using {@link Storages#exportZip} and
+ * {@link Storages#importZip}. A HEAD only returns the content type without exporting. A POST with an invalid zip, an
+ * invalid entry, or an entry or total uncompressed size above the maximums is rejected with a 400 and nothing is saved.
+ * <br>
+ * Note {@link HttpEntity} holds a complete body, so the zip is encoded into memory before the response is sent.
+ */
+@GwtIncompatible
+final class StorageZipHttpHandler<C extends StorageHttpHandlerContext> implements GetHeadPostOrDeleteHttpHandler<C> {
+
+    final static MediaType ZIP = MediaType.parse("application/zip");
+
+    static <C extends StorageHttpHandlerContext> StorageZipHttpHandler<C> with(final int pathAfter,
+                                                                               final long maxEntrySize,
+                                                                               final long maxTotalSize) {
+        if (pathAfter < 0) {
+            throw new IllegalArgumentException("Invalid path after " + pathAfter + " < 0");
+        }
+        if (maxEntrySize <= 0) {
+            throw new IllegalArgumentException("Invalid maxEntrySize " + maxEntrySize + " <= 0");
+        }
+        if (maxTotalSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxTotalSize " + maxTotalSize + " <= 0");
+        }
+        return new StorageZipHttpHandler<>(
+            pathAfter,
+            maxEntrySize,
+            maxTotalSize
+        );
+    }
+
+    private StorageZipHttpHandler(final int pathAfter,
+                                  final long maxEntrySize,
+                                  final long maxTotalSize) {
+        super();
+        this.pathAfter = pathAfter;
+        this.maxEntrySize = maxEntrySize;
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    @Override
+    public void handleGetOrHead(final HttpRequest request,
+                                final HttpResponse response,
+                                final C context) {
+        response.setVersion(request.protocolVersion());
+
+        final Accept accept = HttpHeaderName.ACCEPT.header(request)
+            .orElse(null);
+        if (null == accept) {
+            response.setStatus(
+                HttpStatusCode.BAD_REQUEST.setMessage("Missing " + HttpHeaderName.ACCEPT)
+            );
+            response.clearEntity();
+        } else {
+            if (false == accept.test(ZIP)) {
+                response.setStatus(
+                    HttpStatusCode.BAD_REQUEST.setMessage(
+                        accept.requireIncompatibleMessage(ZIP)
+                    )
+                );
+                response.clearEntity();
+            } else {
+                HttpEntity entity = HttpEntity.EMPTY.setContentType(ZIP);
+
+                // the zip length is unknown without exporting, so a HEAD only returns the content type
+                if (false == HttpMethod.HEAD.equals(request.method())) {
+                    final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+
+                    try {
+                        Storages.exportZip(
+                            this.extractStoragePath(request),
+                            zip,
+                            context
+                        );
+                    } catch (final IOException cause) {
+                        throw new UncheckedIOException(cause);
+                    }
+
+                    entity = entity.setBody(
+                        Binary.with(
+                            zip.toByteArray()
+                        )
+                    ).setContentLength();
+                }
+
+                response.setStatus(
+                    HttpStatusCode.OK.status()
+                );
+                response.setEntity(entity);
+            }
+        }
+    }
+
+    @Override
+    public void handleNonMultipartPost(final HttpRequest request,
+                                       final HttpEntity httpEntity,
+                                       final HttpResponse response,
+                                       final C context) {
+        response.setVersion(request.protocolVersion());
+
+        try {
+            Storages.importZip(
+                httpEntity.binary()
+                    .inputStream(),
+                this.extractStoragePath(request),
+                this.maxEntrySize,
+                this.maxTotalSize,
+                context
+            );
+
+            response.setStatus(
+                HttpStatusCode.OK.status()
+            );
+        } catch (final IOException cause) {
+            response.setStatus(
+                HttpStatusCode.BAD_REQUEST.setMessage(
+                    "Invalid zip: " + cause.getMessage()
+                )
+            );
+        } catch (final InvalidStoragePathException cause) {
+            response.setStatus(
+                HttpStatusCode.BAD_REQUEST.setMessage(
+                    cause.getMessage()
+                )
+            );
+        }
+
+        response.clearEntity();
+    }
+
+    @Override
+    public void handleDelete(final HttpRequest request,
+                             final HttpResponse response,
+                             final C context) {
+        response.setVersion(request.protocolVersion());
+        response.setStatus(
+            HttpStatusCode.METHOD_NOT_ALLOWED.status()
+        );
+        response.clearEntity();
+    }
+
+    /**
+     * Helper that extracts the {@link StoragePath} from the {@link HttpRequest#url()}
+     */
+    private StoragePath extractStoragePath(final HttpRequest request) {
+        final UrlPath urlPath = request.url()
+            .path();
+        return StoragePath.parse(
+            urlPath.pathAfter(this.pathAfter)
+                .value()
+        );
+    }
+
+    private final int pathAfter;
+
+    /**
+     * The maximum uncompressed size of a single imported entry.
+     */
+    private final long maxEntrySize;
+
+    /**
+     * The maximum uncompressed size of all imported entries.
+     */
+    private final long maxTotalSize;
+}
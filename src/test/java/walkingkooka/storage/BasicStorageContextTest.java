@@ -350,6 +350,35 @@ public final class BasicStorageContextTest implements StorageContextTesting2<Bas
         );
     }
 
+    @Test
+    public void testCloneEnvironmentContextSharesEnvironmentContext() {
+        final BasicStorageContext basicStorageContext = BasicStorageContext.with(
+            CONVERTER_LIKE,
+            MEDIA_TYPE_DETECTOR,
+            STORAGE,
+            STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment()
+        );
+
+        final BasicStorageContext cloned = (BasicStorageContext) basicStorageContext.cloneEnvironment();
+
+        assertSame(
+            basicStorageContext.storageEnvironmentContext()
+                .environmentContext(),
+            cloned.storageEnvironmentContext()
+                .environmentContext()
+        );
+
+        this.setHomeDirectoryAndCheck(
+            cloned,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        this.homeDirectoryAndCheck(
+            basicStorageContext,
+            HOME_DIRECTORY
+        );
+    }
+
     // setEnvironmentContext............................................................................................
 
     @Test
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.predicate.Predicates;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageBatchWatcherTest implements ClassTesting<StorageBatchWatcher> {
+
+    private final static StoragePath PATH1 = StoragePath.parse("/file1.txt");
+
+    private final static StoragePath PATH2 = StoragePath.parse("/file2.txt");
+
+    private final static StorageValueChange CHANGE1 = StorageValueChange.with(
+        Optional.empty(),
+        Optional.of(
+            StorageValue.with(PATH1)
+        )
+    );
+
+    private final static StorageValueChange CHANGE2 = StorageValueChange.with(
+        Optional.of(
+            StorageValue.with(PATH2)
+        ),
+        Optional.empty()
+    );
+
+    // onValueChange....................................................................................................
+
+    @Test
+    public void testOnValueChange() {
+        this.watcher()
+            .onValueChange(
+                CHANGE1.oldValue(),
+                CHANGE1.newValue()
+            );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(CHANGE1)
+            ),
+            this.batches
+        );
+    }
+
+    @Test
+    public void testOnValueChangeUnchanged() {
+        this.watcher()
+            .onValueChange(
+                CHANGE1.newValue(),
+                CHANGE1.newValue()
+            );
+
+        this.checkEquals(
+            Lists.empty(),
+            this.batches
+        );
+    }
+
+    // setPathPrefix....................................................................................................
+
+    @Test
+    public void testSetPathPrefixWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.watcher()
+                .setPathPrefix(null)
+        );
+    }
+
+    @Test
+    public void testSetPathPrefixWithRoot() {
+        final StorageBatchWatcher watcher = this.watcher();
+
+        assertSame(
+            watcher,
+            watcher.setPathPrefix(StoragePath.ROOT)
+        );
+    }
+
+    @Test
+    public void testSetPathPrefixAndOnValueChanges() {
+        final StoragePath prefix = StoragePath.parse("/prefix");
+
+        this.watcher()
+            .setPathPrefix(prefix)
+            .onValueChanges(
+                Lists.of(
+                    CHANGE1,
+                    CHANGE2
+                )
+            );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(
+                    CHANGE1.prependPath(prefix),
+                    CHANGE2.prependPath(prefix)
+                )
+            ),
+            this.batches
+        );
+    }
+
+    // setFilter........................................................................................................
+
+    @Test
+    public void testSetFilterWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.watcher()
+                .setFilter(null)
+        );
+    }
+
+    @Test
+    public void testSetFilterSomeMatched() {
+        this.watcher()
+            .setFilter(
+                Predicates.is(PATH2)
+            ).onValueChanges(
+                Lists.of(
+                    CHANGE1,
+                    CHANGE2
+                )
+            );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(CHANGE2)
+            ),
+            this.batches
+        );
+    }
+
+    @Test
+    public void testSetFilterNoneMatched() {
+        this.watcher()
+            .setFilter(
+                Predicates.never()
+            ).onValueChanges(
+                Lists.of(
+                    CHANGE1,
+                    CHANGE2
+                )
+            );
+
+        this.checkEquals(
+            Lists.empty(),
+            this.batches
+        );
+    }
+
+    private StorageBatchWatcher watcher() {
+        return (changes) -> {
+            final List<StorageValueChange> copy = Lists.array();
+            copy.addAll(changes);
+            this.batches.add(copy);
+        };
+    }
+
+    private final List<List<StorageValueChange>> batches = Lists.array();
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageBatchWatcher> type() {
+        return StorageBatchWatcher.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
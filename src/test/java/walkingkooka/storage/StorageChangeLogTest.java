@@ -0,0 +1,424 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageChangeLogTest implements ClassTesting<StorageChangeLog>,
+    ToStringTesting<StorageChangeLog> {
+
+    private final static StoragePath PATH1 = StoragePath.parse("/file1.txt");
+
+    private final static StoragePath PATH2 = StoragePath.parse("/file2.txt");
+
+    private final static StoragePath PATH3 = StoragePath.parse("/file3.txt");
+
+    private final static StoragePath PATH4 = StoragePath.parse("/file4.txt");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithInvalidRetentionFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageChangeLog.with(0)
+        );
+
+        this.checkEquals(
+            "Invalid retention 0 < 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRestoreWithNullChangesFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageChangeLog.restore(
+                1,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testRestoreOutOfOrderFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageChangeLog.restore(
+                10,
+                Lists.of(
+                    change(2, PATH1, StorageChangeType.CREATE),
+                    change(2, PATH2, StorageChangeType.CREATE)
+                )
+            )
+        );
+
+        this.checkEquals(
+            "Invalid sequence 2 <= 2",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRestoreThenRecord() {
+        final StorageChangeLog log = StorageChangeLog.restore(
+            10,
+            Lists.of(
+                change(5, PATH1, StorageChangeType.CREATE),
+                change(6, PATH2, StorageChangeType.CREATE)
+            )
+        );
+
+        this.delete(log, PATH1);
+
+        this.checkEquals(
+            7L,
+            log.sequence(),
+            "sequence"
+        );
+        this.changesSinceAndCheck(
+            log,
+            5,
+            change(6, PATH2, StorageChangeType.CREATE),
+            change(7, PATH1, StorageChangeType.DELETE)
+        );
+        this.checkEquals(
+            false,
+            log.isAvailable(3),
+            "isAvailable 3"
+        );
+        this.checkEquals(
+            true,
+            log.isAvailable(4),
+            "isAvailable 4"
+        );
+    }
+
+    // changesSince.....................................................................................................
+
+    @Test
+    public void testChangesSinceInvalidSequenceFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageChangeLog.with(10)
+                .changesSince(-1, 1)
+        );
+
+        this.checkEquals(
+            "Invalid sequence -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testChangesSinceInvalidCountFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageChangeLog.with(10)
+                .changesSince(0, -1)
+        );
+
+        this.checkEquals(
+            "Invalid count -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testChangesSinceEmpty() {
+        this.changesSinceAndCheck(
+            StorageChangeLog.with(10),
+            0
+        );
+    }
+
+    @Test
+    public void testChangesSince() {
+        final StorageChangeLog log = StorageChangeLog.with(10);
+
+        this.create(log, PATH1);
+        this.create(log, PATH2);
+        this.update(log, PATH1);
+        this.delete(log, PATH2);
+
+        this.changesSinceAndCheck(
+            log,
+            0,
+            change(1, PATH1, StorageChangeType.CREATE),
+            change(2, PATH2, StorageChangeType.CREATE),
+            change(3, PATH1, StorageChangeType.UPDATE),
+            change(4, PATH2, StorageChangeType.DELETE)
+        );
+        this.changesSinceAndCheck(
+            log,
+            2,
+            change(3, PATH1, StorageChangeType.UPDATE),
+            change(4, PATH2, StorageChangeType.DELETE)
+        );
+        this.changesSinceAndCheck(
+            log,
+            4
+        );
+    }
+
+    @Test
+    public void testChangesSinceCount() {
+        final StorageChangeLog log = StorageChangeLog.with(10);
+
+        this.create(log, PATH1);
+        this.create(log, PATH2);
+        this.create(log, PATH3);
+
+        this.checkEquals(
+            Lists.of(
+                change(2, PATH2, StorageChangeType.CREATE)
+            ),
+            log.changesSince(1, 1)
+        );
+    }
+
+    @Test
+    public void testOnValueChangeUnchangedIgnored() {
+        final StorageChangeLog log = StorageChangeLog.with(10);
+
+        final Optional<StorageValue> value = Optional.of(
+            StorageValue.with(PATH1)
+        );
+        log.onValueChange(
+            value,
+            value
+        );
+
+        this.checkEquals(
+            0L,
+            log.sequence()
+        );
+    }
+
+    @Test
+    public void testOnValueChanges() {
+        final StorageChangeLog log = StorageChangeLog.with(10);
+
+        log.onValueChanges(
+            Lists.of(
+                StorageValueChange.with(
+                    Optional.empty(),
+                    Optional.of(
+                        StorageValue.with(PATH1)
+                    )
+                ),
+                StorageValueChange.with(
+                    Optional.of(
+                        StorageValue.with(PATH2)
+                    ),
+                    Optional.empty()
+                )
+            )
+        );
+
+        this.changesSinceAndCheck(
+            log,
+            0,
+            change(1, PATH1, StorageChangeType.CREATE),
+            change(2, PATH2, StorageChangeType.DELETE)
+        );
+    }
+
+    // retention........................................................................................................
+
+    @Test
+    public void testRetentionCompactsSuperseded() {
+        final StorageChangeLog log = StorageChangeLog.with(4);
+
+        this.create(log, PATH1);
+        this.update(log, PATH1);
+        this.update(log, PATH1);
+        this.create(log, PATH2);
+        this.create(log, PATH3);
+
+        this.checkEquals(
+            true,
+            log.isAvailable(0),
+            "isAvailable"
+        );
+        this.changesSinceAndCheck(
+            log,
+            0,
+            change(3, PATH1, StorageChangeType.UPDATE),
+            change(4, PATH2, StorageChangeType.CREATE),
+            change(5, PATH3, StorageChangeType.CREATE)
+        );
+    }
+
+    @Test
+    public void testRetentionDropsOldest() {
+        final StorageChangeLog log = StorageChangeLog.with(2);
+
+        this.create(log, PATH1);
+        this.create(log, PATH2);
+        this.create(log, PATH3);
+        this.create(log, PATH4);
+
+        this.checkEquals(
+            false,
+            log.isAvailable(1),
+            "isAvailable 1"
+        );
+        this.checkEquals(
+            true,
+            log.isAvailable(2),
+            "isAvailable 2"
+        );
+        this.changesSinceAndCheck(
+            log,
+            2,
+            change(3, PATH3, StorageChangeType.CREATE),
+            change(4, PATH4, StorageChangeType.CREATE)
+        );
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> log.changesSince(1, 10)
+        );
+        this.checkEquals(
+            "Changes after 1 have been dropped, oldest available 2",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testCompact() {
+        final StorageChangeLog log = StorageChangeLog.with(10);
+
+        this.create(log, PATH1);
+        this.create(log, PATH2);
+        this.update(log, PATH1);
+
+        log.compact();
+
+        this.checkEquals(
+            Lists.of(
+                change(2, PATH2, StorageChangeType.CREATE),
+                change(3, PATH1, StorageChangeType.UPDATE)
+            ),
+            log.changes()
+        );
+        this.checkEquals(
+            true,
+            log.isAvailable(0),
+            "isAvailable"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final StorageChangeLog log = StorageChangeLog.with(10);
+        this.create(log, PATH1);
+
+        this.toStringAndCheck(
+            log,
+            "1 [1 CREATE /file1.txt]"
+        );
+    }
+
+    // helpers..........................................................................................................
+
+    private void create(final StorageChangeLog log,
+                        final StoragePath path) {
+        log.onValueChange(
+            Optional.empty(),
+            Optional.of(
+                StorageValue.with(path)
+            )
+        );
+    }
+
+    private void update(final StorageChangeLog log,
+                        final StoragePath path) {
+        log.onValueChange(
+            Optional.of(
+                StorageValue.with(path)
+            ),
+            Optional.of(
+                StorageValue.with(path)
+                    .setValue(
+                        Optional.of("updated " + log.sequence())
+                    )
+            )
+        );
+    }
+
+    private void delete(final StorageChangeLog log,
+                        final StoragePath path) {
+        log.onValueChange(
+            Optional.of(
+                StorageValue.with(path)
+            ),
+            Optional.empty()
+        );
+    }
+
+    private static StorageChange change(final long sequence,
+                                        final StoragePath path,
+                                        final StorageChangeType type) {
+        return StorageChange.with(
+            sequence,
+            path,
+            type
+        );
+    }
+
+    private void changesSinceAndCheck(final StorageChangeLog log,
+                                      final long sequence,
+                                      final StorageChange... expected) {
+        final List<StorageChange> changes = log.changesSince(
+            sequence,
+            Integer.MAX_VALUE
+        );
+
+        this.checkEquals(
+            Lists.of(expected),
+            changes,
+            "changesSince " + sequence
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageChangeLog> type() {
+        return StorageChangeLog.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageChangeTest implements ClassTesting2<StorageChange>,
+    HashCodeEqualsDefinedTesting2<StorageChange>,
+    ToStringTesting<StorageChange> {
+
+    private final static long SEQUENCE = 123;
+
+    private final static StoragePath PATH = StoragePath.parse("/dir1/file2.txt");
+
+    private final static StorageChangeType TYPE = StorageChangeType.CREATE;
+
+    @Test
+    public void testWithInvalidSequenceFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageChange.with(
+                0,
+                PATH,
+                TYPE
+            )
+        );
+
+        this.checkEquals(
+            "Invalid sequence 0 < 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageChange.with(
+                SEQUENCE,
+                null,
+                TYPE
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageChange.with(
+                SEQUENCE,
+                PATH,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final StorageChange change = this.createObject();
+
+        this.checkEquals(SEQUENCE, change.sequence(), "sequence");
+        this.checkEquals(PATH, change.path(), "path");
+        this.checkEquals(TYPE, change.type(), "type");
+    }
+
+    @Test
+    public void testEqualsDifferentSequence() {
+        this.checkNotEquals(
+            StorageChange.with(
+                SEQUENCE + 1,
+                PATH,
+                TYPE
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentPath() {
+        this.checkNotEquals(
+            StorageChange.with(
+                SEQUENCE,
+                StoragePath.parse("/different"),
+                TYPE
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentType() {
+        this.checkNotEquals(
+            StorageChange.with(
+                SEQUENCE,
+                PATH,
+                StorageChangeType.DELETE
+            )
+        );
+    }
+
+    @Override
+    public StorageChange createObject() {
+        return StorageChange.with(
+            SEQUENCE,
+            PATH,
+            TYPE
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "123 CREATE /dir1/file2.txt"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageChange> type() {
+        return StorageChange.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageDataInputTest implements ClassTesting<StorageDataInput> {
+
+    @Test
+    public void testWithNullInputStreamFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageDataInput.with(null)
+        );
+    }
+
+    @Test
+    public void testReadPathRoot() throws IOException {
+        assertSame(
+            StoragePath.ROOT,
+            this.createInput(0)
+                .readPath()
+        );
+    }
+
+    @Test
+    public void testReadPathEmptyFails() {
+        assertThrows(
+            EOFException.class,
+            () -> this.createInput()
+                .readPath()
+        );
+    }
+
+    @Test
+    public void testReadPathTruncatedNameFails() {
+        assertThrows(
+            EOFException.class,
+            () -> this.createInput(
+                2, // 1 name
+                0, // new name
+                3, // length
+                'a'
+            ).readPath()
+        );
+    }
+
+    @Test
+    public void testReadPathInvalidReferenceFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                2, // 1 name
+                1 // reference to missing name
+            ).readPath()
+        );
+
+        this.checkEquals(
+            "Invalid reference 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadPathInvalidNameFails() {
+        assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                2, // 1 name
+                0, // new name
+                1, // length
+                '/'
+            ).readPath()
+        );
+    }
+
+    @Test
+    public void testReadPathVarintTooLongFails() {
+        assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                0xFF,
+                0xFF,
+                0xFF,
+                0xFF,
+                0xFF,
+                0x0F
+            ).readPath()
+        );
+    }
+
+    @Test
+    public void testReadPathTooLongFails() {
+        final int[] bytes = new int[7 + StorageName.MAX_LENGTH];
+        bytes[0] = 2 * 2; // 2 names
+        bytes[1] = 0; // new name
+        bytes[2] = 1; // length
+        bytes[3] = 'a';
+        bytes[4] = 0; // new name
+        bytes[5] = 0xFF; // length 255
+        bytes[6] = 0x01;
+        Arrays.fill(
+            bytes,
+            7,
+            bytes.length,
+            'b'
+        );
+
+        // each name is valid but /a/bbb... is longer than StoragePath.MAX_LENGTH
+        assertThrows(
+            IOException.class,
+            () -> this.createInput(bytes)
+                .readPath()
+        );
+    }
+
+    @Test
+    public void testReadValueLengthGreaterThanMaxFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                0, // root
+                0, // no content type
+                StorageDataOutput.STRING_VALUE,
+                0xFF,
+                0xFF,
+                0xFF,
+                0xFF,
+                0x07 // 2^31 - 1
+            ).readValue()
+        );
+
+        this.checkEquals(
+            "Invalid length 2147483647 > " + StorageDataInput.MAX_LENGTH,
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadValueLengthGreaterThanAvailableFails() {
+        assertThrows(
+            EOFException.class,
+            () -> this.createInput(
+                0, // root
+                0, // no content type
+                StorageDataOutput.BINARY_VALUE,
+                0x80,
+                0x80,
+                0x80,
+                0x10, // 32MB
+                1,
+                2,
+                3
+            ).readValue()
+        );
+    }
+
+    @Test
+    public void testReadValueInvalidTagFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                0, // root
+                0, // no content type
+                99 // tag
+            ).readValue()
+        );
+
+        this.checkEquals(
+            "Invalid value tag 99",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadChangeInvalidTypeFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                1, // sequence
+                3 // type
+            ).readChange()
+        );
+
+        this.checkEquals(
+            "Invalid change type 3",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadChangeInvalidSequenceFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> this.createInput(
+                0, // sequence
+                0, // type
+                0 // root
+            ).readChange()
+        );
+
+        this.checkEquals(
+            "Invalid sequence 0 < 1",
+            thrown.getMessage()
+        );
+    }
+
+    private StorageDataInput createInput(final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+
+        return StorageDataInput.with(
+            new ByteArrayInputStream(bytes)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageDataInput> type() {
+        return StorageDataInput.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
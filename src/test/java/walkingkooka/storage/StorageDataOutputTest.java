@@ -0,0 +1,330 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageDataOutputTest implements ClassTesting<StorageDataOutput> {
+
+    private final static AuditInfo AUDIT_INFO = AuditInfo.with(
+        EmailAddress.parse("created-by@example.com"),
+        LocalDateTime.parse("1999-12-31T12:58:59.123"),
+        EmailAddress.parse("modified-by@example.com"),
+        LocalDateTime.parse("2000-01-02T12:58:59")
+    );
+
+    @Test
+    public void testWithNullOutputStreamFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageDataOutput.with(null)
+        );
+    }
+
+    @Test
+    public void testWriteValueUnsupportedValueFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageDataOutput.with(new ByteArrayOutputStream())
+                .writeValue(
+                    StorageValue.with(
+                        StoragePath.parse("/file1")
+                    ).setValue(
+                        Optional.of(123)
+                    )
+                )
+        );
+
+        this.checkEquals(
+            "Unsupported value java.lang.Integer for /file1",
+            thrown.getMessage()
+        );
+    }
+
+    // round trip.......................................................................................................
+
+    @Test
+    public void testPathRoot() throws IOException {
+        this.pathRoundTripAndCheck(
+            StoragePath.ROOT
+        );
+    }
+
+    @Test
+    public void testPath() throws IOException {
+        this.pathRoundTripAndCheck(
+            StoragePath.parse("/dir1/file2.txt")
+        );
+    }
+
+    @Test
+    public void testPathParent() throws IOException {
+        this.pathRoundTripAndCheck(
+            StoragePath.parse("/dir1/dir2/")
+        );
+    }
+
+    @Test
+    public void testPathNonAscii() throws IOException {
+        this.pathRoundTripAndCheck(
+            StoragePath.parse("/caf\u00e9/\u65e5\u672c")
+        );
+    }
+
+    private void pathRoundTripAndCheck(final StoragePath path) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            output.writePath(path);
+        }
+
+        final StoragePath read = StorageDataInput.with(
+            new ByteArrayInputStream(
+                bytes.toByteArray()
+            )
+        ).readPath();
+
+        this.checkEquals(
+            path,
+            read
+        );
+        this.checkEquals(
+            path.isParent(),
+            read.isParent(),
+            () -> path + " isParent"
+        );
+    }
+
+    @Test
+    public void testAuditInfo() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            output.writeAuditInfo(AUDIT_INFO);
+        }
+
+        this.checkEquals(
+            AUDIT_INFO,
+            StorageDataInput.with(
+                new ByteArrayInputStream(
+                    bytes.toByteArray()
+                )
+            ).readAuditInfo()
+        );
+    }
+
+    @Test
+    public void testAuditInfoMinTimestamp() throws IOException {
+        final AuditInfo auditInfo = AuditInfo.create(
+            EmailAddress.parse("user@example.com"),
+            LocalDateTime.MIN
+        );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            output.writeAuditInfo(auditInfo);
+        }
+
+        this.checkEquals(
+            auditInfo,
+            StorageDataInput.with(
+                new ByteArrayInputStream(
+                    bytes.toByteArray()
+                )
+            ).readAuditInfo()
+        );
+    }
+
+    @Test
+    public void testValueInfo() throws IOException {
+        final StorageValueInfo info = StorageValueInfo.with(
+            StoragePath.parse("/dir1/file2.txt"),
+            AUDIT_INFO
+        );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            output.writeValueInfo(info);
+        }
+
+        this.checkEquals(
+            info,
+            StorageDataInput.with(
+                new ByteArrayInputStream(
+                    bytes.toByteArray()
+                )
+            ).readValueInfo()
+        );
+    }
+
+    @Test
+    public void testValueWithoutValue() throws IOException {
+        this.valueRoundTripAndCheck(
+            StorageValue.with(
+                StoragePath.parse("/dir1/")
+            )
+        );
+    }
+
+    @Test
+    public void testValueBinary() throws IOException {
+        this.valueRoundTripAndCheck(
+            StorageValue.with(
+                StoragePath.parse("/dir1/file2.bin")
+            ).setValue(
+                Optional.of(
+                    Binary.with(
+                        new byte[]{1, 2, 3, (byte) 0xFF}
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testValueStringWithContentType() throws IOException {
+        this.valueRoundTripAndCheck(
+            StorageValue.with(
+                StoragePath.parse("/dir1/file2.txt")
+            ).setValue(
+                Optional.of("Hello\nWorld")
+            ).setContentType(
+                Optional.of(MediaType.TEXT_PLAIN)
+            )
+        );
+    }
+
+    private void valueRoundTripAndCheck(final StorageValue value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            output.writeValue(value);
+        }
+
+        this.checkEquals(
+            value,
+            StorageDataInput.with(
+                new ByteArrayInputStream(
+                    bytes.toByteArray()
+                )
+            ).readValue()
+        );
+    }
+
+    @Test
+    public void testChange() throws IOException {
+        final StorageChange change = StorageChange.with(
+            1234567L,
+            StoragePath.parse("/dir1/file2.txt"),
+            StorageChangeType.UPDATE
+        );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            output.writeChange(change);
+        }
+
+        this.checkEquals(
+            change,
+            StorageDataInput.with(
+                new ByteArrayInputStream(
+                    bytes.toByteArray()
+                )
+            ).readChange()
+        );
+    }
+
+    @Test
+    public void testManyValueInfosSharesNames() throws IOException {
+        final int count = 100;
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final StorageDataOutput output = StorageDataOutput.with(bytes)) {
+            for (int i = 0; i < count; i++) {
+                output.writeValueInfo(
+                    StorageValueInfo.with(
+                        StoragePath.parse("/directory1/directory2/file" + (i % 10)),
+                        AUDIT_INFO
+                    )
+                );
+            }
+        }
+
+        final StorageDataInput input = StorageDataInput.with(
+            new ByteArrayInputStream(
+                bytes.toByteArray()
+            )
+        );
+
+        StorageValueInfo previous = null;
+        for (int i = 0; i < count; i++) {
+            final StorageValueInfo info = input.readValueInfo();
+
+            this.checkEquals(
+                StoragePath.parse("/directory1/directory2/file" + (i % 10)),
+                info.path()
+            );
+
+            if (null != previous) {
+                assertSame(
+                    previous.auditInfo()
+                        .createdBy(),
+                    info.auditInfo()
+                        .createdBy()
+                );
+            }
+            previous = info;
+        }
+
+        this.checkEquals(
+            "12 names, 2 emails, 0 content types",
+            input.toString()
+        );
+
+        // once names and emails have been written each path is 4 bytes and each audit info is 15 bytes
+        this.checkEquals(
+            true,
+            bytes.size() < count * 25,
+            () -> "size " + bytes.size()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageDataOutput> type() {
+        return StorageDataOutput.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.EnvironmentContext;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.environment.EnvironmentValueNameAndValue;
+import walkingkooka.environment.EnvironmentWatcher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageEnvironmentContextCopyOnWriteTest implements StorageEnvironmentContextTesting2<StorageEnvironmentContextCopyOnWrite> {
+
+    @Test
+    public void testWithNullEnvironmentContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageEnvironmentContextCopyOnWrite.with(null)
+        );
+    }
+
+    @Test
+    public void testWithStorageEnvironmentContextCopyOnWrite() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+
+        assertSame(
+            context,
+            StorageEnvironmentContextCopyOnWrite.with(context)
+        );
+    }
+
+    @Test
+    public void testCurrentWorkingDirectory() {
+        this.currentWorkingDirectoryAndCheck(
+            this.createContext(),
+            CURRENT_WORKING_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testSetCurrentWorkingDirectoryWithDifferent() {
+        this.setCurrentWorkingDirectoryAndCheck(
+            this.createContext(),
+            DIFFERENT_CURRENT_WORKING_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testHomeDirectory() {
+        this.homeDirectoryAndCheck(
+            this.createContext(),
+            HOME_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testSetHomeDirectoryWithDifferent() {
+        this.setHomeDirectoryAndCheck(
+            this.createContext(),
+            DIFFERENT_HOME_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testParseEnvironmentValueNameAfterSetEnvironmentValue() {
+        final EnvironmentValueName<String> name = EnvironmentValueName.with(
+            "magic",
+            String.class
+        );
+
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        this.setEnvironmentValueAndCheck(
+            context,
+            name,
+            "value123"
+        );
+
+        this.parseEnvironmentValueNameAndCheck(
+            context,
+            name
+        );
+    }
+
+    // cloneEnvironment.................................................................................................
+
+    @Test
+    public void testCloneEnvironmentContext() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final StorageEnvironmentContext clone = context.cloneEnvironment();
+
+        assertNotSame(
+            clone,
+            context
+        );
+
+        this.checkEquals(
+            context,
+            clone
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSharesEnvironmentContext() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final StorageEnvironmentContextCopyOnWrite clone = (StorageEnvironmentContextCopyOnWrite) context.cloneEnvironment();
+
+        assertSame(
+            context.environmentContext(),
+            clone.environmentContext()
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSetCloneDoesntChangeOriginal() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final StorageEnvironmentContext clone = context.cloneEnvironment();
+
+        this.setHomeDirectoryAndCheck(
+            clone,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        this.homeDirectoryAndCheck(
+            context,
+            HOME_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSetOriginalDoesntChangeClone() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final StorageEnvironmentContext clone = context.cloneEnvironment();
+
+        this.setHomeDirectoryAndCheck(
+            context,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        this.homeDirectoryAndCheck(
+            clone,
+            HOME_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentSetCloneThenSetOriginal() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final StorageEnvironmentContextCopyOnWrite clone = (StorageEnvironmentContextCopyOnWrite) context.cloneEnvironment();
+
+        this.setHomeDirectoryAndCheck(
+            clone,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        final EnvironmentContext environmentContext = context.environmentContext();
+
+        this.setCurrentWorkingDirectoryAndCheck(
+            context,
+            DIFFERENT_CURRENT_WORKING_DIRECTORY
+        );
+
+        // writes are kept by each instance, the shared environment is never modified
+        assertSame(
+            environmentContext,
+            context.environmentContext()
+        );
+
+        this.currentWorkingDirectoryAndCheck(
+            clone,
+            CURRENT_WORKING_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValueDoesntChangeEnvironmentContext() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+
+        this.setHomeDirectoryAndCheck(
+            context,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        this.checkEquals(
+            Optional.of(HOME_DIRECTORY),
+            context.environmentContext()
+                .environmentValue(StorageEnvironmentContext.HOME_DIRECTORY)
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentAfterSetEnvironmentValue() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+
+        this.setHomeDirectoryAndCheck(
+            context,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        final StorageEnvironmentContext clone = context.cloneEnvironment();
+
+        this.homeDirectoryAndCheck(
+            clone,
+            DIFFERENT_HOME_DIRECTORY
+        );
+
+        this.setCurrentWorkingDirectoryAndCheck(
+            clone,
+            DIFFERENT_CURRENT_WORKING_DIRECTORY
+        );
+
+        this.currentWorkingDirectoryAndCheck(
+            context,
+            CURRENT_WORKING_DIRECTORY
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentAfterRemoveEnvironmentValue() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+
+        context.setHomeDirectory(Optional.empty());
+
+        final StorageEnvironmentContext clone = context.cloneEnvironment();
+
+        this.checkEquals(
+            Optional.empty(),
+            clone.homeDirectory()
+        );
+
+        this.checkEquals(
+            false,
+            clone.environmentValueNames()
+                .contains(StorageEnvironmentContext.HOME_DIRECTORY)
+        );
+    }
+
+    @Test
+    public void testCloneEnvironmentManyTimes() {
+        StorageEnvironmentContext context = this.createContext();
+
+        for (int i = 0; i < 20; i++) {
+            context.setHomeDirectory(
+                Optional.of(
+                    StoragePath.parse("/home" + i)
+                )
+            );
+            context = context.cloneEnvironment();
+        }
+
+        this.homeDirectoryAndCheck(
+            context,
+            StoragePath.parse("/home19")
+        );
+
+        this.currentWorkingDirectoryAndCheck(
+            context,
+            CURRENT_WORKING_DIRECTORY
+        );
+    }
+
+    // watchers.........................................................................................................
+
+    @Test
+    public void testAddEnvironmentWatcherSetFires() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final List<Optional<EnvironmentValueNameAndValue<?>>> fired = Lists.array();
+
+        context.addEnvironmentWatcher(
+            watcher(fired)
+        );
+
+        context.setHomeDirectory(
+            Optional.of(DIFFERENT_HOME_DIRECTORY)
+        );
+
+        this.checkEquals(
+            1,
+            fired.size(),
+            () -> fired.toString()
+        );
+    }
+
+    @Test
+    public void testAddEnvironmentWatcherSetCloneDoesntFire() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final StorageEnvironmentContext clone = context.cloneEnvironment();
+        final List<Optional<EnvironmentValueNameAndValue<?>>> fired = Lists.array();
+
+        context.addEnvironmentWatcher(
+            watcher(fired)
+        );
+
+        clone.setHomeDirectory(
+            Optional.of(DIFFERENT_HOME_DIRECTORY)
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddEnvironmentWatcherSetAfterCloneFires() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final List<Optional<EnvironmentValueNameAndValue<?>>> fired = Lists.array();
+
+        context.addEnvironmentWatcher(
+            watcher(fired)
+        );
+
+        context.cloneEnvironment();
+
+        // writes after a clone are kept by this instance
+        context.setHomeDirectory(
+            Optional.of(DIFFERENT_HOME_DIRECTORY)
+        );
+
+        this.checkEquals(
+            1,
+            fired.size(),
+            () -> fired.toString()
+        );
+    }
+
+    @Test
+    public void testAddEnvironmentWatcherRemoved() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final List<Optional<EnvironmentValueNameAndValue<?>>> fired = Lists.array();
+
+        context.addEnvironmentWatcher(
+            watcher(fired)
+        ).run();
+
+        context.setHomeDirectory(
+            Optional.of(DIFFERENT_HOME_DIRECTORY)
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddEnvironmentWatcherOnce() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+        final List<Optional<EnvironmentValueNameAndValue<?>>> fired = Lists.array();
+
+        context.addEnvironmentWatcherOnce(
+            watcher(fired)
+        );
+
+        context.setHomeDirectory(
+            Optional.of(DIFFERENT_HOME_DIRECTORY)
+        );
+        context.setCurrentWorkingDirectory(
+            Optional.of(DIFFERENT_CURRENT_WORKING_DIRECTORY)
+        );
+
+        this.checkEquals(
+            1,
+            fired.size(),
+            () -> fired.toString()
+        );
+    }
+
+    private static EnvironmentWatcher watcher(final List<Optional<EnvironmentValueNameAndValue<?>>> fired) {
+        return new EnvironmentWatcher() {
+            @Override
+            public void onValueChange(final Optional<EnvironmentValueNameAndValue<?>> oldValue,
+                                      final Optional<EnvironmentValueNameAndValue<?>> newValue) {
+                fired.add(newValue);
+            }
+        };
+    }
+
+    // setEnvironmentContext............................................................................................
+
+    @Test
+    public void testSetEnvironmentContext() {
+        final StorageEnvironmentContextCopyOnWrite context = this.createContext();
+
+        final StorageEnvironmentContext different = context.setEnvironmentContext(DIFFERENT_ENVIRONMENT_CONTEXT);
+
+        assertNotSame(
+            different,
+            DIFFERENT_ENVIRONMENT_CONTEXT
+        );
+
+        this.charsetAndCheck(
+            different,
+            DIFFERENT_CHARSET
+        );
+
+        this.currencyAndCheck(
+            different,
+            DIFFERENT_CURRENCY
+        );
+
+        this.indentationAndCheck(
+            different,
+            DIFFERENT_INDENTATION
+        );
+
+        this.lineEndingAndCheck(
+            different,
+            DIFFERENT_LINE_ENDING
+        );
+
+        this.localeAndCheck(
+            different,
+            DIFFERENT_LOCALE
+        );
+
+        this.userAndCheck(
+            different,
+            DIFFERENT_USER
+        );
+    }
+
+    @Override
+    public StorageEnvironmentContextCopyOnWrite createContext() {
+        final EnvironmentContext context = ENVIRONMENT_CONTEXT.cloneEnvironment();
+
+        StorageEnvironmentContext.CURRENT_WORKING_DIRECTORY.setEnvironmentValue(
+            CURRENT_WORKING_DIRECTORY,
+            context
+        );
+
+        StorageEnvironmentContext.HOME_DIRECTORY.setEnvironmentValue(
+            HOME_DIRECTORY,
+            context
+        );
+
+        return StorageEnvironmentContextCopyOnWrite.with(
+            context
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createContext(),
+            "{charset=UTF-8, currency=AUD, currentWorkingDirectory=/current1/working2/directory3, homeDirectory=/users/user123@example.com, indentation=\"  \", lineEnding=\"\\n\", locale=en_AU, timeOffset=Z, user=user123@example.com}"
+        );
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Test
+    public void testPrintTree() {
+        this.treePrintAndCheck(
+            this.createContext(),
+            "StorageEnvironmentContextCopyOnWrite\n" +
+                "  EnvironmentContextSharedMap\n" +
+                "    charset\n" +
+                "      UTF-8 (sun.nio.cs.UTF_8)\n" +
+                "    currency\n" +
+                "      AUD (java.util.Currency)\n" +
+                "    currentWorkingDirectory\n" +
+                "      /current1/working2/directory3\n" +
+                "    homeDirectory\n" +
+                "      /users/user123@example.com\n" +
+                "    indentation\n" +
+                "      \"  \" (walkingkooka.text.Indentation)\n" +
+                "    lineEnding\n" +
+                "      \"\\n\"\n" +
+                "    locale\n" +
+                "      en_AU (java.util.Locale)\n" +
+                "    now\n" +
+                "      1999-12-31T12:58:59 (java.time.LocalDateTime)\n" +
+                "    timeOffset\n" +
+                "      Z (java.time.ZoneOffset)\n" +
+                "    user\n" +
+                "      user123@example.com (walkingkooka.net.email.EmailAddress)\n"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageEnvironmentContextCopyOnWrite> type() {
+        return StorageEnvironmentContextCopyOnWrite.class;
+    }
+
+    @Override
+    public void testTypeNaming() {
+        throw new UnsupportedOperationException();
+    }
+}
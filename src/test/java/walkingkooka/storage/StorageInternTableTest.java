@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class StorageInternTableTest implements ClassTesting<StorageInternTable<?>>,
+    ToStringTesting<StorageInternTable<?>> {
+
+    @Test
+    public void testGetMissing() {
+        this.checkEquals(
+            null,
+            StorageInternTable.empty()
+                .get("missing")
+        );
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final StorageInternTable<StorageName> table = StorageInternTable.empty();
+        final StorageName name = StorageName.with("name1");
+
+        assertSame(
+            name,
+            table.put(
+                "name1",
+                name
+            )
+        );
+
+        assertSame(
+            name,
+            table.get("name1")
+        );
+    }
+
+    @Test
+    public void testGetDifferentText() {
+        final StorageInternTable<StorageName> table = StorageInternTable.empty();
+        table.put(
+            "name1",
+            StorageName.with("name1")
+        );
+
+        this.checkEquals(
+            null,
+            table.get("name2")
+        );
+    }
+
+    @Test
+    public void testPutReplaces() {
+        final StorageInternTable<StorageName> table = StorageInternTable.empty();
+        table.put(
+            "name1",
+            StorageName.with("name1")
+        );
+
+        final StorageName replaced = StorageName.with("name2");
+        table.put(
+            "name1",
+            replaced
+        );
+
+        assertSame(
+            replaced,
+            table.get("name1")
+        );
+    }
+
+    @Test
+    public void testSizeBounded() {
+        final StorageInternTable<String> table = StorageInternTable.empty();
+
+        for (int i = 0; i < StorageInternTable.SIZE * 4; i++) {
+            final String text = "text" + i;
+            table.put(
+                text,
+                text
+            );
+        }
+
+        this.checkEquals(
+            true,
+            table.toString()
+                .endsWith("/" + StorageInternTable.SIZE),
+            table::toString
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final StorageInternTable<StorageName> table = StorageInternTable.empty();
+        table.put(
+            "name1",
+            StorageName.with("name1")
+        );
+        table.put(
+            "name2",
+            StorageName.with("name2")
+        );
+
+        this.toStringAndCheck(
+            table,
+            "2/" + StorageInternTable.SIZE
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageInternTable<?>> type() {
+        return Cast.to(StorageInternTable.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
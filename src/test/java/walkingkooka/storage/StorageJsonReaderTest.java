@@ -0,0 +1,304 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.json.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageJsonReaderTest implements ClassTesting<StorageJsonReader> {
+
+    private final static String JSON = "{\n" +
+        "  \"skipped\": {\"a\": [1, \"}]\\\"\", {\"b\": null}], \"c\": true},\n" +
+        "  \"title\": \"Hello\",\n" +
+        "  \"reports\": [\n" +
+        "    {\"name\": \"first\", \"count\": 1},\n" +
+        "    {\"name\": \"second\", \"count\": 2.5e3}\n" +
+        "  ],\n" +
+        "  \"a/b\": \"slash\",\n" +
+        "  \"m~n\": \"tilde\",\n" +
+        "  \"esc\\u0061ped\": \"escaped\"\n" +
+        "}";
+
+    @Test
+    public void testReadWithNullJsonFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageJsonReader.read(
+                null,
+                ""
+            )
+        );
+    }
+
+    @Test
+    public void testReadWithNullPointerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageJsonReader.read(
+                binary(JSON),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testReadWithInvalidPointerFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageJsonReader.read(
+                binary(JSON),
+                "title"
+            )
+        );
+        this.checkEquals(
+            "Invalid pointer \"title\" expected \"/\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadWithTruncatedJsonFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageJsonReader.read(
+                binary("{\"a\": [1, 2"),
+                "/b"
+            )
+        );
+        this.checkEquals(
+            "Unexpected end of JSON reading \"/b\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadWithInvalidCharacterFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageJsonReader.read(
+                binary("{\"a\" 1}"),
+                "/a"
+            )
+        );
+        this.checkEquals(
+            "Invalid character '1' at 5 reading \"/a\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testReadDocumentScalar() {
+        this.readAndCheck(
+            " 123 ",
+            StorageJsonReader.DOCUMENT,
+            JsonNode.number(123)
+        );
+    }
+
+    @Test
+    public void testReadEmptyPointer() {
+        this.readAndCheck(
+            JSON,
+            "",
+            JsonNode.parse(JSON)
+        );
+    }
+
+    @Test
+    public void testReadProperty() {
+        this.readAndCheck(
+            JSON,
+            "/title",
+            JsonNode.string("Hello")
+        );
+    }
+
+    @Test
+    public void testReadObject() {
+        this.readAndCheck(
+            JSON,
+            "/skipped",
+            JsonNode.parse("{\"a\": [1, \"}]\\\"\", {\"b\": null}], \"c\": true}")
+        );
+    }
+
+    @Test
+    public void testReadArrayElement() {
+        this.readAndCheck(
+            JSON,
+            "/reports/1",
+            JsonNode.parse("{\"name\": \"second\", \"count\": 2.5e3}")
+        );
+    }
+
+    @Test
+    public void testReadArrayElementProperty() {
+        this.readAndCheck(
+            JSON,
+            "/reports/1/count",
+            JsonNode.number(2500)
+        );
+    }
+
+    @Test
+    public void testReadNestedNull() {
+        this.readAndCheck(
+            JSON,
+            "/skipped/a/2/b",
+            JsonNode.nullNode()
+        );
+    }
+
+    @Test
+    public void testReadPropertyWithEscapedSlash() {
+        this.readAndCheck(
+            JSON,
+            "/a~1b",
+            JsonNode.string("slash")
+        );
+    }
+
+    @Test
+    public void testReadPropertyWithEscapedTilde() {
+        this.readAndCheck(
+            JSON,
+            "/m~0n",
+            JsonNode.string("tilde")
+        );
+    }
+
+    @Test
+    public void testReadPropertyNameWithEscapes() {
+        this.readAndCheck(
+            JSON,
+            "/escaped",
+            JsonNode.string("escaped")
+        );
+    }
+
+    @Test
+    public void testReadWithByteOrderMark() {
+        final byte[] json = "{\"a\": 1}".getBytes(StandardCharsets.UTF_8);
+        final byte[] bytes = new byte[json.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(json, 0, bytes, 3, json.length);
+
+        this.checkEquals(
+            Optional.of(
+                JsonNode.number(1)
+            ),
+            StorageJsonReader.read(
+                Binary.with(bytes),
+                "/a"
+            )
+        );
+    }
+
+    @Test
+    public void testReadMissingProperty() {
+        this.readAndCheck(
+            JSON,
+            "/missing"
+        );
+    }
+
+    @Test
+    public void testReadMissingPropertyEmptyObject() {
+        this.readAndCheck(
+            "{}",
+            "/missing"
+        );
+    }
+
+    @Test
+    public void testReadMissingIndex() {
+        this.readAndCheck(
+            JSON,
+            "/reports/2"
+        );
+    }
+
+    @Test
+    public void testReadInvalidIndex() {
+        this.readAndCheck(
+            JSON,
+            "/reports/01"
+        );
+    }
+
+    @Test
+    public void testReadBelowScalar() {
+        this.readAndCheck(
+            JSON,
+            "/title/length"
+        );
+    }
+
+    private void readAndCheck(final String json,
+                              final String pointer) {
+        this.checkEquals(
+            Optional.empty(),
+            StorageJsonReader.read(
+                binary(json),
+                pointer
+            ),
+            pointer
+        );
+    }
+
+    private void readAndCheck(final String json,
+                              final String pointer,
+                              final JsonNode expected) {
+        this.checkEquals(
+            Optional.of(expected),
+            StorageJsonReader.read(
+                binary(json),
+                pointer
+            ),
+            pointer
+        );
+    }
+
+    private static Binary binary(final String json) {
+        return Binary.with(
+            json.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageJsonReader> type() {
+        return StorageJsonReader.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -48,6 +48,31 @@ public final class StorageNameTest implements ClassTesting2<StorageName>,
         );
     }
 
+    @Test
+    public void testWithSameInstance() {
+        assertSame(
+            StorageName.with("interned1"),
+            StorageName.with("interned1")
+        );
+    }
+
+    @Test
+    public void testWithNonAscii() {
+        this.checkEquals(
+            "caf\u00e9",
+            StorageName.with("caf\u00e9")
+                .value()
+        );
+    }
+
+    @Test
+    public void testWithSeparatorFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageName.with("before/after")
+        );
+    }
+
     // fileExtension........................................................................................................
 
     @Test
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StorageZipExporterTest.TestStorageContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StoragePathPatternFinderTest implements ClassTesting<StoragePathPatternFinder> {
+
+    @Test
+    public void testFindWithNullPatternFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StoragePathPatternFinder.find(
+                null,
+                0,
+                1,
+                (p, o) -> Lists.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testFindWithNegativeOffsetFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StoragePathPatternFinder.find(
+                StoragePathPattern.parse("/*"),
+                -1,
+                1,
+                (p, o) -> Lists.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testFindWithNullListFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StoragePathPatternFinder.find(
+                StoragePathPattern.parse("/*"),
+                0,
+                1,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testListMatchingStorage() {
+        this.listMatchingStorageAndCheck(
+            "/reports/**/*.csv",
+            0,
+            10,
+            "/reports/2024/file3.csv",
+            "/reports/2024/q1/file4.csv",
+            "/reports/file1.csv"
+        );
+    }
+
+    @Test
+    public void testListMatchingStorageSingleName() {
+        this.listMatchingStorageAndCheck(
+            "/reports/*.csv",
+            0,
+            10,
+            "/reports/file1.csv"
+        );
+    }
+
+    @Test
+    public void testListMatchingStorageLiteral() {
+        this.listMatchingStorageAndCheck(
+            "/reports/file2.txt",
+            0,
+            10,
+            "/reports/file2.txt"
+        );
+    }
+
+    @Test
+    public void testListMatchingStorageDirectories() {
+        this.listMatchingStorageAndCheck(
+            "/*",
+            0,
+            10,
+            "/other",
+            "/reports"
+        );
+    }
+
+    @Test
+    public void testListMatchingStorageOffsetAndCount() {
+        this.listMatchingStorageAndCheck(
+            "/reports/**/*.csv",
+            1,
+            1,
+            "/reports/2024/q1/file4.csv"
+        );
+    }
+
+    @Test
+    public void testListMatchingStorageCountZero() {
+        this.listMatchingStorageAndCheck(
+            "/reports/**/*.csv",
+            0,
+            0
+        );
+    }
+
+    @Test
+    public void testListMatchingStorageSkipsUnmatchedDirectories() {
+        final TestStorageContext context = this.createContext();
+        final List<StoragePath> listed = Lists.array();
+
+        StoragePathPatternFinder.find(
+            StoragePathPattern.parse("/reports/*.csv"),
+            0,
+            10,
+            (p, o) -> {
+                listed.add(p);
+                return context.listStorage(
+                    p,
+                    o,
+                    StoragePathPatternFinder.PAGE_SIZE
+                );
+            }
+        );
+
+        this.checkEquals(
+            Lists.of(
+                StoragePath.parse("/reports/")
+            ),
+            listed
+        );
+    }
+
+    private void listMatchingStorageAndCheck(final String pattern,
+                                             final int offset,
+                                             final int count,
+                                             final String... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            this.createContext()
+                .listMatchingStorage(
+                    StoragePathPattern.parse(pattern),
+                    offset,
+                    count
+                ).stream()
+                .map(i -> i.path().value())
+                .collect(Collectors.toList()),
+            () -> pattern + " offset=" + offset + " count=" + count
+        );
+    }
+
+    private TestStorageContext createContext() {
+        final TestStorageContext context = new TestStorageContext();
+
+        save("/reports/file1.csv", context);
+        save("/reports/file2.txt", context);
+        save("/reports/2024/file3.csv", context);
+        save("/reports/2024/q1/file4.csv", context);
+        save("/other/file5.csv", context);
+
+        return context;
+    }
+
+    private static void save(final String path,
+                             final StorageContext context) {
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse(path)
+            ).setValue(
+                Optional.of(
+                    Binary.with(
+                        path.getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            )
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StoragePathPatternFinder> type() {
+        return StoragePathPatternFinder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
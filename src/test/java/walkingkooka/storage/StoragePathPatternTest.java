@@ -0,0 +1,399 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StoragePathPatternTest implements ClassTesting<StoragePathPattern>,
+    HashCodeEqualsDefinedTesting2<StoragePathPattern>,
+    ToStringTesting<StoragePathPattern> {
+
+    // parse............................................................................................................
+
+    @Test
+    public void testParseNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StoragePathPattern.parse(null)
+        );
+    }
+
+    @Test
+    public void testParseMissingLeadingSlashFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StoragePathPattern.parse("reports/*.csv")
+        );
+    }
+
+    @Test
+    public void testParseDoubleStarWithinNameFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StoragePathPattern.parse("/reports/a**b")
+        );
+
+        this.checkEquals(
+            "Invalid pattern \"/reports/a**b\" \"**\" must be a whole name",
+            thrown.getMessage()
+        );
+    }
+
+    // test.............................................................................................................
+
+    @Test
+    public void testTestNull() {
+        this.testAndCheck(
+            "/**",
+            null,
+            false
+        );
+    }
+
+    @Test
+    public void testTestRootPatternRoot() {
+        this.testAndCheck(
+            "/",
+            "/",
+            true
+        );
+    }
+
+    @Test
+    public void testTestRootPatternNonRoot() {
+        this.testAndCheck(
+            "/",
+            "/file1",
+            false
+        );
+    }
+
+    @Test
+    public void testTestLiteral() {
+        this.testAndCheck(
+            "/reports/file1.csv",
+            "/reports/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestLiteralDifferent() {
+        this.testAndCheck(
+            "/reports/file1.csv",
+            "/reports/file2.csv",
+            false
+        );
+    }
+
+    @Test
+    public void testTestLiteralIgnoresTrailingSeparator() {
+        this.testAndCheck(
+            "/reports/dir1",
+            "/reports/dir1/",
+            true
+        );
+    }
+
+    @Test
+    public void testTestStar() {
+        this.testAndCheck(
+            "/reports/*.csv",
+            "/reports/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestStarNotAcrossNames() {
+        this.testAndCheck(
+            "/reports/*.csv",
+            "/reports/dir1/file1.csv",
+            false
+        );
+    }
+
+    @Test
+    public void testTestStarDifferentExtension() {
+        this.testAndCheck(
+            "/reports/*.csv",
+            "/reports/file1.txt",
+            false
+        );
+    }
+
+    @Test
+    public void testTestQuestionMark() {
+        this.testAndCheck(
+            "/reports/file?.csv",
+            "/reports/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestQuestionMarkMissingCharacter() {
+        this.testAndCheck(
+            "/reports/file?.csv",
+            "/reports/file.csv",
+            false
+        );
+    }
+
+    @Test
+    public void testTestGlobSeveralStars() {
+        this.testAndCheck(
+            "/reports/*-*-2025.csv",
+            "/reports/sales-march-2025.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestAnyName() {
+        this.testAndCheck(
+            "/reports/*/file1.csv",
+            "/reports/dir1/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestAnyNameMissing() {
+        this.testAndCheck(
+            "/reports/*/file1.csv",
+            "/reports/file1.csv",
+            false
+        );
+    }
+
+    @Test
+    public void testTestAnyNamesZero() {
+        this.testAndCheck(
+            "/reports/**/*.csv",
+            "/reports/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestAnyNamesSeveral() {
+        this.testAndCheck(
+            "/reports/**/*.csv",
+            "/reports/dir1/dir2/dir3/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestAnyNamesDifferentPrefix() {
+        this.testAndCheck(
+            "/reports/**/*.csv",
+            "/other/dir1/file1.csv",
+            false
+        );
+    }
+
+    @Test
+    public void testTestAnyNamesTrailing() {
+        this.testAndCheck(
+            "/reports/**",
+            "/reports",
+            true
+        );
+    }
+
+    @Test
+    public void testTestAnyNamesMiddle() {
+        this.testAndCheck(
+            "/reports/**/archive/*.csv",
+            "/reports/2024/q1/archive/file1.csv",
+            true
+        );
+    }
+
+    @Test
+    public void testTestAnyNamesMiddleMissing() {
+        this.testAndCheck(
+            "/reports/**/archive/*.csv",
+            "/reports/2024/q1/file1.csv",
+            false
+        );
+    }
+
+    private void testAndCheck(final String pattern,
+                              final String path,
+                              final boolean expected) {
+        this.checkEquals(
+            expected,
+            StoragePathPattern.parse(pattern)
+                .test(
+                    null != path ?
+                        StoragePath.parse(path) :
+                        null
+                ),
+            () -> pattern + " test " + path
+        );
+    }
+
+    // isMatchPossibleBelow.............................................................................................
+
+    @Test
+    public void testIsMatchPossibleBelowRoot() {
+        this.isMatchPossibleBelowAndCheck(
+            "/reports/*.csv",
+            "/",
+            true
+        );
+    }
+
+    @Test
+    public void testIsMatchPossibleBelowPrefix() {
+        this.isMatchPossibleBelowAndCheck(
+            "/reports/*.csv",
+            "/reports",
+            true
+        );
+    }
+
+    @Test
+    public void testIsMatchPossibleBelowDifferentDirectory() {
+        this.isMatchPossibleBelowAndCheck(
+            "/reports/*.csv",
+            "/other",
+            false
+        );
+    }
+
+    @Test
+    public void testIsMatchPossibleBelowTooDeep() {
+        this.isMatchPossibleBelowAndCheck(
+            "/reports/*.csv",
+            "/reports/dir1",
+            false
+        );
+    }
+
+    @Test
+    public void testIsMatchPossibleBelowAnyNames() {
+        this.isMatchPossibleBelowAndCheck(
+            "/reports/**/*.csv",
+            "/reports/dir1/dir2",
+            true
+        );
+    }
+
+    @Test
+    public void testIsMatchPossibleBelowMatch() {
+        this.isMatchPossibleBelowAndCheck(
+            "/reports/file1.csv",
+            "/reports/file1.csv",
+            false
+        );
+    }
+
+    private void isMatchPossibleBelowAndCheck(final String pattern,
+                                              final String directory,
+                                              final boolean expected) {
+        this.checkEquals(
+            expected,
+            StoragePathPattern.parse(pattern)
+                .isMatchPossibleBelow(
+                    StoragePath.parse(directory)
+                ),
+            () -> pattern + " isMatchPossibleBelow " + directory
+        );
+    }
+
+    // directory........................................................................................................
+
+    @Test
+    public void testDirectoryRootPattern() {
+        this.directoryAndCheck(
+            "/",
+            "/"
+        );
+    }
+
+    @Test
+    public void testDirectoryLiteral() {
+        this.directoryAndCheck(
+            "/reports/dir1/file1.csv",
+            "/reports/dir1"
+        );
+    }
+
+    @Test
+    public void testDirectoryWildcard() {
+        this.directoryAndCheck(
+            "/reports/**/*.csv",
+            "/reports"
+        );
+    }
+
+    private void directoryAndCheck(final String pattern,
+                                   final String directory) {
+        this.checkEquals(
+            StoragePath.parse(directory),
+            StoragePathPattern.parse(pattern)
+                .directory()
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPattern() {
+        this.checkNotEquals(
+            StoragePathPattern.parse("/different/*.txt")
+        );
+    }
+
+    @Override
+    public StoragePathPattern createObject() {
+        return StoragePathPattern.parse("/reports/**/*.csv");
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "/reports/**/*.csv"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StoragePathPattern> type() {
+        return StoragePathPattern.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -568,6 +568,65 @@ HasCurrentWorkingDirectoryTesting,
         );
     }
 
+    // parse interned...................................................................................................
+
+    @Test
+    public void testParseSameInstance() {
+        assertSame(
+            StoragePath.parse("/interned1/interned2"),
+            StoragePath.parse("/interned1/interned2")
+        );
+    }
+
+    @Test
+    public void testParseParentSameInstance() {
+        final StoragePath parent = StoragePath.parse("/interned3");
+
+        assertSame(
+            parent,
+            StoragePath.parse("/interned3/interned4")
+                .parent()
+                .get()
+        );
+    }
+
+    @Test
+    public void testParseNormalizedSameInstance() {
+        assertSame(
+            StoragePath.parse("/interned5/interned6"),
+            StoragePath.parse("/interned5/./interned6")
+        );
+    }
+
+    @Test
+    public void testParseParentOfRootFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StoragePath.parse("/../path1")
+        );
+
+        this.checkEquals(
+            "Failed to parse \"/../path1\", message: Parent of root",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testParseNormalizedParentsSameInstance() {
+        final StoragePath path = StoragePath.parse("/normalized1//normalized2/../normalized3/normalized4/");
+
+        this.checkEquals(
+            "/normalized1/normalized3/normalized4/",
+            path.value()
+        );
+
+        assertSame(
+            StoragePath.parse("/normalized1/normalized3"),
+            path.parent()
+                .get()
+        );
+    }
+
     // appendPath.......................................................................................................
 
     @Test
@@ -609,6 +668,17 @@ HasCurrentWorkingDirectoryTesting,
         );
     }
 
+    @Test
+    public void testAppendPathSameInstanceAsParse() {
+        assertSame(
+            StoragePath.parse("/appended1/appended2"),
+            StoragePath.parse("/appended1")
+                .append(
+                    StoragePath.parse("/appended2")
+                )
+        );
+    }
+
     @Test
     public void testAppendPathToNonRootTwice() {
         final StoragePath parent = StoragePath.parse("/parent1");
@@ -928,6 +998,41 @@ HasCurrentWorkingDirectoryTesting,
         );
     }
 
+    @Test
+    public void testRemovePrefixParent() {
+        this.removePrefixAndCheck(
+            "/path123/path456/",
+            "/path123",
+            "/path456/"
+        );
+    }
+
+    @Test
+    public void testRemovePrefixPartialNameFails() {
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> StoragePath.parse("/path123/path456")
+                .removePrefix(
+                    StoragePath.parse("/path1")
+                )
+        );
+    }
+
+    @Test
+    public void testRemovePrefixParentSameInstance() {
+        final StoragePath path = StoragePath.parse("/removed1/removed2/removed3");
+
+        assertSame(
+            StoragePath.parse("/removed2/removed3")
+                .parent()
+                .get(),
+            path.removePrefix(
+                StoragePath.parse("/removed1")
+            ).parent()
+                .get()
+        );
+    }
+
     private void removePrefixAndCheck(final String path,
                                       final String prefix,
                                       final String expected) {
@@ -1293,6 +1398,25 @@ HasCurrentWorkingDirectoryTesting,
         );
     }
 
+    @Test
+    public void testReplacePrefixWithPartialNamePrefix() {
+        this.replacePrefixAndCheck(
+            "/prefix123/hello",
+            "/prefix1",
+            "/prefix2"
+        );
+    }
+
+    @Test
+    public void testReplacePrefixWithParent() {
+        this.replacePrefixAndCheck(
+            "/prefix1/hello/",
+            "/prefix1",
+            "/prefix2",
+            "/prefix2/hello/"
+        );
+    }
+
     private void replacePrefixAndCheck(final String path,
                                        final String prefix,
                                        final String replaceWith) {
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+public final class StorageShared2ExpandedDirectoryTest implements ClassTesting<StorageShared2ExpandedDirectory>,
+    ToStringTesting<StorageShared2ExpandedDirectory> {
+
+    // expand...........................................................................................................
+
+    @Test
+    public void testExpandRoot() {
+        this.expandAndCheck(
+            "/home/user",
+            "/",
+            "/home/user/"
+        );
+    }
+
+    @Test
+    public void testExpandFile() {
+        this.expandAndCheck(
+            "/home/user",
+            "/dir1/file2.txt",
+            "/home/user/dir1/file2.txt"
+        );
+    }
+
+    @Test
+    public void testExpandDirectoryWithTrailingSeparator() {
+        this.expandAndCheck(
+            "/home/user/",
+            "/dir1/file2.txt",
+            "/home/user/dir1/file2.txt"
+        );
+    }
+
+    @Test
+    public void testExpandDirectoryRoot() {
+        this.expandAndCheck(
+            "/",
+            "/dir1/file2.txt",
+            "/dir1/file2.txt"
+        );
+    }
+
+    @Test
+    public void testExpandParent() {
+        this.expandAndCheck(
+            "/home/user",
+            "/dir1/",
+            "/home/user/dir1/"
+        );
+    }
+
+    private void expandAndCheck(final String directory,
+                                final String path,
+                                final String expected) {
+        this.checkEquals(
+            Optional.of(
+                StoragePath.parse(expected)
+            ),
+            StorageShared2ExpandedDirectory.with(
+                StoragePath.parse(directory)
+            ).expand(
+                StoragePath.parse(path)
+            ),
+            () -> directory + " expand " + path
+        );
+    }
+
+    // unexpand.........................................................................................................
+
+    @Test
+    public void testUnexpandDirectory() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/home/user",
+            "/"
+        );
+    }
+
+    @Test
+    public void testUnexpandDirectoryWithTrailingSeparator() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/home/user/",
+            "/"
+        );
+    }
+
+    @Test
+    public void testUnexpandFile() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/home/user/dir1/file2.txt",
+            "/dir1/file2.txt"
+        );
+    }
+
+    @Test
+    public void testUnexpandFileDirectoryWithTrailingSeparator() {
+        this.unexpandAndCheck(
+            "/home/user/",
+            "/home/user/dir1/file2.txt",
+            "/dir1/file2.txt"
+        );
+    }
+
+    @Test
+    public void testUnexpandOutside() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/other/file2.txt"
+        );
+    }
+
+    @Test
+    public void testUnexpandParentOfDirectory() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/home"
+        );
+    }
+
+    @Test
+    public void testUnexpandParent() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/home/user/dir1/",
+            "/dir1/"
+        );
+    }
+
+    @Test
+    public void testUnexpandSamePrefixDifferentComponent() {
+        this.unexpandAndCheck(
+            "/home/user",
+            "/home/user2/file2.txt"
+        );
+    }
+
+    @Test
+    public void testUnexpandDirectoryRoot() {
+        this.unexpandAndCheck(
+            "/",
+            "/dir1/file2.txt",
+            "/dir1/file2.txt"
+        );
+    }
+
+    private void unexpandAndCheck(final String directory,
+                                  final String path) {
+        this.unexpandAndCheck(
+            directory,
+            path,
+            Optional.empty()
+        );
+    }
+
+    private void unexpandAndCheck(final String directory,
+                                  final String path,
+                                  final String expected) {
+        this.unexpandAndCheck(
+            directory,
+            path,
+            Optional.of(
+                StoragePath.parse(expected)
+            )
+        );
+    }
+
+    private void unexpandAndCheck(final String directory,
+                                  final String path,
+                                  final Optional<StoragePath> expected) {
+        this.checkEquals(
+            expected,
+            StorageShared2ExpandedDirectory.with(
+                StoragePath.parse(directory)
+            ).unexpand(
+                StoragePath.parse(path)
+            ),
+            () -> directory + " unexpand " + path
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            StorageShared2ExpandedDirectory.with(
+                StoragePath.parse("/home/user")
+            ),
+            "/home/user"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageShared2ExpandedDirectory> type() {
+        return StorageShared2ExpandedDirectory.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
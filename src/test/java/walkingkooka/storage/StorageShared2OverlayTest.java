@@ -0,0 +1,805 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.storage.StorageShared2OverlayTest.TestStorageContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageShared2OverlayTest extends StorageShared2TestCase<StorageShared2Overlay<TestStorageContext>, TestStorageContext> {
+
+    private final static StorageValue LOWER1 = StorageValue.with(
+        StoragePath.parse("/lower1.txt")
+    ).setValue(
+        Optional.of("lower-111")
+    );
+
+    private final static StorageValue LOWER2 = StorageValue.with(
+        StoragePath.parse("/lower2.txt")
+    ).setValue(
+        Optional.of("lower-222")
+    );
+
+    private final static StorageValue SHARED = StorageValue.with(
+        StoragePath.parse("/shared.txt")
+    ).setValue(
+        Optional.of("lower-shared")
+    );
+
+    private final static StorageValue UPPER1 = StorageValue.with(
+        StoragePath.parse("/upper1.txt")
+    ).setValue(
+        Optional.of("upper-111")
+    );
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullLowerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2Overlay.with(
+                null,
+                Storages.treeMapStore()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullUpperFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2Overlay.with(
+                Storages.treeMapStore(),
+                null
+            )
+        );
+    }
+
+    // canRead..........................................................................................................
+
+    @Test
+    public void testCanReadLower() {
+        this.canReadAndCheck(
+            this.createStorage(),
+            LOWER1.path(),
+            this.createContext(),
+            true
+        );
+    }
+
+    @Test
+    public void testCanReadDeleted() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.delete(
+            LOWER1.path(),
+            context
+        );
+
+        this.canReadAndCheck(
+            storage,
+            LOWER1.path(),
+            context,
+            false
+        );
+    }
+
+    // load.............................................................................................................
+
+    @Test
+    public void testLoadLower() {
+        this.loadAndCheck(
+            this.createStorage(),
+            LOWER1.path(),
+            this.createContext(),
+            LOWER1
+        );
+    }
+
+    @Test
+    public void testLoadUnknown() {
+        this.loadAndCheck(
+            this.createStorage(),
+            StoragePath.parse("/unknown404.txt"),
+            this.createContext()
+        );
+    }
+
+    // save.............................................................................................................
+
+    @Test
+    public void testSaveShadowsLower() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        final StorageValue upper = SHARED.setValue(
+            Optional.of("upper-shared")
+        );
+
+        storage.save(
+            upper,
+            context
+        );
+
+        this.loadAndCheck(
+            storage,
+            SHARED.path(),
+            context,
+            upper
+        );
+
+        // lower must be unmodified
+        this.loadAndCheck(
+            storage.lower,
+            SHARED.path(),
+            context,
+            SHARED
+        );
+    }
+
+    @Test
+    public void testSaveAfterDelete() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.delete(
+            LOWER1.path(),
+            context
+        );
+
+        final StorageValue value = LOWER1.setValue(
+            Optional.of("again")
+        );
+
+        storage.save(
+            value,
+            context
+        );
+
+        this.loadAndCheck(
+            storage,
+            LOWER1.path(),
+            context,
+            value
+        );
+
+        this.loadAndCheck(
+            storage.upper,
+            StorageShared2Overlay.whiteout(
+                LOWER1.path()
+            ),
+            context
+        );
+    }
+
+    // delete...........................................................................................................
+
+    @Test
+    public void testDeleteLower() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        this.deleteAndCheck(
+            storage,
+            LOWER1.path(),
+            context
+        );
+
+        // lower must be unmodified
+        this.loadAndCheck(
+            storage.lower,
+            LOWER1.path(),
+            context,
+            LOWER1
+        );
+    }
+
+    @Test
+    public void testDeleteSavesWhiteoutMarkerInUpper() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.delete(
+            LOWER1.path(),
+            context
+        );
+
+        final StoragePath whiteout = StorageShared2Overlay.whiteout(
+            LOWER1.path()
+        );
+        this.checkEquals(
+            StoragePath.parse("/.wh.lower1.txt"),
+            whiteout
+        );
+        this.checkEquals(
+            true,
+            storage.upper.stat(
+                whiteout,
+                context
+            ).isPresent(),
+            "whiteout marker"
+        );
+
+        // markers are hidden
+        this.loadAndCheck(
+            storage,
+            whiteout,
+            context
+        );
+    }
+
+    @Test
+    public void testDeleteRememberedByNewOverlay() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.delete(
+            LOWER1.path(),
+            context
+        );
+
+        // same layers, as after a restart with a persistent upper storage
+        final StorageShared2Overlay<TestStorageContext> restarted = StorageShared2Overlay.with(
+            storage.lower,
+            storage.upper
+        );
+
+        this.loadAndCheck(
+            restarted,
+            LOWER1.path(),
+            context
+        );
+
+        this.listAndCheck(
+            restarted,
+            StoragePath.ROOT,
+            0,
+            10,
+            context,
+            StorageValueInfo.with(
+                LOWER2.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                SHARED.path(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testDeleteWhiteoutMarkerFails() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> storage.delete(
+                StoragePath.parse("/.wh.lower1.txt"),
+                this.createContext()
+            )
+        );
+    }
+
+    @Test
+    public void testDeleteShadowed() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.save(
+            SHARED.setValue(
+                Optional.of("upper-shared")
+            ),
+            context
+        );
+
+        this.deleteAndCheck(
+            storage,
+            SHARED.path(),
+            context
+        );
+
+        this.loadAndCheck(
+            storage.upper,
+            SHARED.path(),
+            context
+        );
+    }
+
+    @Test
+    public void testDeleteParentPathFails() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+
+        final InvalidStoragePathException thrown = assertThrows(
+            InvalidStoragePathException.class,
+            () -> storage.delete(
+                StoragePath.parse("/dir/"),
+                this.createContext()
+            )
+        );
+        this.checkEquals(
+            "Invalid parent path \"/dir/\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testDeleteLowerDirectoryFails() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        final StorageValue child = StorageValue.with(
+            StoragePath.parse("/dir/child.txt")
+        ).setValue(
+            Optional.of("child")
+        );
+        storage.lower.save(
+            child,
+            context
+        );
+
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> storage.delete(
+                StoragePath.parse("/dir"),
+                context
+            )
+        );
+
+        this.loadAndCheck(
+            storage,
+            child.path(),
+            context,
+            child
+        );
+    }
+
+    // list.............................................................................................................
+
+    @Test
+    public void testListMerged() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.save(
+            UPPER1,
+            context
+        );
+        storage.save(
+            SHARED.setValue(
+                Optional.of("upper-shared")
+            ),
+            context
+        );
+
+        this.listAndCheck(
+            storage,
+            StoragePath.ROOT,
+            0,
+            10,
+            context,
+            StorageValueInfo.with(
+                LOWER1.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                LOWER2.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                SHARED.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                UPPER1.path(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListMergedOffsetAndCount() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.save(
+            UPPER1,
+            context
+        );
+
+        this.listAndCheck(
+            storage,
+            StoragePath.ROOT,
+            2,
+            2,
+            context,
+            StorageValueInfo.with(
+                SHARED.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                UPPER1.path(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListAfterDelete() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.delete(
+            LOWER2.path(),
+            context
+        );
+
+        this.listAndCheck(
+            storage,
+            StoragePath.ROOT,
+            0,
+            10,
+            context,
+            StorageValueInfo.with(
+                LOWER1.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                SHARED.path(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListMergedSorted() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        final StorageValue first = StorageValue.with(
+            StoragePath.parse("/a.txt")
+        ).setValue(
+            Optional.of("upper-a")
+        );
+        final StorageValue middle = StorageValue.with(
+            StoragePath.parse("/m.txt")
+        ).setValue(
+            Optional.of("upper-m")
+        );
+
+        storage.save(
+            first,
+            context
+        );
+        storage.save(
+            middle,
+            context
+        );
+
+        this.listAndCheck(
+            storage,
+            StoragePath.ROOT,
+            0,
+            10,
+            context,
+            StorageValueInfo.with(
+                first.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                LOWER1.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                LOWER2.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                middle.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                SHARED.path(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListMergedSortedOffsetAndCount() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.save(
+            StorageValue.with(
+                StoragePath.parse("/a.txt")
+            ).setValue(
+                Optional.of("upper-a")
+            ),
+            context
+        );
+
+        final StorageValue middle = StorageValue.with(
+            StoragePath.parse("/m.txt")
+        ).setValue(
+            Optional.of("upper-m")
+        );
+        storage.save(
+            middle,
+            context
+        );
+
+        this.listAndCheck(
+            storage,
+            StoragePath.ROOT,
+            2,
+            2,
+            context,
+            StorageValueInfo.with(
+                LOWER2.path(),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                middle.path(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListMoreThanBatchSize() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        final int count = StorageShared2Overlay.BATCH_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            final Storage<TestStorageContext> layer = 0 == i % 2 ?
+                storage.lower :
+                storage.upper;
+            layer.save(
+                StorageValue.with(
+                    StoragePath.parse("/dir/file" + (1000 + i) + ".txt")
+                ).setValue(
+                    Optional.of("value-" + i)
+                ),
+                context
+            );
+        }
+
+        final List<StorageValueInfo> infos = storage.list(
+            StoragePath.parse("/dir/"),
+            1,
+            count,
+            context
+        );
+
+        this.checkEquals(
+            count - 1,
+            infos.size(),
+            "size"
+        );
+
+        for (int i = 0; i < infos.size(); i++) {
+            this.checkEquals(
+                StoragePath.parse("/dir/file" + (1001 + i) + ".txt"),
+                infos.get(i).path(),
+                "path " + i
+            );
+        }
+    }
+
+    // setAuditInfo.....................................................................................................
+
+    @Test
+    public void testSetAuditInfoCopiesLower() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        final StorageValueInfo info = StorageValueInfo.with(
+            LOWER1.path(),
+            AUDIT_INFO.setModifiedTimestamp(
+                NOW.plusYears(1)
+            )
+        );
+
+        storage.setAuditInfo(
+            info,
+            context
+        );
+
+        this.loadAndCheck(
+            storage.upper,
+            LOWER1.path(),
+            context,
+            LOWER1
+        );
+
+        this.listAndCheck(
+            storage,
+            LOWER1.path(),
+            0,
+            1,
+            context,
+            info
+        );
+    }
+
+    @Test
+    public void testSetAuditInfoDeletedFails() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.delete(
+            LOWER1.path(),
+            context
+        );
+
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> storage.setAuditInfo(
+                StorageValueInfo.with(
+                    LOWER1.path(),
+                    AUDIT_INFO
+                ),
+                context
+            )
+        );
+    }
+
+    // watcher..........................................................................................................
+
+    @Test
+    public void testAddWatcherSave() {
+        final StorageShared2Overlay<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        this.fired = 0;
+
+        storage.addWatcher(
+            new StorageWatcher() {
+                @Override
+                public void onValueChange(final Optional<StorageValue> oldValue,
+                                          final Optional<StorageValue> newValue) {
+                    StorageShared2OverlayTest.this.fired++;
+                }
+            },
+            context
+        );
+
+        storage.save(
+            UPPER1,
+            context
+        );
+
+        this.checkEquals(
+            1,
+            this.fired
+        );
+    }
+
+    private int fired;
+
+    // stop.............................................................................................................
+
+    @Test
+    public void testStopOnlyStopsUpper() {
+        this.stopped = 0;
+
+        StorageShared2Overlay.with(
+            new FakeStorage<TestStorageContext>() {
+                @Override
+                public void stop() {
+                    throw new UnsupportedOperationException("Shared lower must not be stopped");
+                }
+            },
+            new StopCountingStorage()
+        ).stop();
+
+        this.checkEquals(
+            1,
+            this.stopped
+        );
+    }
+
+    private int stopped;
+
+    final class StopCountingStorage extends FakeStorage<TestStorageContext> {
+
+        @Override
+        public void stop() {
+            StorageShared2OverlayTest.this.stopped++;
+        }
+    }
+
+    @Override
+    public StorageShared2Overlay<TestStorageContext> createStorage() {
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> lower = Storages.treeMapStore();
+        lower.save(
+            LOWER1,
+            context
+        );
+        lower.save(
+            LOWER2,
+            context
+        );
+        lower.save(
+            SHARED,
+            context
+        );
+
+        return StorageShared2Overlay.with(
+            lower,
+            Storages.treeMapStore()
+        );
+    }
+
+    @Override
+    public TestStorageContext createContext() {
+        return new TestStorageContext();
+    }
+
+    final static class TestStorageContext extends FakeStorageContext implements StorageContext {
+
+        TestStorageContext() {
+            super();
+        }
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return OPTIONAL_USER;
+        }
+
+        @Override
+        public LocalDateTime now() {
+            return StorageShared2OverlayTest.NOW;
+        }
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final Storage<TestStorageContext> lower = Storages.treeMapStore();
+        final Storage<TestStorageContext> upper = Storages.treeMapStore();
+
+        this.toStringAndCheck(
+            StorageShared2Overlay.with(
+                lower,
+                upper
+            ),
+            lower + " " + upper
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageShared2Overlay<TestStorageContext>> type() {
+        return Cast.to(StorageShared2Overlay.class);
+    }
+}
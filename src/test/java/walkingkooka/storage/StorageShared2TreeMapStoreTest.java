@@ -18,17 +18,22 @@
 package walkingkooka.storage;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
 import walkingkooka.CanBeEmptyTesting;
 import walkingkooka.Cast;
 import walkingkooka.HashCodeEqualsDefinedTesting2;
 import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.net.email.EmailAddress;
+import walkingkooka.net.header.MediaType;
 import walkingkooka.reflect.ThrowableTesting;
 import walkingkooka.storage.StorageShared2TreeMapStoreTest.TestStorageContext;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -566,6 +571,261 @@ public class StorageShared2TreeMapStoreTest extends StorageShared2TestCase<Stora
         );
     }
 
+    // stat.............................................................................................................
+
+    @Test
+    public void testStatUnknown() {
+        this.statAndCheck(
+            this.createStorage(),
+            StoragePath.parse("/unknown.txt"),
+            this.createContext()
+        );
+    }
+
+    @Test
+    public void testStatStringValue() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        storage.save(
+            STORAGE_VALUE.setContentType(
+                Optional.of(MediaType.TEXT_PLAIN)
+            ),
+            context
+        );
+
+        this.statAndCheck(
+            storage,
+            PATH,
+            context,
+            StorageValueStat.with(
+                StorageValueInfo.with(
+                    PATH,
+                    AUDIT_INFO
+                )
+            ).setContentType(
+                Optional.of(MediaType.TEXT_PLAIN)
+            )
+        );
+    }
+
+    @Test
+    public void testStatBinaryValue() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        final StoragePath path = StoragePath.parse("/dir1/file1.bin");
+
+        storage.save(
+            StorageValue.with(path)
+                .setValue(
+                    Optional.of(
+                        Binary.with(
+                            new byte[]{1, 2, 3}
+                        )
+                    )
+                ).setContentType(
+                    Optional.of(MediaType.BINARY)
+                ),
+            context
+        );
+
+        this.statAndCheck(
+            storage,
+            path,
+            context,
+            StorageValueStat.with(
+                StorageValueInfo.with(
+                    path,
+                    AUDIT_INFO
+                )
+            ).setContentType(
+                Optional.of(MediaType.BINARY)
+            ).setSize(
+                OptionalLong.of(3)
+            )
+        );
+    }
+
+    @Test
+    public void testStatValueWithParentPath() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        storage.save(
+            STORAGE_VALUE,
+            context
+        );
+
+        this.statAndCheck(
+            storage,
+            StoragePath.parse("/path123/"),
+            context
+        );
+    }
+
+    @Test
+    public void testStatDirectory() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        storage.save(
+            StorageValue.with(
+                StoragePath.parse("/dir1/file1.txt")
+            ).setValue(
+                Optional.of("111")
+            ),
+            context
+        );
+        storage.save(
+            StorageValue.with(
+                StoragePath.parse("/dir1/dir2/file2.txt")
+            ).setValue(
+                Optional.of("222")
+            ),
+            context
+        );
+
+        final StoragePath dir1 = StoragePath.parse("/dir1/");
+
+        this.statAndCheck(
+            storage,
+            dir1,
+            context,
+            StorageValueStat.with(
+                StorageValueInfo.with(
+                    dir1,
+                    AUDIT_INFO
+                )
+            ).setChildCount(
+                OptionalInt.of(2)
+            )
+        );
+    }
+
+    @Test
+    public void testStatDirectoryAfterSaveUpdateAndDelete() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        final StoragePath file1 = StoragePath.parse("/dir1/file1.txt");
+
+        storage.save(
+            StorageValue.with(file1)
+                .setValue(
+                    Optional.of("111")
+                ),
+            context
+        );
+        storage.save(
+            StorageValue.with(file1)
+                .setValue(
+                    Optional.of("111b")
+                ),
+            context
+        );
+        storage.save(
+            StorageValue.with(
+                StoragePath.parse("/dir1/file2.txt")
+            ).setValue(
+                Optional.of("222")
+            ),
+            context
+        );
+        storage.delete(
+            file1,
+            context
+        );
+
+        final StoragePath dir1 = StoragePath.parse("/dir1/");
+
+        this.statAndCheck(
+            storage,
+            dir1,
+            context,
+            StorageValueStat.with(
+                StorageValueInfo.with(
+                    dir1,
+                    AUDIT_INFO
+                )
+            ).setChildCount(
+                OptionalInt.of(1)
+            )
+        );
+    }
+
+    @Test
+    public void testStatRoot() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        storage.save(
+            STORAGE_VALUE,
+            context
+        );
+
+        this.statAndCheck(
+            storage,
+            StoragePath.ROOT,
+            context,
+            StorageValueStat.with(
+                StorageValueInfo.with(
+                    StoragePath.ROOT,
+                    AUDIT_INFO
+                )
+            ).setChildCount(
+                OptionalInt.of(1)
+            )
+        );
+    }
+
+    // changesSince.....................................................................................................
+
+    @Test
+    public void testChangesSince() {
+        final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = new TestStorageContext();
+
+        storage.save(
+            STORAGE_VALUE,
+            context
+        );
+
+        final long sequence = storage.changeLog.sequence();
+
+        storage.delete(
+            PATH,
+            context
+        );
+
+        this.checkEquals(
+            Lists.of(
+                StorageChange.with(
+                    sequence + 1,
+                    PATH,
+                    StorageChangeType.DELETE
+                )
+            ),
+            storage.changesSince(
+                sequence,
+                10,
+                context
+            )
+        );
+    }
+
+    @Test
+    public void testIsChangesSinceAvailable() {
+        this.checkEquals(
+            true,
+            this.createStorage()
+                .isChangesSinceAvailable(
+                    0,
+                    new TestStorageContext()
+                )
+        );
+    }
+
     @Test
     public void testSetAuditInfo() {
         final StorageShared2TreeMapStore<TestStorageContext> storage = this.createStorage();
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StorageShared2ValueMemoizingFunctionTest.TestStorageContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageShared2ValueMemoizingFunctionTest implements ClassTesting<StorageShared2ValueMemoizingFunction<TestStorageContext>>,
+    ToStringTesting<StorageShared2ValueMemoizingFunction<TestStorageContext>> {
+
+    private final static LocalDateTime NOW = LocalDateTime.of(
+        1999,
+        12,
+        31,
+        12,
+        58,
+        59
+    );
+
+    private final static Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    @Test
+    public void testWithNullValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2ValueMemoizingFunction.with(
+                null,
+                (TestStorageContext c) -> c.key,
+                Optional.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2ValueMemoizingFunction.with(
+                this.value(),
+                null,
+                Optional.empty()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullTimeToLiveFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2ValueMemoizingFunction.with(
+                this.value(),
+                (TestStorageContext c) -> c.key,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroTimeToLiveFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageShared2ValueMemoizingFunction.with(
+                this.value(),
+                (TestStorageContext c) -> c.key,
+                Optional.of(Duration.ZERO)
+            )
+        );
+    }
+
+    @Test
+    public void testApplySameKey() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final StorageValue value = function.apply(context);
+
+        assertSame(
+            value,
+            function.apply(context)
+        );
+        this.checkEquals(
+            1,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyDifferentKey() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final StorageValue value = function.apply(context);
+
+        context.key = "different";
+
+        assertNotSame(
+            value,
+            function.apply(context)
+        );
+        this.checkEquals(
+            2,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyAlternatingKeys() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final StorageValue value = function.apply(context);
+
+        final Object key = context.key;
+        context.key = "different";
+
+        final StorageValue different = function.apply(context);
+
+        context.key = key;
+
+        assertSame(
+            value,
+            function.apply(context)
+        );
+
+        context.key = "different";
+
+        assertSame(
+            different,
+            function.apply(context)
+        );
+        this.checkEquals(
+            2,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyMoreThanMaxEntriesKeys() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final Object first = context.key;
+        function.apply(context);
+
+        for (int i = 0; i < StorageShared2ValueMemoizingFunction.MAX_ENTRIES; i++) {
+            context.key = "key" + i;
+            function.apply(context);
+        }
+
+        context.key = first;
+        function.apply(context);
+
+        this.checkEquals(
+            StorageShared2ValueMemoizingFunction.MAX_ENTRIES + 2,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyDifferentListWithSameElements() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final String element = "element1";
+        context.key = Lists.of(element);
+
+        final StorageValue value = function.apply(context);
+
+        context.key = Lists.of(element);
+
+        assertSame(
+            value,
+            function.apply(context)
+        );
+        this.checkEquals(
+            1,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyDifferentListWithDifferentElements() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        context.key = Lists.of("element1");
+
+        function.apply(context);
+
+        context.key = Lists.of("element1", "element2");
+
+        function.apply(context);
+
+        this.checkEquals(
+            2,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyAfterMountDropsEntryForReplacedMountPoints() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final Storage<TestStorageContext> storage = Storages.treeMapStore();
+        final StorageSharedMount<TestStorageContext> mount = StorageSharedMount.with(storage);
+
+        final List<StorageMountPoint<TestStorageContext>> before = mount.mountPoints();
+        context.key = before;
+        function.apply(context);
+
+        mount.mount(
+            StorageMountPoint.with(
+                StoragePath.parse("/mount1"),
+                Storages.treeMapStore()
+            ),
+            context
+        );
+
+        context.key = mount.mountPoints();
+        function.apply(context);
+
+        // entry for the list before the mount was dropped
+        context.key = before;
+        function.apply(context);
+
+        this.checkEquals(
+            3,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyMountPointsFromDifferentStorages() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(Optional.empty());
+        final TestStorageContext context = new TestStorageContext();
+
+        final List<StorageMountPoint<TestStorageContext>> mountPoints1 = StorageSharedMount.with(
+            Storages.<TestStorageContext>treeMapStore()
+        ).mountPoints();
+        final List<StorageMountPoint<TestStorageContext>> mountPoints2 = StorageSharedMount.with(
+            Storages.<TestStorageContext>treeMapStore()
+        ).mountPoints();
+
+        context.key = mountPoints1;
+        final StorageValue value = function.apply(context);
+
+        context.key = mountPoints2;
+        function.apply(context);
+
+        context.key = mountPoints1;
+        assertSame(
+            value,
+            function.apply(context)
+        );
+
+        this.checkEquals(
+            2,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyBeforeTimeToLive() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(
+            Optional.of(TIME_TO_LIVE)
+        );
+        final TestStorageContext context = new TestStorageContext();
+
+        final StorageValue value = function.apply(context);
+
+        context.now = NOW.plus(TIME_TO_LIVE);
+
+        assertSame(
+            value,
+            function.apply(context)
+        );
+        this.checkEquals(
+            1,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testApplyAfterTimeToLive() {
+        final StorageShared2ValueMemoizingFunction<TestStorageContext> function = this.createFunction(
+            Optional.of(TIME_TO_LIVE)
+        );
+        final TestStorageContext context = new TestStorageContext();
+
+        final StorageValue value = function.apply(context);
+
+        context.now = NOW.plus(TIME_TO_LIVE)
+            .plusSeconds(1);
+
+        assertNotSame(
+            value,
+            function.apply(context)
+        );
+        this.checkEquals(
+            2,
+            this.computed
+        );
+    }
+
+    @Test
+    public void testStorageLoad() {
+        final Storage<TestStorageContext> storage = Storages.valueMemoized(
+            this.value(),
+            (TestStorageContext c) -> c.key,
+            Optional.empty()
+        );
+        final TestStorageContext context = new TestStorageContext();
+
+        final StorageValue value = storage.load(
+            StoragePath.ROOT,
+            context
+        ).get();
+
+        assertSame(
+            value,
+            storage.load(
+                StoragePath.ROOT,
+                context
+            ).get()
+        );
+    }
+
+    private StorageShared2ValueMemoizingFunction<TestStorageContext> createFunction(final Optional<Duration> timeToLive) {
+        return StorageShared2ValueMemoizingFunction.with(
+            this.value(),
+            (TestStorageContext c) -> c.key,
+            timeToLive
+        );
+    }
+
+    private Function<TestStorageContext, StorageValue> value() {
+        return new Function<>() {
+            @Override
+            public StorageValue apply(final TestStorageContext context) {
+                StorageShared2ValueMemoizingFunctionTest.this.computed++;
+
+                return StorageValue.with(StoragePath.ROOT)
+                    .setValue(
+                        Optional.of(
+                            StorageShared2ValueMemoizingFunctionTest.this.computed
+                        )
+                    );
+            }
+
+            @Override
+            public String toString() {
+                return "Value123";
+            }
+        };
+    }
+
+    private int computed;
+
+    static class TestStorageContext extends FakeStorageContext {
+
+        @Override
+        public LocalDateTime now() {
+            return this.now;
+        }
+
+        LocalDateTime now = NOW;
+
+        Object key = "key";
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createFunction(Optional.empty()),
+            "Value123"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageShared2ValueMemoizingFunction<TestStorageContext>> type() {
+        return Cast.to(StorageShared2ValueMemoizingFunction.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -97,6 +97,31 @@ public final class StorageShared2ValueTest extends StorageShared2TestCase<Storag
         );
     }
 
+    @Test
+    public void testStatRoot() {
+        this.statAndCheck(
+            this.createStorage(),
+            StoragePath.ROOT,
+            this.createContext(),
+            StorageValueStat.value(
+                StorageValueInfo.with(
+                    StoragePath.ROOT,
+                    AUDIT_INFO
+                ),
+                VALUE
+            )
+        );
+    }
+
+    @Test
+    public void testStatNonRoot() {
+        this.statAndCheck(
+            this.createStorage(),
+            StoragePath.parse("/non-root"),
+            this.createContext()
+        );
+    }
+
     @Test
     public void testSaveFails() {
         assertThrows(
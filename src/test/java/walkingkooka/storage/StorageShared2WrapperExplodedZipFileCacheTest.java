@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.HasCharsetTesting;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageShared2WrapperExplodedZipFileCacheTest implements ClassTesting<StorageShared2WrapperExplodedZipFileCache>,
+    HasCharsetTesting,
+    ToStringTesting<StorageShared2WrapperExplodedZipFileCache> {
+
+    private final static Binary ARCHIVE1 = archive("/file1.txt", "Hello111");
+
+    private final static Binary ARCHIVE2 = archive("/file2.txt", "Hello222");
+
+    private final static Binary ARCHIVE3 = archive("/file3.txt", "Hello333");
+
+    @Test
+    public void testWithZeroMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageShared2WrapperExplodedZipFileCache.with(0)
+        );
+    }
+
+    @Test
+    public void testGet() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+        final StorageShared2WrapperExplodedZipFileArchive archive = cache.get(ARCHIVE1);
+
+        this.checkEquals(
+            Binary.with(
+                "Hello111".getBytes(CHARSET)
+            ),
+            archive.contents.get(
+                StoragePath.parse("/file1.txt")
+            )
+        );
+
+        this.checkEquals(
+            8L,
+            archive.size
+        );
+
+        this.checkEquals(
+            8L,
+            cache.size()
+        );
+    }
+
+    @Test
+    public void testGetSameContentTwice() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+
+        assertSame(
+            cache.get(ARCHIVE1),
+            cache.get(
+                Binary.with(
+                    ARCHIVE1.value()
+                )
+            )
+        );
+
+        this.checkEquals(
+            1,
+            cache.count()
+        );
+    }
+
+    @Test
+    public void testGetDifferentContent() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+
+        cache.get(ARCHIVE1);
+        cache.get(ARCHIVE2);
+
+        this.checkEquals(
+            2,
+            cache.count()
+        );
+        this.checkEquals(
+            16L,
+            cache.size()
+        );
+    }
+
+    @Test
+    public void testGetEvictsLeastRecentlyUsed() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(16);
+
+        final StorageShared2WrapperExplodedZipFileArchive archive1 = cache.get(ARCHIVE1);
+        cache.get(ARCHIVE2);
+
+        // touch 1 so 2 is the least recently used
+        cache.get(ARCHIVE1);
+        cache.get(ARCHIVE3);
+
+        this.checkEquals(
+            2,
+            cache.count(),
+            cache::toString
+        );
+        this.checkEquals(
+            16L,
+            cache.size()
+        );
+
+        assertSame(
+            archive1,
+            cache.get(ARCHIVE1)
+        );
+    }
+
+    @Test
+    public void testGetLargerThanMaxSizeKept() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1);
+
+        final StorageShared2WrapperExplodedZipFileArchive archive = cache.get(ARCHIVE1);
+
+        this.checkEquals(
+            1,
+            cache.count()
+        );
+
+        assertSame(
+            archive,
+            cache.get(ARCHIVE1)
+        );
+    }
+
+    @Test
+    public void testGetInvalidArchiveNotCached() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+
+        assertThrows(
+            RuntimeException.class,
+            () -> cache.get(
+                archive("invalid-path-without-slash.txt", "Hello")
+            )
+        );
+
+        this.checkEquals(
+            0,
+            cache.count()
+        );
+    }
+
+    private static Binary archive(final String path,
+                                  final String content) {
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+            try (final ZipOutputStream zipOutputStream = new ZipOutputStream(baos)) {
+                zipOutputStream.putNextEntry(
+                    new ZipEntry(path)
+                );
+                zipOutputStream.write(
+                    content.getBytes(CHARSET)
+                );
+                zipOutputStream.closeEntry();
+            }
+
+            return Binary.with(
+                baos.toByteArray()
+            );
+        } catch (final IOException rethrow) {
+            throw new RuntimeException(rethrow);
+        }
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+        cache.get(ARCHIVE1);
+
+        this.toStringAndCheck(
+            cache,
+            "1 8/1024"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageShared2WrapperExplodedZipFileCache> type() {
+        return StorageShared2WrapperExplodedZipFileCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
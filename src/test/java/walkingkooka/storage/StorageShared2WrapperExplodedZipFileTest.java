@@ -32,9 +32,12 @@ import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class StorageShared2WrapperExplodedZipFileTest extends StorageShared2TestCase<StorageShared2WrapperExplodedZipFile<TestStorageContext>, TestStorageContext>
@@ -225,8 +228,259 @@ public final class StorageShared2WrapperExplodedZipFileTest extends StorageShare
         );
     }
 
+    @Test
+    public void testSharedCache() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+        final TestStorageContext context = this.createContext();
+
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage1 = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            this.createArchiveStorage(FILE_CONTENT),
+            cache
+        );
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage2 = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            this.createArchiveStorage(FILE_CONTENT),
+            cache
+        );
+
+        final Object value1 = storage1.load(
+            FILE_STORAGE_PATH,
+            context
+        ).get().value().get();
+
+        final Object value2 = storage2.load(
+            FILE_STORAGE_PATH,
+            context
+        ).get().value().get();
+
+        this.checkEquals(
+            FILE_CONTENT,
+            value1
+        );
+
+        assertSame(
+            value1,
+            value2,
+            "Binary should be shared"
+        );
+
+        this.checkEquals(
+            1,
+            cache.count(),
+            cache::toString
+        );
+    }
+
+    @Test
+    public void testArchiveSaveInvalidates() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> archiveStorage = this.createArchiveStorage(FILE_CONTENT);
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            archiveStorage,
+            cache
+        );
+
+        this.loadAndCheck(
+            storage,
+            FILE_STORAGE_PATH,
+            context,
+            StorageValue.with(FILE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(FILE_CONTENT)
+                )
+        );
+
+        final Binary content2 = Binary.with(
+            "Different456".getBytes(CHARSET)
+        );
+
+        archiveStorage.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        archive(content2)
+                    )
+                ),
+            context
+        );
+
+        this.checkEquals(
+            0,
+            cache.count(),
+            "previous archive should be discarded"
+        );
+
+        this.loadAndCheck(
+            storage,
+            FILE_STORAGE_PATH,
+            context,
+            StorageValue.with(FILE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(content2)
+                )
+        );
+
+        this.checkEquals(
+            1,
+            cache.count(),
+            cache::toString
+        );
+    }
+
+    @Test
+    public void testSameStorageSharesLocation() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> archiveStorage = this.createArchiveStorage(FILE_CONTENT);
+
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage1 = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            archiveStorage,
+            cache
+        );
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage2 = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            archiveStorage,
+            cache
+        );
+
+        storage1.load(
+            FILE_STORAGE_PATH,
+            context
+        );
+        storage2.load(
+            FILE_STORAGE_PATH,
+            context
+        );
+
+        this.checkEquals(
+            1,
+            cache.locationCount(),
+            "locationCount"
+        );
+
+        assertSame(
+            storage1.exploded,
+            storage2.exploded,
+            "exploded should be shared"
+        );
+    }
+
+    @Test
+    public void testStopReleasesLocation() {
+        final StorageShared2WrapperExplodedZipFileCache cache = StorageShared2WrapperExplodedZipFileCache.with(1024);
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> archiveStorage = this.createArchiveStorage(FILE_CONTENT);
+
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage1 = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            archiveStorage,
+            cache
+        );
+        final StorageShared2WrapperExplodedZipFile<TestStorageContext> storage2 = StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            archiveStorage,
+            cache
+        );
+
+        storage1.load(
+            FILE_STORAGE_PATH,
+            context
+        );
+        storage2.load(
+            FILE_STORAGE_PATH,
+            context
+        );
+
+        storage1.stop();
+
+        this.checkEquals(
+            1,
+            cache.locationCount(),
+            "locationCount after first stop"
+        );
+
+        storage2.stop();
+
+        this.checkEquals(
+            0,
+            cache.locationCount(),
+            "locationCount after second stop"
+        );
+        this.checkEquals(
+            0,
+            cache.count(),
+            "archive should be discarded"
+        );
+    }
+
+    @Test
+    public void testCanReadDirectoryWithTrailingSeparator() {
+        this.canReadAndCheck(
+            this.createStorage(),
+            StoragePath.parse("/inside-zip/"),
+            this.createContext(),
+            true
+        );
+    }
+
+    @Test
+    public void testStatFile() {
+        this.checkEquals(
+            OptionalLong.of(
+                FILE_CONTENT.size()
+            ),
+            this.createStorage()
+                .stat(
+                    FILE_STORAGE_PATH,
+                    this.createContext()
+                ).get()
+                .size()
+        );
+    }
+
+    @Test
+    public void testStatDirectory() {
+        this.checkEquals(
+            OptionalInt.of(1),
+            this.createStorage()
+                .stat(
+                    StoragePath.parse("/inside-zip"),
+                    this.createContext()
+                ).get()
+                .childCount()
+        );
+    }
+
     @Override
     public StorageShared2WrapperExplodedZipFile<TestStorageContext> createStorage() {
+        return StorageShared2WrapperExplodedZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            this.createArchiveStorage(FILE_CONTENT)
+        );
+    }
+
+    private Storage<TestStorageContext> createArchiveStorage(final Binary content) {
+        final Storage<TestStorageContext> storage = Storages.treeMapStore();
+        storage.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        archive(content)
+                    )
+                ),
+            this.createContext()
+        );
+        return storage;
+    }
+
+    private static Binary archive(final Binary content) {
         try {
             final ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
@@ -245,28 +499,14 @@ public final class StorageShared2WrapperExplodedZipFileTest extends StorageShare
             zipOutputStream.putNextEntry(zipEntry);
 
             zipOutputStream.write(
-                FILE_CONTENT.value()
+                content.value()
             );
             zipOutputStream.closeEntry();
             zipOutputStream.flush();
             zipOutputStream.close();
 
-            final Storage<TestStorageContext> storage = Storages.treeMapStore();
-            storage.save(
-                StorageValue.with(ARCHIVE_STORAGE_PATH)
-                    .setValue(
-                        Optional.of(
-                            Binary.with(
-                                baos.toByteArray()
-                            )
-                        )
-                    ),
-                this.createContext()
-            );
-
-            return StorageShared2WrapperExplodedZipFile.with(
-                ARCHIVE_STORAGE_PATH,
-                storage
+            return Binary.with(
+                baos.toByteArray()
             );
         } catch (final IOException rethrow) {
             throw new RuntimeException(rethrow);
@@ -333,14 +573,7 @@ public final class StorageShared2WrapperExplodedZipFileTest extends StorageShare
             storage,
             "StorageShared2WrapperExplodedZipFile\n" +
                 "  \"/file1.zip\"\n" +
-                "    ReadOnlyStorage\n" +
-                "      StorageShared2TreeMapStore\n" +
-                "        TreeMapStore\n" +
-                "          /\n" +
-                "          /inside-zip\n" +
-                "          /inside-zip/hello.txt\n" +
-                "            48 65 6c 6c 6f 57 6f 72 6c 64 31 32 33                      HelloWorld123       \n" +
-                "             (walkingkooka.Binary)\n"
+                "    /inside-zip/hello.txt\n"
         );
     }
 
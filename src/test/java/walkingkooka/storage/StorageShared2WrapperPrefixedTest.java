@@ -539,6 +539,17 @@ public final class StorageShared2WrapperPrefixedTest extends StorageShared2Wrapp
                 );
             }
 
+            @Override
+            public Optional<StorageValueStat> stat(final StoragePath path,
+                                                   final FakeStorageContext context) {
+                this.throwIfInvalid(path);
+
+                return this.storage.stat(
+                    path,
+                    context
+                );
+            }
+
             @Override
             public StorageValue save(final StorageValue value,
                                      final FakeStorageContext context) {
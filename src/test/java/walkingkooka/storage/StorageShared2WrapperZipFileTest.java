@@ -0,0 +1,863 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.Cast;
+import walkingkooka.Either;
+import walkingkooka.HasCharsetTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.storage.StorageShared2WrapperZipFileTest.TestStorageContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageShared2WrapperZipFileTest extends StorageShared2TestCase<StorageShared2WrapperZipFile<TestStorageContext>, TestStorageContext>
+    implements HasCharsetTesting {
+
+    private final static StoragePath ARCHIVE_STORAGE_PATH = StoragePath.parse("/file1.zip");
+
+    private final static StoragePath FILE_STORAGE_PATH = StoragePath.parse("/inside-zip/hello.txt");
+    private final static Binary FILE_CONTENT = Binary.with(
+        "HelloWorld123".getBytes(CHARSET)
+    );
+
+    private final static StoragePath STORED_STORAGE_PATH = StoragePath.parse("/dir1/sub/stored.txt");
+    private final static Binary STORED_CONTENT = Binary.with(
+        "Stored456".getBytes(CHARSET)
+    );
+
+    private final static StoragePath DIFFERENT_STORAGE_PATH = StoragePath.parse("/unknown-file-404.txt");
+
+    private final static LocalDateTime CREATION_TIME = LocalDateTime.of(
+        2001,
+        1,
+        1,
+        12,
+        58,
+        59
+    );
+
+    private final static LocalDateTime LAST_MODIFIED_TIME = LocalDateTime.of(
+        2002,
+        2,
+        2,
+        12,
+        58,
+        59
+    );
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullStoragePathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2WrapperZipFile.with(
+                null,
+                Storages.fake()
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullStorageFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageShared2WrapperZipFile.with(
+                ARCHIVE_STORAGE_PATH,
+                null
+            )
+        );
+    }
+
+    // Storage..........................................................................................................
+
+    @Test
+    public void testCanReadFileInsideArchive() {
+        this.canReadAndCheck(
+            this.createStorage(),
+            FILE_STORAGE_PATH,
+            this.createContext(),
+            true
+        );
+    }
+
+    @Test
+    public void testCanReadDirectoryInsideArchive() {
+        this.canReadAndCheck(
+            this.createStorage(),
+            STORED_STORAGE_PATH.parent()
+                .get(),
+            this.createContext(),
+            true
+        );
+    }
+
+    @Test
+    public void testCanReadDirectoryWithTrailingSeparatorInsideArchive() {
+        this.canReadAndCheck(
+            this.createStorage(),
+            StoragePath.parse("/dir1/sub/"),
+            this.createContext(),
+            true
+        );
+    }
+
+    @Test
+    public void testCanReadFileUnknownFile() {
+        this.canReadAndCheck(
+            this.createStorage(),
+            DIFFERENT_STORAGE_PATH,
+            this.createContext(),
+            false
+        );
+    }
+
+    @Test
+    public void testCanWrite() {
+        this.canWriteAndCheck(
+            this.createStorage(),
+            DIFFERENT_STORAGE_PATH,
+            this.createContext(),
+            false
+        );
+    }
+
+    @Test
+    public void testLoadFileInsideArchive() {
+        this.loadAndCheck(
+            this.createStorage(),
+            FILE_STORAGE_PATH,
+            this.createContext(),
+            StorageValue.with(FILE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(FILE_CONTENT)
+                )
+        );
+    }
+
+    @Test
+    public void testLoadStoredFileInsideArchive() {
+        this.loadAndCheck(
+            this.createStorage(),
+            STORED_STORAGE_PATH,
+            this.createContext(),
+            StorageValue.with(STORED_STORAGE_PATH)
+                .setValue(
+                    Optional.of(STORED_CONTENT)
+                )
+        );
+    }
+
+    @Test
+    public void testLoadFileWithUnknown() {
+        this.loadAndCheck(
+            this.createStorage(),
+            DIFFERENT_STORAGE_PATH,
+            this.createContext()
+        );
+    }
+
+    @Test
+    public void testLoadMissingArchive() {
+        this.loadAndCheck(
+            StorageShared2WrapperZipFile.with(
+                ARCHIVE_STORAGE_PATH,
+                Storages.treeMapStore()
+            ),
+            FILE_STORAGE_PATH,
+            this.createContext()
+        );
+    }
+
+    @Test
+    public void testSaveFails() {
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> this.createStorage()
+                .save(
+                    StorageValue.with(DIFFERENT_STORAGE_PATH)
+                        .setValue(
+                            Optional.of(FILE_CONTENT)
+                        ),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testDeleteFails() {
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> this.createStorage()
+                .delete(
+                    FILE_STORAGE_PATH,
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testListRootPath() {
+        this.listAndCheck(
+            this.createStorage(),
+            StoragePath.ROOT,
+            0,
+            4,
+            this.createContext(),
+            StorageValueInfo.with(
+                StoragePath.parse("/dir1"),
+                AUDIT_INFO
+            ),
+            StorageValueInfo.with(
+                FILE_STORAGE_PATH.parent()
+                    .get(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListRootPathWithOffset() {
+        this.listAndCheck(
+            this.createStorage(),
+            StoragePath.ROOT,
+            1,
+            4,
+            this.createContext(),
+            StorageValueInfo.with(
+                FILE_STORAGE_PATH.parent()
+                    .get(),
+                AUDIT_INFO
+            )
+        );
+    }
+
+    @Test
+    public void testListSubdirectory() {
+        this.listAndCheck(
+            this.createStorage(),
+            FILE_STORAGE_PATH.parent()
+                .get(),
+            0,
+            4,
+            this.createContext(),
+            StorageValueInfo.with(
+                FILE_STORAGE_PATH,
+                AuditInfo.with(
+                    USER,
+                    CREATION_TIME,
+                    USER,
+                    LAST_MODIFIED_TIME
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testListFile() {
+        this.listAndCheck(
+            this.createStorage(),
+            FILE_STORAGE_PATH,
+            0,
+            4,
+            this.createContext(),
+            StorageValueInfo.with(
+                FILE_STORAGE_PATH,
+                AuditInfo.with(
+                    USER,
+                    CREATION_TIME,
+                    USER,
+                    LAST_MODIFIED_TIME
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testListUnknown() {
+        this.listAndCheck(
+            this.createStorage(),
+            DIFFERENT_STORAGE_PATH,
+            0,
+            4,
+            this.createContext()
+        );
+    }
+
+    @Test
+    public void testSetAuditInfo() {
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> this.createStorage()
+                .setAuditInfo(
+                    StorageValueInfo.with(
+                        FILE_STORAGE_PATH,
+                        AUDIT_INFO
+                    ),
+                    this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testNativeStorage() throws IOException {
+        final FileSystem fileSystem = Jimfs.newFileSystem(
+            Configuration.unix()
+        );
+
+        final Path root = fileSystem.getPath("/root/");
+        Files.createDirectories(root);
+
+        Files.write(
+            fileSystem.getPath(
+                "/root",
+                ARCHIVE_STORAGE_PATH.value()
+            ),
+            archive()
+        );
+
+        final TestStorageContext context = this.createContext();
+
+        final StorageShared2WrapperZipFile<TestStorageContext> storage = StorageShared2WrapperZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            Storages.nativeStorage(
+                root,
+                context
+            )
+        );
+
+        this.loadAndCheck(
+            storage,
+            FILE_STORAGE_PATH,
+            context,
+            StorageValue.with(FILE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(FILE_CONTENT)
+                )
+        );
+
+        storage.stop();
+    }
+
+    @Test
+    public void testNativeDefaultFileSystemStorage() throws IOException {
+        final Path root = Files.createTempDirectory(
+            this.getClass().getSimpleName()
+        );
+        final Path archive = root.resolve(
+            ARCHIVE_STORAGE_PATH.name()
+                .value()
+        );
+
+        try {
+            Files.write(
+                archive,
+                archive()
+            );
+
+            final TestStorageContext context = this.createContext();
+
+            final StorageShared2WrapperZipFile<TestStorageContext> storage = StorageShared2WrapperZipFile.with(
+                ARCHIVE_STORAGE_PATH,
+                Storages.nativeStorage(
+                    root,
+                    context
+                )
+            );
+
+            this.loadAndCheck(
+                storage,
+                STORED_STORAGE_PATH,
+                context,
+                StorageValue.with(STORED_STORAGE_PATH)
+                    .setValue(
+                        Optional.of(STORED_CONTENT)
+                    )
+            );
+
+            // replaced archive must be read again
+            final Binary replaced = Binary.with(
+                "Replaced789".getBytes(CHARSET)
+            );
+            Files.write(
+                archive,
+                zip(
+                    FILE_STORAGE_PATH.value(),
+                    replaced
+                )
+            );
+
+            this.loadAndCheck(
+                storage,
+                FILE_STORAGE_PATH,
+                context,
+                StorageValue.with(FILE_STORAGE_PATH)
+                    .setValue(
+                        Optional.of(replaced)
+                    )
+            );
+            this.loadAndCheck(
+                storage,
+                STORED_STORAGE_PATH,
+                context
+            );
+
+            storage.stop();
+        } finally {
+            Files.deleteIfExists(archive);
+            Files.delete(root);
+        }
+    }
+
+    @Test
+    public void testArchiveSavedInvalidatesCentralDirectory() {
+        final TestStorageContext context = this.createContext();
+        final Storage<TestStorageContext> wrapped = Storages.treeMapStore();
+
+        wrapped.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        Binary.with(
+                            archive()
+                        )
+                    )
+                ),
+            context
+        );
+
+        final StorageShared2WrapperZipFile<TestStorageContext> storage = StorageShared2WrapperZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            wrapped
+        );
+
+        this.loadAndCheck(
+            storage,
+            FILE_STORAGE_PATH,
+            context,
+            StorageValue.with(FILE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(FILE_CONTENT)
+                )
+        );
+
+        final Binary replaced = Binary.with(
+            "Replaced789".getBytes(CHARSET)
+        );
+
+        wrapped.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        Binary.with(
+                            zip(
+                                FILE_STORAGE_PATH.value(),
+                                replaced
+                            )
+                        )
+                    )
+                ),
+            context
+        );
+
+        this.loadAndCheck(
+            storage,
+            FILE_STORAGE_PATH,
+            context,
+            StorageValue.with(FILE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(replaced)
+                )
+        );
+    }
+
+    @Test
+    public void testUnsafeEntryNamesSkipped() {
+        final TestStorageContext context = this.createContext();
+        final Storage<TestStorageContext> wrapped = Storages.treeMapStore();
+
+        wrapped.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        Binary.with(
+                            zip(
+                                "../escape.txt",
+                                FILE_CONTENT,
+                                "dir1/../collide.txt",
+                                FILE_CONTENT,
+                                "dir1\\backslash.txt",
+                                FILE_CONTENT,
+                                "safe.txt",
+                                STORED_CONTENT
+                            )
+                        )
+                    )
+                ),
+            context
+        );
+
+        final StorageShared2WrapperZipFile<TestStorageContext> storage = StorageShared2WrapperZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            wrapped
+        );
+
+        this.checkEquals(
+            Lists.of(
+                StoragePath.parse("/safe.txt")
+            ),
+            storage.list(
+                    StoragePath.ROOT,
+                    0,
+                    4,
+                    context
+                ).stream()
+                .map(StorageValueInfo::path)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void testLoadEncryptedEntryFails() {
+        final byte[] archive = zip(
+            FILE_STORAGE_PATH.value(),
+            FILE_CONTENT
+        );
+
+        // set the encrypted bit in the general purpose flags of the central directory header
+        for (int i = 0; i < archive.length - 4; i++) {
+            if (0x50 == archive[i] && 0x4b == archive[i + 1] && 1 == archive[i + 2] && 2 == archive[i + 3]) {
+                archive[i + 8] |= 1;
+                break;
+            }
+        }
+
+        final TestStorageContext context = this.createContext();
+        final Storage<TestStorageContext> wrapped = Storages.treeMapStore();
+
+        wrapped.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        Binary.with(archive)
+                    )
+                ),
+            context
+        );
+
+        final InvalidStoragePathException thrown = assertThrows(
+            InvalidStoragePathException.class,
+            () -> StorageShared2WrapperZipFile.with(
+                ARCHIVE_STORAGE_PATH,
+                wrapped
+            ).load(
+                FILE_STORAGE_PATH,
+                context
+            )
+        );
+
+        this.checkEquals(
+            "Encrypted entry \"" + FILE_STORAGE_PATH.value() + "\"",
+            thrown.getCause()
+                .getMessage()
+        );
+    }
+
+    @Test
+    public void testLoadInvalidCrcFails() {
+        final byte[] archive = archive();
+        final byte[] stored = STORED_CONTENT.value();
+
+        // corrupt the content of the stored entry, leaving its CRC-32 unchanged
+        for (int i = 0; i < archive.length - stored.length; i++) {
+            if (Arrays.equals(
+                stored,
+                Arrays.copyOfRange(
+                    archive,
+                    i,
+                    i + stored.length
+                )
+            )) {
+                archive[i] ^= 1;
+                break;
+            }
+        }
+
+        final TestStorageContext context = this.createContext();
+        final Storage<TestStorageContext> wrapped = Storages.treeMapStore();
+
+        wrapped.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        Binary.with(archive)
+                    )
+                ),
+            context
+        );
+
+        final InvalidStoragePathException thrown = assertThrows(
+            InvalidStoragePathException.class,
+            () -> StorageShared2WrapperZipFile.with(
+                ARCHIVE_STORAGE_PATH,
+                wrapped
+            ).load(
+                STORED_STORAGE_PATH,
+                context
+            )
+        );
+
+        this.checkEquals(
+            "Invalid CRC-32 for entry \"dir1/sub/stored.txt\"",
+            thrown.getCause()
+                .getMessage()
+        );
+    }
+
+    @Test
+    public void testCentralDirectoryReleasedByOwnerClosedAfterLastReader() throws IOException {
+        final Path archive = Files.createTempFile(
+            this.getClass().getSimpleName(),
+            ".zip"
+        );
+
+        try {
+            Files.write(
+                archive,
+                archive()
+            );
+
+            final StorageShared2WrapperZipFileCentralDirectory centralDirectory = StorageShared2WrapperZipFileCentralDirectory.path(archive);
+            final StorageShared2WrapperZipFileEntry entry = centralDirectory.entry(STORED_STORAGE_PATH)
+                .get();
+
+            centralDirectory.acquire();
+
+            // the owner discards the directory while a reader is still reading
+            centralDirectory.release();
+
+            this.checkEquals(
+                STORED_CONTENT,
+                centralDirectory.read(entry),
+                "read after owner released"
+            );
+
+            centralDirectory.release();
+
+            this.checkEquals(
+                0,
+                centralDirectory.references,
+                "references"
+            );
+
+            assertThrows(
+                IllegalStateException.class,
+                () -> centralDirectory.read(entry)
+            );
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    @Override
+    public StorageShared2WrapperZipFile<TestStorageContext> createStorage() {
+        final Storage<TestStorageContext> storage = Storages.treeMapStore();
+        storage.save(
+            StorageValue.with(ARCHIVE_STORAGE_PATH)
+                .setValue(
+                    Optional.of(
+                        Binary.with(
+                            archive()
+                        )
+                    )
+                ),
+            this.createContext()
+        );
+
+        return StorageShared2WrapperZipFile.with(
+            ARCHIVE_STORAGE_PATH,
+            storage
+        );
+    }
+
+    /**
+     * Creates an archive with a deflated entry with timestamps and a stored entry without a leading slash.
+     */
+    private static byte[] archive() {
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+            try (final ZipOutputStream zipOutputStream = new ZipOutputStream(baos)) {
+                final ZipEntry zipEntry = new ZipEntry(FILE_STORAGE_PATH.value());
+                zipEntry.setCreationTime(
+                    FileTime.from(
+                        CREATION_TIME.toInstant(ZoneOffset.UTC)
+                    )
+                );
+                zipEntry.setLastModifiedTime(
+                    FileTime.from(
+                        LAST_MODIFIED_TIME.toInstant(ZoneOffset.UTC)
+                    )
+                );
+                zipOutputStream.putNextEntry(zipEntry);
+                zipOutputStream.write(
+                    FILE_CONTENT.value()
+                );
+                zipOutputStream.closeEntry();
+
+                final byte[] stored = STORED_CONTENT.value();
+                final CRC32 crc = new CRC32();
+                crc.update(stored);
+
+                final ZipEntry storedEntry = new ZipEntry(
+                    STORED_STORAGE_PATH.value()
+                        .substring(1)
+                );
+                storedEntry.setMethod(ZipEntry.STORED);
+                storedEntry.setSize(stored.length);
+                storedEntry.setCrc(crc.getValue());
+                zipOutputStream.putNextEntry(storedEntry);
+                zipOutputStream.write(stored);
+                zipOutputStream.closeEntry();
+
+                zipOutputStream.setComment("Archive comment");
+            }
+
+            return baos.toByteArray();
+        } catch (final IOException rethrow) {
+            throw new RuntimeException(rethrow);
+        }
+    }
+
+    /**
+     * Creates an archive with a deflated entry for each pair of name and content.
+     */
+    private static byte[] zip(final Object... nameAndContents) {
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+            try (final ZipOutputStream zipOutputStream = new ZipOutputStream(baos)) {
+                for (int i = 0; i < nameAndContents.length; i += 2) {
+                    zipOutputStream.putNextEntry(
+                        new ZipEntry((String) nameAndContents[i])
+                    );
+                    zipOutputStream.write(
+                        ((Binary) nameAndContents[i + 1]).value()
+                    );
+                    zipOutputStream.closeEntry();
+                }
+            }
+
+            return baos.toByteArray();
+        } catch (final IOException rethrow) {
+            throw new RuntimeException(rethrow);
+        }
+    }
+
+    @Override
+    public TestStorageContext createContext() {
+        return new TestStorageContext();
+    }
+
+    final static class TestStorageContext extends FakeStorageContext implements StorageContext {
+
+        TestStorageContext() {
+            super();
+        }
+
+        @Override
+        public <T> Either<T, String> convert(final Object value,
+                                             final Class<T> target) {
+            return this.successfulConversion(
+                target.cast(
+                    Optional.class.cast(value)
+                        .get()
+                ),
+                target
+            );
+        }
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return Optional.ofNullable(StorageShared2WrapperZipFileTest.USER);
+        }
+
+        @Override
+        public LocalDateTime now() {
+            return StorageShared2WrapperZipFileTest.NOW;
+        }
+    }
+
+    // TreePrintable....................................................................................................
+
+    @Test
+    public void testPrintTreeWhenNotRead() {
+        this.treePrintAndCheck(
+            this.createStorage(),
+            "StorageShared2WrapperZipFile\n" +
+                "  \"/file1.zip\"\n"
+        );
+    }
+
+    @Test
+    public void testPrintTreeWhenRead() {
+        final StorageShared2WrapperZipFile<TestStorageContext> storage = this.createStorage();
+
+        this.loadAndCheck(
+            storage,
+            StoragePath.parse("/doesnt-matter"),
+            this.createContext()
+        );
+
+        this.treePrintAndCheck(
+            storage,
+            "StorageShared2WrapperZipFile\n" +
+                "  \"/file1.zip\"\n" +
+                "    /dir1/sub/stored.txt 9/9\n" +
+                "    /inside-zip/hello.txt 15/13\n"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageShared2WrapperZipFile<TestStorageContext>> type() {
+        return Cast.to(StorageShared2WrapperZipFile.class);
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.storage.StorageSharedLazyTest.TestStorageContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageSharedLazyTest extends StorageSharedTestCase<StorageSharedLazy<TestStorageContext>, TestStorageContext> {
+
+    private final static StoragePath PATH = StoragePath.parse("/file1.txt");
+
+    private final static StorageValue VALUE = StorageValue.with(PATH)
+        .setValue(
+            Optional.of("Hello111")
+        );
+
+    private final static Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullFactoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageSharedLazy.with(
+                null,
+                StorageSharedLazy.NO_IDLE_TIMEOUT
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullIdleTimeoutFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageSharedLazy.with(
+                this.factory(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroIdleTimeoutFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageSharedLazy.with(
+                this.factory(),
+                Optional.of(Duration.ZERO)
+            )
+        );
+
+        this.checkEquals(
+            "Invalid idleTimeout PT0S must be greater than zero",
+            thrown.getMessage()
+        );
+    }
+
+    // materialize......................................................................................................
+
+    @Test
+    public void testNotMaterializedUntilAccessed() {
+        final StorageSharedLazy<TestStorageContext> storage = this.createStorage();
+
+        this.checkEquals(
+            false,
+            storage.isMaterialized()
+        );
+        this.checkEquals(
+            0,
+            this.created
+        );
+
+        this.loadAndCheck(
+            storage,
+            PATH,
+            this.createContext()
+        );
+
+        this.checkEquals(
+            true,
+            storage.isMaterialized()
+        );
+        this.checkEquals(
+            1,
+            this.created
+        );
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        final StorageSharedLazy<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.loadAndCheck(
+            storage,
+            PATH,
+            context,
+            VALUE
+        );
+
+        this.checkEquals(
+            1,
+            this.created
+        );
+    }
+
+    @Test
+    public void testAddWatcherDoesntMaterialize() {
+        final StorageSharedLazy<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.addWatcher(
+            this.watcher(),
+            context
+        );
+
+        this.checkEquals(
+            false,
+            storage.isMaterialized()
+        );
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.checkEquals(
+            1,
+            this.fired
+        );
+    }
+
+    @Test
+    public void testAddWatcherRemoverBeforeMaterialize() {
+        final StorageSharedLazy<TestStorageContext> storage = this.createStorage();
+        final TestStorageContext context = this.createContext();
+
+        storage.addWatcher(
+            this.watcher(),
+            context
+        ).run();
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.checkEquals(
+            0,
+            this.fired
+        );
+    }
+
+    @Test
+    public void testUnmaterializeIfIdle() {
+        final StorageSharedLazy<TestStorageContext> storage = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(IDLE_TIMEOUT)
+        );
+        final TestStorageContext context = this.createContext();
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.checkEquals(
+            false,
+            storage.unmaterializeIfIdle(
+                NOW.plusSeconds(1)
+            ),
+            "not idle"
+        );
+
+        this.checkEquals(
+            true,
+            storage.unmaterializeIfIdle(
+                NOW.plus(IDLE_TIMEOUT)
+            ),
+            "idle"
+        );
+        this.checkEquals(
+            false,
+            storage.isMaterialized()
+        );
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.checkEquals(
+            2,
+            this.created
+        );
+    }
+
+    @Test
+    public void testUnmaterializeIfIdleWithWatcherReleasedAndWatcherAddedAgain() {
+        final StorageSharedLazy<TestStorageContext> storage = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(IDLE_TIMEOUT)
+        );
+        final TestStorageContext context = this.createContext();
+
+        storage.addWatcher(
+            this.watcher(),
+            context
+        );
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.checkEquals(
+            true,
+            storage.unmaterializeIfIdle(
+                NOW.plus(IDLE_TIMEOUT)
+            ),
+            "watcher present"
+        );
+        this.checkEquals(
+            false,
+            storage.isMaterialized()
+        );
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        this.checkEquals(
+            2,
+            this.created
+        );
+        this.checkEquals(
+            2,
+            this.fired
+        );
+    }
+
+    @Test
+    public void testUnmaterializeIfIdleWithWatcherRemovedReleased() {
+        final StorageSharedLazy<TestStorageContext> storage = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(IDLE_TIMEOUT)
+        );
+        final TestStorageContext context = this.createContext();
+
+        final Runnable remover = storage.addWatcher(
+            this.watcher(),
+            context
+        );
+
+        storage.save(
+            VALUE,
+            context
+        );
+
+        remover.run();
+
+        this.checkEquals(
+            true,
+            storage.unmaterializeIfIdle(
+                NOW.plus(IDLE_TIMEOUT)
+            ),
+            "idle"
+        );
+    }
+
+    @Test
+    public void testUnmaterializeIfIdleWhileInFlightNotReleased() {
+        final Boolean[] unmaterialized = new Boolean[1];
+        final StorageSharedLazy<TestStorageContext>[] lazy = Cast.to(new StorageSharedLazy[1]);
+
+        lazy[0] = StorageSharedLazy.with(
+            (TestStorageContext c) -> new FakeStorage<TestStorageContext>() {
+                @Override
+                public Optional<StorageValue> load(final StoragePath path,
+                                                   final TestStorageContext context) {
+                    unmaterialized[0] = lazy[0].unmaterializeIfIdle(
+                        NOW.plus(IDLE_TIMEOUT)
+                    );
+                    return Optional.empty();
+                }
+            },
+            Optional.of(IDLE_TIMEOUT)
+        );
+
+        lazy[0].load(
+            PATH,
+            this.createContext()
+        );
+
+        this.checkEquals(
+            false,
+            unmaterialized[0],
+            "in flight"
+        );
+        this.checkEquals(
+            true,
+            lazy[0].isMaterialized()
+        );
+    }
+
+    @Test
+    public void testMountedIdleUnmaterialized() {
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> mount = Storages.mount(
+            Storages.treeMapStore()
+        );
+
+        final StorageSharedLazy<TestStorageContext> lazy1 = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(IDLE_TIMEOUT)
+        );
+        final StorageSharedLazy<TestStorageContext> lazy2 = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(IDLE_TIMEOUT)
+        );
+
+        mount.mount(
+            StorageMountPoint.with(
+                StoragePath.parse("/mount1"),
+                lazy1
+            ),
+            context
+        );
+        mount.mount(
+            StorageMountPoint.with(
+                StoragePath.parse("/mount2"),
+                lazy2
+            ),
+            context
+        );
+
+        this.loadAndCheck(
+            mount,
+            StoragePath.parse("/mount1/file1.txt"),
+            context
+        );
+
+        this.checkEquals(
+            true,
+            lazy1.isMaterialized(),
+            "mount1 materialized"
+        );
+        this.checkEquals(
+            false,
+            lazy2.isMaterialized(),
+            "mount2 not materialized"
+        );
+
+        context.now = NOW.plus(IDLE_TIMEOUT);
+
+        this.loadAndCheck(
+            mount,
+            StoragePath.parse("/mount2/file1.txt"),
+            context
+        );
+
+        this.checkEquals(
+            false,
+            lazy1.isMaterialized(),
+            "mount1 unmaterialized"
+        );
+        this.checkEquals(
+            true,
+            lazy2.isMaterialized(),
+            "mount2 materialized"
+        );
+    }
+
+    @Test
+    public void testMountedIdleCheckedOncePerInterval() {
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> mount = Storages.mount(
+            Storages.treeMapStore()
+        );
+
+        final Duration idleTimeout = Duration.ofMillis(100);
+
+        final StorageSharedLazy<TestStorageContext> lazy1 = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(idleTimeout)
+        );
+        final StorageSharedLazy<TestStorageContext> lazy2 = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(idleTimeout)
+        );
+
+        mount.mount(
+            StorageMountPoint.with(
+                StoragePath.parse("/mount1"),
+                lazy1
+            ),
+            context
+        );
+        mount.mount(
+            StorageMountPoint.with(
+                StoragePath.parse("/mount2"),
+                lazy2
+            ),
+            context
+        );
+
+        this.loadAndCheck(
+            mount,
+            StoragePath.parse("/mount1/file1.txt"),
+            context
+        );
+
+        context.now = NOW.plus(
+            StorageSharedMount.IDLE_CHECK_INTERVAL.dividedBy(2)
+        );
+
+        this.loadAndCheck(
+            mount,
+            StoragePath.parse("/mount2/file1.txt"),
+            context
+        );
+
+        this.checkEquals(
+            true,
+            lazy1.isMaterialized(),
+            "mount1 idle but check not due"
+        );
+
+        context.now = NOW.plus(StorageSharedMount.IDLE_CHECK_INTERVAL);
+
+        this.loadAndCheck(
+            mount,
+            StoragePath.parse("/mount2/file1.txt"),
+            context
+        );
+
+        this.checkEquals(
+            false,
+            lazy1.isMaterialized(),
+            "mount1 unmaterialized"
+        );
+    }
+
+    @Test
+    public void testReleaseIdleMountedWithWatcher() {
+        final TestStorageContext context = this.createContext();
+
+        final Storage<TestStorageContext> mount = Storages.mount(
+            Storages.treeMapStore()
+        );
+
+        final StorageSharedLazy<TestStorageContext> lazy = StorageSharedLazy.with(
+            this.factory(),
+            Optional.of(IDLE_TIMEOUT)
+        );
+
+        mount.mount(
+            StorageMountPoint.with(
+                StoragePath.parse("/mount1"),
+                lazy
+            ),
+            context
+        );
+
+        mount.addWatcher(
+            this.watcher(),
+            context
+        );
+
+        final StorageValue value = StorageValue.with(
+            StoragePath.parse("/mount1/file1.txt")
+        ).setValue(
+            Optional.of("Hello111")
+        );
+
+        mount.save(
+            value,
+            context
+        );
+
+        this.checkEquals(
+            0,
+            Storages.releaseIdle(
+                mount,
+                NOW.plusSeconds(1)
+            ),
+            "not idle"
+        );
+
+        this.checkEquals(
+            1,
+            Storages.releaseIdle(
+                mount,
+                NOW.plus(IDLE_TIMEOUT)
+            ),
+            "idle"
+        );
+        this.checkEquals(
+            false,
+            lazy.isMaterialized(),
+            "released"
+        );
+
+        mount.save(
+            value,
+            context
+        );
+
+        this.checkEquals(
+            2,
+            this.created,
+            "created"
+        );
+        this.checkEquals(
+            2,
+            this.fired,
+            "fired"
+        );
+    }
+
+    @Test
+    public void testStop() {
+        final StorageSharedLazy<TestStorageContext> storage = this.createStorage();
+
+        this.loadAndCheck(
+            storage,
+            PATH,
+            this.createContext()
+        );
+
+        storage.stop();
+
+        this.checkEquals(
+            false,
+            storage.isMaterialized()
+        );
+    }
+
+    @Override
+    public StorageSharedLazy<TestStorageContext> createStorage() {
+        return StorageSharedLazy.with(
+            this.factory(),
+            StorageSharedLazy.NO_IDLE_TIMEOUT
+        );
+    }
+
+    private Function<TestStorageContext, Storage<TestStorageContext>> factory() {
+        return (TestStorageContext c) -> {
+            this.created++;
+            return Storages.treeMapStore();
+        };
+    }
+
+    private int created;
+
+    private StorageWatcher watcher() {
+        return new StorageWatcher() {
+            @Override
+            public void onValueChange(final Optional<StorageValue> oldValue,
+                                      final Optional<StorageValue> newValue) {
+                StorageSharedLazyTest.this.fired++;
+            }
+        };
+    }
+
+    private int fired;
+
+    @Override
+    public TestStorageContext createContext() {
+        return new TestStorageContext();
+    }
+
+    final static class TestStorageContext extends FakeStorageContext implements StorageContext {
+
+        TestStorageContext() {
+            this.now = StorageSharedLazyTest.NOW;
+        }
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return OPTIONAL_USER;
+        }
+
+        @Override
+        public LocalDateTime now() {
+            return this.now;
+        }
+
+        LocalDateTime now;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToStringNotMaterialized() {
+        final Function<TestStorageContext, Storage<TestStorageContext>> factory = this.factory();
+
+        this.toStringAndCheck(
+            StorageSharedLazy.with(
+                factory,
+                StorageSharedLazy.NO_IDLE_TIMEOUT
+            ),
+            "lazy " + factory
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageSharedLazy<TestStorageContext>> type() {
+        return Cast.to(StorageSharedLazy.class);
+    }
+}
@@ -19,6 +19,8 @@ package walkingkooka.storage;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.datetime.HasNowTesting;
 import walkingkooka.environment.HasUserTesting;
 import walkingkooka.net.email.EmailAddress;
@@ -27,8 +29,11 @@ import walkingkooka.text.HasTextWithLineBreaksTesting;
 import walkingkooka.text.LineEnding;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class StorageSharedMountTest extends StorageSharedTestCase<StorageSharedMount<StorageContext>, StorageContext>
@@ -1181,6 +1186,46 @@ public final class StorageSharedMountTest extends StorageSharedTestCase<StorageS
         );
     }
 
+    @Test
+    public void testMountPointsSameUntilMount() {
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(Storages.treeMapStore());
+
+        final List<StorageMountPoint<StorageContext>> mountPoints = storage.mountPoints();
+
+        assertSame(
+            mountPoints,
+            storage.mountPoints()
+        );
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.empty()
+            ),
+            CONTEXT
+        );
+
+        final List<StorageMountPoint<StorageContext>> mounted = storage.mountPoints();
+        assertNotSame(
+            mountPoints,
+            mounted
+        );
+        this.checkEquals(
+            2,
+            mounted.size()
+        );
+
+        storage.unmount(
+            MOUNT1_PATH,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            1,
+            storage.mountPoints().size()
+        );
+    }
+
     @Test
     public void testMountPointsTextWithLineBreaks() {
         final Storage<StorageContext> root = Storages.treeMapStore();
@@ -1203,6 +1248,51 @@ public final class StorageSharedMountTest extends StorageSharedTestCase<StorageS
         );
     }
 
+    // changesSince.....................................................................................................
+
+    @Test
+    public void testChangesSinceForwardsToRootMount() {
+        final Storage<StorageContext> root = Storages.treeMapStore();
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(root);
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+
+        storage.save(
+            ROOT_VALUE,
+            CONTEXT
+        );
+        storage.save(
+            MOUNT1_VALUE,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            root.changesSince(
+                0,
+                10,
+                CONTEXT
+            ),
+            storage.changesSince(
+                0,
+                10,
+                CONTEXT
+            )
+        );
+        this.checkEquals(
+            true,
+            storage.isChangesSinceAvailable(
+                0,
+                CONTEXT
+            )
+        );
+    }
+
     // addWatcher.......................................................................................................
 
     @Test
@@ -1404,6 +1494,231 @@ public final class StorageSharedMountTest extends StorageSharedTestCase<StorageS
     }
 
 
+    @Test
+    public void testAddWatcherThenMount1AndSaveMount1() {
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(Storages.treeMapStore());
+
+        this.fired = false;
+
+        storage.addWatcher(
+            new StorageWatcher() {
+                @Override
+                public void onValueChange(final Optional<StorageValue> oldValue,
+                                          final Optional<StorageValue> newValue) {
+                    checkEquals(
+                        Optional.empty(),
+                        oldValue,
+                        "oldValue"
+                    );
+                    checkEquals(
+                        Optional.of(MOUNT1_VALUE),
+                        newValue,
+                        "newValue"
+                    );
+
+                    StorageSharedMountTest.this.fired = true;
+                }
+            },
+            CONTEXT
+        );
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+
+        this.saveAndCheck(
+            storage,
+            MOUNT1_VALUE,
+            CONTEXT,
+            MOUNT1_VALUE
+        );
+
+        this.checkEquals(
+            true,
+            this.fired,
+            "fired"
+        );
+    }
+
+    @Test
+    public void testAddWatcherMount1ThenUnmountAndSaveRoot() {
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(Storages.treeMapStore());
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+
+        final List<StorageValue> fired = Lists.array();
+
+        storage.addWatcher(
+            (oldValue, newValue) -> fired.add(newValue.get()),
+            CONTEXT
+        );
+
+        storage.unmount(
+            MOUNT1_PATH,
+            CONTEXT
+        );
+
+        storage.save(
+            ROOT_VALUE,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Lists.of(ROOT_VALUE),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddWatcherRemoveUnwatchesMounts() {
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(Storages.treeMapStore());
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+
+        final List<StorageValue> fired = Lists.array();
+
+        final Runnable remover = storage.addWatcher(
+            (oldValue, newValue) -> fired.add(newValue.get()),
+            CONTEXT
+        );
+
+        this.checkEquals(
+            false,
+            storage.mountWatcherRemovers.isEmpty(),
+            "mountWatcherRemovers"
+        );
+
+        remover.run();
+
+        this.checkEquals(
+            true,
+            storage.mountWatcherRemovers.isEmpty(),
+            "mountWatcherRemovers"
+        );
+
+        storage.save(
+            MOUNT1_VALUE,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddWatcherWithFilterPatternOnlyWatchesMatchingMounts() {
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(Storages.treeMapStore());
+
+        final StoragePath other = StoragePath.parse("/other");
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+        storage.mount(
+            StorageMountPoint.with(
+                other,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+
+        final List<StorageValue> fired = Lists.array();
+
+        final Runnable remover = storage.addWatcher(
+            ((StorageWatcher) (oldValue, newValue) -> fired.add(newValue.get()))
+                .setFilter(
+                    StoragePathPattern.parse("/mount1/**")
+                ),
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Sets.of(
+                StoragePath.ROOT,
+                MOUNT1_PATH
+            ),
+            storage.mountWatcherRemovers.keySet(),
+            "mountWatcherRemovers"
+        );
+
+        storage.save(
+            MOUNT1_VALUE,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Lists.of(MOUNT1_VALUE),
+            fired
+        );
+
+        remover.run();
+
+        this.checkEquals(
+            true,
+            storage.mountWatcherRemovers.isEmpty(),
+            "mountWatcherRemovers"
+        );
+    }
+
+    @Test
+    public void testAddWatcherRemoveAndAddWatcherAgainThenSaveMount1() {
+        final StorageSharedMount<StorageContext> storage = StorageSharedMount.with(Storages.treeMapStore());
+
+        storage.mount(
+            StorageMountPoint.with(
+                MOUNT1_PATH,
+                Storages.treeMapStore()
+            ),
+            CONTEXT
+        );
+
+        storage.addWatcher(
+            (oldValue, newValue) -> {
+                throw new UnsupportedOperationException();
+            },
+            CONTEXT
+        ).run();
+
+        final List<StorageValue> fired = Lists.array();
+
+        storage.addWatcher(
+            (oldValue, newValue) -> fired.add(newValue.get()),
+            CONTEXT
+        );
+
+        storage.save(
+            MOUNT1_VALUE,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Lists.of(MOUNT1_VALUE),
+            fired
+        );
+    }
+
     // addWatcherOnce...................................................................................................
 
     @Test
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageTextTest implements ClassTesting<StorageText>,
+    ToStringTesting<StorageText> {
+
+    private final static String ASCII = "Hello\nWorld";
+
+    private final static String UTF8 = "Grüße\n€100";
+
+    @Test
+    public void testWithNullBinaryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageText.with(null)
+        );
+    }
+
+    @Test
+    public void testAscii() {
+        final StorageText text = this.createText(ASCII);
+
+        this.checkEquals(
+            true,
+            text.isAscii(),
+            "isAscii"
+        );
+        this.checkEquals(
+            ASCII.length(),
+            text.length(),
+            "length"
+        );
+        this.checkEquals(
+            'W',
+            text.charAt(6),
+            "charAt"
+        );
+    }
+
+    @Test
+    public void testAsciiCharAtInvalidIndexFails() {
+        assertThrows(
+            StringIndexOutOfBoundsException.class,
+            () -> this.createText(ASCII)
+                .charAt(ASCII.length())
+        );
+    }
+
+    @Test
+    public void testAsciiSubSequence() {
+        final CharSequence subSequence = this.createText(ASCII)
+            .subSequence(6, 11);
+
+        this.checkEquals(
+            StorageText.class,
+            subSequence.getClass(),
+            "subSequence"
+        );
+        this.checkEquals(
+            "World",
+            subSequence.toString()
+        );
+    }
+
+    @Test
+    public void testAsciiSubSequenceAll() {
+        final StorageText text = this.createText(ASCII);
+
+        assertSame(
+            text,
+            text.subSequence(
+                0,
+                ASCII.length()
+            )
+        );
+    }
+
+    @Test
+    public void testAsciiSubSequenceInvalidRangeFails() {
+        assertThrows(
+            StringIndexOutOfBoundsException.class,
+            () -> this.createText(ASCII)
+                .subSequence(5, 4)
+        );
+    }
+
+    @Test
+    public void testUtf8() {
+        final StorageText text = this.createText(UTF8);
+
+        this.checkEquals(
+            false,
+            text.isAscii(),
+            "isAscii"
+        );
+        this.checkEquals(
+            UTF8.length(),
+            text.length(),
+            "length"
+        );
+        this.checkEquals(
+            '€',
+            text.charAt(6),
+            "charAt"
+        );
+        this.checkEquals(
+            "€100",
+            text.subSequence(6, 10)
+                .toString(),
+            "subSequence"
+        );
+    }
+
+    @Test
+    public void testUtf8SeveralWindows() {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < StorageText.WINDOW_SIZE * 3) {
+            b.append("abc€ü😀\n");
+        }
+        final String string = b.toString();
+
+        final StorageText text = this.createText(string);
+
+        this.checkEquals(
+            string.length(),
+            text.length(),
+            "length"
+        );
+
+        for (int i = 0; i < string.length(); i++) {
+            this.checkEquals(
+                string.charAt(i),
+                text.charAt(i),
+                () -> "charAt"
+            );
+        }
+
+        final int start = StorageText.WINDOW_SIZE - 5;
+        final int end = StorageText.WINDOW_SIZE * 2 + 7;
+
+        this.checkEquals(
+            string.substring(start, end),
+            text.subSequence(start, end)
+                .toString(),
+            "subSequence"
+        );
+    }
+
+    @Test
+    public void testAsciiSeveralWindows() {
+        final StringBuilder b = new StringBuilder();
+        while (b.length() < StorageText.WINDOW_SIZE * 3) {
+            b.append("0123456789");
+        }
+        final String string = b.toString();
+
+        final StorageText text = this.createText(string);
+
+        this.checkEquals(
+            string.charAt(StorageText.WINDOW_SIZE * 2 + 1),
+            text.charAt(StorageText.WINDOW_SIZE * 2 + 1),
+            "charAt"
+        );
+
+        final int start = StorageText.WINDOW_SIZE - 5;
+        final int end = StorageText.WINDOW_SIZE * 2 + 7;
+
+        this.checkEquals(
+            string.substring(start, end),
+            text.subSequence(start, end)
+                .toString(),
+            "subSequence"
+        );
+    }
+
+    @Test
+    public void testLinesEmpty() {
+        this.linesAndCheck("");
+    }
+
+    @Test
+    public void testLinesAscii() {
+        this.linesAndCheck(
+            "a\nbc\r\ndef\rg",
+            "a",
+            "bc",
+            "def",
+            "g"
+        );
+    }
+
+    @Test
+    public void testLinesTrailingLineEnding() {
+        this.linesAndCheck(
+            "a\n\nb\n",
+            "a",
+            "",
+            "b"
+        );
+    }
+
+    @Test
+    public void testLinesUtf8() {
+        this.linesAndCheck(
+            UTF8,
+            "Grüße",
+            "€100"
+        );
+    }
+
+    @Test
+    public void testLinesSubSequence() {
+        final List<String> lines = Lists.array();
+
+        for (final CharSequence line : ((StorageText) this.createText(ASCII).subSequence(2, 8)).lines()) {
+            lines.add(line.toString());
+        }
+
+        this.checkEquals(
+            Lists.of(
+                "llo",
+                "Wo"
+            ),
+            lines
+        );
+    }
+
+    private void linesAndCheck(final String text,
+                               final String... expected) {
+        final List<String> lines = Lists.array();
+
+        for (final CharSequence line : this.createText(text).lines()) {
+            lines.add(line.toString());
+        }
+
+        this.checkEquals(
+            Lists.of(expected),
+            lines,
+            "lines " + text
+        );
+    }
+
+    private StorageText createText(final String text) {
+        return StorageText.with(
+            Binary.with(
+                text.getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToStringAscii() {
+        this.toStringAndCheck(
+            this.createText(ASCII),
+            ASCII
+        );
+    }
+
+    @Test
+    public void testToStringUtf8() {
+        this.toStringAndCheck(
+            this.createText(UTF8),
+            UTF8
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageText> type() {
+        return StorageText.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
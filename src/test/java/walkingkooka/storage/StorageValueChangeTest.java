@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageValueChangeTest implements ClassTesting2<StorageValueChange>,
+    HashCodeEqualsDefinedTesting2<StorageValueChange>,
+    ToStringTesting<StorageValueChange> {
+
+    private final static StoragePath PATH = StoragePath.parse("/file123.txt");
+
+    private final static Optional<StorageValue> OLD_VALUE = Optional.of(
+        StorageValue.with(PATH)
+            .setValue(
+                Optional.of("old")
+            )
+    );
+
+    private final static Optional<StorageValue> NEW_VALUE = Optional.of(
+        StorageValue.with(PATH)
+            .setValue(
+                Optional.of("new")
+            )
+    );
+
+    @Test
+    public void testWithNullOldValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageValueChange.with(
+                null,
+                NEW_VALUE
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullNewValueFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageValueChange.with(
+                OLD_VALUE,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testWithBothEmptyFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageValueChange.with(
+                Optional.empty(),
+                Optional.empty()
+            )
+        );
+
+        this.checkEquals(
+            "Missing old and new value",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final StorageValueChange change = this.createObject();
+
+        this.checkEquals(OLD_VALUE, change.oldValue(), "oldValue");
+        this.checkEquals(NEW_VALUE, change.newValue(), "newValue");
+        this.checkEquals(PATH, change.path(), "path");
+    }
+
+    @Test
+    public void testPathDelete() {
+        this.checkEquals(
+            PATH,
+            StorageValueChange.with(
+                OLD_VALUE,
+                Optional.empty()
+            ).path()
+        );
+    }
+
+    @Test
+    public void testIsUnchanged() {
+        this.checkEquals(
+            true,
+            StorageValueChange.with(
+                OLD_VALUE,
+                OLD_VALUE
+            ).isUnchanged()
+        );
+    }
+
+    @Test
+    public void testIsUnchangedWhenChanged() {
+        this.checkEquals(
+            false,
+            this.createObject()
+                .isUnchanged()
+        );
+    }
+
+    @Test
+    public void testPrependPathRoot() {
+        final StorageValueChange change = this.createObject();
+
+        assertSame(
+            change,
+            change.prependPath(StoragePath.ROOT)
+        );
+    }
+
+    @Test
+    public void testPrependPath() {
+        final StoragePath prefixed = StoragePath.parse("/prefix/file123.txt");
+
+        this.checkEquals(
+            StorageValueChange.with(
+                OLD_VALUE.map(v -> v.setPath(prefixed)),
+                NEW_VALUE.map(v -> v.setPath(prefixed))
+            ),
+            this.createObject()
+                .prependPath(
+                    StoragePath.parse("/prefix")
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentOldValue() {
+        this.checkNotEquals(
+            StorageValueChange.with(
+                Optional.empty(),
+                NEW_VALUE
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentNewValue() {
+        this.checkNotEquals(
+            StorageValueChange.with(
+                OLD_VALUE,
+                Optional.empty()
+            )
+        );
+    }
+
+    @Override
+    public StorageValueChange createObject() {
+        return StorageValueChange.with(
+            OLD_VALUE,
+            NEW_VALUE
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            OLD_VALUE.get() + " -> " + NEW_VALUE.get()
+        );
+    }
+
+    @Test
+    public void testToStringCreate() {
+        this.toStringAndCheck(
+            StorageValueChange.with(
+                Optional.empty(),
+                NEW_VALUE
+            ),
+            " -> " + NEW_VALUE.get()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageValueChange> type() {
+        return StorageValueChange.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
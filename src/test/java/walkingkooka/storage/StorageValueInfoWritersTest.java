@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.text.Indentation;
+import walkingkooka.text.LineEnding;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageValueInfoWritersTest implements PublicStaticHelperTesting<StorageValueInfoWriters> {
+
+    private final static AuditInfo AUDIT_INFO = AuditInfo.with(
+        EmailAddress.parse("created@example.com"),
+        LocalDateTime.of(1999, 12, 31, 12, 58, 59),
+        EmailAddress.parse("modified@example.com"),
+        LocalDateTime.of(2000, 1, 2, 3, 4, 5)
+    );
+
+    private final static StorageValueInfo INFO1 = StorageValueInfo.with(
+        StoragePath.parse("/1st.txt"),
+        AUDIT_INFO
+    );
+
+    private final static StorageValueInfo INFO2 = StorageValueInfo.with(
+        StoragePath.parse("/dir2/"),
+        AUDIT_INFO
+    );
+
+    // json.............................................................................................................
+
+    @Test
+    public void testJsonWithNullInfosFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageValueInfoWriters.json(
+                null,
+                Indentation.SPACES2,
+                LineEnding.NL,
+                new StringBuilder()
+            )
+        );
+    }
+
+    @Test
+    public void testJsonWithNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageValueInfoWriters.json(
+                Lists.empty(),
+                Indentation.SPACES2,
+                LineEnding.NL,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testJsonEmpty() throws IOException {
+        this.jsonAndCheck(
+            Lists.empty(),
+            "[]"
+        );
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        this.jsonAndCheck(
+            Lists.of(
+                INFO1,
+                INFO2
+            ),
+            "[\n" +
+                "  {\n" +
+                "    \"path\": \"/1st.txt\",\n" +
+                "    \"auditInfo\": {\n" +
+                "      \"createdBy\": \"created@example.com\",\n" +
+                "      \"createdTimestamp\": \"1999-12-31T12:58:59\",\n" +
+                "      \"modifiedBy\": \"modified@example.com\",\n" +
+                "      \"modifiedTimestamp\": \"2000-01-02T03:04:05\"\n" +
+                "    }\n" +
+                "  },\n" +
+                "  {\n" +
+                "    \"path\": \"/dir2/\",\n" +
+                "    \"auditInfo\": {\n" +
+                "      \"createdBy\": \"created@example.com\",\n" +
+                "      \"createdTimestamp\": \"1999-12-31T12:58:59\",\n" +
+                "      \"modifiedBy\": \"modified@example.com\",\n" +
+                "      \"modifiedTimestamp\": \"2000-01-02T03:04:05\"\n" +
+                "    }\n" +
+                "  }\n" +
+                "]"
+        );
+    }
+
+    private void jsonAndCheck(final List<StorageValueInfo> infos,
+                              final String expected) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        StorageValueInfoWriters.json(
+            infos,
+            Indentation.SPACES2,
+            LineEnding.NL,
+            b
+        );
+        this.checkEquals(
+            expected,
+            b.toString()
+        );
+    }
+
+    // ndjson...........................................................................................................
+
+    @Test
+    public void testNdjsonEmpty() throws IOException {
+        this.ndjsonAndCheck(
+            Lists.empty(),
+            ""
+        );
+    }
+
+    @Test
+    public void testNdjson() throws IOException {
+        this.ndjsonAndCheck(
+            Lists.of(
+                INFO1,
+                INFO2
+            ),
+            "{\"path\":\"/1st.txt\",\"auditInfo\":{\"createdBy\":\"created@example.com\",\"createdTimestamp\":\"1999-12-31T12:58:59\",\"modifiedBy\":\"modified@example.com\",\"modifiedTimestamp\":\"2000-01-02T03:04:05\"}}\n" +
+                "{\"path\":\"/dir2/\",\"auditInfo\":{\"createdBy\":\"created@example.com\",\"createdTimestamp\":\"1999-12-31T12:58:59\",\"modifiedBy\":\"modified@example.com\",\"modifiedTimestamp\":\"2000-01-02T03:04:05\"}}\n"
+        );
+    }
+
+    @Test
+    public void testNdjsonEscapesPath() throws IOException {
+        this.ndjsonAndCheck(
+            Lists.of(
+                StorageValueInfo.with(
+                    StoragePath.parse("/quote\"back\\slash"),
+                    AUDIT_INFO
+                )
+            ),
+            "{\"path\":\"/quote\\\"back\\\\slash\",\"auditInfo\":{\"createdBy\":\"created@example.com\",\"createdTimestamp\":\"1999-12-31T12:58:59\",\"modifiedBy\":\"modified@example.com\",\"modifiedTimestamp\":\"2000-01-02T03:04:05\"}}\n"
+        );
+    }
+
+    private void ndjsonAndCheck(final List<StorageValueInfo> infos,
+                                final String expected) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        StorageValueInfoWriters.ndjson(
+            infos,
+            b
+        );
+        this.checkEquals(
+            expected,
+            b.toString()
+        );
+    }
+
+    // text.............................................................................................................
+
+    @Test
+    public void testTextEmpty() throws IOException {
+        this.textAndCheck(
+            Lists.empty(),
+            "\r\n"
+        );
+    }
+
+    @Test
+    public void testText() throws IOException {
+        this.textAndCheck(
+            Lists.of(
+                INFO1,
+                INFO2
+            ),
+            INFO1.text() + "\r\n" + INFO2.text() + "\r\n"
+        );
+    }
+
+    private void textAndCheck(final List<StorageValueInfo> infos,
+                              final String expected) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        StorageValueInfoWriters.text(
+            infos,
+            LineEnding.CRNL,
+            b
+        );
+        this.checkEquals(
+            expected,
+            b.toString()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageValueInfoWriters> type() {
+        return StorageValueInfoWriters.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+
+    @Override
+    public boolean canHavePublicTypes(final Method method) {
+        return false;
+    }
+}
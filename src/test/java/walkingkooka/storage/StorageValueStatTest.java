@@ -0,0 +1,413 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StorageZipExporterTest.TestStorageContext;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageValueStatTest implements ClassTesting2<StorageValueStat>,
+    HashCodeEqualsDefinedTesting2<StorageValueStat>,
+    ToStringTesting<StorageValueStat> {
+
+    private final static StoragePath PATH = StoragePath.parse("/path123.bin");
+
+    private final static AuditInfo AUDIT_INFO = AuditInfo.with(
+        EmailAddress.parse("created-by@example.com"),
+        LocalDateTime.parse("1999-12-31T12:58:59"),
+        EmailAddress.parse("modified-by@example.com"),
+        LocalDateTime.parse("2000-01-02T12:58:59")
+    );
+
+    private final static StorageValueInfo INFO = StorageValueInfo.with(
+        PATH,
+        AUDIT_INFO
+    );
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullInfoFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageValueStat.with(null)
+        );
+    }
+
+    @Test
+    public void testWith() {
+        final StorageValueStat stat = StorageValueStat.with(INFO);
+
+        this.checkEquals(INFO, stat.info(), "info");
+        this.checkEquals(PATH, stat.path(), "path");
+        this.checkEquals(AUDIT_INFO, stat.auditInfo(), "auditInfo");
+        this.checkEquals(StorageValueStat.NO_CONTENT_TYPE, stat.contentType(), "contentType");
+        this.checkEquals(StorageValueStat.NO_SIZE, stat.size(), "size");
+        this.checkEquals(StorageValueStat.NO_CONTENT_HASH, stat.contentHash(), "contentHash");
+        this.checkEquals(StorageValueStat.NO_CHILD_COUNT, stat.childCount(), "childCount");
+    }
+
+    // value............................................................................................................
+
+    @Test
+    public void testValueBinary() {
+        this.checkEquals(
+            StorageValueStat.with(INFO)
+                .setContentType(
+                    Optional.of(MediaType.BINARY)
+                ).setSize(
+                    OptionalLong.of(3)
+                ),
+            StorageValueStat.value(
+                INFO,
+                StorageValue.with(PATH)
+                    .setValue(
+                        Optional.of(
+                            Binary.with(
+                                new byte[]{1, 2, 3}
+                            )
+                        )
+                    ).setContentType(
+                        Optional.of(MediaType.BINARY)
+                    )
+            )
+        );
+    }
+
+    @Test
+    public void testValueString() {
+        this.checkEquals(
+            StorageValueStat.with(INFO),
+            StorageValueStat.value(
+                INFO,
+                StorageValue.with(PATH)
+                    .setValue(
+                        Optional.of("Hello")
+                    )
+            )
+        );
+    }
+
+    // loadOrList.......................................................................................................
+
+    @Test
+    public void testLoadOrListValue() {
+        final TestStorageContext context = this.loadOrListContext();
+        final StoragePath path = StoragePath.parse("/dir1/file1.txt");
+
+        this.checkEquals(
+            Optional.of(
+                StorageValueStat.value(
+                    context.listStorage(
+                        path,
+                        0,
+                        1
+                    ).get(0),
+                    context.loadStorage(path)
+                        .get()
+                )
+            ),
+            this.loadOrList(
+                path,
+                context
+            )
+        );
+    }
+
+    @Test
+    public void testLoadOrListDirectory() {
+        this.checkEquals(
+            Optional.of(
+                StorageValueStat.with(
+                    StorageValueInfo.with(
+                        StoragePath.parse("/dir1/"),
+                        AUDIT_INFO
+                    )
+                ).setChildCount(
+                    OptionalInt.of(2)
+                )
+            ),
+            this.loadOrList(
+                StoragePath.parse("/dir1/"),
+                this.loadOrListContext()
+            )
+        );
+    }
+
+    @Test
+    public void testLoadOrListDirectoryWithoutTrailingSeparator() {
+        this.checkEquals(
+            OptionalInt.of(2),
+            this.loadOrList(
+                StoragePath.parse("/dir1"),
+                this.loadOrListContext()
+            ).get()
+                .childCount()
+        );
+    }
+
+    @Test
+    public void testLoadOrListUnknown() {
+        this.checkEquals(
+            Optional.empty(),
+            this.loadOrList(
+                StoragePath.parse("/unknown.txt"),
+                this.loadOrListContext()
+            )
+        );
+    }
+
+    private TestStorageContext loadOrListContext() {
+        final TestStorageContext context = new TestStorageContext();
+
+        for (final String path : new String[]{"/dir1/file1.txt", "/dir1/file2.txt"}) {
+            context.saveStorage(
+                StorageValue.with(
+                    StoragePath.parse(path)
+                ).setValue(
+                    Optional.of(
+                        Binary.with(
+                            new byte[]{1, 2, 3}
+                        )
+                    )
+                )
+            );
+        }
+
+        return context;
+    }
+
+    private Optional<StorageValueStat> loadOrList(final StoragePath path,
+                                                  final TestStorageContext context) {
+        return StorageValueStat.loadOrList(
+            path,
+            context::loadStorage,
+            (p, o) -> context.listStorage(
+                p,
+                o,
+                StoragePathPatternFinder.PAGE_SIZE
+            ),
+            () -> AUDIT_INFO
+        );
+    }
+
+    // setPath..........................................................................................................
+
+    @Test
+    public void testSetPathDifferent() {
+        final StorageValueStat stat = this.createObject();
+        final StoragePath different = StoragePath.parse("/different.bin");
+
+        final StorageValueStat differentStat = stat.setPath(different);
+
+        assertNotSame(
+            stat,
+            differentStat
+        );
+        this.checkEquals(
+            different,
+            differentStat.path()
+        );
+        this.checkEquals(
+            stat.size(),
+            differentStat.size()
+        );
+    }
+
+    // setSize..........................................................................................................
+
+    @Test
+    public void testSetSizeWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .setSize(null)
+        );
+    }
+
+    @Test
+    public void testSetSizeWithNegativeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createObject()
+                .setSize(
+                    OptionalLong.of(-1)
+                )
+        );
+
+        this.checkEquals(
+            "Invalid size -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testSetSizeWithSame() {
+        final StorageValueStat stat = this.createObject();
+
+        assertSame(
+            stat,
+            stat.setSize(
+                OptionalLong.of(3)
+            )
+        );
+    }
+
+    // setChildCount....................................................................................................
+
+    @Test
+    public void testSetChildCountWithNegativeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createObject()
+                .setChildCount(
+                    OptionalInt.of(-1)
+                )
+        );
+
+        this.checkEquals(
+            "Invalid childCount -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    // setContentHash...................................................................................................
+
+    @Test
+    public void testSetContentHashWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .setContentHash(null)
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentInfo() {
+        this.checkNotEquals(
+            this.createObject()
+                .setPath(
+                    StoragePath.parse("/different.bin")
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentContentType() {
+        this.checkNotEquals(
+            this.createObject()
+                .setContentType(
+                    Optional.of(MediaType.TEXT_PLAIN)
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentSize() {
+        this.checkNotEquals(
+            this.createObject()
+                .setSize(
+                    OptionalLong.of(999)
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentContentHash() {
+        this.checkNotEquals(
+            this.createObject()
+                .setContentHash(
+                    Optional.of("different")
+                )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentChildCount() {
+        this.checkNotEquals(
+            this.createObject()
+                .setChildCount(
+                    OptionalInt.of(1)
+                )
+        );
+    }
+
+    @Override
+    public StorageValueStat createObject() {
+        return StorageValueStat.with(INFO)
+            .setContentType(
+                Optional.of(MediaType.BINARY)
+            ).setSize(
+                OptionalLong.of(3)
+            );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject()
+                .setContentHash(
+                    Optional.of("crc32:12345678")
+                ),
+            INFO + " application/octet-stream size=3 hash=crc32:12345678"
+        );
+    }
+
+    @Test
+    public void testToStringDirectory() {
+        this.toStringAndCheck(
+            StorageValueStat.with(INFO)
+                .setChildCount(
+                    OptionalInt.of(2)
+                ),
+            INFO + " children=2"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageValueStat> type() {
+        return StorageValueStat.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageWatcherAsyncTest implements ClassTesting<StorageWatcherAsync>,
+    ToStringTesting<StorageWatcherAsync> {
+
+    private final static StoragePath PATH1 = StoragePath.parse("/file1.txt");
+
+    private final static StoragePath PATH2 = StoragePath.parse("/file2.txt");
+
+    private final static StoragePath PATH3 = StoragePath.parse("/file3.txt");
+
+    private final static int CAPACITY = 2;
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherAsync.with(
+                null,
+                this.executor,
+                CAPACITY,
+                StorageWatcherOverflow.BLOCK
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherAsync.with(
+                this.watcher,
+                null,
+                CAPACITY,
+                StorageWatcherOverflow.BLOCK
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidCapacityFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageWatcherAsync.with(
+                this.watcher,
+                this.executor,
+                0,
+                StorageWatcherOverflow.BLOCK
+            )
+        );
+
+        this.checkEquals(
+            "Invalid capacity 0 < 1",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullOverflowFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherAsync.with(
+                this.watcher,
+                this.executor,
+                CAPACITY,
+                null
+            )
+        );
+    }
+
+    // onValueChange....................................................................................................
+
+    @Test
+    public void testOnValueChangeQueuesUntilExecutorRuns() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.BLOCK);
+
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            this.events,
+            "events"
+        );
+        this.checkEquals(
+            1,
+            async.queueDepth(),
+            "queueDepth"
+        );
+        this.checkEquals(
+            1,
+            this.tasks.size(),
+            "tasks"
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH1 + "=1"
+            ),
+            this.events,
+            "events"
+        );
+        this.checkEquals(
+            0,
+            async.queueDepth(),
+            "queueDepth"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeSchedulesOnceAndKeepsOrder() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.BLOCK);
+
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+        async.onValueChange(
+            value(PATH1, "1"),
+            value(PATH1, "2")
+        );
+
+        this.checkEquals(
+            1,
+            this.tasks.size(),
+            "tasks"
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH1 + "=1",
+                PATH1 + "=1>" + PATH1 + "=2"
+            ),
+            this.events,
+            "events"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeDropOldest() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.DROP_OLDEST);
+
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH2, "2")
+        );
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH3, "3")
+        );
+
+        this.checkEquals(
+            CAPACITY,
+            async.queueDepth(),
+            "queueDepth"
+        );
+        this.checkEquals(
+            1L,
+            async.dropped(),
+            "dropped"
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH2 + "=2",
+                "null>" + PATH3 + "=3"
+            ),
+            this.events,
+            "events"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeCoalesce() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.COALESCE);
+
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH2, "2")
+        );
+        async.onValueChange(
+            value(PATH1, "1"),
+            value(PATH1, "11")
+        );
+
+        this.checkEquals(
+            CAPACITY,
+            async.queueDepth(),
+            "queueDepth"
+        );
+        this.checkEquals(
+            1L,
+            async.coalesced(),
+            "coalesced"
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH1 + "=11",
+                "null>" + PATH2 + "=2"
+            ),
+            this.events,
+            "events"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeCoalesceCreateThenDelete() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.COALESCE);
+
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH2, "2")
+        );
+        async.onValueChange(
+            value(PATH1, "1"),
+            Optional.empty()
+        );
+
+        this.checkEquals(
+            1,
+            async.queueDepth(),
+            "queueDepth"
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH2 + "=2"
+            ),
+            this.events,
+            "events"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeWatcherFailsContinuesWithRemaining() {
+        final StorageWatcherAsync async = StorageWatcherAsync.with(
+            new StorageWatcher() {
+                @Override
+                public void onValueChange(final Optional<StorageValue> oldValue,
+                                          final Optional<StorageValue> newValue) {
+                    if (newValue.get().path().equals(PATH1)) {
+                        throw new IllegalStateException("Fail!");
+                    }
+                    events.add(event(oldValue, newValue));
+                }
+            },
+            this.executor,
+            CAPACITY,
+            StorageWatcherOverflow.BLOCK
+        );
+
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH2, "2")
+        );
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> this.tasks.remove(0).run()
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH2 + "=2"
+            ),
+            this.events,
+            "events"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeBlockWaitsForDispatch() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final StorageWatcherAsync async = StorageWatcherAsync.with(
+                new StorageWatcher() {
+                    @Override
+                    public void onValueChange(final Optional<StorageValue> oldValue,
+                                              final Optional<StorageValue> newValue) {
+                        try {
+                            release.await();
+                        } catch (final InterruptedException cause) {
+                            throw new IllegalStateException(cause);
+                        }
+                        events.add(event(oldValue, newValue));
+                    }
+                },
+                executor,
+                1,
+                StorageWatcherOverflow.BLOCK
+            );
+
+            async.onValueChange(
+                Optional.empty(),
+                value(PATH1, "1")
+            );
+            async.onValueChange(
+                Optional.empty(),
+                value(PATH2, "2")
+            );
+
+            release.countDown();
+
+            // the second event could only be queued after the first was taken
+            async.onValueChange(
+                Optional.empty(),
+                value(PATH3, "3")
+            );
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        this.checkEquals(
+            Lists.of(
+                "null>" + PATH1 + "=1",
+                "null>" + PATH2 + "=2",
+                "null>" + PATH3 + "=3"
+            ),
+            events,
+            "events"
+        );
+    }
+
+    // dispatchLag......................................................................................................
+
+    @Test
+    public void testDispatchLag() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.BLOCK);
+
+        this.checkEquals(
+            Duration.ZERO,
+            async.dispatchLag(),
+            "dispatchLag empty"
+        );
+
+        this.nanos = 1000;
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+
+        this.nanos = 1500;
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH2, "2")
+        );
+
+        this.nanos = 4000;
+        this.checkEquals(
+            Duration.ofNanos(3000),
+            async.dispatchLag(),
+            "dispatchLag"
+        );
+
+        this.runTasks();
+
+        this.checkEquals(
+            Duration.ZERO,
+            async.dispatchLag(),
+            "dispatchLag after dispatch"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final StorageWatcherAsync async = this.createAsync(StorageWatcherOverflow.DROP_OLDEST);
+        async.onValueChange(
+            Optional.empty(),
+            value(PATH1, "1")
+        );
+
+        this.toStringAndCheck(
+            async,
+            "Watcher123 DROP_OLDEST 1/2"
+        );
+    }
+
+    // helpers..........................................................................................................
+
+    private StorageWatcherAsync createAsync(final StorageWatcherOverflow overflow) {
+        return StorageWatcherAsync.with(
+            this.watcher,
+            this.executor,
+            CAPACITY,
+            overflow,
+            () -> this.nanos
+        );
+    }
+
+    private static Optional<StorageValue> value(final StoragePath path,
+                                                final String value) {
+        return Optional.of(
+            StorageValue.with(path)
+                .setValue(
+                    Optional.of(value)
+                )
+        );
+    }
+
+    private static String event(final Optional<StorageValue> oldValue,
+                                final Optional<StorageValue> newValue) {
+        return text(oldValue) + ">" + text(newValue);
+    }
+
+    private static String text(final Optional<StorageValue> value) {
+        return value.map(v -> v.path() + "=" + v.value().get())
+            .orElse("null");
+    }
+
+    private void runTasks() {
+        while (false == this.tasks.isEmpty()) {
+            this.tasks.remove(0)
+                .run();
+        }
+    }
+
+    private final List<String> events = Lists.array();
+
+    private final StorageWatcher watcher = new StorageWatcher() {
+        @Override
+        public void onValueChange(final Optional<StorageValue> oldValue,
+                                  final Optional<StorageValue> newValue) {
+            events.add(event(oldValue, newValue));
+        }
+
+        @Override
+        public String toString() {
+            return "Watcher123";
+        }
+    };
+
+    private final List<Runnable> tasks = Lists.array();
+
+    private final Executor executor = this.tasks::add;
+
+    private long nanos;
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageWatcherAsync> type() {
+        return StorageWatcherAsync.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
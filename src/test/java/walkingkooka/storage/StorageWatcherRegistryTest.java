@@ -0,0 +1,424 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.predicate.Predicates;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageWatcherRegistryTest implements ClassTesting<StorageWatcherRegistry>,
+    ToStringTesting<StorageWatcherRegistry> {
+
+    private final static StoragePath DIR1 = StoragePath.parse("/dir1");
+
+    private final static StoragePath DIR1_FILE = StoragePath.parse("/dir1/file1.txt");
+
+    private final static StoragePath DIR1_SUB_FILE = StoragePath.parse("/dir1/sub/file2.csv");
+
+    private final static StoragePath DIR2_FILE = StoragePath.parse("/dir2/file3.txt");
+
+    // add..............................................................................................................
+
+    @Test
+    public void testAddWithNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherRegistry.empty()
+                .add(
+                    (StoragePath) null,
+                    new FakeStorageWatcher()
+                )
+        );
+    }
+
+    @Test
+    public void testAddWithNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherRegistry.empty()
+                .add(
+                    DIR1,
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testAddWithNullPatternFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherRegistry.empty()
+                .add(
+                    (StoragePathPattern) null,
+                    new FakeStorageWatcher()
+                )
+        );
+    }
+
+    @Test
+    public void testOnValueChangesWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatcherRegistry.empty()
+                .onValueChanges(null)
+        );
+    }
+
+    // onValueChange....................................................................................................
+
+    @Test
+    public void testOnValueChangeRoutedByPath() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> root = Lists.array();
+        final List<StoragePath> dir1 = Lists.array();
+        final List<StoragePath> dir2 = Lists.array();
+
+        registry.add(
+            StoragePath.ROOT,
+            watcher(root)
+        );
+        registry.add(
+            DIR1,
+            watcher(dir1)
+        );
+        registry.add(
+            StoragePath.parse("/dir2/"),
+            watcher(dir2)
+        );
+
+        this.create(registry, DIR1_FILE);
+        this.create(registry, DIR1_SUB_FILE);
+        this.create(registry, DIR2_FILE);
+
+        this.checkEquals(
+            Lists.of(
+                DIR1_FILE,
+                DIR1_SUB_FILE,
+                DIR2_FILE
+            ),
+            root,
+            "root"
+        );
+        this.checkEquals(
+            Lists.of(
+                DIR1_FILE,
+                DIR1_SUB_FILE
+            ),
+            dir1,
+            "dir1"
+        );
+        this.checkEquals(
+            Lists.of(
+                DIR2_FILE
+            ),
+            dir2,
+            "dir2"
+        );
+    }
+
+    @Test
+    public void testOnValueChangeRoutedByPattern() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> txt = Lists.array();
+
+        registry.add(
+            StoragePathPattern.parse("/dir1/**/*.txt"),
+            watcher(txt)
+        );
+
+        this.create(registry, DIR1_FILE);
+        this.create(registry, DIR1_SUB_FILE);
+        this.create(registry, DIR2_FILE);
+
+        this.checkEquals(
+            Lists.of(
+                DIR1_FILE
+            ),
+            txt
+        );
+    }
+
+    @Test
+    public void testOnValueChangeRoutedByFilterPattern() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> txt = Lists.array();
+
+        registry.add(
+            StoragePath.ROOT,
+            watcher(txt).setFilter(
+                StoragePathPattern.parse("/dir1/**/*.txt")
+            )
+        );
+
+        this.create(registry, DIR1_FILE);
+        this.create(registry, DIR1_SUB_FILE);
+        this.create(registry, DIR2_FILE);
+
+        this.checkEquals(
+            Lists.of(
+                DIR1_FILE
+            ),
+            txt
+        );
+    }
+
+    @Test
+    public void testAddFilterPatternHeldAtDirectory() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        registry.add(
+            StoragePath.ROOT,
+            new FakeStorageWatcher()
+                .setFilter(
+                    StoragePathPattern.parse("/dir1/**/*.txt")
+                )
+        );
+
+        this.checkEquals(
+            true,
+            registry.isWatched(DIR1),
+            "isWatched " + DIR1
+        );
+        this.checkEquals(
+            false,
+            registry.isWatched(
+                DIR2_FILE.parent()
+                    .get()
+            ),
+            "isWatched /dir2"
+        );
+    }
+
+    @Test
+    public void testAddOnceFilterFiresFirstMatch() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> fired = Lists.array();
+
+        registry.addOnce(
+            StoragePath.ROOT,
+            watcher(fired).setFilter(
+                Predicates.is(DIR1_SUB_FILE)
+            )
+        );
+
+        this.create(registry, DIR1_FILE);
+        this.create(registry, DIR1_SUB_FILE);
+        this.create(registry, DIR1_SUB_FILE);
+
+        this.checkEquals(
+            Lists.of(
+                DIR1_SUB_FILE
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testOnValueChangeMovedFiresOnce() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> fired = Lists.array();
+
+        registry.add(
+            DIR1,
+            watcher(fired)
+        );
+
+        registry.onValueChange(
+            Optional.of(
+                StorageValue.with(DIR1_FILE)
+            ),
+            Optional.of(
+                StorageValue.with(DIR1_SUB_FILE)
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(
+                DIR1_SUB_FILE
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testOnValueChangeUnchanged() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        registry.add(
+            StoragePath.ROOT,
+            new FakeStorageWatcher()
+        );
+
+        final Optional<StorageValue> value = Optional.of(
+            StorageValue.with(DIR1_FILE)
+        );
+
+        registry.onValueChange(
+            value,
+            value
+        );
+    }
+
+    @Test
+    public void testAddThenRemove() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> fired = Lists.array();
+
+        final Runnable remover = registry.add(
+            DIR1,
+            watcher(fired)
+        );
+        remover.run();
+
+        this.create(registry, DIR1_FILE);
+
+        this.checkEquals(
+            Lists.empty(),
+            fired
+        );
+        this.toStringAndCheck(
+            registry,
+            "[] {}"
+        );
+    }
+
+    @Test
+    public void testAddOnce() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<StoragePath> fired = Lists.array();
+
+        registry.addOnce(
+            DIR1,
+            watcher(fired)
+        );
+
+        this.create(registry, DIR2_FILE);
+        this.create(registry, DIR1_FILE);
+        this.create(registry, DIR1_SUB_FILE);
+
+        this.checkEquals(
+            Lists.of(
+                DIR1_FILE
+            ),
+            fired
+        );
+    }
+
+    // onValueChanges...................................................................................................
+
+    @Test
+    public void testOnValueChangesBatchWatcher() {
+        final StorageWatcherRegistry registry = StorageWatcherRegistry.empty();
+
+        final List<List<StorageValueChange>> batches = Lists.array();
+        final List<StoragePath> singles = Lists.array();
+
+        registry.add(
+            DIR1,
+            (StorageBatchWatcher) batches::add
+        );
+        registry.add(
+            DIR1,
+            watcher(singles)
+        );
+
+        final StorageValueChange change1 = change(DIR1_FILE);
+        final StorageValueChange change2 = change(DIR2_FILE);
+        final StorageValueChange change3 = change(DIR1_SUB_FILE);
+
+        registry.onValueChanges(
+            Lists.of(
+                change1,
+                change2,
+                change3
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(
+                    change1,
+                    change3
+                )
+            ),
+            batches,
+            "batches"
+        );
+        this.checkEquals(
+            Lists.of(
+                DIR1_FILE,
+                DIR1_SUB_FILE
+            ),
+            singles,
+            "singles"
+        );
+    }
+
+    private void create(final StorageWatcherRegistry registry,
+                        final StoragePath path) {
+        final StorageValueChange change = change(path);
+
+        registry.onValueChange(
+            change.oldValue(),
+            change.newValue()
+        );
+    }
+
+    private static StorageValueChange change(final StoragePath path) {
+        return StorageValueChange.with(
+            Optional.empty(),
+            Optional.of(
+                StorageValue.with(path)
+            )
+        );
+    }
+
+    private static StorageWatcher watcher(final List<StoragePath> paths) {
+        return (oldValue, newValue) -> paths.add(
+            newValue.get()
+                .path()
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageWatcherRegistry> type() {
+        return StorageWatcherRegistry.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -175,6 +175,45 @@ public final class StorageWatcherTest implements ToStringTesting<StorageWatcher>
         );
     }
 
+    @Test
+    public void testSetFilterStoragePathPatternUnmatchedPath() {
+        new FakeStorageWatcher()
+            .setFilter(
+                StoragePathPattern.parse("/path222/*.txt")
+            ).onValueChange(
+                Optional.of(
+                    StorageValue.with(STORAGE_PATH)
+                ),
+                Optional.empty()
+            );
+    }
+
+    @Test
+    public void testSetFilterStoragePathPatternMatchedPath() {
+        this.fired = false;
+
+        new FakeStorageWatcher() {
+            @Override
+            public void onValueChange(final Optional<StorageValue> ov,
+                                      final Optional<StorageValue> nv) {
+                StorageWatcherTest.this.fired = true;
+            }
+        }.setFilter(
+            StoragePathPattern.parse("/**/path3*")
+        ).onValueChange(
+            Optional.empty(),
+            Optional.of(
+                StorageValue.with(STORAGE_PATH)
+            )
+        );
+
+        this.checkEquals(
+            true,
+            this.fired,
+            "fired"
+        );
+    }
+
     private boolean fired;
 
     // toString.........................................................................................................
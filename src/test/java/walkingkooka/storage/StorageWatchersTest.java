@@ -18,9 +18,11 @@
 package walkingkooka.storage;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.reflect.ClassTesting;
 import walkingkooka.reflect.JavaVisibility;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -188,6 +190,173 @@ public final class StorageWatchersTest implements ClassTesting<StorageWatchers>
 
     private boolean fired = false;
 
+    // onValueChanges...................................................................................................
+
+    private final static StorageValueChange CHANGE1 = StorageValueChange.with(
+        Optional.empty(),
+        Optional.of(
+            StorageValue.with(PATH)
+        )
+    );
+
+    private final static StorageValueChange CHANGE2 = StorageValueChange.with(
+        Optional.of(
+            StorageValue.with(PATH)
+        ),
+        Optional.empty()
+    );
+
+    private final static StorageValueChange UNCHANGED = StorageValueChange.with(
+        Optional.of(
+            StorageValue.with(PATH)
+        ),
+        Optional.of(
+            StorageValue.with(PATH)
+        )
+    );
+
+    @Test
+    public void testOnValueChangesWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageWatchers.empty()
+                .onValueChanges(null)
+        );
+    }
+
+    @Test
+    public void testAddBatchWatcherThenOnValueChanges() {
+        final List<List<StorageValueChange>> batches = Lists.array();
+        final List<StorageValueChange> singles = Lists.array();
+
+        final StorageWatchers watchers = StorageWatchers.empty();
+        watchers.add(
+            (StorageBatchWatcher) batches::add
+        );
+        watchers.add(
+            (ov, nv) -> singles.add(
+                StorageValueChange.with(
+                    ov,
+                    nv
+                )
+            )
+        );
+
+        watchers.onValueChanges(
+            Lists.of(
+                CHANGE1,
+                UNCHANGED,
+                CHANGE2
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(
+                    CHANGE1,
+                    CHANGE2
+                )
+            ),
+            batches,
+            "batches"
+        );
+        this.checkEquals(
+            Lists.of(
+                CHANGE1,
+                CHANGE2
+            ),
+            singles,
+            "singles"
+        );
+    }
+
+    @Test
+    public void testAddBatchWatcherThenOnValueChangesAllUnchanged() {
+        final List<List<StorageValueChange>> batches = Lists.array();
+
+        final StorageWatchers watchers = StorageWatchers.empty();
+        watchers.add(
+            (StorageBatchWatcher) batches::add
+        );
+
+        watchers.onValueChanges(
+            Lists.of(
+                UNCHANGED
+            )
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            batches
+        );
+    }
+
+    @Test
+    public void testAddBatchWatcherThenOnValueChange() {
+        final List<List<StorageValueChange>> batches = Lists.array();
+
+        final StorageWatchers watchers = StorageWatchers.empty();
+        watchers.add(
+            (StorageBatchWatcher) batches::add
+        );
+
+        watchers.onValueChange(
+            CHANGE1.oldValue(),
+            CHANGE1.newValue()
+        );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(CHANGE1)
+            ),
+            batches
+        );
+    }
+
+    @Test
+    public void testAddBatchWatcherThenRemove() {
+        final List<List<StorageValueChange>> batches = Lists.array();
+
+        final StorageWatchers watchers = StorageWatchers.empty();
+        final Runnable remover = watchers.add(
+            (StorageBatchWatcher) batches::add
+        );
+        remover.run();
+
+        watchers.onValueChanges(
+            Lists.of(CHANGE1)
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            batches
+        );
+    }
+
+    @Test
+    public void testAddOnceBatchWatcherThenOnValueChangesTwice() {
+        final List<List<StorageValueChange>> batches = Lists.array();
+
+        final StorageWatchers watchers = StorageWatchers.empty();
+        watchers.addOnce(
+            (StorageBatchWatcher) batches::add
+        );
+
+        watchers.onValueChanges(
+            Lists.of(CHANGE1)
+        );
+        watchers.onValueChanges(
+            Lists.of(CHANGE2)
+        );
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of(CHANGE1)
+            ),
+            batches
+        );
+    }
+
     // Class............................................................................................................
 
     @Override
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.HasCharsetTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageZipExporterTest implements ClassTesting<StorageZipExporter>,
+    HasCharsetTesting {
+
+    private final static LocalDateTime NOW = LocalDateTime.of(
+        1999,
+        12,
+        31,
+        12,
+        58,
+        59
+    );
+
+    @Test
+    public void testExportNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageZipExporter.export(
+                null,
+                new ByteArrayOutputStream(),
+                new TestStorageContext()
+            )
+        );
+    }
+
+    @Test
+    public void testExportNullOutputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageZipExporter.export(
+                StoragePath.ROOT,
+                null,
+                new TestStorageContext()
+            )
+        );
+    }
+
+    @Test
+    public void testExportNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageZipExporter.export(
+                StoragePath.ROOT,
+                new ByteArrayOutputStream(),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testExportEmpty() throws IOException {
+        this.exportAndCheck(
+            new TestStorageContext(),
+            StoragePath.ROOT,
+            Maps.ordered()
+        );
+    }
+
+    @Test
+    public void testExportRoot() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+        this.save("/file1.txt", "Hello1", context);
+        this.save("/dir1/file2.txt", "Hello2", context);
+        this.save("/dir1/dir2/file3.txt", "Hello3", context);
+
+        final Map<String, String> expected = Maps.ordered();
+        expected.put("dir1/dir2/file3.txt", "Hello3");
+        expected.put("dir1/file2.txt", "Hello2");
+        expected.put("file1.txt", "Hello1");
+
+        this.exportAndCheck(
+            context,
+            StoragePath.ROOT,
+            expected
+        );
+    }
+
+    @Test
+    public void testExportSubtree() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+        this.save("/file1.txt", "Hello1", context);
+        this.save("/dir1/file2.txt", "Hello2", context);
+        this.save("/dir1/dir2/file3.txt", "Hello3", context);
+
+        final Map<String, String> expected = Maps.ordered();
+        expected.put("dir2/file3.txt", "Hello3");
+        expected.put("file2.txt", "Hello2");
+
+        this.exportAndCheck(
+            context,
+            StoragePath.parse("/dir1/"),
+            expected
+        );
+    }
+
+    @Test
+    public void testExportFile() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+        this.save("/dir1/file2.txt", "Hello2", context);
+
+        final Map<String, String> expected = Maps.ordered();
+        expected.put("file2.txt", "Hello2");
+
+        this.exportAndCheck(
+            context,
+            StoragePath.parse("/dir1/file2.txt"),
+            expected
+        );
+    }
+
+    @Test
+    public void testExportSeveralPages() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+        final Map<String, String> expected = Maps.sorted();
+
+        for (int i = 0; i < StorageZipExporter.PAGE_SIZE * 2 + 1; i++) {
+            final String name = "file" + (1000 + i) + ".txt";
+            this.save("/dir1/" + name, "Hello" + i, context);
+            expected.put(name, "Hello" + i);
+        }
+
+        this.exportAndCheck(
+            context,
+            StoragePath.parse("/dir1"),
+            expected
+        );
+    }
+
+    @Test
+    public void testExportModifiedDuringExportFails() {
+        final TestStorageContext context = new TestStorageContext() {
+            @Override
+            public Optional<StorageValue> loadStorage(final StoragePath path) {
+                final Optional<StorageValue> loaded = super.loadStorage(path);
+
+                StorageZipExporterTest.this.save(
+                    "/dir1/file999.txt",
+                    "Modified",
+                    this
+                );
+
+                return loaded;
+            }
+        };
+        this.save("/dir1/file1.txt", "Hello1", context);
+        this.save("/dir1/file2.txt", "Hello2", context);
+
+        assertThrows(
+            InvalidStoragePathException.class,
+            () -> StorageZipExporter.export(
+                StoragePath.parse("/dir1/"),
+                new ByteArrayOutputStream(),
+                context
+            )
+        );
+    }
+
+    @Test
+    public void testExportModifiedOutsideExport() throws IOException {
+        final TestStorageContext context = new TestStorageContext() {
+            @Override
+            public Optional<StorageValue> loadStorage(final StoragePath path) {
+                final Optional<StorageValue> loaded = super.loadStorage(path);
+
+                StorageZipExporterTest.this.save(
+                    "/dir2/file999.txt",
+                    "Modified",
+                    this
+                );
+
+                return loaded;
+            }
+        };
+        this.save("/dir1/file1.txt", "Hello1", context);
+
+        final Map<String, String> expected = Maps.ordered();
+        expected.put("file1.txt", "Hello1");
+
+        this.exportAndCheck(
+            context,
+            StoragePath.parse("/dir1/"),
+            expected
+        );
+    }
+
+    private void save(final String path,
+                      final String content,
+                      final StorageContext context) {
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse(path)
+            ).setValue(
+                Optional.of(
+                    Binary.with(
+                        content.getBytes(CHARSET)
+                    )
+                )
+            )
+        );
+    }
+
+    private void exportAndCheck(final StorageContext context,
+                                final StoragePath path,
+                                final Map<String, String> expected) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StorageZipExporter.export(
+            path,
+            output,
+            context
+        );
+
+        final Map<String, String> actual = Maps.ordered();
+
+        try (final ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            for (; ; ) {
+                final ZipEntry zipEntry = zipInputStream.getNextEntry();
+                if (null == zipEntry) {
+                    break;
+                }
+
+                actual.put(
+                    zipEntry.getName(),
+                    new String(
+                        zipInputStream.readAllBytes(),
+                        CHARSET
+                    )
+                );
+            }
+        }
+
+        this.checkEquals(
+            expected,
+            actual,
+            () -> "export " + path
+        );
+    }
+
+    static class TestStorageContext extends FakeStorageContext {
+
+        @Override
+        public Optional<StorageValue> loadStorage(final StoragePath path) {
+            return this.storage.load(
+                path,
+                this
+            );
+        }
+
+        @Override
+        public StorageValue saveStorage(final StorageValue value) {
+            return this.storage.save(
+                value,
+                this
+            );
+        }
+
+        @Override
+        public List<StorageValueInfo> listStorage(final StoragePath parent,
+                                                  final int offset,
+                                                  final int count) {
+            return this.storage.list(
+                parent,
+                offset,
+                count,
+                this
+            );
+        }
+
+        @Override
+        public Runnable addStorageWatcher(final StorageWatcher watcher) {
+            return this.storage.addWatcher(
+                watcher,
+                this
+            );
+        }
+
+        @Override
+        public Optional<EmailAddress> user() {
+            return Optional.of(
+                EmailAddress.parse("user@example.com")
+            );
+        }
+
+        @Override
+        public LocalDateTime now() {
+            return NOW;
+        }
+
+        private final Storage<TestStorageContext> storage = Storages.treeMapStore();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageZipExporter> type() {
+        return StorageZipExporter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
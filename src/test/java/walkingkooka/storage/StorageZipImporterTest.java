@@ -0,0 +1,416 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.Either;
+import walkingkooka.HasCharsetTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageZipImporterTest implements ClassTesting<StorageZipImporter>,
+    HasCharsetTesting {
+
+    @Test
+    public void testImportNullInputFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageZipImporter.importZip(
+                null,
+                StoragePath.ROOT,
+                new TestStorageContext()
+            )
+        );
+    }
+
+    @Test
+    public void testImportNullPathFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageZipImporter.importZip(
+                new ByteArrayInputStream(new byte[0]),
+                null,
+                new TestStorageContext()
+            )
+        );
+    }
+
+    @Test
+    public void testImportNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageZipImporter.importZip(
+                new ByteArrayInputStream(new byte[0]),
+                StoragePath.ROOT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testImportZeroMaxEntrySizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageZipImporter.importZip(
+                new ByteArrayInputStream(new byte[0]),
+                StoragePath.ROOT,
+                0,
+                1,
+                new TestStorageContext()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid maxEntrySize 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testImportZeroMaxTotalSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageZipImporter.importZip(
+                new ByteArrayInputStream(new byte[0]),
+                StoragePath.ROOT,
+                1,
+                0,
+                new TestStorageContext()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid maxTotalSize 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testImportRoot() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+
+        this.checkEquals(
+            2,
+            StorageZipImporter.importZip(
+                zip(
+                    "file1.txt", "Hello1",
+                    "dir1/", null,
+                    "dir1/file2.txt", "Hello2"
+                ),
+                StoragePath.ROOT,
+                context
+            )
+        );
+
+        this.loadAndCheck(
+            context,
+            "/file1.txt",
+            "Hello1"
+        );
+        this.loadAndCheck(
+            context,
+            "/dir1/file2.txt",
+            "Hello2"
+        );
+    }
+
+    @Test
+    public void testImportSubtree() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+
+        StorageZipImporter.importZip(
+            zip(
+                "file1.txt", "Hello1",
+                "/dir1/file2.txt", "Hello2"
+            ),
+            StoragePath.parse("/target/"),
+            context
+        );
+
+        this.loadAndCheck(
+            context,
+            "/target/file1.txt",
+            "Hello1"
+        );
+        this.loadAndCheck(
+            context,
+            "/target/dir1/file2.txt",
+            "Hello2"
+        );
+    }
+
+    @Test
+    public void testImportParentEntryFails() {
+        final InvalidStoragePathException thrown = assertThrows(
+            InvalidStoragePathException.class,
+            () -> StorageZipImporter.importZip(
+                zip(
+                    "../file1.txt", "Hello1"
+                ),
+                StoragePath.parse("/target"),
+                new TestStorageContext()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid entry \"../file1.txt\" \"/target\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testImportBackslashParentEntryFails() {
+        final InvalidStoragePathException thrown = assertThrows(
+            InvalidStoragePathException.class,
+            () -> StorageZipImporter.importZip(
+                zip(
+                    "dir1\\..\\..\\file1.txt", "Hello1"
+                ),
+                StoragePath.parse("/target"),
+                new TestStorageContext()
+            )
+        );
+
+        this.checkEquals(
+            "Invalid entry \"dir1\\\\..\\\\..\\\\file1.txt\" \"/target\"",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testImportInvalidEntryNameSavesNothing() {
+        final TestStorageContext context = new TestStorageContext();
+
+        final String name = "dir1/" + "a".repeat(StorageName.MAX_LENGTH + 1) + ".txt";
+
+        final InvalidStoragePathException thrown = assertThrows(
+            InvalidStoragePathException.class,
+            () -> StorageZipImporter.importZip(
+                zip(
+                    "file1.txt", "Hello1",
+                    name, "Hello2"
+                ),
+                StoragePath.parse("/target"),
+                context
+            )
+        );
+
+        this.checkEquals(
+            "Invalid entry \"" + name + "\" \"/target\"",
+            thrown.getMessage()
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            context.loadStorage(
+                StoragePath.parse("/target/file1.txt")
+            ),
+            "nothing saved"
+        );
+    }
+
+    @Test
+    public void testImportEntryLargerThanMaxEntrySizeFails() {
+        final TestStorageContext context = new TestStorageContext();
+
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> StorageZipImporter.importZip(
+                zip(
+                    "file1.txt", "Hello1",
+                    "file2.txt", "Hello22"
+                ),
+                StoragePath.ROOT,
+                6,
+                100,
+                context
+            )
+        );
+
+        this.checkEquals(
+            "Entry \"file2.txt\" larger than 6 bytes",
+            thrown.getMessage()
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            context.loadStorage(
+                StoragePath.parse("/file1.txt")
+            ),
+            "nothing saved"
+        );
+    }
+
+    @Test
+    public void testImportEntriesLargerThanMaxTotalSizeFails() {
+        final IOException thrown = assertThrows(
+            IOException.class,
+            () -> StorageZipImporter.importZip(
+                zip(
+                    "file1.txt", "Hello1",
+                    "file2.txt", "Hello2"
+                ),
+                StoragePath.ROOT,
+                100,
+                11,
+                new TestStorageContext()
+            )
+        );
+
+        this.checkEquals(
+            "Entries larger than 11 bytes",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testImportEntriesEqualToMaximums() throws IOException {
+        this.checkEquals(
+            2,
+            StorageZipImporter.importZip(
+                zip(
+                    "file1.txt", "Hello1",
+                    "file2.txt", "Hello2"
+                ),
+                StoragePath.ROOT,
+                6,
+                12,
+                new TestStorageContext()
+            )
+        );
+    }
+
+    @Test
+    public void testExportImportRoundtrip() throws IOException {
+        final TestStorageContext context = new TestStorageContext();
+
+        StorageZipImporter.importZip(
+            zip(
+                "file1.txt", "Hello1",
+                "dir1/file2.txt", "Hello2"
+            ),
+            StoragePath.parse("/source"),
+            context
+        );
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StorageZipExporter.export(
+            StoragePath.parse("/source"),
+            output,
+            context
+        );
+
+        StorageZipImporter.importZip(
+            new ByteArrayInputStream(
+                output.toByteArray()
+            ),
+            StoragePath.parse("/copy"),
+            context
+        );
+
+        this.loadAndCheck(
+            context,
+            "/copy/file1.txt",
+            "Hello1"
+        );
+        this.loadAndCheck(
+            context,
+            "/copy/dir1/file2.txt",
+            "Hello2"
+        );
+    }
+
+    private static ByteArrayInputStream zip(final String... nameAndContents) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final ZipOutputStream zipOutputStream = new ZipOutputStream(output)) {
+            for (int i = 0; i < nameAndContents.length; i += 2) {
+                zipOutputStream.putNextEntry(
+                    new ZipEntry(nameAndContents[i])
+                );
+
+                final String content = nameAndContents[i + 1];
+                if (null != content) {
+                    zipOutputStream.write(
+                        content.getBytes(CHARSET)
+                    );
+                }
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        return new ByteArrayInputStream(
+            output.toByteArray()
+        );
+    }
+
+    private void loadAndCheck(final StorageContext context,
+                              final String path,
+                              final String expected) {
+        final StoragePath storagePath = StoragePath.parse(path);
+
+        this.checkEquals(
+            Optional.of(
+                StorageValue.with(storagePath)
+                    .setValue(
+                        Optional.of(
+                            Binary.with(
+                                expected.getBytes(CHARSET)
+                            )
+                        )
+                    )
+            ),
+            context.loadStorage(storagePath),
+            path
+        );
+    }
+
+    static class TestStorageContext extends StorageZipExporterTest.TestStorageContext {
+
+        /**
+         * Always fail so the imported {@link Binary} is kept.
+         */
+        @Override
+        public <T> Either<T, String> convert(final Object value,
+                                             final Class<T> target) {
+            return Either.right("Unsupported");
+        }
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageZipImporter> type() {
+        return StorageZipImporter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
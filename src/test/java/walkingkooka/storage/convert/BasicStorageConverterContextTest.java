@@ -27,6 +27,7 @@ import walkingkooka.convert.Converters;
 import walkingkooka.math.DecimalNumberContext;
 import walkingkooka.math.DecimalNumberContextDelegator;
 import walkingkooka.net.header.MediaType;
+import walkingkooka.net.header.MediaTypeDetector;
 import walkingkooka.storage.FakeHasUserDirectories;
 import walkingkooka.storage.StoragePath;
 import walkingkooka.tree.expression.convert.ExpressionNumberBinaryNumberConverterFunctions;
@@ -37,6 +38,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallUnmarshallContextTesting;
 
 import java.math.MathContext;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicStorageConverterContextTest implements StorageConverterContextTesting2<BasicStorageConverterContext>,
@@ -152,6 +154,56 @@ public final class BasicStorageConverterContextTest implements StorageConverterC
         );
     }
 
+    @Test
+    public void testDetectFileExtensionNotSharedBetweenContexts() {
+        final MediaType png = MediaType.parse("image/png");
+        final MediaType other = MediaType.parse("image/other123");
+
+        final BasicStorageConverterContext context = this.createContext(
+            new FakeStorageConverterContext() {
+                @Override
+                public MediaType detect(final String filename,
+                                        final Binary content) {
+                    return png;
+                }
+            }
+        );
+        final BasicStorageConverterContext context2 = this.createContext(
+            new FakeStorageConverterContext() {
+                @Override
+                public MediaType detect(final String filename,
+                                        final Binary content) {
+                    return other;
+                }
+            }
+        );
+
+        this.detectAndCheck(
+            context,
+            "image.png",
+            Binary.EMPTY,
+            png
+        );
+        this.detectAndCheck(
+            context2,
+            "image.png",
+            Binary.EMPTY,
+            other
+        );
+    }
+
+    // expressionCache..................................................................................................
+
+    @Test
+    public void testExpressionCacheNotSharedBetweenContexts() {
+        assertNotSame(
+            this.createContext()
+                .expressionCache(),
+            this.createContext()
+                .expressionCache()
+        );
+    }
+
     // parseStoragePath.................................................................................................
 
     @Test
@@ -165,10 +217,14 @@ public final class BasicStorageConverterContextTest implements StorageConverterC
 
     @Override
     public BasicStorageConverterContext createContext() {
+        return this.createContext(MEDIA_TYPE_DETECTOR);
+    }
+
+    private BasicStorageConverterContext createContext(final MediaTypeDetector mediaTypeDetector) {
         return BasicStorageConverterContext.with(
             CONVERTER,
             HAS_USER_DIRECTORIES,
-            MEDIA_TYPE_DETECTOR,
+            mediaTypeDetector,
             JsonNodeConverterContexts.basic(
                 ExpressionNumberConverterContexts.basic(
                     Converters.fake(),
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StorageBinary;
+import walkingkooka.storage.StoragePath;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageConverterContentTypeDetectorTest implements ClassTesting<StorageConverterContentTypeDetector>,
+    ToStringTesting<StorageConverterContentTypeDetector> {
+
+    private final static Binary BINARY = Binary.with(
+        new byte[]{1, 2, 3}
+    );
+
+    private final static MediaType PNG = MediaType.parse("image/png");
+
+    private final static MediaType SNIFFED = MediaType.parse("text/sniffed123");
+
+    // with.............................................................................................................
+
+    @Test
+    public void testWithZeroMaxSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageConverterContentTypeDetector.with(
+                0,
+                this.context(PNG)
+            )
+        );
+        this.checkEquals(
+            "Invalid maxSize 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testWithNullMediaTypeDetectorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> StorageConverterContentTypeDetector.with(
+                2,
+                null
+            )
+        );
+    }
+
+    // contentType......................................................................................................
+
+    @Test
+    public void testContentTypeWithContentType() {
+        final MediaType contentType = MediaType.parse("text/saved123");
+
+        this.contentTypeAndCheck(
+            StorageBinary.with(
+                StoragePath.parse("/image.png"),
+                BINARY
+            ).setContentType(
+                Optional.of(contentType)
+            ),
+            contentType
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testContentTypeWithBinaryContentType() {
+        this.contentTypeAndCheck(
+            StorageBinary.with(
+                StoragePath.parse("/file"),
+                BINARY
+            ).setContentType(
+                Optional.of(MediaType.BINARY)
+            ),
+            SNIFFED
+        );
+
+        this.checkEquals(
+            Lists.of(BINARY),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testContentTypeLargeBinarySniffsPrefix() {
+        final byte[] bytes = new byte[StorageConverterContentTypeDetector.SNIFF_SIZE * 3];
+        bytes[0] = 99;
+
+        this.contentTypeAndCheck(
+            StorageBinary.with(
+                StoragePath.parse("/large"),
+                Binary.with(bytes)
+            ),
+            SNIFFED
+        );
+
+        this.checkEquals(
+            1,
+            this.detected.size(),
+            "detected"
+        );
+
+        final Binary sniffed = this.detected.get(0);
+        this.checkEquals(
+            StorageConverterContentTypeDetector.SNIFF_SIZE,
+            sniffed.size(),
+            "sniffed size"
+        );
+        this.checkEquals(
+            99,
+            (int) sniffed.value()[0],
+            "sniffed first byte"
+        );
+    }
+
+    private void contentTypeAndCheck(final StorageBinary storageBinary,
+                                     final MediaType expected) {
+        this.checkEquals(
+            expected,
+            StorageConverterContentTypeDetector.contentType(
+                storageBinary,
+                this.context(PNG)
+            ),
+            storageBinary.toString()
+        );
+    }
+
+    // detect...........................................................................................................
+
+    @Test
+    public void testDetectWithoutFileExtension() {
+        this.detectAndCheck(
+            this.createDetector(),
+            "/file",
+            BINARY,
+            SNIFFED
+        );
+
+        this.checkEquals(
+            Lists.of(BINARY),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testDetectHiddenFileWithoutFileExtension() {
+        this.detectAndCheck(
+            this.createDetector(),
+            "/dir.png/.hidden",
+            BINARY,
+            SNIFFED
+        );
+
+        this.checkEquals(
+            Lists.of(BINARY),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testDetectFileExtensionOnceNotProbed() {
+        this.detectAndCheck(
+            this.createDetector(),
+            "/image.png",
+            BINARY,
+            PNG
+        );
+
+        this.checkEquals(
+            Lists.of(BINARY),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testDetectDecisiveFileExtensionThrice() {
+        final StorageConverterContentTypeDetector detector = this.createDetector();
+
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+
+        this.checkEquals(
+            Lists.of(
+                BINARY,
+                Binary.EMPTY
+            ),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testDetectNotDecisiveFileExtensionThrice() {
+        final StorageConverterContentTypeDetector detector = this.createDetector();
+
+        this.detectAndCheck(
+            detector,
+            "/file.bin",
+            BINARY,
+            SNIFFED
+        );
+        this.detectAndCheck(
+            detector,
+            "/file.bin",
+            BINARY,
+            SNIFFED
+        );
+        this.detectAndCheck(
+            detector,
+            "/file.bin",
+            BINARY,
+            SNIFFED
+        );
+
+        this.checkEquals(
+            Lists.of(
+                BINARY,
+                Binary.EMPTY,
+                BINARY,
+                BINARY
+            ),
+            this.detected,
+            "detected"
+        );
+    }
+
+    @Test
+    public void testDetectLargeBinarySniffsPrefix() {
+        final byte[] bytes = new byte[StorageConverterContentTypeDetector.SNIFF_SIZE * 3];
+        bytes[0] = 99;
+
+        this.detectAndCheck(
+            this.createDetector(),
+            "/large",
+            Binary.with(bytes),
+            SNIFFED
+        );
+
+        this.checkEquals(
+            1,
+            this.detected.size(),
+            "detected"
+        );
+        this.checkEquals(
+            StorageConverterContentTypeDetector.SNIFF_SIZE,
+            this.detected.get(0)
+                .size(),
+            "sniffed size"
+        );
+    }
+
+    @Test
+    public void testDetectRemembersMaxSizeFileExtensions() {
+        final StorageConverterContentTypeDetector detector = StorageConverterContentTypeDetector.with(
+            1,
+            this.context(PNG)
+        );
+
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+        this.detectAndCheck(
+            detector,
+            "/file.bin",
+            BINARY,
+            SNIFFED
+        );
+
+        this.checkEquals(
+            1,
+            detector.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testDetectFileExtensionsNotSharedBetweenDetectors() {
+        final MediaType other = MediaType.parse("image/other123");
+
+        final StorageConverterContentTypeDetector detector = this.createDetector();
+        final StorageConverterContentTypeDetector detector2 = StorageConverterContentTypeDetector.with(
+            2,
+            this.context(other)
+        );
+
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+        this.detectAndCheck(
+            detector2,
+            "/image.png",
+            BINARY,
+            other
+        );
+        this.detectAndCheck(
+            detector,
+            "/image.png",
+            BINARY,
+            PNG
+        );
+
+        this.checkEquals(
+            Lists.of(
+                BINARY,
+                Binary.EMPTY,
+                BINARY
+            ),
+            this.detected,
+            "detected"
+        );
+    }
+
+    private void detectAndCheck(final StorageConverterContentTypeDetector detector,
+                                final String filename,
+                                final Binary content,
+                                final MediaType expected) {
+        this.checkEquals(
+            expected,
+            detector.detect(
+                filename,
+                content
+            ),
+            filename
+        );
+    }
+
+    private StorageConverterContentTypeDetector createDetector() {
+        return StorageConverterContentTypeDetector.with(
+            2,
+            this.context(PNG)
+        );
+    }
+
+    /**
+     * Returns a context where only the png file extension is decisive, recording every {@link Binary}
+     * given to detect.
+     */
+    private StorageConverterContext context(final MediaType png) {
+        return new FakeStorageConverterContext() {
+
+            @Override
+            public MediaType detect(final String filename,
+                                    final Binary content) {
+                StorageConverterContentTypeDetectorTest.this.detected.add(content);
+
+                final MediaType contentType;
+                if (filename.endsWith(".png")) {
+                    contentType = png;
+                } else {
+                    contentType = Binary.EMPTY.equals(content) ?
+                        MediaType.BINARY :
+                        SNIFFED;
+                }
+                return contentType;
+            }
+        };
+    }
+
+    private final List<Binary> detected = Lists.array();
+
+    // sniff............................................................................................................
+
+    @Test
+    public void testSniffSmallBinary() {
+        assertSame(
+            BINARY,
+            StorageConverterContentTypeDetector.sniff(BINARY)
+        );
+    }
+
+    @Test
+    public void testSniffLargeBinary() {
+        final byte[] bytes = new byte[StorageConverterContentTypeDetector.SNIFF_SIZE + 10];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        this.checkEquals(
+            Binary.with(
+                Arrays.copyOf(
+                    bytes,
+                    StorageConverterContentTypeDetector.SNIFF_SIZE
+                )
+            ),
+            StorageConverterContentTypeDetector.sniff(
+                Binary.with(bytes)
+            )
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createDetector(),
+            "0/2"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageConverterContentTypeDetector> type() {
+        return StorageConverterContentTypeDetector.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageConverterExpressionCacheTest implements ClassTesting<StorageConverterExpressionCache>,
+    ToStringTesting<StorageConverterExpressionCache> {
+
+    private final static StorageConverterContext CONTEXT = context(Locale.ENGLISH);
+
+    private final static Expression EXPRESSION1 = Expression.value(1);
+
+    private final static Expression EXPRESSION2 = Expression.value(2);
+
+    private final static Expression EXPRESSION3 = Expression.value(3);
+
+    @Test
+    public void testWithZeroMaxSizeFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageConverterExpressionCache.with(0)
+        );
+        this.checkEquals(
+            "Invalid maxSize 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testGetMissing() {
+        this.checkEquals(
+            null,
+            StorageConverterExpressionCache.with(2)
+                .get("1", CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        cache.put("1", CONTEXT, EXPRESSION1);
+
+        assertSame(
+            EXPRESSION1,
+            cache.get("1", CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsed() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        cache.put("1", CONTEXT, EXPRESSION1);
+        cache.put("2", CONTEXT, EXPRESSION2);
+
+        // touch 1 so 2 is the least recently used
+        cache.get("1", CONTEXT);
+
+        cache.put("3", CONTEXT, EXPRESSION3);
+
+        this.checkEquals(
+            2,
+            cache.size(),
+            "size"
+        );
+        this.checkEquals(
+            EXPRESSION1,
+            cache.get("1", CONTEXT),
+            "1"
+        );
+        this.checkEquals(
+            null,
+            cache.get("2", CONTEXT),
+            "2"
+        );
+        this.checkEquals(
+            EXPRESSION3,
+            cache.get("3", CONTEXT),
+            "3"
+        );
+    }
+
+    @Test
+    public void testPutTextTooLongIgnored() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        final String text = CharSequences.repeating(
+            '1',
+            StorageConverterExpressionCache.MAX_TEXT_LENGTH + 1
+        ).toString();
+
+        cache.put(text, CONTEXT, EXPRESSION1);
+
+        this.checkEquals(
+            null,
+            cache.get(text, CONTEXT)
+        );
+    }
+
+    @Test
+    public void testGetDifferentLocaleMissing() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        cache.put("1", CONTEXT, EXPRESSION1);
+
+        this.checkEquals(
+            null,
+            cache.get(
+                "1",
+                context(Locale.FRENCH)
+            )
+        );
+    }
+
+    @Test
+    public void testGetDifferentExpressionNumberKindMissing() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        cache.put("1", CONTEXT, EXPRESSION1);
+
+        this.checkEquals(
+            null,
+            cache.get(
+                "1",
+                new FakeStorageConverterContext() {
+                    @Override
+                    public ExpressionNumberKind expressionNumberKind() {
+                        return ExpressionNumberKind.DOUBLE;
+                    }
+
+                    @Override
+                    public Locale locale() {
+                        return Locale.ENGLISH;
+                    }
+
+                    @Override
+                    public char valueSeparator() {
+                        return ',';
+                    }
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testGetSameStateDifferentContext() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        cache.put("1", CONTEXT, EXPRESSION1);
+
+        assertSame(
+            EXPRESSION1,
+            cache.get(
+                "1",
+                context(Locale.ENGLISH)
+            )
+        );
+    }
+
+    private static StorageConverterContext context(final Locale locale) {
+        return new FakeStorageConverterContext() {
+            @Override
+            public ExpressionNumberKind expressionNumberKind() {
+                return ExpressionNumberKind.BIG_DECIMAL;
+            }
+
+            @Override
+            public Locale locale() {
+                return locale;
+            }
+
+            @Override
+            public char valueSeparator() {
+                return ',';
+            }
+        };
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final StorageConverterExpressionCache cache = StorageConverterExpressionCache.with(2);
+        cache.put("1", CONTEXT, EXPRESSION1);
+
+        this.toStringAndCheck(
+            cache,
+            "1/2"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageConverterExpressionCache> type() {
+        return StorageConverterExpressionCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -62,6 +62,47 @@ public final class StorageConverterStorageBinaryToStorageValueBinaryTest extends
         );
     }
 
+    @Test
+    public void testConvertStorageBinaryWithContentTypeToStorageValue() {
+        final StoragePath storagePath = StoragePath.parse(PATH);
+        final MediaType contentType = MediaType.parse("text/saved123");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                BINARY
+            ).setContentType(
+                Optional.of(contentType)
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(BINARY)
+                ).setContentType(
+                    Optional.of(contentType)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithBinaryContentTypeToStorageValue() {
+        final StoragePath storagePath = StoragePath.parse(PATH);
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                BINARY
+            ).setContentType(
+                Optional.of(MediaType.BINARY)
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(BINARY)
+                ).setContentType(
+                    Optional.of(DETECTED_CONTENT_TYPE)
+                )
+        );
+    }
+
     @Override
     public StorageConverterStorageBinaryToStorageValueBinary<FakeStorageConverterContext> createConverter() {
         return StorageConverterStorageBinaryToStorageValueBinary.instance();
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.Cast;
+import walkingkooka.Either;
+import walkingkooka.collect.list.CsvStringList;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.convert.Converter;
+import walkingkooka.convert.ConverterContext;
+import walkingkooka.convert.Converters;
+import walkingkooka.convert.ShortCircuitingConverter;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.storage.StorageBinary;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+public final class StorageConverterStorageBinaryToStorageValueRouterTest extends StorageConverterStorageBinaryToStorageValueTestCase<StorageConverterStorageBinaryToStorageValueRouter<FakeStorageConverterContext>> {
+
+    private final static Charset CHARSET = StandardCharsets.UTF_8;
+
+    private final static MediaType DETECTED_CONTENT_TYPE = MediaType.parse("text/custom123");
+
+    private final static CsvStringList CSV = CsvStringList.EMPTY.concat("abc")
+        .concat("def")
+        .concat("ghi");
+
+    private final static Expression EXPRESSION = Expression.add(
+        Expression.value(111),
+        Expression.value(222)
+    );
+
+    private final static Binary CSV_BINARY = Binary.with(
+        CSV.text()
+            .getBytes(CHARSET)
+    );
+
+    @Test
+    public void testConvertStorageBinaryWithFileExtension() {
+        final StoragePath storagePath = StoragePath.parse("/letters.csv");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                CSV_BINARY
+            ).clearContentType(),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(CSV)
+                ).setContentType(
+                    Optional.of(MediaType.TEXT_CSV)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithFileExtensionAndBinaryContentType() {
+        final StoragePath storagePath = StoragePath.parse("/letters.csv");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                CSV_BINARY
+            ).setContentType(
+                Optional.of(MediaType.BINARY)
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(CSV)
+                ).setContentType(
+                    Optional.of(MediaType.BINARY)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithCompoundFileExtension() {
+        final StoragePath storagePath = StoragePath.parse("/add.expression.txt");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                Binary.with(
+                    EXPRESSION.text()
+                        .getBytes(CHARSET)
+                )
+            ).clearContentType(),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(EXPRESSION)
+                ).setContentType(
+                    Optional.of(Expression.MEDIA_TYPE)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithContentType() {
+        final StoragePath storagePath = StoragePath.parse("/letters");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                CSV_BINARY
+            ).setContentType(
+                Optional.of(MediaType.TEXT_CSV)
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(CSV)
+                ).setContentType(
+                    Optional.of(MediaType.TEXT_CSV)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithContentTypeAndCharset() {
+        final StoragePath storagePath = StoragePath.parse("/letters");
+        final MediaType contentType = MediaType.parse("text/csv;charset=UTF-8");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                CSV_BINARY
+            ).setContentType(
+                Optional.of(contentType)
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(CSV)
+                ).setContentType(
+                    Optional.of(contentType)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithUnknownFileExtension() {
+        final StoragePath storagePath = StoragePath.parse("/letters.bin");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                CSV_BINARY
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(CSV_BINARY)
+                ).setContentType(
+                    Optional.of(DETECTED_CONTENT_TYPE)
+                )
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryWithUnknownFileExtensionAndUnknownContentType() {
+        final StoragePath storagePath = StoragePath.parse("/letters.bin");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                CSV_BINARY
+            ).setContentType(
+                Optional.of(MediaType.BINARY)
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(CSV_BINARY)
+                ).setContentType(
+                    Optional.of(DETECTED_CONTENT_TYPE)
+                )
+        );
+    }
+
+    @Override
+    public StorageConverterStorageBinaryToStorageValueRouter<FakeStorageConverterContext> createConverter() {
+        return StorageConverterStorageBinaryToStorageValueRouter.instance();
+    }
+
+    @Override
+    public FakeStorageConverterContext createContext() {
+        return new FakeStorageConverterContext() {
+
+            @Override
+            public Charset charset() {
+                return CHARSET;
+            }
+
+            @Override
+            public ExpressionNumberKind expressionNumberKind() {
+                return ExpressionNumberKind.BIG_DECIMAL;
+            }
+
+            @Override
+            public Locale locale() {
+                return Locale.ENGLISH;
+            }
+
+            @Override
+            public char valueSeparator() {
+                return ',';
+            }
+
+            @Override
+            public MediaType detect(final String filename,
+                                    final Binary content) {
+                return DETECTED_CONTENT_TYPE;
+            }
+
+            @Override
+            public boolean canConvert(final Object value,
+                                      final Class<?> type) {
+                return this.converter.canConvert(
+                    value,
+                    type,
+                    this
+                );
+            }
+
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> target) {
+                return this.converter.convert(
+                    value,
+                    target,
+                    this
+                );
+            }
+
+            private final Converter<StorageConverterContext> converter = Converters.collection(
+                Lists.of(
+                    Converters.characterOrCharSequenceOrHasTextOrStringToCharacterOrCharSequenceOrString(),
+                    Converters.binaryToString(),
+                    Converters.textToCsvStringList(),
+                    new ShortCircuitingConverter<>() {
+
+                        @Override
+                        public boolean canConvert(final Object value,
+                                                  final Class<?> type,
+                                                  final ConverterContext context) {
+                            return EXPRESSION.text().equals(value) &&
+                                Expression.class == type;
+                        }
+
+                        @Override
+                        public <T> Either<T, String> doConvert(final Object value,
+                                                               final Class<T> type,
+                                                               final ConverterContext context) {
+                            return this.successfulConversion(
+                                EXPRESSION,
+                                type
+                            );
+                        }
+                    }
+                )
+            ).cast(StorageConverterContext.class);
+        };
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createConverter(),
+            "StorageBinary *.csv *.expression.txt *.json *.properties *.tsv *.txt | * to StorageValue"
+        );
+    }
+
+    @Override
+    public Class<StorageConverterStorageBinaryToStorageValueRouter<FakeStorageConverterContext>> type() {
+        return Cast.to(StorageConverterStorageBinaryToStorageValueRouter.class);
+    }
+}
@@ -120,6 +120,41 @@ public final class StorageConverterStorageBinaryToStorageValueSharedCsvTest exte
         );
     }
 
+    @Test
+    public void testConvertStorageBinaryDecodedOnce() {
+        final CsvStringList list = CsvStringList.EMPTY.concat("abc")
+            .concat("def");
+
+        final StoragePath storagePath = StoragePath.parse("/letters.csv");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                Binary.with(
+                    list.text()
+                        .getBytes(CHARSET)
+                )
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(list)
+                ).setContentType(
+                    Optional.of(MediaType.TEXT_CSV)
+                )
+        );
+
+        this.checkEquals(
+            1,
+            this.storageBinaryConversions,
+            "StorageBinary conversions"
+        );
+    }
+
+    /**
+     * The number of times the {@link StorageBinary} was given to {@link StorageConverterContext#convert(Object, Class)}.
+     */
+    private int storageBinaryConversions;
+
     @Override
     public StorageConverterStorageBinaryToStorageValueSharedCsv<FakeStorageConverterContext> createConverter() {
         return StorageConverterStorageBinaryToStorageValueSharedCsv.instance();
@@ -152,6 +187,9 @@ public final class StorageConverterStorageBinaryToStorageValueSharedCsvTest exte
             @Override
             public <T> Either<T, String> convert(final Object value,
                                                  final Class<T> target) {
+                if (value instanceof StorageBinary) {
+                    StorageConverterStorageBinaryToStorageValueSharedCsvTest.this.storageBinaryConversions++;
+                }
                 return this.converter.convert(
                     value,
                     target,
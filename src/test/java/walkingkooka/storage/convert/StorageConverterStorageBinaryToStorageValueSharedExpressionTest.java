@@ -31,9 +31,11 @@ import walkingkooka.storage.StorageBinary;
 import walkingkooka.storage.StoragePath;
 import walkingkooka.storage.StorageValue;
 import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionNumberKind;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Optional;
 
 public final class StorageConverterStorageBinaryToStorageValueSharedExpressionTest extends StorageConverterStorageBinaryToStorageValueSharedTestCase<StorageConverterStorageBinaryToStorageValueSharedExpression<FakeStorageConverterContext>> {
@@ -119,6 +121,169 @@ public final class StorageConverterStorageBinaryToStorageValueSharedExpressionTe
         );
     }
 
+    @Test
+    public void testConvertStorageBinaryExpressionInvalidFails() {
+        this.convertFails(
+            StorageBinary.with(
+                StoragePath.parse("/invalid.expression.txt"),
+                Binary.with(
+                    "invalid expression".getBytes(CHARSET)
+                )
+            ),
+            StorageValue.class
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryExpressionTwiceParsedOnce() {
+        final StoragePath path = StoragePath.parse("/add.expression.txt");
+
+        final StorageBinary storageBinary = StorageBinary.with(
+            path,
+            Binary.with(
+                EXPRESSION.text()
+                    .getBytes(CHARSET)
+            )
+        ).setContentType(
+            Optional.of(Expression.MEDIA_TYPE)
+        );
+
+        final StorageValue expected = StorageValue.with(path)
+            .setValue(
+                Optional.of(EXPRESSION)
+            ).setContentType(
+                Optional.of(Expression.MEDIA_TYPE)
+            );
+
+        this.convertAndCheck(
+            storageBinary,
+            StorageValue.class,
+            expected
+        );
+
+        final int parses = this.parses;
+
+        this.convertAndCheck(
+            storageBinary,
+            StorageValue.class,
+            expected
+        );
+
+        this.checkEquals(
+            parses,
+            this.parses,
+            "parses"
+        );
+        this.checkEquals(
+            EXPRESSION,
+            this.expressionCache.get(
+                EXPRESSION.text(),
+                this.createContext()
+            ),
+            "cached"
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryExpressionDifferentLocaleParsedAgain() {
+        final StoragePath path = StoragePath.parse("/add.expression.txt");
+
+        final StorageBinary storageBinary = StorageBinary.with(
+            path,
+            Binary.with(
+                EXPRESSION.text()
+                    .getBytes(CHARSET)
+            )
+        ).setContentType(
+            Optional.of(Expression.MEDIA_TYPE)
+        );
+
+        final StorageValue expected = StorageValue.with(path)
+            .setValue(
+                Optional.of(EXPRESSION)
+            ).setContentType(
+                Optional.of(Expression.MEDIA_TYPE)
+            );
+
+        this.convertAndCheck(
+            storageBinary,
+            StorageValue.class,
+            expected
+        );
+
+        final int parses = this.parses;
+
+        this.convertAndCheck(
+            this.createConverter(),
+            storageBinary,
+            StorageValue.class,
+            this.createContext(Locale.GERMAN),
+            expected
+        );
+
+        this.checkEquals(
+            parses + 1,
+            this.parses,
+            "parses"
+        );
+    }
+
+    @Test
+    public void testConvertStorageBinaryExpressionWithoutExpressionCacheParsedAgain() {
+        final StoragePath path = StoragePath.parse("/add.expression.txt");
+
+        final StorageBinary storageBinary = StorageBinary.with(
+            path,
+            Binary.with(
+                EXPRESSION.text()
+                    .getBytes(CHARSET)
+            )
+        ).setContentType(
+            Optional.of(Expression.MEDIA_TYPE)
+        );
+
+        final StorageValue expected = StorageValue.with(path)
+            .setValue(
+                Optional.of(EXPRESSION)
+            ).setContentType(
+                Optional.of(Expression.MEDIA_TYPE)
+            );
+
+        this.expressionCache = null;
+
+        this.convertAndCheck(
+            storageBinary,
+            StorageValue.class,
+            expected
+        );
+
+        final int parses = this.parses;
+
+        this.convertAndCheck(
+            storageBinary,
+            StorageValue.class,
+            expected
+        );
+
+        this.checkEquals(
+            parses + 1,
+            this.parses,
+            "parses"
+        );
+    }
+
+    /**
+     * The number of times text was parsed into an {@link Expression}.
+     */
+    private int parses;
+
+    /**
+     * The cache owned by every context created by this test, or null for contexts without a cache.
+     */
+    private StorageConverterExpressionCache expressionCache = StorageConverterExpressionCache.with(
+        StorageConverterExpressionCache.MAX_SIZE
+    );
+
     @Override
     public StorageConverterStorageBinaryToStorageValueSharedExpression<FakeStorageConverterContext> createConverter() {
         return StorageConverterStorageBinaryToStorageValueSharedExpression.instance();
@@ -126,64 +291,117 @@ public final class StorageConverterStorageBinaryToStorageValueSharedExpressionTe
 
     @Override
     public FakeStorageConverterContext createContext() {
-        return new FakeStorageConverterContext() {
-
-            @Override
-            public Charset charset() {
-                return CHARSET;
-            }
-
-            @Override
-            public boolean canConvert(final Object value,
-                                      final Class<?> type) {
-                return this.converter.canConvert(
-                    value,
-                    type,
-                    this
-                );
-            }
-
-            @Override
-            public <T> Either<T, String> convert(final Object value,
-                                                 final Class<T> target) {
-                return this.converter.convert(
-                    value,
-                    target,
-                    this
-                );
-            }
-
-            private final Converter<ConverterContext> converter = Converters.collection(
-                Lists.of(
-                    Converters.characterOrCharSequenceOrHasTextOrStringToCharacterOrCharSequenceOrString(),
-                    Converters.binaryToString(),
-                    Converters.simple(),
-                    new ShortCircuitingConverter<>() {
-
-                        @Override
-                        public boolean canConvert(final Object value,
-                                                  final Class<?> type,
-                                                  final ConverterContext context) {
-                            return (
-                                "".equals(value) ||
-                                    EXPRESSION.text().equals(value)
-                            ) &&
-                                Expression.class == type;
-                        }
-
-                        @Override
-                        public <T> Either<T, String> doConvert(final Object value,
-                                                               final Class<T> type,
-                                                               final ConverterContext context) {
-                            return this.successfulConversion(
-                                EXPRESSION,
-                                type
-                            );
-                        }
-                    }
-                )
+        return this.createContext(Locale.ENGLISH);
+    }
+
+    private FakeStorageConverterContext createContext(final Locale locale) {
+        final StorageConverterExpressionCache expressionCache = this.expressionCache;
+
+        return null != expressionCache ?
+            new TestStorageConverterContextWithExpressionCache(
+                locale,
+                expressionCache
+            ) :
+            new TestStorageConverterContext(locale);
+    }
+
+    final class TestStorageConverterContextWithExpressionCache extends TestStorageConverterContext
+        implements HasStorageConverterExpressionCache {
+
+        TestStorageConverterContextWithExpressionCache(final Locale locale,
+                                                       final StorageConverterExpressionCache expressionCache) {
+            super(locale);
+            this.expressionCache = expressionCache;
+        }
+
+        @Override
+        public StorageConverterExpressionCache expressionCache() {
+            return this.expressionCache;
+        }
+
+        private final StorageConverterExpressionCache expressionCache;
+    }
+
+    class TestStorageConverterContext extends FakeStorageConverterContext {
+
+        TestStorageConverterContext(final Locale locale) {
+            super();
+            this.locale = locale;
+        }
+
+        @Override
+        public Charset charset() {
+            return CHARSET;
+        }
+
+        @Override
+        public ExpressionNumberKind expressionNumberKind() {
+            return ExpressionNumberKind.BIG_DECIMAL;
+        }
+
+        @Override
+        public Locale locale() {
+            return this.locale;
+        }
+
+        private final Locale locale;
+
+        @Override
+        public char valueSeparator() {
+            return ',';
+        }
+
+        @Override
+        public boolean canConvert(final Object value,
+                                  final Class<?> type) {
+            return this.converter.canConvert(
+                value,
+                type,
+                this
+            );
+        }
+
+        @Override
+        public <T> Either<T, String> convert(final Object value,
+                                             final Class<T> target) {
+            return this.converter.convert(
+                value,
+                target,
+                this
             );
-        };
+        }
+
+        private final Converter<ConverterContext> converter = Converters.collection(
+            Lists.of(
+                Converters.characterOrCharSequenceOrHasTextOrStringToCharacterOrCharSequenceOrString(),
+                Converters.binaryToString(),
+                Converters.simple(),
+                new ShortCircuitingConverter<>() {
+
+                    @Override
+                    public boolean canConvert(final Object value,
+                                              final Class<?> type,
+                                              final ConverterContext context) {
+                        return (
+                            "".equals(value) ||
+                                EXPRESSION.text().equals(value)
+                        ) &&
+                            Expression.class == type;
+                    }
+
+                    @Override
+                    public <T> Either<T, String> doConvert(final Object value,
+                                                           final Class<T> type,
+                                                           final ConverterContext context) {
+                        StorageConverterStorageBinaryToStorageValueSharedExpressionTest.this.parses++;
+                        return this.successfulConversion(
+                            EXPRESSION,
+                            type
+                        );
+                    }
+                }
+            )
+        );
     }
 
     @Test
@@ -64,6 +64,41 @@ public final class StorageConverterStorageBinaryToStorageValueSharedTsvTest exte
         );
     }
 
+    @Test
+    public void testConvertStorageBinaryDecodedOnce() {
+        final TsvStringList list = TsvStringList.EMPTY.concat("abc")
+            .concat("def");
+
+        final StoragePath storagePath = StoragePath.parse("/letters.tsv");
+
+        this.convertAndCheck(
+            StorageBinary.with(
+                storagePath,
+                Binary.with(
+                    list.text()
+                        .getBytes(CHARSET)
+                )
+            ),
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(list)
+                ).setContentType(
+                    Optional.of(MediaType.TEXT_TAB_SEPARATED_VALUES)
+                )
+        );
+
+        this.checkEquals(
+            1,
+            this.storageBinaryConversions,
+            "StorageBinary conversions"
+        );
+    }
+
+    /**
+     * The number of times the {@link StorageBinary} was given to {@link StorageConverterContext#convert(Object, Class)}.
+     */
+    private int storageBinaryConversions;
+
     @Override
     public StorageConverterStorageBinaryToStorageValueSharedTsv<FakeStorageConverterContext> createConverter() {
         return StorageConverterStorageBinaryToStorageValueSharedTsv.instance();
@@ -91,6 +126,9 @@ public final class StorageConverterStorageBinaryToStorageValueSharedTsvTest exte
             @Override
             public <T> Either<T, String> convert(final Object value,
                                                  final Class<T> target) {
+                if (value instanceof StorageBinary) {
+                    StorageConverterStorageBinaryToStorageValueSharedTsvTest.this.storageBinaryConversions++;
+                }
                 return this.converter.convert(
                     value,
                     target,
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.storage.convert;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.Cast;
+import walkingkooka.Either;
+import walkingkooka.HasCharsetTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.convert.Converter;
+import walkingkooka.convert.ConverterContext;
+import walkingkooka.convert.Converters;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.storage.StorageBinary;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+
+import java.nio.charset.Charset;
+import java.util.Optional;
+
+public final class StorageConverterStorageValueToStorageBinaryRouterTest extends StorageConverterTestCase<StorageConverterStorageValueToStorageBinaryRouter<FakeStorageConverterContext>>
+    implements HasCharsetTesting {
+
+    private final static String TEXT = "Hello world";
+
+    @Test
+    public void testConvertNonStorageValueFails() {
+        this.convertFails(
+            StorageBinary.with(
+                StoragePath.parse("/file.txt"),
+                Binary.EMPTY
+            ),
+            StorageBinary.class
+        );
+    }
+
+    @Test
+    public void testConvertStorageValueWithFileExtension() {
+        final StoragePath storagePath = StoragePath.parse("/dir/hello.txt");
+
+        this.convertAndCheck(
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(TEXT)
+                ).clearContentType(),
+            StorageBinary.class,
+            StorageBinary.with(
+                storagePath,
+                Binary.with(
+                    TEXT.getBytes(CHARSET)
+                )
+            ).setContentType(
+                Optional.of(MediaType.TEXT_PLAIN)
+            )
+        );
+    }
+
+    @Test
+    public void testConvertStorageValueWithContentType() {
+        final StoragePath storagePath = StoragePath.parse("/dir/hello");
+
+        this.convertAndCheck(
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(TEXT)
+                ).setContentType(
+                    Optional.of(MediaType.TEXT_PLAIN)
+                ),
+            StorageBinary.class,
+            StorageBinary.with(
+                storagePath,
+                Binary.with(
+                    TEXT.getBytes(CHARSET)
+                )
+            ).setContentType(
+                Optional.of(MediaType.TEXT_PLAIN)
+            )
+        );
+    }
+
+    @Test
+    public void testConvertStorageValueWithContentTypeAndCharset() {
+        final StoragePath storagePath = StoragePath.parse("/dir/hello");
+        final MediaType contentType = MediaType.parse("text/plain;charset=UTF-8");
+
+        this.convertAndCheck(
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(TEXT)
+                ).setContentType(
+                    Optional.of(contentType)
+                ),
+            StorageBinary.class,
+            StorageBinary.with(
+                storagePath,
+                Binary.with(
+                    TEXT.getBytes(CHARSET)
+                )
+            ).setContentType(
+                Optional.of(contentType)
+            )
+        );
+    }
+
+    @Test
+    public void testConvertStorageValueWithUnknownFileExtension() {
+        final StoragePath storagePath = StoragePath.parse("/dir/image.bin");
+
+        final Binary binary = Binary.with(
+            TEXT.getBytes(CHARSET)
+        );
+
+        this.convertAndCheck(
+            StorageValue.with(storagePath)
+                .setValue(
+                    Optional.of(binary)
+                ),
+            StorageBinary.class,
+            StorageBinary.with(
+                storagePath,
+                binary
+            )
+        );
+    }
+
+    @Override
+    public StorageConverterStorageValueToStorageBinaryRouter<FakeStorageConverterContext> createConverter() {
+        return StorageConverterStorageValueToStorageBinaryRouter.instance();
+    }
+
+    @Override
+    public FakeStorageConverterContext createContext() {
+        return new FakeStorageConverterContext() {
+
+            @Override
+            public Charset charset() {
+                return CHARSET;
+            }
+
+            @Override
+            public boolean canConvert(final Object value,
+                                      final Class<?> type) {
+                return this.converter.canConvert(
+                    value,
+                    type,
+                    this
+                );
+            }
+
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> target) {
+                return this.converter.convert(
+                    value,
+                    target,
+                    this
+                );
+            }
+
+            private final Converter<ConverterContext> converter = Converters.collection(
+                Lists.of(
+                    Converters.simple(),
+                    Converters.characterOrCharSequenceOrHasTextOrStringToCharacterOrCharSequenceOrString(),
+                    Converters.toText(),
+                    Converters.textToBinary()
+                )
+            );
+        };
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createConverter(),
+            "*.csv *.expression.txt *.json *.properties *.tsv *.txt | * to StorageBinary"
+        );
+    }
+
+    @Override
+    public Class<StorageConverterStorageValueToStorageBinaryRouter<FakeStorageConverterContext>> type() {
+        return Cast.to(StorageConverterStorageValueToStorageBinaryRouter.class);
+    }
+}
@@ -45,6 +45,9 @@ import walkingkooka.storage.Storage;
 import walkingkooka.storage.StoragePath;
 import walkingkooka.storage.StorageValue;
 import walkingkooka.storage.StorageValueInfo;
+import walkingkooka.storage.StorageValueInfoList;
+import walkingkooka.storage.StorageValueInfoWriters;
+import walkingkooka.storage.StorageValueStat;
 import walkingkooka.storage.Storages;
 import walkingkooka.storage.convert.StorageConverterContext;
 import walkingkooka.storage.convert.StorageConverterContexts;
@@ -60,6 +63,7 @@ import walkingkooka.tree.json.convert.JsonNodeConverterContexts;
 import walkingkooka.tree.json.convert.JsonNodeConverters;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallUnmarshallContextTesting;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -98,12 +102,12 @@ public final class StorageGetHeadPostOrDeleteHttpHandlerTest implements GetHeadP
             HttpRequests.parse(
                 HttpTransport.UNSECURED,
                 "GET /api/storage/ HTTP/1.0\r\n" +
-                    "Accept: text/plain\r\n" +
+                    "Accept: image/png\r\n" +
                     "\r\n"
             ),
             context,
             HttpResponses.parse(
-                "HTTP/1.0 400 Accept: Got application/json require text/plain\r\n" +
+                "HTTP/1.0 400 Accept: Got application/json, application/x-ndjson or text/plain require image/png\r\n" +
                     "\r\n"
             )
         );
@@ -188,6 +192,127 @@ public final class StorageGetHeadPostOrDeleteHttpHandlerTest implements GetHeadP
         );
     }
 
+    @Test
+    public void testHandleGetParentNotEmptyListingNdjson() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/1st.txt")
+            ).setValue(
+                Optional.of("111")
+            )
+        );
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/2st.txt")
+            ).setValue(
+                Optional.of("222")
+            )
+        );
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /api/storage/ HTTP/1.0\r\n" +
+                    "Accept: application/x-ndjson\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "Content-Length: 372\r\n" +
+                    "Content-Type: application/x-ndjson; charset=UTF-8\r\n" +
+                    "\r\n" +
+                    "{\"path\":\"/1st.txt\",\"auditInfo\":{\"createdBy\":\"user123@example.com\",\"createdTimestamp\":\"1999-12-31T12:58:59\",\"modifiedBy\":\"user123@example.com\",\"modifiedTimestamp\":\"1999-12-31T12:58:59\"}}\n" +
+                    "{\"path\":\"/2st.txt\",\"auditInfo\":{\"createdBy\":\"user123@example.com\",\"createdTimestamp\":\"1999-12-31T12:58:59\",\"modifiedBy\":\"user123@example.com\",\"modifiedTimestamp\":\"1999-12-31T12:58:59\"}}\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandleGetParentNotEmptyListingText() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/1st.txt")
+            ).setValue(
+                Optional.of("111")
+            )
+        );
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/dir/2st.txt")
+            ).setValue(
+                Optional.of("222")
+            )
+        );
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /api/storage/ HTTP/1.0\r\n" +
+                    "Accept: text/plain\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "Content-Length: 15\r\n" +
+                    "Content-Type: text/plain; charset=UTF-8\r\n" +
+                    "\r\n" +
+                    "/1st.txt\n" +
+                    "/dir/\n"
+            )
+        );
+    }
+
+    @Test
+    public void testListingJsonSameAsMarshalled() throws IOException {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/1st.txt")
+            ).setValue(
+                Optional.of("111")
+            )
+        );
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/dir2/2nd.txt")
+            ).setValue(
+                Optional.of("222")
+            )
+        );
+
+        final List<StorageValueInfo> infos = context.listStorage(
+            StoragePath.ROOT,
+            0,
+            10
+        );
+
+        final StringBuilder written = new StringBuilder();
+        StorageValueInfoWriters.json(
+            infos,
+            context.indentation(),
+            context.lineEnding(),
+            written
+        );
+
+        this.checkEquals(
+            context.convertOrFail(
+                StorageValueInfoList.with(infos),
+                JsonNode.class
+            ).toJsonText(context),
+            written.toString()
+        );
+    }
+
     @Test
     public void testHandleGetUnknownStorageValue() {
         final TestStorageHttpHandlerContext context = this.createContext();
@@ -277,6 +402,126 @@ public final class StorageGetHeadPostOrDeleteHttpHandlerTest implements GetHeadP
         );
     }
 
+    @Test
+    public void testHandleHeadUnknownStorageValue() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "HEAD /api/storage/storage-value-not-found.txt HTTP/1.0\r\n" +
+                    "Accept: */*\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 404 Not found\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandleHeadStorageValueBinary() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/file123.bin")
+            ).setValue(
+                Optional.of(
+                    Binary.with(
+                        new byte[]{1, 2, 3}
+                    )
+                )
+            ).setContentType(
+                Optional.of(MediaType.BINARY)
+            )
+        );
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "HEAD /api/storage/file123.bin HTTP/1.0\r\n" +
+                    "Accept: */*\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "Content-Length: 3\r\n" +
+                    "Content-Type: application/octet-stream; charset=UTF-8\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandleHeadStorageValueTxtSameHeadersAsGet() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/file123.txt")
+            ).setValue(
+                Optional.of("File Content 123")
+            ).setContentType(
+                Optional.of(MediaType.TEXT_PLAIN)
+            )
+        );
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "HEAD /api/storage/file123.txt HTTP/1.0\r\n" +
+                    "Accept: */*\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "Content-Length: 16\r\n" +
+                    "Content-Type: text/plain; charset=UTF-8\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandleHeadStorageValueJsonSameHeadersAsGet() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        context.saveStorage(
+            StorageValue.with(
+                StoragePath.parse("/file123.json")
+            ).setValue(
+                Optional.of(
+                    JsonNode.object()
+                        .set(
+                            JsonPropertyName.with("hello"),
+                            "World 123"
+                        )
+                )
+            )
+        );
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "HEAD /api/storage/file123.json HTTP/1.0\r\n" +
+                    "Accept: */*\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "Content-Length: 26\r\n" +
+                    "Content-Type: application/json; charset=UTF-8\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
     @Test
     public void testHandlePostTextFile() {
         final TestStorageHttpHandlerContext context = this.createContext();
@@ -419,6 +664,14 @@ public final class StorageGetHeadPostOrDeleteHttpHandlerTest implements GetHeadP
             );
         }
 
+        @Override
+        public Optional<StorageValueStat> statStorage(final StoragePath path) {
+            return this.storage.stat(
+                path,
+                this
+            );
+        }
+
         @Override
         public StorageValue saveStorage(final StorageValue value) {
             return this.storage.save(
@@ -495,10 +748,8 @@ public final class StorageGetHeadPostOrDeleteHttpHandlerTest implements GetHeadP
                 JsonNodeConverters.toJsonNode(),
                 JsonNodeConverters.textToJsonNode(),//,
                 JsonNodeConverters.toJsonText(),
-                StorageConverters.storageBinaryToStorageValueJson(),
-                StorageConverters.storageBinaryToStorageValueTxt(),
-                StorageConverters.storageValueToStorageBinaryJson(),
-                StorageConverters.storageValueToStorageBinaryTxt(),
+                StorageConverters.storageBinaryToStorageValue(),
+                StorageConverters.storageValueToStorageBinary(),
                 StorageConverters.storageValueInfoListToText()
             )
         );
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2025 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.storage.http;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Binary;
+import walkingkooka.Cast;
+import walkingkooka.net.Url;
+import walkingkooka.net.header.MediaType;
+import walkingkooka.net.http.HttpEntity;
+import walkingkooka.net.http.HttpProtocolVersion;
+import walkingkooka.net.http.HttpTransport;
+import walkingkooka.net.http.server.GetHeadPostOrDeleteHttpHandlerTesting;
+import walkingkooka.net.http.server.HttpRequests;
+import walkingkooka.net.http.server.HttpResponses;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StorageName;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+import walkingkooka.storage.http.StorageGetHeadPostOrDeleteHttpHandlerTest.TestStorageHttpHandlerContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class StorageZipHttpHandlerTest implements GetHeadPostOrDeleteHttpHandlerTesting<StorageZipHttpHandler<TestStorageHttpHandlerContext>, TestStorageHttpHandlerContext>,
+    StorageHttpHandlerContextTesting {
+
+    private final static long MAX_ENTRY_SIZE = 10;
+
+    private final static long MAX_TOTAL_SIZE = 100;
+
+    @Test
+    public void testWithNegativePathAfterFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageZipHttpHandler.with(
+                -1,
+                MAX_ENTRY_SIZE,
+                MAX_TOTAL_SIZE
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroMaxEntrySizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageZipHttpHandler.with(
+                2,
+                0,
+                MAX_TOTAL_SIZE
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroMaxTotalSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StorageZipHttpHandler.with(
+                2,
+                MAX_ENTRY_SIZE,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testHandleGetMissingAccept() {
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /api/storage/ HTTP/1.0\r\n" +
+                    "\r\n"
+            ),
+            HttpResponses.parse(
+                "HTTP/1.0 400 Missing Accept\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandleGetIncompatibleAccept() {
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "GET /api/storage/ HTTP/1.0\r\n" +
+                    "Accept: text/plain\r\n" +
+                    "\r\n"
+            ),
+            HttpResponses.parse(
+                "HTTP/1.0 400 Accept: Got application/zip require text/plain\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandleHeadWithoutBodyOrContentLength() {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        this.handleAndCheck(
+            HttpRequests.parse(
+                HttpTransport.UNSECURED,
+                "HEAD /api/storage/ HTTP/1.0\r\n" +
+                    "Accept: application/zip\r\n" +
+                    "\r\n"
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "Content-Type: application/zip\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandlePostZip() throws IOException {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (final ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+            zipOutputStream.putNextEntry(
+                new ZipEntry("dir1/file1.txt")
+            );
+            zipOutputStream.write(
+                "Hello1".getBytes(
+                    StorageGetHeadPostOrDeleteHttpHandlerTest.CHARSET
+                )
+            );
+            zipOutputStream.closeEntry();
+        }
+
+        this.handleAndCheck(
+            HttpRequests.post(
+                HttpTransport.UNSECURED,
+                Url.parseRelative("/api/storage/uploaded/"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY.setContentType(StorageZipHttpHandler.ZIP)
+                    .setBody(
+                        Binary.with(
+                            zip.toByteArray()
+                        )
+                    )
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 200 OK\r\n" +
+                    "\r\n"
+            )
+        );
+
+        final StoragePath path = StoragePath.parse("/uploaded/dir1/file1.txt");
+
+        this.loadStorageAndCheck(
+            context,
+            path,
+            StorageValue.with(path)
+                .setValue(
+                    Optional.of("Hello1")
+                ).setContentType(
+                    Optional.of(MediaType.TEXT_PLAIN)
+                )
+        );
+    }
+
+    @Test
+    public void testHandlePostZipWithParentEntry() throws IOException {
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (final ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+            zipOutputStream.putNextEntry(
+                new ZipEntry("../file1.txt")
+            );
+            zipOutputStream.write(
+                "Hello1".getBytes(
+                    StorageGetHeadPostOrDeleteHttpHandlerTest.CHARSET
+                )
+            );
+            zipOutputStream.closeEntry();
+        }
+
+        this.handleAndCheck(
+            HttpRequests.post(
+                HttpTransport.UNSECURED,
+                Url.parseRelative("/api/storage/uploaded/"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY.setContentType(StorageZipHttpHandler.ZIP)
+                    .setBody(
+                        Binary.with(
+                            zip.toByteArray()
+                        )
+                    )
+            ),
+            this.createContext(),
+            HttpResponses.parse(
+                "HTTP/1.0 400 Invalid entry \"../file1.txt\" \"/uploaded/\"\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    @Test
+    public void testHandlePostZipWithEntryLargerThanMaxEntrySize() throws IOException {
+        final TestStorageHttpHandlerContext context = this.createContext();
+
+        this.handleAndCheck(
+            HttpRequests.post(
+                HttpTransport.UNSECURED,
+                Url.parseRelative("/api/storage/uploaded/"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY.setContentType(StorageZipHttpHandler.ZIP)
+                    .setBody(
+                        zip(
+                            "file1.txt",
+                            "Hello1",
+                            "file2.txt",
+                            "12345678901"
+                        )
+                    )
+            ),
+            context,
+            HttpResponses.parse(
+                "HTTP/1.0 400 Invalid zip: Entry \"file2.txt\" larger than 10 bytes\r\n" +
+                    "\r\n"
+            )
+        );
+
+        this.loadStorageAndCheck(
+            context,
+            StoragePath.parse("/uploaded/file1.txt")
+        );
+    }
+
+    @Test
+    public void testHandlePostZipWithInvalidEntryName() throws IOException {
+        final String name = "a".repeat(StorageName.MAX_LENGTH + 1);
+
+        this.handleAndCheck(
+            HttpRequests.post(
+                HttpTransport.UNSECURED,
+                Url.parseRelative("/api/storage/uploaded/"),
+                HttpProtocolVersion.VERSION_1_0,
+                HttpEntity.EMPTY.setContentType(StorageZipHttpHandler.ZIP)
+                    .setBody(
+                        zip(
+                            name,
+                            "Hello1"
+                        )
+                    )
+            ),
+            this.createContext(),
+            HttpResponses.parse(
+                "HTTP/1.0 400 Invalid entry \"" + name + "\" \"/uploaded/\"\r\n" +
+                    "\r\n"
+            )
+        );
+    }
+
+    private static Binary zip(final String... nameAndContents) throws IOException {
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (final ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+            for (int i = 0; i < nameAndContents.length; i += 2) {
+                zipOutputStream.putNextEntry(
+                    new ZipEntry(nameAndContents[i])
+                );
+                zipOutputStream.write(
+                    nameAndContents[i + 1].getBytes(
+                        StorageGetHeadPostOrDeleteHttpHandlerTest.CHARSET
+                    )
+                );
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        return Binary.with(
+            zip.toByteArray()
+        );
+    }
+
+    @Override
+    public StorageZipHttpHandler<TestStorageHttpHandlerContext> createHttpHandler() {
+        return StorageZipHttpHandler.with(
+            2,
+            MAX_ENTRY_SIZE,
+            MAX_TOTAL_SIZE
+        );
+    }
+
+    @Override
+    public TestStorageHttpHandlerContext createContext() {
+        return new TestStorageHttpHandlerContext();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<StorageZipHttpHandler<TestStorageHttpHandlerContext>> type() {
+        return Cast.to(StorageZipHttpHandler.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}